@@ -0,0 +1,75 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.StoryTestResults;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.ThucydidesReportData;
+import net.thucydides.core.reports.html.HtmlAggregateStoryReporter;
+import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full aggregate report run (story pages, the stories and features index pages, and the treemap data)
+ * over a directory of synthetic XML reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AggregateReportBenchmark {
+
+    private static final String PROJECT_NAME = "thucydides-benchmarks";
+    private static final int TESTS_PER_STORY = 2;
+    private static final int STEPS_PER_TEST = 5;
+
+    @Param({"200", "2000"})
+    private int storyCount;
+
+    private File sourceDirectory;
+
+    private File outputDirectory;
+
+    @Setup
+    public void writeXmlReports() throws IOException {
+        sourceDirectory = TemporaryDirectories.newTemporaryDirectory("aggregate-benchmark-source");
+        outputDirectory = TemporaryDirectories.newTemporaryDirectory("aggregate-benchmark-output");
+
+        XMLTestOutcomeReporter xmlReporter = new XMLTestOutcomeReporter();
+        xmlReporter.setOutputDirectory(sourceDirectory);
+        for (StoryTestResults story : SyntheticOutcomes.stories(storyCount, TESTS_PER_STORY, STEPS_PER_TEST)) {
+            for (TestOutcome testOutcome : story.getTestOutcomes()) {
+                xmlReporter.generateReportFor(testOutcome);
+            }
+        }
+    }
+
+    @TearDown
+    public void deleteReports() {
+        new HtmlAggregateStoryReporter(PROJECT_NAME).clearHistory();
+        TemporaryDirectories.delete(sourceDirectory);
+        TemporaryDirectories.delete(outputDirectory);
+    }
+
+    @Benchmark
+    public ThucydidesReportData generate_aggregate_reports() throws IOException {
+        HtmlAggregateStoryReporter reporter = new HtmlAggregateStoryReporter(PROJECT_NAME);
+        reporter.setOutputDirectory(outputDirectory);
+        return reporter.generateReportsForStoriesFrom(sourceDirectory);
+    }
+}
@@ -0,0 +1,48 @@
+package net.thucydides.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the benchmarks, writing the results as JSON so that two runs can be compared.
+ * The usual JMH command-line options can be used to pick benchmarks or to override the defaults,
+ * e.g. java -jar target/benchmarks.jar StoryStatistics -rff before.json
+ * The -l, -lp, -lprof, -lrf and -h options list the benchmarks or describe the options instead of running anything.
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULTS_FILE = "target/benchmark-results.json";
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+        } else if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+        } else if (commandLineOptions.shouldListWithParams()) {
+            new Runner(commandLineOptions).listWithParams(commandLineOptions);
+        } else if (commandLineOptions.shouldListProfilers()) {
+            commandLineOptions.listProfilers();
+        } else if (commandLineOptions.shouldListResultFormats()) {
+            commandLineOptions.listResultFormats();
+        } else {
+            runBenchmarks(commandLineOptions);
+        }
+    }
+
+    private static void runBenchmarks(final CommandLineOptions commandLineOptions) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(DEFAULT_RESULTS_FILE))
+                .build();
+        new Runner(options).run();
+    }
+}
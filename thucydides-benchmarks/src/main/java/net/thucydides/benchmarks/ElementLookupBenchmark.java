@@ -0,0 +1,142 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.pages.WebElementFacade;
+import net.thucydides.core.webdriver.WebDriverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up a page object element through its proxy, as every call to a page object field does:
+ * once for a normal lookup, which waits for the element to be displayed, and once for a quick lookup
+ * through WebElementFacade.isCurrentlyVisible().
+ * Run with -prof gc to see the memory allocated per lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ElementLookupBenchmark {
+
+    public static class SamplePage {
+        @FindBy(id = "submit")
+        public WebElement submitButton;
+    }
+
+    /**
+     * A search context that finds the same displayed element straight away.
+     */
+    static class DisplayedElementDriver extends StubWebDriver {
+
+        private final WebElement element = new DisplayedElement();
+
+        @Override
+        public WebElement findElement(final By by) {
+            return element;
+        }
+
+        @Override
+        public List<WebElement> findElements(final By by) {
+            return Collections.singletonList(element);
+        }
+    }
+
+    static class DisplayedElement implements WebElement {
+
+        public void click() {
+        }
+
+        public void submit() {
+        }
+
+        public void sendKeys(final CharSequence... keysToSend) {
+        }
+
+        public void clear() {
+        }
+
+        public String getTagName() {
+            return "button";
+        }
+
+        public String getAttribute(final String name) {
+            return null;
+        }
+
+        public boolean isSelected() {
+            return false;
+        }
+
+        public boolean isEnabled() {
+            return true;
+        }
+
+        public String getText() {
+            return "Submit";
+        }
+
+        public List<WebElement> findElements(final By by) {
+            return Collections.emptyList();
+        }
+
+        public WebElement findElement(final By by) {
+            return this;
+        }
+
+        public boolean isDisplayed() {
+            return true;
+        }
+
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        public Dimension getSize() {
+            return new Dimension(80, 20);
+        }
+
+        public String getCssValue(final String propertyName) {
+            return null;
+        }
+    }
+
+    private SamplePage page;
+
+    private WebElementFacade submitButton;
+
+    @Setup
+    public void initPage() {
+        DisplayedElementDriver driver = new DisplayedElementDriver();
+        page = new SamplePage();
+        WebDriverFactory.initElementsWithAjaxSupport(page, driver, 1);
+        submitButton = new WebElementFacade(driver, page.submitButton, 1000);
+    }
+
+    @Benchmark
+    public boolean look_up_an_element() {
+        return page.submitButton.isDisplayed();
+    }
+
+    @Benchmark
+    public boolean quick_look_up_an_element() {
+        return submitButton.isCurrentlyVisible();
+    }
+}
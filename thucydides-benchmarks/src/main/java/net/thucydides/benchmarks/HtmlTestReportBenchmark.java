@@ -0,0 +1,60 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.html.HtmlAcceptanceTestReporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating the HTML report (and screenshot pages) for a single test outcome.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HtmlTestReportBenchmark {
+
+    @Param({"10", "50"})
+    private int stepCount;
+
+    private File outputDirectory;
+
+    private HtmlAcceptanceTestReporter reporter;
+
+    private TestOutcome testOutcome;
+
+    @Setup
+    public void prepareOutcome() throws IOException {
+        outputDirectory = TemporaryDirectories.newTemporaryDirectory("html-benchmark");
+        reporter = new HtmlAcceptanceTestReporter();
+        reporter.setOutputDirectory(outputDirectory);
+        testOutcome = SyntheticOutcomes.anOutcome(1, SyntheticOutcomes.storyNumber(1), stepCount);
+        SyntheticOutcomes.writeScreenshotsFor(testOutcome, outputDirectory);
+    }
+
+    @TearDown
+    public void deleteReports() {
+        TemporaryDirectories.delete(outputDirectory);
+    }
+
+    @Benchmark
+    public File generate_report() throws IOException {
+        return reporter.generateReportFor(testOutcome);
+    }
+}
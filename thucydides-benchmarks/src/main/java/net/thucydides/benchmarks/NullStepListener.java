@@ -0,0 +1,87 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.steps.ExecutedStepDescription;
+import net.thucydides.core.steps.StepFailure;
+import net.thucydides.core.steps.StepListener;
+
+/**
+ * A listener that just counts the events it receives, so that only the cost of delivering them is measured.
+ */
+public class NullStepListener implements StepListener {
+
+    private long eventCount;
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void testSuiteStarted(final Class<?> storyClass) {
+        eventCount++;
+    }
+
+    public void testSuiteStarted(final Story story) {
+        eventCount++;
+    }
+
+    public void testSuiteFinished() {
+        eventCount++;
+    }
+
+    public void testStarted(final String description) {
+        eventCount++;
+    }
+
+    public void testFinished(final TestOutcome result) {
+        eventCount++;
+    }
+
+    public void stepStarted(final ExecutedStepDescription description) {
+        eventCount++;
+    }
+
+    public void skippedStepStarted(final ExecutedStepDescription description) {
+        eventCount++;
+    }
+
+    public void stepFailed(final StepFailure failure) {
+        eventCount++;
+    }
+
+    public void lastStepFailed(final StepFailure failure) {
+        eventCount++;
+    }
+
+    public void stepIgnored() {
+        eventCount++;
+    }
+
+    public void stepIgnored(final String message) {
+        eventCount++;
+    }
+
+    public void stepPending() {
+        eventCount++;
+    }
+
+    public void stepPending(final String message) {
+        eventCount++;
+    }
+
+    public void stepFinished() {
+        eventCount++;
+    }
+
+    public void testFailed(final Throwable cause) {
+        eventCount++;
+    }
+
+    public void testIgnored() {
+        eventCount++;
+    }
+
+    public void notifyScreenChange() {
+        eventCount++;
+    }
+}
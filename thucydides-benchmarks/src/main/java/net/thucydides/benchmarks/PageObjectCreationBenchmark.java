@@ -0,0 +1,70 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.pages.PageObject;
+import net.thucydides.core.pages.Pages;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating page objects through Pages.get(), as each step that uses a page does.
+ * Each page has several annotated element fields, which are set up with element proxies when the page is created.
+ * No elements are looked up, so this measures only the cost of creating and initializing the page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PageObjectCreationBenchmark {
+
+    public static class SamplePage extends PageObject {
+
+        @FindBy(id = "username")
+        public WebElement username;
+
+        @FindBy(name = "password")
+        public WebElement password;
+
+        @FindBy(css = ".login button")
+        public WebElement loginButton;
+
+        @FindBy(xpath = "//div[@class='error']")
+        public WebElement errorMessage;
+
+        @FindBy(className = "menu-item")
+        public List<WebElement> menuItems;
+
+        public WebElement footer;
+
+        public SamplePage(final WebDriver driver) {
+            super(driver);
+        }
+    }
+
+    private Pages pages;
+
+    @Setup
+    public void initPages() {
+        pages = new Pages(new StubWebDriver());
+    }
+
+    @Benchmark
+    public SamplePage create_a_page_object() {
+        return pages.get(SamplePage.class);
+    }
+}
@@ -0,0 +1,30 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.annotations.Step;
+import net.thucydides.core.annotations.StepGroup;
+import net.thucydides.core.pages.Pages;
+import net.thucydides.core.steps.ScenarioSteps;
+
+/**
+ * A step library whose steps do no work, used to measure the cost of the step interception itself.
+ */
+public class SampleSteps extends ScenarioSteps {
+
+    public SampleSteps(final Pages pages) {
+        super(pages);
+    }
+
+    @Step
+    public void a_simple_step() {
+    }
+
+    @Step("A step with a parameter: {0}")
+    public void a_step_with_a_parameter(final String value) {
+    }
+
+    @StepGroup("A group of steps")
+    public void a_group_of_steps() {
+        a_simple_step();
+        a_step_with_a_parameter("value");
+    }
+}
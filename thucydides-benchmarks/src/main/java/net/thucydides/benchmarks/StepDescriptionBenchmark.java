@@ -0,0 +1,55 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.annotations.StepGroup;
+import net.thucydides.core.steps.AnnotatedStepDescription;
+import net.thucydides.core.steps.ExecutedStepDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of finding the name of a step from its description, using the cached step method metadata,
+ * compared with scanning the methods of the step class and reading the annotation each time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StepDescriptionBenchmark {
+
+    private static final String STEP_NAME = "a_group_of_steps";
+
+    private ExecutedStepDescription description;
+
+    @Setup
+    public void createStepDescription() {
+        description = ExecutedStepDescription.of(SampleSteps.class, STEP_NAME);
+    }
+
+    @Benchmark
+    public String cached_step_description() {
+        return AnnotatedStepDescription.from(description).getName();
+    }
+
+    @Benchmark
+    public String scanning_the_step_class() {
+        for (Method method : SampleSteps.class.getMethods()) {
+            if (method.getName().equals(STEP_NAME)) {
+                return method.getAnnotation(StepGroup.class).value();
+            }
+        }
+        return null;
+    }
+}
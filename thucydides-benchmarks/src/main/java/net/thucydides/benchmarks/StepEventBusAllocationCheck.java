@@ -0,0 +1,53 @@
+package net.thucydides.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+/**
+ * Checks that delivering step events to the listeners does not allocate any memory per event.
+ * Each measured batch sends 1,000,000 events (500,000 step starts and finishes) to 5 listeners,
+ * and the check fails if the GC profiler finds more than a byte allocated per operation.
+ * Run with: java -cp target/benchmarks.jar net.thucydides.benchmarks.StepEventBusAllocationCheck
+ */
+public class StepEventBusAllocationCheck {
+
+    private static final String ALLOCATION_PER_OPERATION = "\u00b7gc.alloc.rate.norm";
+    private static final int OPERATIONS_PER_BATCH = 500000;
+    private static final double MAXIMUM_BYTES_PER_OPERATION = 1.0;
+
+    public static void main(final String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StepEventBusBenchmark.class.getSimpleName())
+                .param("listenerCount", "5")
+                .mode(Mode.SingleShotTime)
+                .warmupIterations(3)
+                .warmupBatchSize(OPERATIONS_PER_BATCH)
+                .measurementIterations(5)
+                .measurementBatchSize(OPERATIONS_PER_BATCH)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        for (RunResult result : results) {
+            Result allocation = result.getSecondaryResults().get(ALLOCATION_PER_OPERATION);
+            if (allocation == null) {
+                throw new IllegalStateException("The GC profiler did not report " + ALLOCATION_PER_OPERATION);
+            }
+            double bytesPerOperation = allocation.getScore();
+            if (bytesPerOperation > MAXIMUM_BYTES_PER_OPERATION) {
+                System.err.println("Step events are allocating " + bytesPerOperation + " bytes per operation");
+                System.exit(1);
+            }
+            System.out.println("Step events allocate " + bytesPerOperation + " bytes per operation");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.steps.ExecutedStepDescription;
+import net.thucydides.core.steps.StepEventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of delivering a step start and a step finish event to a number of listeners.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StepEventBusBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int listenerCount;
+
+    private StepEventBus eventBus;
+
+    private NullStepListener lastListener;
+
+    private final ExecutedStepDescription step = ExecutedStepDescription.of(SampleSteps.class, "a_simple_step");
+
+    @Setup
+    public void registerListeners() {
+        eventBus = StepEventBus.getEventBus();
+        eventBus.clear();
+        eventBus.dropAllListeners();
+        for (int i = 0; i < listenerCount; i++) {
+            lastListener = new NullStepListener();
+            eventBus.registerListener(lastListener);
+        }
+        eventBus.testStarted("benchmark", SampleSteps.class);
+    }
+
+    @TearDown
+    public void dropListeners() {
+        eventBus.dropAllListeners();
+    }
+
+    @Benchmark
+    public long step_started_and_finished() {
+        eventBus.stepStarted(step);
+        eventBus.stepFinished();
+        return lastListener.getEventCount();
+    }
+}
@@ -0,0 +1,69 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.pages.Pages;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.core.steps.StepFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of calling a step through the StepInterceptor proxy, including the step events it fires.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StepInterceptorBenchmark {
+
+    private SampleSteps steps;
+
+    private NullStepListener listener;
+
+    @Setup
+    public void createStepLibrary() {
+        listener = new NullStepListener();
+        StepEventBus.getEventBus().clear();
+        StepEventBus.getEventBus().dropAllListeners();
+        StepEventBus.getEventBus().registerListener(listener);
+        StepEventBus.getEventBus().testStarted("benchmark", SampleSteps.class);
+
+        StepFactory stepFactory = new StepFactory(new Pages(new StubWebDriver()));
+        steps = stepFactory.getStepLibraryFor(SampleSteps.class);
+    }
+
+    @TearDown
+    public void dropListener() {
+        StepEventBus.getEventBus().dropAllListeners();
+    }
+
+    @Benchmark
+    public long a_simple_step() {
+        steps.a_simple_step();
+        return listener.getEventCount();
+    }
+
+    @Benchmark
+    public long a_step_with_a_parameter() {
+        steps.a_step_with_a_parameter("value");
+        return listener.getEventCount();
+    }
+
+    @Benchmark
+    public long a_group_of_steps() {
+        steps.a_group_of_steps();
+        return listener.getEventCount();
+    }
+}
@@ -0,0 +1,80 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.FeatureResults;
+import net.thucydides.core.model.StoryTestResults;
+import net.thucydides.core.reports.TestOutcomeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the counters of every story and feature, the way the stories and features index pages do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StoryStatisticsBenchmark {
+
+    private static final int TESTS_PER_STORY = 5;
+    private static final int STEPS_PER_TEST = 5;
+
+    @Param({"2000"})
+    private int storyCount;
+
+    private List<StoryTestResults> stories;
+
+    private List<FeatureResults> features;
+
+    @Setup
+    public void prepareStories() {
+        stories = SyntheticOutcomes.stories(storyCount, TESTS_PER_STORY, STEPS_PER_TEST);
+        features = TestOutcomeRepository.groupByFeature(stories);
+    }
+
+    @Benchmark
+    public void story_counters(final Blackhole blackhole) {
+        for (StoryTestResults story : stories) {
+            blackhole.consume(story.getTotal());
+            blackhole.consume(story.getSuccessCount());
+            blackhole.consume(story.getFailureCount());
+            blackhole.consume(story.getPendingCount());
+            blackhole.consume(story.getSkipCount());
+            blackhole.consume(story.getStepCount());
+            blackhole.consume(story.getEstimatedTotalStepCount());
+            blackhole.consume(story.getPercentPassingCoverage());
+            blackhole.consume(story.getPercentFailingCoverage());
+            blackhole.consume(story.getPercentPendingCoverage());
+            blackhole.consume(story.getResult());
+        }
+    }
+
+    @Benchmark
+    public void feature_counters(final Blackhole blackhole) {
+        for (FeatureResults feature : features) {
+            blackhole.consume(feature.getTotalTests());
+            blackhole.consume(feature.getPassingTests());
+            blackhole.consume(feature.getFailingTests());
+            blackhole.consume(feature.getPendingTests());
+            blackhole.consume(feature.getTotalSteps());
+            blackhole.consume(feature.getEstimatedTotalSteps());
+            blackhole.consume(feature.getCoverage());
+            blackhole.consume(feature.getPercentPassingCoverage());
+            blackhole.consume(feature.getResult());
+        }
+    }
+}
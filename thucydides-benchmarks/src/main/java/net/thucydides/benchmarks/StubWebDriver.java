@@ -0,0 +1,83 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.webdriver.stubs.NavigationStub;
+import net.thucydides.core.webdriver.stubs.OptionsStub;
+import net.thucydides.core.webdriver.stubs.TargetLocatorStub;
+import org.openqa.selenium.By;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import javax.xml.bind.DatatypeConverter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A driver that answers every call immediately, so that the benchmarks measure Thucydides and not a browser.
+ * Screenshots are a single-pixel PNG image.
+ */
+public class StubWebDriver implements WebDriver, TakesScreenshot {
+
+    private static final byte[] SCREENSHOT = DatatypeConverter.parseBase64Binary(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+    private static final String PAGE_SOURCE = "<html><head><title>Benchmark</title></head><body></body></html>";
+
+    private String currentUrl = "about:blank";
+
+    public void get(final String url) {
+        currentUrl = url;
+    }
+
+    public String getCurrentUrl() {
+        return currentUrl;
+    }
+
+    public String getTitle() {
+        return "Benchmark";
+    }
+
+    public List<WebElement> findElements(final By by) {
+        return Collections.emptyList();
+    }
+
+    public WebElement findElement(final By by) {
+        return null;
+    }
+
+    public String getPageSource() {
+        return PAGE_SOURCE;
+    }
+
+    public void close() {
+    }
+
+    public void quit() {
+    }
+
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("main");
+    }
+
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    public TargetLocator switchTo() {
+        return new TargetLocatorStub(this);
+    }
+
+    public Navigation navigate() {
+        return new NavigationStub();
+    }
+
+    public Options manage() {
+        return new OptionsStub();
+    }
+
+    public <X> X getScreenshotAs(final OutputType<X> target) {
+        return target.convertFromPngBytes(SCREENSHOT);
+    }
+}
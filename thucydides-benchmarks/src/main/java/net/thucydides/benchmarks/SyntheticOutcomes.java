@@ -0,0 +1,93 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.StoryTestResults;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.screenshots.ScreenshotAndHtmlSource;
+import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.OutputType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds repeatable test outcomes for the benchmarks: every fifth test fails, and every seventh test is pending.
+ */
+public final class SyntheticOutcomes {
+
+    private static final int FEATURE_COUNT = 10;
+
+    private SyntheticOutcomes() {
+    }
+
+    public static Story storyNumber(final int storyNumber) {
+        int featureNumber = storyNumber % FEATURE_COUNT;
+        return Story.withId("net.thucydides.benchmarks.Feature" + featureNumber + ".Story" + storyNumber,
+                            "Story " + storyNumber,
+                            "net.thucydides.benchmarks.Feature" + featureNumber,
+                            "Feature " + featureNumber);
+    }
+
+    public static TestOutcome anOutcome(final int testNumber, final Story story, final int stepCount) {
+        TestOutcome testOutcome = TestOutcome.forTestInStory("test_" + testNumber, story);
+        for (int i = 0; i < stepCount; i++) {
+            testOutcome.recordStep(aStep("Step " + i + " of test " + testNumber, resultFor(testNumber, i, stepCount)));
+        }
+        testOutcome.setDuration(stepCount * 100);
+        return testOutcome;
+    }
+
+    public static List<StoryTestResults> stories(final int storyCount, final int testsPerStory, final int stepsPerTest) {
+        List<StoryTestResults> stories = new ArrayList<StoryTestResults>();
+        int testNumber = 0;
+        for (int storyNumber = 0; storyNumber < storyCount; storyNumber++) {
+            Story story = storyNumber(storyNumber);
+            StoryTestResults storyResults = new StoryTestResults(story);
+            for (int i = 0; i < testsPerStory; i++) {
+                storyResults.recordTestRun(anOutcome(testNumber++, story, stepsPerTest));
+            }
+            stories.add(storyResults);
+        }
+        return stories;
+    }
+
+    /**
+     * Write the screenshot files referred to by the steps of an outcome, so that reports can read them.
+     */
+    public static void writeScreenshotsFor(final TestOutcome testOutcome, final File directory) throws IOException {
+        StubWebDriver driver = new StubWebDriver();
+        for (TestStep step : testOutcome.getFlattenedTestSteps()) {
+            for (ScreenshotAndHtmlSource screenshot : step.getScreenshots()) {
+                File screenshotFile = new File(directory, screenshot.getScreenshotFile().getName());
+                if (!screenshotFile.exists()) {
+                    FileUtils.writeByteArrayToFile(screenshotFile, driver.getScreenshotAs(OutputType.BYTES));
+                }
+            }
+        }
+    }
+
+    private static TestStep aStep(final String description, final TestResult result) {
+        TestStep step = new TestStep(description);
+        String screenshotName = "screenshot_" + Math.abs(description.hashCode());
+        step.addScreenshot(new ScreenshotAndHtmlSource(new File(screenshotName + ".png"),
+                                                       new File(screenshotName + ".html")));
+        step.setResult(result);
+        step.setDuration(100);
+        return step;
+    }
+
+    private static TestResult resultFor(final int testNumber, final int stepNumber, final int stepCount) {
+        boolean lastStep = (stepNumber == stepCount - 1);
+        if (lastStep && (testNumber % 5 == 0)) {
+            return TestResult.FAILURE;
+        }
+        if (lastStep && (testNumber % 7 == 0)) {
+            return TestResult.PENDING;
+        }
+        return TestResult.SUCCESS;
+    }
+}
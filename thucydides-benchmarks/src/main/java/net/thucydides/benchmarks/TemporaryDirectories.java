@@ -0,0 +1,27 @@
+package net.thucydides.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Scratch directories for the benchmarks that write reports.
+ */
+public final class TemporaryDirectories {
+
+    private TemporaryDirectories() {
+    }
+
+    public static File newTemporaryDirectory(final String prefix) throws IOException {
+        File directory = File.createTempFile(prefix, "");
+        if (!directory.delete() || !directory.mkdirs()) {
+            throw new IOException("Could not create temporary directory " + directory);
+        }
+        return directory;
+    }
+
+    public static void delete(final File directory) {
+        FileUtils.deleteQuietly(directory);
+    }
+}
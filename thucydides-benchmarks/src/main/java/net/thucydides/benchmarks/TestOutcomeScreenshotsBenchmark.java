@@ -0,0 +1,45 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.Screenshot;
+import net.thucydides.core.model.TestOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing the screenshots of a test outcome, as the HTML reports do for every step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TestOutcomeScreenshotsBenchmark {
+
+    @Param({"10", "100"})
+    private int stepCount;
+
+    private TestOutcome testOutcome;
+
+    @Setup
+    public void prepareOutcome() {
+        testOutcome = SyntheticOutcomes.anOutcome(1, SyntheticOutcomes.storyNumber(1), stepCount);
+    }
+
+    @Benchmark
+    public List<Screenshot> get_screenshots() {
+        return testOutcome.getScreenshots();
+    }
+}
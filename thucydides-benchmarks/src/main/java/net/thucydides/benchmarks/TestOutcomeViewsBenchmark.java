@@ -0,0 +1,69 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the step lists, result and counts of a test outcome, as the HTML reports do many times per outcome:
+ * once while nothing changes, and once after a step result changes between each read.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TestOutcomeViewsBenchmark {
+
+    @Param({"10", "100"})
+    private int stepCount;
+
+    private TestOutcome testOutcome;
+
+    private TestStep lastStep;
+
+    private boolean lastStepPassed;
+
+    @Setup
+    public void prepareOutcome() {
+        testOutcome = SyntheticOutcomes.anOutcome(1, SyntheticOutcomes.storyNumber(1), stepCount);
+        lastStep = testOutcome.getTestSteps().get(testOutcome.getTestSteps().size() - 1);
+    }
+
+    @Benchmark
+    public int read_unchanged_outcome() {
+        return readViews();
+    }
+
+    @Benchmark
+    public int read_after_each_change() {
+        lastStepPassed = !lastStepPassed;
+        lastStep.setResult(lastStepPassed ? TestResult.SUCCESS : TestResult.IGNORED);
+        return readViews();
+    }
+
+    private int readViews() {
+        return testOutcome.getResult().ordinal()
+               + testOutcome.getFlattenedTestSteps().size()
+               + testOutcome.getLeafTestSteps().size()
+               + testOutcome.getSuccessCount()
+               + testOutcome.getFailureCount()
+               + testOutcome.getIgnoredCount()
+               + testOutcome.getSkippedCount()
+               + testOutcome.getPendingCount();
+    }
+}
@@ -0,0 +1,109 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.images.ResizableImage;
+import net.thucydides.core.images.ThumbnailService;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expanding 1,000 full-HD screenshots to a common height, as the HTML reports do:
+ * once with ResizableImage, once with a fresh ThumbnailService, and once more when the scaled images are already there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ThumbnailBenchmark {
+
+    private static final int SCREENSHOT_COUNT = 1000;
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int TARGET_HEIGHT = 1200;
+
+    private File screenshotDirectory;
+
+    private List<File> screenshots;
+
+    private ThumbnailService warmThumbnailService;
+
+    @Setup
+    public void writeScreenshots() throws IOException {
+        screenshotDirectory = TemporaryDirectories.newTemporaryDirectory("thumbnail-benchmark");
+        screenshots = new ArrayList<File>();
+        for (int i = 0; i < SCREENSHOT_COUNT; i++) {
+            File screenshot = new File(screenshotDirectory, "screenshot-" + i + ".png");
+            ImageIO.write(aScreenshot(i), "PNG", screenshot);
+            screenshots.add(screenshot);
+        }
+        warmThumbnailService = new ThumbnailService();
+        warmThumbnailService.expandCanvases(screenshots, TARGET_HEIGHT);
+    }
+
+    @Setup(Level.Iteration)
+    public void forgetColdScaledImages() {
+        FileUtils.deleteQuietly(new File(screenshotDirectory, ThumbnailService.INDEX_FILENAME));
+    }
+
+    @TearDown
+    public void deleteScreenshots() {
+        TemporaryDirectories.delete(screenshotDirectory);
+    }
+
+    @Benchmark
+    public int resizable_image() throws IOException {
+        int written = 0;
+        for (File screenshot : screenshots) {
+            File scaledFile = new File(screenshotDirectory, "legacy_" + screenshot.getName());
+            ResizableImage.loadFrom(screenshot).rescaleCanvas(TARGET_HEIGHT).saveTo(scaledFile);
+            written++;
+        }
+        return written;
+    }
+
+    @Benchmark
+    public Map<File, File> thumbnail_service_cold() throws IOException {
+        return new ThumbnailService().expandCanvases(screenshots, TARGET_HEIGHT);
+    }
+
+    @Benchmark
+    public Map<File, File> thumbnail_service_already_scaled() throws IOException {
+        return warmThumbnailService.expandCanvases(screenshots, TARGET_HEIGHT);
+    }
+
+    private BufferedImage aScreenshot(final int screenshotNumber) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        g2d.setColor(new Color(screenshotNumber % 256, 80, 160));
+        for (int row = 0; row < HEIGHT; row += 40) {
+            g2d.fillRect(20, row, (screenshotNumber * 37 + row) % (WIDTH - 40), 20);
+        }
+        g2d.dispose();
+        return image;
+    }
+}
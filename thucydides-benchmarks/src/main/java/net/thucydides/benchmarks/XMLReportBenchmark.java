@@ -0,0 +1,68 @@
+package net.thucydides.benchmarks;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.xml.NotAThucydidesReportException;
+import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a test outcome as an XML report, and reading it back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XMLReportBenchmark {
+
+    @Param({"10", "100"})
+    private int stepCount;
+
+    private File outputDirectory;
+
+    private XMLTestOutcomeReporter reporter;
+
+    private TestOutcome testOutcome;
+
+    private File reportFile;
+
+    @Setup
+    public void writeFirstReport() throws IOException {
+        outputDirectory = TemporaryDirectories.newTemporaryDirectory("xml-benchmark");
+        reporter = new XMLTestOutcomeReporter();
+        reporter.setOutputDirectory(outputDirectory);
+        testOutcome = SyntheticOutcomes.anOutcome(1, SyntheticOutcomes.storyNumber(1), stepCount);
+        reportFile = reporter.generateReportFor(testOutcome);
+    }
+
+    @TearDown
+    public void deleteReports() {
+        TemporaryDirectories.delete(outputDirectory);
+    }
+
+    @Benchmark
+    public File write_report() throws IOException {
+        return reporter.generateReportFor(testOutcome);
+    }
+
+    @Benchmark
+    public TestOutcome read_report() throws IOException, NotAThucydidesReportException {
+        return reporter.loadReportFrom(reportFile);
+    }
+}
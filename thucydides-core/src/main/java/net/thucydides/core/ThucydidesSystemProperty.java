@@ -33,6 +33,18 @@ public enum ThucydidesSystemProperty {
      */
     REPORT_RESOURCE_PATH("thucydides.report.resources"),
 
+    /**
+     * How many threads should be used to generate the test reports at the end of a test run.
+     * Defaults to the number of available processors; use 1 to generate the reports one at a time.
+     */
+    REPORT_THREADS("thucydides.report.threads"),
+
+    /**
+     * Generate the test reports in the background, so that the next test class can start straight away.
+     * All of the reports are written before the JVM exits.
+     */
+    REPORT_ASYNCHRONOUSLY("thucydides.report.asynchronously"),
+
     /**
      * Where should reports be generated.
      */
@@ -49,6 +61,25 @@ public enum ThucydidesSystemProperty {
      */
     RESTART_BROWSER_FREQUENCY("thucydides.restart.browser.frequency"),
 
+    /**
+     * Run the test methods of each test class in parallel, each with its own browser.
+     * Use 'true' for a thread count based on the number of processors, or a number of threads (e.g. 8),
+     * or a number of threads per processor (e.g. 2x).
+     */
+    CONCURRENT_METHODS("thucydides.concurrent.methods"),
+
+    /**
+     * Check that the browser session is still alive at most once every N seconds.
+     * By default, the session is only checked when a WebDriver call fails.
+     */
+    DRIVER_HEALTH_CHECK_INTERVAL("thucydides.driver.health.check.interval"),
+
+    /**
+     * Reuse browsers between tests, returning them to a shared pool instead of closing them.
+     * Each browser is used for at most this many tests before being closed. Zero (the default) disables the pool.
+     */
+    DRIVER_POOL_MAX_USES("thucydides.driver.pool.max.uses"),
+
     /**
      * Pause (in ms) between each test step.
      */
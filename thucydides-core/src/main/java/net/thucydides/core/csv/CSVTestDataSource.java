@@ -38,9 +38,16 @@ public class CSVTestDataSource implements TestDataSource {
     }
     
     private Reader getDataFileFor(final String path) throws FileNotFoundException {
+        return readerFor(path);
+    }
+
+    /**
+     * Test data can come from a file or, if no such file exists, from the classpath.
+     */
+    static Reader readerFor(final String path) throws FileNotFoundException {
         if (isAClasspathResource(path)) {
             try {
-                return new InputStreamReader(getClass().getClassLoader().getResourceAsStream(path));
+                return new InputStreamReader(CSVTestDataSource.class.getClassLoader().getResourceAsStream(path));
             } catch(Throwable e) {
                 LOGGER.error(e.getMessage(), e);
                 throw new FileNotFoundException("Could not load test data from " + path);
@@ -49,11 +56,11 @@ public class CSVTestDataSource implements TestDataSource {
         return new FileReader(new File(path));
     }
 
-    private boolean isAClasspathResource(final String path) {
+    private static boolean isAClasspathResource(final String path) {
         return (!validFileSystemPath(path));
     }
 
-    private boolean validFileSystemPath(final String path) {
+    private static boolean validFileSystemPath(final String path) {
         File file = new File(path);
         return file.exists();
     }
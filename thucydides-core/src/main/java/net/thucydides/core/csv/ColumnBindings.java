@@ -0,0 +1,160 @@
+package net.thucydides.core.csv;
+
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.PropertyUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns the values in CSV data rows to the matching properties or public fields of an object.
+ * Each column heading is matched to a setter or field once, the first time a row is assigned to an object
+ * of a given class, rather than once for every value.
+ * Values are assigned in the same way as InstanceBuilder assigns them.
+ */
+class ColumnBindings {
+
+    private final String[] titles;
+    private final String[] properties;
+    private Class<?> boundClass;
+    private ColumnBinding[] bindings;
+
+    ColumnBindings(final String[] titleRow) {
+        titles = new String[titleRow.length];
+        properties = new String[titleRow.length];
+        for (int column = 0; column < titleRow.length; column++) {
+            titles[column] = titleRow[column].trim();
+            properties[column] = FieldName.from(titles[column]).inNormalizedForm();
+        }
+    }
+
+    public void assignRow(final Object target, final String[] dataRow) {
+        ColumnBinding[] columnBindings = bindingsFor(target);
+        boolean validPropertyFound = false;
+        for (int column = 0; column < titles.length; column++) {
+            if (column < dataRow.length) {
+                if (columnBindings[column].assign(target, dataRow[column].trim())) {
+                    validPropertyFound = true;
+                }
+            }
+        }
+        if (!validPropertyFound) {
+            throw new FailedToInitializeTestData("No properties or public fields matching the data columns were found "
+                                                 + "or could be assigned for the class " + target.getClass().getName()
+                                                 + "using test data: " + rowData(dataRow));
+        }
+    }
+
+    Map<String, String> rowData(final String[] dataRow) {
+        Map<String, String> rowData = new HashMap<String, String>();
+        for (int column = 0; (column < titles.length) && (column < dataRow.length); column++) {
+            rowData.put(titles[column], dataRow[column].trim());
+        }
+        return rowData;
+    }
+
+    private ColumnBinding[] bindingsFor(final Object target) {
+        if (target.getClass() != boundClass) {
+            ColumnBinding[] columnBindings = new ColumnBinding[properties.length];
+            for (int column = 0; column < properties.length; column++) {
+                columnBindings[column] = bindingFor(target, properties[column]);
+            }
+            bindings = columnBindings;
+            boundClass = target.getClass();
+        }
+        return bindings;
+    }
+
+    private ColumnBinding bindingFor(final Object target, final String property) {
+        if (!isASimpleProperty(property) || (target instanceof Map) || (target instanceof DynaBean)) {
+            return new DynamicBinding(property);
+        }
+        Method setter = setterFor(target, property);
+        if (setter != null) {
+            return new SetterBinding(setter);
+        }
+        for (Field field : target.getClass().getFields()) {
+            if (field.getName().equals(property)) {
+                return new FieldBinding(field);
+            }
+        }
+        return NO_BINDING;
+    }
+
+    private boolean isASimpleProperty(final String property) {
+        return (property.indexOf('.') < 0) && (property.indexOf('[') < 0) && (property.indexOf('(') < 0);
+    }
+
+    private Method setterFor(final Object target, final String property) {
+        try {
+            PropertyDescriptor descriptor = PropertyUtils.getPropertyDescriptor(target, property);
+            return (descriptor == null) ? null : PropertyUtils.getWriteMethod(descriptor);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private interface ColumnBinding {
+        boolean assign(Object target, String value);
+    }
+
+    private static final ColumnBinding NO_BINDING = new ColumnBinding() {
+        public boolean assign(final Object target, final String value) {
+            return false;
+        }
+    };
+
+    private static final class SetterBinding implements ColumnBinding {
+        private final Method setter;
+
+        private SetterBinding(final Method setter) {
+            this.setter = setter;
+        }
+
+        public boolean assign(final Object target, final String value) {
+            try {
+                setter.invoke(target, value);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class FieldBinding implements ColumnBinding {
+        private final Field field;
+
+        private FieldBinding(final Field field) {
+            this.field = field;
+        }
+
+        public boolean assign(final Object target, final String value) {
+            try {
+                field.set(target, value);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class DynamicBinding implements ColumnBinding {
+        private final String property;
+
+        private DynamicBinding(final String property) {
+            this.property = property;
+        }
+
+        public boolean assign(final Object target, final String value) {
+            try {
+                InstanceBuilder.inObject(target).setPropertyValue(property, value);
+                return true;
+            } catch (FailedToInitializeTestData e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package net.thucydides.core.csv;
+
+import au.com.bytecode.opencsv.CSVReader;
+import net.thucydides.core.steps.ScenarioSteps;
+import net.thucydides.core.steps.StepFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Test data from a CSV file, read one row at a time instead of being loaded into memory.
+ * The rows(), instancesOf() and instanciatedInstancesFrom() methods read the file again each time they are iterated,
+ * and close it once the last row has been read, so very large data files can be used without running out of memory.
+ * The file is also closed if a row cannot be converted. A loop that stops before the last row leaves the file open:
+ * use the RowIterator directly and close it when you are done.
+ * The column headings are matched to the properties of the test data objects once for the whole file.
+ */
+public class StreamingCSVTestDataSource implements TestDataSource {
+
+    private final String path;
+    private final char separator;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingCSVTestDataSource.class);
+
+    public StreamingCSVTestDataSource(final String path, final char separatorValue) throws IOException {
+        this.path = path;
+        this.separator = separatorValue;
+        CSVTestDataSource.readerFor(path).close();
+    }
+
+    public StreamingCSVTestDataSource(final String path) throws IOException {
+        this(path, CSVReader.DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * Iterates over the rows of the data file, which stays open until the last row has been read or it is closed.
+     */
+    public interface RowIterator<T> extends Iterator<T>, Closeable {
+    }
+
+    /**
+     * Rows that are read from the data file again each time they are iterated.
+     */
+    public interface Rows<T> extends Iterable<T> {
+        RowIterator<T> iterator();
+    }
+
+    /**
+     * The data rows, as maps of column headings to values.
+     */
+    public Rows<Map<String, String>> rows() {
+        return new Rows<Map<String, String>>() {
+            public RowIterator<Map<String, String>> iterator() {
+                return new FileRowIterator<Map<String, String>>() {
+                    @Override
+                    protected Map<String, String> convert(final String[] dataRow, final ColumnBindings columns) {
+                        return columns.rowData(dataRow);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The data rows, as JavaBean instances.
+     */
+    public <T> Rows<T> instancesOf(final Class<T> clazz, final Object... constructorArgs) {
+        return new Rows<T>() {
+            public RowIterator<T> iterator() {
+                return new FileRowIterator<T>() {
+                    @Override
+                    protected T convert(final String[] dataRow, final ColumnBindings columns) {
+                        T newObject = createNewInstanceOf(clazz, constructorArgs);
+                        columns.assignRow(newObject, dataRow);
+                        return newObject;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The data rows, as step libraries created by the step factory.
+     */
+    public <T extends ScenarioSteps> Rows<T> instanciatedInstancesFrom(final Class<T> clazz,
+                                                                     final StepFactory factory) {
+        return new Rows<T>() {
+            public RowIterator<T> iterator() {
+                return new FileRowIterator<T>() {
+                    @Override
+                    protected T convert(final String[] dataRow, final ColumnBindings columns) {
+                        T newObject = factory.getUniqueStepLibraryFor(clazz);
+                        columns.assignRow(newObject, dataRow);
+                        return newObject;
+                    }
+                };
+            }
+        };
+    }
+
+    public int countRows() {
+        int rowCount = 0;
+        Iterator<Map<String, String>> rows = new FileRowIterator<Map<String, String>>() {
+            @Override
+            protected Map<String, String> convert(final String[] dataRow, final ColumnBindings columns) {
+                return null;
+            }
+        };
+        while (rows.hasNext()) {
+            rows.next();
+            rowCount++;
+        }
+        return rowCount;
+    }
+
+    public List<Map<String, String>> getData() {
+        return listOf(rows());
+    }
+
+    public <T> List<T> getDataAsInstancesOf(final Class<T> clazz, final Object... constructorArgs) {
+        return listOf(instancesOf(clazz, constructorArgs));
+    }
+
+    public <T extends ScenarioSteps> List<T> getInstanciatedInstancesFrom(final Class<T> clazz,
+                                                                          final StepFactory factory) {
+        return listOf(instanciatedInstancesFrom(clazz, factory));
+    }
+
+    private <T> List<T> listOf(final Iterable<T> values) {
+        List<T> list = new ArrayList<T>();
+        for (T value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    protected <T> T createNewInstanceOf(final Class<T> clazz, final Object... constructorArgs) {
+        try {
+            return InstanceBuilder.newInstanceOf(clazz, constructorArgs);
+        } catch (Exception e) {
+            LOGGER.error("Could not create test data bean", e);
+            throw new FailedToInitializeTestData("Could not create test data beans", e);
+        }
+    }
+
+    private abstract class FileRowIterator<T> implements RowIterator<T> {
+
+        private final CSVReader reader;
+        private final ColumnBindings columns;
+        private String[] nextRow;
+
+        FileRowIterator() {
+            try {
+                reader = new CSVReader(CSVTestDataSource.readerFor(path), separator);
+            } catch (IOException e) {
+                throw new FailedToInitializeTestData("Could not read test data from " + path, e);
+            }
+            try {
+                String[] titleRow = reader.readNext();
+                columns = (titleRow == null) ? null : new ColumnBindings(titleRow);
+                nextRow = (titleRow == null) ? null : readNextRow();
+            } catch (IOException e) {
+                closeQuietly();
+                throw new FailedToInitializeTestData("Could not read test data from " + path, e);
+            } catch (RuntimeException e) {
+                closeQuietly();
+                throw e;
+            }
+            if (nextRow == null) {
+                closeQuietly();
+            }
+        }
+
+        protected abstract T convert(String[] dataRow, ColumnBindings columns);
+
+        private String[] readNextRow() throws IOException {
+            String[] row = reader.readNext();
+            if (row == null) {
+                close();
+            }
+            return row;
+        }
+
+        public void close() throws IOException {
+            nextRow = null;
+            reader.close();
+        }
+
+        private void closeQuietly() {
+            try {
+                close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close test data file " + path, e);
+            }
+        }
+
+        public boolean hasNext() {
+            return (nextRow != null);
+        }
+
+        public T next() {
+            if (nextRow == null) {
+                throw new NoSuchElementException();
+            }
+            String[] dataRow = nextRow;
+            try {
+                nextRow = readNextRow();
+                return convert(dataRow, columns);
+            } catch (IOException e) {
+                closeQuietly();
+                throw new FailedToInitializeTestData("Could not read test data from " + path, e);
+            } catch (RuntimeException e) {
+                closeQuietly();
+                throw e;
+            }
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package net.thucydides.core.guice;
 
 import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -19,6 +22,22 @@ import java.util.Properties;
 public class DatabaseConfig {
 
     private static final int TABLE_NAME_COLUMN  = 3;
+    private static final int INDEX_NAME_COLUMN  = 6;
+
+    private static final String TEST_RUN_TAGS_TABLE = "testrun_tags";
+    private static final String TEST_RUN_TAGS_INDEX = "testrun_tags_tag_idx";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseConfig.class);
+
+    /**
+     * How many statements are sent to the database at a time when test results are stored.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    /**
+     * How many connections Hibernate keeps open to the statistics database.
+     */
+    public static final int DEFAULT_POOL_SIZE = 10;
 
     private final EnvironmentVariables environmentVariables;
 
@@ -44,7 +63,10 @@ public class DatabaseConfig {
         properties.put("hibernate.connection.username", username);
         properties.put("hibernate.connection.password", password);
         properties.put("hibernate.dialect", dialect);
-        properties.put("hibernate.connection.pool_size", "1");
+        properties.put("hibernate.connection.pool_size", getPoolSize());
+        properties.put("hibernate.jdbc.batch_size", getBatchSize());
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
 
         boolean databaseIsConfigured = databaseIsConfigured(properties);
         if (usingDefaultDatabase() || !databaseIsConfigured) {
@@ -55,6 +77,77 @@ public class DatabaseConfig {
         return properties;
     }
 
+    /**
+     * Hibernate cannot declare an index on a join table, so the index used to find the test runs for a tag
+     * is added here, once Hibernate has created or updated the schema.
+     * Databases that are only validated are left untouched.
+     */
+    public void addMissingIndexes(Properties targetConfiguration) {
+        if (!"update".equals(targetConfiguration.getProperty("hibernate.hbm2ddl.auto"))) {
+            return;
+        }
+        try {
+            Connection conn = connectionFor(targetConfiguration);
+            try {
+                String testRunTagsTable = findTable(conn, TEST_RUN_TAGS_TABLE);
+                if ((testRunTagsTable != null) && !hasIndex(conn, testRunTagsTable, TEST_RUN_TAGS_INDEX)) {
+                    createIndex(conn, TEST_RUN_TAGS_INDEX, TEST_RUN_TAGS_TABLE, "tag_id");
+                }
+            } finally {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Could not add the " + TEST_RUN_TAGS_INDEX + " index to the statistics database", e);
+        }
+    }
+
+    private Connection connectionFor(Properties targetConfiguration) throws SQLException {
+        Properties connectionProps = new Properties();
+        connectionProps.put("user", targetConfiguration.getProperty("hibernate.connection.username"));
+        connectionProps.put("password", targetConfiguration.getProperty("hibernate.connection.password"));
+        return DriverManager.getConnection(targetConfiguration.getProperty("hibernate.connection.url"), connectionProps);
+    }
+
+    private String findTable(Connection conn, String tableName) throws SQLException {
+        for (String table : getTablesFrom(conn)) {
+            if (table.equalsIgnoreCase(tableName)) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasIndex(Connection conn, String table, String indexName) throws SQLException {
+        ResultSet rs = conn.getMetaData().getIndexInfo(null, null, table, false, true);
+        try {
+            while (rs.next()) {
+                if (indexName.equalsIgnoreCase(rs.getString(INDEX_NAME_COLUMN))) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            rs.close();
+        }
+    }
+
+    private void createIndex(Connection conn, String indexName, String table, String column) throws SQLException {
+        Statement statement = conn.createStatement();
+        try {
+            statement.executeUpdate("create index " + indexName + " on " + table + " (" + column + ")");
+        } finally {
+            statement.close();
+        }
+    }
+
+    private String getBatchSize() {
+        return environmentVariables.getProperty("thucydides.statistics.batch_size", Integer.toString(DEFAULT_BATCH_SIZE));
+    }
+
+    private String getPoolSize() {
+        return environmentVariables.getProperty("thucydides.statistics.pool_size", Integer.toString(DEFAULT_POOL_SIZE));
+    }
+
     private String getDefaultDatabaseUrl() {
         String defaultThucydidesDirectory = environmentVariables.getProperty("user.home") + "/.thucydides";
         String defaultDatabase = defaultThucydidesDirectory + "/stats";
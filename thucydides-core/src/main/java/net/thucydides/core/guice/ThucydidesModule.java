@@ -10,6 +10,7 @@ import net.thucydides.core.ThucydidesSystemProperties;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.batches.BatchManager;
 import net.thucydides.core.batches.SystemVariableBasedBatchManager;
+import net.thucydides.core.images.ThumbnailService;
 import net.thucydides.core.issues.IssueTracking;
 import net.thucydides.core.issues.SystemPropertiesIssueTracking;
 import net.thucydides.core.logging.ThucydidesLogging;
@@ -21,6 +22,8 @@ import net.thucydides.core.reports.saucelabs.LinkGenerator;
 import net.thucydides.core.reports.saucelabs.SaucelabsLinkGenerator;
 import net.thucydides.core.reports.templates.FreeMarkerTemplateManager;
 import net.thucydides.core.reports.templates.TemplateManager;
+import net.thucydides.core.screenshots.MultithreadScreenshotProcessor;
+import net.thucydides.core.screenshots.ScreenshotProcessor;
 import net.thucydides.core.statistics.Statistics;
 import net.thucydides.core.statistics.StatisticsListener;
 import net.thucydides.core.statistics.dao.HibernateTestOutcomeHistoryDAO;
@@ -61,6 +64,8 @@ public class ThucydidesModule extends AbstractModule {
         bind(LinkGenerator.class).to(SaucelabsLinkGenerator.class);
         bind(LocalPreferences.class).to(PropertiesFileLocalPreferences.class).in(Singleton.class);
         bind(TestOutcomeHistoryDAO.class).to(HibernateTestOutcomeHistoryDAO.class);
+        bind(ScreenshotProcessor.class).to(MultithreadScreenshotProcessor.class).in(Singleton.class);
+        bind(ThumbnailService.class).in(Singleton.class);
 
         bind(StepListener.class).annotatedWith(Statistics.class).to(StatisticsListener.class);
         bind(StepListener.class).annotatedWith(ThucydidesLogging.class).to(ConsoleLoggingListener.class);
@@ -70,8 +75,11 @@ public class ThucydidesModule extends AbstractModule {
     @Singleton
     @Inject
     public EntityManagerFactory provideEntityManagerFactory(EnvironmentVariables environmentVariables) {
-        Properties connectionProperties = DatabaseConfig.usingPropertiesFrom(environmentVariables).getProperties();
-        return Persistence.createEntityManagerFactory("db-manager", connectionProperties);
+        DatabaseConfig databaseConfig = DatabaseConfig.usingPropertiesFrom(environmentVariables);
+        Properties connectionProperties = databaseConfig.getProperties();
+        EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("db-manager", connectionProperties);
+        databaseConfig.addMissingIndexes(connectionProperties);
+        return entityManagerFactory;
     }
 
     @Provides
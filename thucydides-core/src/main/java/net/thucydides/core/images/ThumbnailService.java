@@ -0,0 +1,400 @@
+package net.thucydides.core.images;
+
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Expands screenshots to a common height for the HTML reports, filling out the extra space with a grey background.
+ * This gives the same images as {@link ResizableImage#rescaleCanvas(int)}, but:
+ * <ul>
+ *     <li>the dimensions of each image are only read once (until the file changes);</li>
+ *     <li>each target height has its own scaled image, which is only written again if its source image has changed
+ *     (each output directory keeps an index of the scaled images it contains);</li>
+ *     <li>images are decoded straight into the padded canvas, rather than being decoded and then copied;</li>
+ *     <li>several images can be expanded at once on a bounded thread pool.</li>
+ * </ul>
+ * There is normally only one of these per JVM (see the Guice module).
+ */
+public class ThumbnailService {
+
+    public static final int MAX_SUPPORTED_HEIGHT = 4000;
+    public static final String SCALED_IMAGE_PREFIX = "scaled_";
+    public static final String INDEX_FILENAME = "scaled-screenshots.index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final ExecutorService executor;
+    private final int threadCount;
+    private final ConcurrentMap<String, ImageInfo> imageInfoCache = new ConcurrentHashMap<String, ImageInfo>();
+    private final ConcurrentMap<File, ScaledImageIndex> indexes = new ConcurrentHashMap<File, ScaledImageIndex>();
+    private final ConcurrentMap<File, Object> scaledImageLocks = new ConcurrentHashMap<File, Object>();
+
+    public ThumbnailService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ThumbnailService(final int threadCount) {
+        this.threadCount = threadCount;
+        this.executor = Executors.newFixedThreadPool(threadCount,
+                                                     new ThreadFactoryBuilder().setNameFormat("thumbnail-%d")
+                                                                               .setDaemon(true).build());
+    }
+
+    /**
+     * The width and height of a PNG image, read from the file header the first time they are needed.
+     */
+    public Dimension dimensionsOf(final File image) throws IOException {
+        ImageInfo info = imageInfoFor(image);
+        return new Dimension(info.width, info.height);
+    }
+
+    /**
+     * The image that will be used in the reports: the same directory and filename, with a "scaled_" prefix
+     * and the target height (e.g. "scaled_800_screenshot.png"). Each target height has its own scaled image,
+     * so reports that expand the same screenshot to different heights do not overwrite each other's images.
+     */
+    public File scaledImageFor(final File image, final int targetHeight) {
+        return new File(image.getAbsoluteFile().getParentFile(),
+                        SCALED_IMAGE_PREFIX + targetHeight + "_" + image.getName());
+    }
+
+    /**
+     * Expand the canvas of an image to the target height, and return the scaled image.
+     */
+    public File expandCanvas(final File image, final int targetHeight) throws IOException {
+        List<File> images = new ArrayList<File>();
+        images.add(image);
+        return expandCanvases(images, targetHeight).get(image);
+    }
+
+    /**
+     * Expand the canvases of a set of images to the target height, using the thread pool when there is more than one.
+     * Returns the scaled image for each of the source images.
+     */
+    public Map<File, File> expandCanvases(final Collection<File> images, final int targetHeight) throws IOException {
+        Set<File> distinctImages = new LinkedHashSet<File>(images);
+        Map<File, File> scaledImages = new LinkedHashMap<File, File>();
+        try {
+            if ((distinctImages.size() <= 1) || (threadCount <= 1)) {
+                for (File image : distinctImages) {
+                    scaledImages.put(image, scaledCopyOf(image, targetHeight));
+                }
+            } else {
+                scaledImages.putAll(expandInParallel(distinctImages, targetHeight));
+            }
+        } finally {
+            saveIndexesFor(distinctImages);
+        }
+        return scaledImages;
+    }
+
+    private Map<File, File> expandInParallel(final Set<File> images, final int targetHeight) throws IOException {
+        Map<File, Future<File>> pendingImages = new LinkedHashMap<File, Future<File>>();
+        for (final File image : images) {
+            pendingImages.put(image, executor.submit(new Callable<File>() {
+                public File call() throws Exception {
+                    return scaledCopyOf(image, targetHeight);
+                }
+            }));
+        }
+        Map<File, File> scaledImages = new LinkedHashMap<File, File>();
+        IOException firstFailure = null;
+        for (Map.Entry<File, Future<File>> pendingImage : pendingImages.entrySet()) {
+            try {
+                scaledImages.put(pendingImage.getKey(), waitFor(pendingImage.getValue(), pendingImage.getKey()));
+            } catch (IOException e) {
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+        return scaledImages;
+    }
+
+    private File waitFor(final Future<File> pendingImage, final File image) throws IOException {
+        try {
+            return pendingImage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while scaling " + image, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to scale " + image, cause);
+        }
+    }
+
+    private File scaledCopyOf(final File image, final int targetHeight) throws IOException {
+        File scaledImage = scaledImageFor(image, targetHeight);
+        synchronized (lockFor(scaledImage)) {
+            ScaledImageIndex index = indexFor(image.getAbsoluteFile().getParentFile());
+            String sourceKey = imageInfoFor(image).getDigest() + ":" + targetHeight;
+            if (index.isUpToDate(scaledImage, sourceKey)) {
+                return scaledImage;
+            }
+            writeScaledImage(image, scaledImage, targetHeight);
+            index.record(scaledImage, sourceKey);
+            return scaledImage;
+        }
+    }
+
+    private void writeScaledImage(final File image, final File scaledImage, final int targetHeight) throws IOException {
+        File temporaryImage = File.createTempFile(SCALED_IMAGE_PREFIX, ".tmp", image.getAbsoluteFile().getParentFile());
+        try {
+            ImageInfo info = imageInfoFor(image);
+            BufferedImage paddedImage = null;
+            if (!skipRescale(info.height, targetHeight)) {
+                paddedImage = paddedCanvasFor(image, info.width, Math.min(targetHeight, MAX_SUPPORTED_HEIGHT));
+            }
+            if (paddedImage != null) {
+                ImageIO.write(paddedImage, "PNG", temporaryImage);
+            } else {
+                FileUtils.copyFile(image, temporaryImage);
+            }
+            moveIntoPlace(temporaryImage, scaledImage);
+        } finally {
+            FileUtils.deleteQuietly(temporaryImage);
+        }
+    }
+
+    private boolean skipRescale(final int height, final int targetHeight) {
+        return (height > MAX_SUPPORTED_HEIGHT) || (height >= targetHeight);
+    }
+
+    /**
+     * Decode the image directly into the top of a canvas of the target height that has already been filled
+     * with the background colour. The canvas uses the same image type that ImageIO.read() would have used.
+     */
+    private BufferedImage paddedCanvasFor(final File image, final int width, final int targetHeight) throws IOException {
+        ImageInputStream input = ImageIO.createImageInputStream(image);
+        if (input == null) {
+            throw new IOException("Could not open " + image);
+        }
+        try {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image type: " + image);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageTypeSpecifier imageType = reader.getImageTypes(0).next();
+                BufferedImage canvas = imageType.createBufferedImage(width, targetHeight);
+                fillWithBackground(canvas);
+                ImageReadParam readParam = reader.getDefaultReadParam();
+                readParam.setDestination(canvas);
+                return reader.read(0, readParam);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Could not resize screenshot: " + image, e);
+            return null;
+        } finally {
+            input.close();
+        }
+    }
+
+    private void fillWithBackground(final BufferedImage canvas) {
+        Graphics2D g2d = canvas.createGraphics();
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        g2d.dispose();
+    }
+
+    private static void moveIntoPlace(final File temporaryFile, final File targetFile) throws IOException {
+        if (!temporaryFile.renameTo(targetFile)) {
+            FileUtils.deleteQuietly(targetFile);
+            if (!temporaryFile.renameTo(targetFile)) {
+                throw new IOException("Could not write " + targetFile);
+            }
+        }
+    }
+
+    private Object lockFor(final File scaledImage) {
+        Object lock = scaledImageLocks.get(scaledImage);
+        if (lock == null) {
+            lock = new Object();
+            Object existingLock = scaledImageLocks.putIfAbsent(scaledImage, lock);
+            if (existingLock != null) {
+                lock = existingLock;
+            }
+        }
+        return lock;
+    }
+
+    private ImageInfo imageInfoFor(final File image) throws IOException {
+        String key = image.getAbsolutePath();
+        ImageInfo info = imageInfoCache.get(key);
+        if ((info == null) || (!info.isCurrentFor(image))) {
+            info = new ImageInfo(image);
+            imageInfoCache.put(key, info);
+        }
+        return info;
+    }
+
+    private ScaledImageIndex indexFor(final File directory) throws IOException {
+        File key = directory.getAbsoluteFile();
+        ScaledImageIndex index = indexes.get(key);
+        if (index == null) {
+            index = ScaledImageIndex.loadFrom(key);
+            ScaledImageIndex existingIndex = indexes.putIfAbsent(key, index);
+            if (existingIndex != null) {
+                index = existingIndex;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Called from a finally block, so a failure to save an index is logged rather than hiding the original error.
+     * The scaled images will simply be produced again next time.
+     */
+    private void saveIndexesFor(final Set<File> images) {
+        Set<File> directories = new LinkedHashSet<File>();
+        for (File image : images) {
+            directories.add(image.getAbsoluteFile().getParentFile());
+        }
+        for (File directory : directories) {
+            ScaledImageIndex index = indexes.get(directory);
+            if (index != null) {
+                try {
+                    index.save();
+                } catch (IOException e) {
+                    LOGGER.warn("Could not save the scaled image index in " + directory, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The dimensions (and, when needed, the MD5 digest) of an image file, valid as long as the file does not change.
+     */
+    private static final class ImageInfo {
+        private final long lastModified;
+        private final long length;
+        private final int width;
+        private final int height;
+        private final File image;
+        private volatile String digest;
+
+        private ImageInfo(final File image) throws IOException {
+            this.image = image;
+            this.lastModified = image.lastModified();
+            this.length = image.length();
+            SimpleImageInfo imageInfo = new SimpleImageInfo(image);
+            this.width = imageInfo.getWidth();
+            this.height = imageInfo.getHeight();
+        }
+
+        private boolean isCurrentFor(final File file) {
+            return (file.lastModified() == lastModified) && (file.length() == length);
+        }
+
+        private String getDigest() throws IOException {
+            if (digest == null) {
+                try {
+                    byte[] md5 = Files.getDigest(image, MessageDigest.getInstance("MD5"));
+                    digest = new BigInteger(1, md5).toString(16);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IOException("MD5 digests are not available", e);
+                }
+            }
+            return digest;
+        }
+    }
+
+    /**
+     * Records which source image and target height each scaled image in a directory was made from.
+     * The index is saved as a sorted list of "scaled image=digest:height" lines. It is written to a temporary file
+     * first and then renamed, so a run that is interrupted cannot leave a half-written index behind.
+     */
+    private static final class ScaledImageIndex {
+        private final File indexFile;
+        private final Map<String, String> entries = new TreeMap<String, String>();
+        private boolean changed;
+
+        private ScaledImageIndex(final File indexFile) {
+            this.indexFile = indexFile;
+        }
+
+        private static ScaledImageIndex loadFrom(final File directory) throws IOException {
+            ScaledImageIndex index = new ScaledImageIndex(new File(directory, INDEX_FILENAME));
+            if (index.indexFile.exists()) {
+                for (String line : FileUtils.readLines(index.indexFile)) {
+                    int separator = line.indexOf('=');
+                    if (separator > 0) {
+                        index.entries.put(line.substring(0, separator), line.substring(separator + 1));
+                    }
+                }
+            }
+            return index;
+        }
+
+        private synchronized boolean isUpToDate(final File scaledImage, final String sourceKey) {
+            return scaledImage.exists() && sourceKey.equals(entries.get(scaledImage.getName()));
+        }
+
+        private synchronized void record(final File scaledImage, final String sourceKey) {
+            entries.put(scaledImage.getName(), sourceKey);
+            changed = true;
+        }
+
+        private synchronized void save() throws IOException {
+            if (!changed) {
+                return;
+            }
+            List<String> lines = new ArrayList<String>();
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                lines.add(entry.getKey() + "=" + entry.getValue());
+            }
+            File temporaryIndexFile = File.createTempFile(INDEX_FILENAME, ".tmp", indexFile.getParentFile());
+            try {
+                FileUtils.writeLines(temporaryIndexFile, lines);
+                moveIntoPlace(temporaryIndexFile, indexFile);
+            } finally {
+                FileUtils.deleteQuietly(temporaryIndexFile);
+            }
+            changed = false;
+        }
+    }
+}
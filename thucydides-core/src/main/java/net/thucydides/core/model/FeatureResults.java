@@ -6,13 +6,6 @@ import net.thucydides.core.model.features.ApplicationFeature;
 import java.util.ArrayList;
 import java.util.List;
 
-import static ch.lambdaj.Lambda.extract;
-import static ch.lambdaj.Lambda.filter;
-import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.Lambda.sum;
-import static org.hamcrest.Matchers.greaterThan;
-import static org.hamcrest.Matchers.greaterThanOrEqualTo;
-
 /**
  * A set of test results related to a given feature.
  */
@@ -23,88 +16,119 @@ public class FeatureResults {
 
     private ReportNamer namer;
 
+    private volatile StoryTotals totals;
+
+    /**
+     * The totals for all of the stories in this feature, added up in a single pass over the stories.
+     */
+    private static final class StoryTotals {
+        private int totalTests;
+        private int passingTests;
+        private int failingTests;
+        private int skippedTests;
+        private int pendingTests;
+        private int totalSteps;
+        private int passingSteps;
+        private int failingSteps;
+        private int skippedSteps;
+        private int estimatedTotalSteps;
+        private int coveredSteps;
+        private int passingCoverageSteps;
+        private int failingCoverageSteps;
+        private int pendingCoverageSteps;
+        private TestResult result;
+
+        private StoryTotals(final List<StoryTestResults> storyTestResultsList) {
+            List<TestResult> storyResults = new ArrayList<TestResult>(storyTestResultsList.size());
+            for (StoryTestResults story : storyTestResultsList) {
+                int storyEstimatedTotalSteps = story.getEstimatedTotalStepCount();
+
+                totalTests += story.getTotal();
+                passingTests += story.getSuccessCount();
+                failingTests += story.getFailureCount();
+                skippedTests += story.getSkipCount();
+                pendingTests += story.getPendingCount();
+                totalSteps += story.getStepCount();
+                passingSteps += story.countStepsInSuccessfulTests();
+                failingSteps += story.countStepsInFailingTests();
+                skippedSteps += story.countStepsInSkippedTests();
+                estimatedTotalSteps += storyEstimatedTotalSteps;
+                coveredSteps += (story.getCoverage() * storyEstimatedTotalSteps);
+                passingCoverageSteps += (story.getPercentPassingCoverage() * storyEstimatedTotalSteps);
+                failingCoverageSteps += (story.getPercentFailingCoverage() * storyEstimatedTotalSteps);
+                pendingCoverageSteps += (story.getPercentPendingCoverage() * storyEstimatedTotalSteps);
+                storyResults.add(story.getResult());
+            }
+            result = TestResultList.of(storyResults).getOverallResult();
+        }
+    }
+
     public FeatureResults(final ApplicationFeature feature) {
         this.feature = feature;
         this.namer = ReportNamer.forReportType(ReportType.HTML);
         storyTestResultsList = new ArrayList<StoryTestResults>();
     }
-          
-    
-    public void foo() {
-
-        
-        List<Integer> ages = ImmutableList.of(10,15,18,21,25,30,40,50);
-        
-        List<Integer> adults = new ArrayList<Integer>();
-        for(int age : ages) {
-            if (age >= 18) {
-                adults.add(age);
-            }
-        }
-        
-        List<Integer> adultAges = filter(greaterThanOrEqualTo(18), ages);
-        
-        
-    }
+
     public ApplicationFeature getFeature() {
         return feature;
     }
 
     public void recordStoryResults(final StoryTestResults storyResults) {
         storyTestResultsList.add(storyResults);
+        totals = null;
+    }
+
+    private StoryTotals getTotals() {
+        StoryTotals currentTotals = totals;
+        if (currentTotals == null) {
+            currentTotals = new StoryTotals(storyTestResultsList);
+            totals = currentTotals;
+        }
+        return currentTotals;
     }
 
     public Integer getTotalTests() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).getTotal())).intValue();
+        return getTotals().totalTests;
     }
 
     public Integer getPassingTests() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).getSuccessCount())).intValue();
+        return getTotals().passingTests;
     }
 
     public Integer getFailingTests() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).getFailureCount())).intValue();
+        return getTotals().failingTests;
     }
 
     public Integer getPassingSteps() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).countStepsInSuccessfulTests())).intValue();
+        return getTotals().passingSteps;
     }
 
     public Integer getFailingSteps() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).countStepsInFailingTests())).intValue();
+        return getTotals().failingSteps;
     }
 
     public Integer getSkippedSteps() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).countStepsInSkippedTests())).intValue();
+        return getTotals().skippedSteps;
     }
 
     public Integer getSkippedTests() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).getSkipCount())).intValue();
+        return getTotals().skippedTests;
     }
 
     public Integer getPendingTests() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).getPendingCount())).intValue();
+        return getTotals().pendingTests;
     }
 
     public Integer getTotalSteps() {
-        return sum(extract(storyTestResultsList, on(StoryTestResults.class).getStepCount())).intValue();
+        return getTotals().totalSteps;
     }
 
     public Integer getEstimatedTotalSteps() {
-        List<Integer> stepCounts = extract(storyTestResultsList, on(StoryTestResults.class).getEstimatedTotalStepCount());
-        return sum(stepCounts, on(Integer.class).intValue());
+        return getTotals().estimatedTotalSteps;
     }
 
     public double getCoverage() {
-        if (getEstimatedTotalSteps() == 0) {
-            return 0.0;
-        }
-
-        int coveredStepCount = 0;
-        for(StoryTestResults story : storyTestResultsList) {
-            coveredStepCount += (story.getCoverage() * story.getEstimatedTotalStepCount());
-        }
-        return ((double) coveredStepCount) / getEstimatedTotalSteps();
+        return proportionOfEstimatedSteps(getTotals().coveredSteps);
     }
 
     public Integer getTotalStories() {
@@ -120,46 +144,27 @@ public class FeatureResults {
     }
 
     public int countStepsInSuccessfulTests() {
-        if (storyTestResultsList.size() == 0) {
-            return 0;
-        }
-        return sum(storyTestResultsList, on(StoryTestResults.class).countStepsInSuccessfulTests());
+        return getTotals().passingSteps;
     }
 
     public Double getPercentPassingCoverage() {
-        if (getEstimatedTotalSteps() == 0) {
-            return 0.0;
-        }
-
-        int stepCount = 0;
-        for(StoryTestResults story : storyTestResultsList) {
-            stepCount += (story.getPercentPassingCoverage() * story.getEstimatedTotalStepCount());
-        }
-        return ((double) stepCount) / getEstimatedTotalSteps();
+        return proportionOfEstimatedSteps(getTotals().passingCoverageSteps);
     }
 
     public Double getPercentFailingCoverage() {
-        if (getEstimatedTotalSteps() == 0) {
-            return 0.0;
-        }
-
-        int stepCount = 0;
-        for(StoryTestResults story : storyTestResultsList) {
-            stepCount += (story.getPercentFailingCoverage() * story.getEstimatedTotalStepCount());
-        }
-        return ((double) stepCount) / getEstimatedTotalSteps();
+        return proportionOfEstimatedSteps(getTotals().failingCoverageSteps);
     }
 
     public Double getPercentPendingCoverage() {
-        if (getEstimatedTotalSteps() == 0) {
-            return 0.0;
-        }
+        return proportionOfEstimatedSteps(getTotals().pendingCoverageSteps);
+    }
 
-        int stepCount = 0;
-        for(StoryTestResults story : storyTestResultsList) {
-            stepCount += (story.getPercentPendingCoverage() * story.getEstimatedTotalStepCount());
+    private double proportionOfEstimatedSteps(final int stepCount) {
+        int estimatedTotalSteps = getTotals().estimatedTotalSteps;
+        if (estimatedTotalSteps == 0) {
+            return 0.0;
         }
-        return ((double) stepCount) / getEstimatedTotalSteps();
+        return ((double) stepCount) / estimatedTotalSteps;
     }
 
     public CoverageFormatter getFormatted() {
@@ -169,12 +174,7 @@ public class FeatureResults {
     }
 
     public TestResult getResult() {
-        TestResultList testResults = TestResultList.of(getCurrentTestResults());
-        return testResults.getOverallResult();
-    }
-
-    private List<TestResult> getCurrentTestResults() {
-        return extract(storyTestResultsList, on(StoryTestResults.class).getResult());
+        return getTotals().result;
     }
 
 }
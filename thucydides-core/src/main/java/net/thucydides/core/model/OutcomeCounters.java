@@ -0,0 +1,149 @@
+package net.thucydides.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The test and step counts for a set of test outcomes, calculated in a single pass over the outcomes.
+ * The reports ask for these figures many times per page, so they are worked out once and then reused.
+ */
+public final class OutcomeCounters {
+
+    private final int total;
+    private final int successCount;
+    private final int failureCount;
+    private final int skipCount;
+    private final int pendingCount;
+    private final int implementedTestCount;
+    private final int stepCount;
+    private final int stepsInSuccessfulTests;
+    private final int stepsInFailingTests;
+    private final int stepsInSkippedTests;
+    private final long duration;
+    private final TestResult result;
+
+    private OutcomeCounters(final int total,
+                            final int successCount,
+                            final int failureCount,
+                            final int skipCount,
+                            final int pendingCount,
+                            final int implementedTestCount,
+                            final int stepCount,
+                            final int stepsInSuccessfulTests,
+                            final int stepsInFailingTests,
+                            final int stepsInSkippedTests,
+                            final long duration,
+                            final TestResult result) {
+        this.total = total;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.skipCount = skipCount;
+        this.pendingCount = pendingCount;
+        this.implementedTestCount = implementedTestCount;
+        this.stepCount = stepCount;
+        this.stepsInSuccessfulTests = stepsInSuccessfulTests;
+        this.stepsInFailingTests = stepsInFailingTests;
+        this.stepsInSkippedTests = stepsInSkippedTests;
+        this.duration = duration;
+        this.result = result;
+    }
+
+    public static OutcomeCounters forTestOutcomes(final List<TestOutcome> testOutcomes) {
+        int successCount = 0;
+        int failureCount = 0;
+        int skipCount = 0;
+        int pendingCount = 0;
+        int implementedTestCount = 0;
+        int stepCount = 0;
+        int stepsInSuccessfulTests = 0;
+        int stepsInFailingTests = 0;
+        int stepsInSkippedTests = 0;
+        long duration = 0;
+        List<TestResult> results = new ArrayList<TestResult>(testOutcomes.size());
+
+        for (TestOutcome testOutcome : testOutcomes) {
+            int nestedStepCount = nestedStepCountOf(testOutcome);
+            stepCount += nestedStepCount;
+            duration += testOutcome.getDuration();
+            if (testOutcome.isSuccess()) {
+                successCount++;
+                stepsInSuccessfulTests += nestedStepCount;
+            }
+            if (testOutcome.isFailure()) {
+                failureCount++;
+                stepsInFailingTests += nestedStepCount;
+            }
+            if (testOutcome.isSkipped()) {
+                skipCount++;
+                stepsInSkippedTests += nestedStepCount;
+            }
+            if (testOutcome.isPending()) {
+                pendingCount++;
+            }
+            if (!testOutcome.getTestSteps().isEmpty()) {
+                implementedTestCount++;
+            }
+            results.add(testOutcome.getResult());
+        }
+        return new OutcomeCounters(testOutcomes.size(), successCount, failureCount, skipCount, pendingCount,
+                                   implementedTestCount, stepCount,
+                                   stepsInSuccessfulTests, stepsInFailingTests, stepsInSkippedTests,
+                                   duration, TestResultList.of(results).getOverallResult());
+    }
+
+    private static int nestedStepCountOf(final TestOutcome testOutcome) {
+        Integer nestedStepCount = testOutcome.getNestedStepCount();
+        return (nestedStepCount == null) ? 0 : nestedStepCount;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public int getSkipCount() {
+        return skipCount;
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * How many of the tests have at least one step.
+     */
+    public int getImplementedTestCount() {
+        return implementedTestCount;
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    public int getStepsInSuccessfulTests() {
+        return stepsInSuccessfulTests;
+    }
+
+    public int getStepsInFailingTests() {
+        return stepsInFailingTests;
+    }
+
+    public int getStepsInSkippedTests() {
+        return stepsInSkippedTests;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public TestResult getResult() {
+        return result;
+    }
+}
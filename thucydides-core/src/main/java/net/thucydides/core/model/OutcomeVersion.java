@@ -0,0 +1,20 @@
+package net.thucydides.core.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the changes made to a test outcome and to its steps, so that the values the outcome derives
+ * from its steps (step lists, results, counts, screenshots) only need to be worked out again when something changes.
+ */
+final class OutcomeVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    long current() {
+        return version.get();
+    }
+
+    void changed() {
+        version.incrementAndGet();
+    }
+}
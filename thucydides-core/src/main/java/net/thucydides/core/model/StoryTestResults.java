@@ -1,6 +1,5 @@
 package net.thucydides.core.model;
 
-import ch.lambdaj.function.convert.Converter;
 import com.google.common.collect.ImmutableList;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.issues.IssueTracking;
@@ -9,18 +8,11 @@ import net.thucydides.core.webdriver.Configuration;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static ch.lambdaj.Lambda.convert;
-import static ch.lambdaj.Lambda.extract;
-import static ch.lambdaj.Lambda.flatten;
-import static ch.lambdaj.Lambda.having;
-import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.Lambda.select;
-import static ch.lambdaj.Lambda.sort;
-import static ch.lambdaj.Lambda.sum;
 import static net.thucydides.core.model.ReportType.ROOT;
 import static org.apache.commons.lang3.StringUtils.capitalize;
 /**
@@ -41,6 +33,9 @@ public class StoryTestResults {
     private final Configuration configuration;
 
     private final Formatter formatter;
+
+    private volatile OutcomeCounters counters;
+
     /**
      * Create a new acceptance test run instance.
      */
@@ -64,7 +59,19 @@ public class StoryTestResults {
     }
 
     public long getDuration() {
-        return sum(testOutcomes, on(TestOutcome.class).getDuration());
+        return getCounters().getDuration();
+    }
+
+    /**
+     * The counters are calculated the first time they are needed, and again whenever a new test run is recorded.
+     */
+    private OutcomeCounters getCounters() {
+        OutcomeCounters currentCounters = counters;
+        if (currentCounters == null) {
+            currentCounters = OutcomeCounters.forTestOutcomes(testOutcomes);
+            counters = currentCounters;
+        }
+        return currentCounters;
     }
 
     public Story getStory() {
@@ -85,6 +92,7 @@ public class StoryTestResults {
      */
     public void recordTestRun(final TestOutcome testOutcome) {
         testOutcomes.add(testOutcome);
+        counters = null;
     }
 
     /**
@@ -99,53 +107,38 @@ public class StoryTestResults {
      * How many test cases contain at least one failing test.
      */
     public int getFailureCount() {
-        return select(testOutcomes, having(on(TestOutcome.class).isFailure())).size();
+        return getCounters().getFailureCount();
     }
 
 
     public Integer getSkipCount() {
-        return select(testOutcomes, having(on(TestOutcome.class).isSkipped())).size();
+        return getCounters().getSkipCount();
     }
 
     /**
      * How many test cases contain only successful or ignored tests.
      */
     public int getSuccessCount() {
-        return select(testOutcomes, having(on(TestOutcome.class).isSuccess())).size();
+        return getCounters().getSuccessCount();
     }
 
     /**
      * How many steps make up the successful tests?
      */
     public int countStepsInSuccessfulTests() {
-        List<TestOutcome> successfulTests = select(testOutcomes, having(on(TestOutcome.class).isSuccess()));
-        try {
-            return (successfulTests.isEmpty()) ? 0 : sum(successfulTests, on(TestOutcome.class).getNestedStepCount());
-        } catch(Exception e) {
-            return 0;
-        }
+        return getCounters().getStepsInSuccessfulTests();
     }
 
     public int countStepsInFailingTests() {
-        List<TestOutcome> tests = select(testOutcomes, having(on(TestOutcome.class).isFailure()));
-        try {
-            return (tests.isEmpty()) ? 0 : sum(tests, on(TestOutcome.class).getNestedStepCount());
-        } catch(Exception e) {
-            return 0;
-        }
+        return getCounters().getStepsInFailingTests();
     }
 
     public int countStepsInSkippedTests() {
-        List<TestOutcome> tests = select(testOutcomes, having(on(TestOutcome.class).isSkipped()));
-        try {
-            return (tests.isEmpty()) ? 0 : sum(tests, on(TestOutcome.class).getNestedStepCount());
-        } catch(Exception e) {
-            return 0;
-        }
+        return getCounters().getStepsInSkippedTests();
     }
 
     public int getPendingCount() {
-        return select(testOutcomes, having(on(TestOutcome.class).isPending())).size();
+        return getCounters().getPendingCount();
     }
 
     public List<TestOutcome> getTestOutcomes() {
@@ -161,8 +154,10 @@ public class StoryTestResults {
     }
 
     public String getFormattedIssues() {
-        if (!getIssues().isEmpty()) {
-           List<String> orderedIssues =  sort(getIssues(), on(String.class));
+        Set<String> issues = getIssues();
+        if (!issues.isEmpty()) {
+           List<String> orderedIssues = new ArrayList<String>(issues);
+           Collections.sort(orderedIssues);
            return "(" + getFormatter().addLinks(StringUtils.join(orderedIssues, ", ")) + ")";
         } else {
             return "";
@@ -170,8 +165,11 @@ public class StoryTestResults {
     }
 
     public Set<String> getIssues() {
-        List<String> allIssues = flatten(extract(testOutcomes, on(TestOutcome.class).getIssues()));
-        return new HashSet<String>(allIssues);
+        Set<String> allIssues = new HashSet<String>();
+        for (TestOutcome testOutcome : testOutcomes) {
+            allIssues.addAll(testOutcome.getIssues());
+        }
+        return allIssues;
     }
 
     private Formatter getFormatter() {
@@ -179,7 +177,7 @@ public class StoryTestResults {
     }
 
     public int getStepCount() {
-        return sum(extract(testOutcomes, on(TestOutcome.class).getNestedStepCount())).intValue();
+        return getCounters().getStepCount();
     }
 
     public Double getCoverage() {
@@ -235,29 +233,11 @@ public class StoryTestResults {
     }
 
     private int totalImplementedTests() {
-       int testCount = 0;
-       for(TestOutcome testOutcome : testOutcomes) {
-           if (!testOutcome.getTestSteps().isEmpty()) {
-               testCount++;
-           }
-       }
-       return testCount;
-    }
-
-    private static class ExtractTestResultsConverter implements Converter<TestOutcome, TestResult> {
-        public TestResult convert(final TestOutcome step) {
-            return step.getResult();
-        }
+       return getCounters().getImplementedTestCount();
     }
 
-    private List<TestResult> getCurrentTestResults() {
-        return convert(getTestOutcomes(), new ExtractTestResultsConverter());
-    }
-
-    
     public TestResult getResult() {
-        TestResultList testResults = TestResultList.of(getCurrentTestResults());
-        return testResults.getOverallResult();
+        return getCounters().getResult();
     }
 
     /**
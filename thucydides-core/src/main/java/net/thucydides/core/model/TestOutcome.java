@@ -5,7 +5,7 @@ import com.google.common.collect.ImmutableList;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.annotations.TestAnnotations;
 import net.thucydides.core.guice.Injectors;
-import net.thucydides.core.images.SimpleImageInfo;
+import net.thucydides.core.images.ThumbnailService;
 import net.thucydides.core.issues.IssueTracking;
 import net.thucydides.core.model.features.ApplicationFeature;
 import net.thucydides.core.reports.html.Formatter;
@@ -29,10 +29,8 @@ import java.util.Stack;
 import static ch.lambdaj.Lambda.convert;
 import static ch.lambdaj.Lambda.extract;
 import static ch.lambdaj.Lambda.filter;
-import static ch.lambdaj.Lambda.having;
 import static ch.lambdaj.Lambda.join;
 import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.Lambda.select;
 import static ch.lambdaj.Lambda.sort;
 import static ch.lambdaj.Lambda.sum;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -109,6 +107,16 @@ public class TestOutcome {
 
     private LinkGenerator linkGenerator;
 
+    /**
+     * Bumped whenever this outcome or one of its steps changes.
+     */
+    private final transient OutcomeVersion version = new OutcomeVersion();
+
+    /**
+     * The step lists, result, counts and screenshots derived from the current version of the steps.
+     */
+    private transient volatile DerivedViews derivedViews;
+
     /**
      * The title is immutable once set. For convenience, you can create a test
      * run directly with a title using this constructor.
@@ -256,17 +264,20 @@ public class TestOutcome {
      * acceptance test as a whole depends on the outcome of all of the steps.
      */
     public List<TestStep> getTestSteps() {
-        return ImmutableList.copyOf(testSteps);
+        return derivedViews().getTestSteps();
     }
 
     public List<Screenshot> getScreenshots() {
-        List<Screenshot> screenshots = new ArrayList<Screenshot>();
+        return derivedViews().getScreenshots();
+    }
 
-        List<TestStep> testStepsWithScreenshots = select(getFlattenedTestSteps(),
-                                                         having(on(TestStep.class).needsScreenshots()));
+    private List<Screenshot> findScreenshots() {
+        List<Screenshot> screenshots = new ArrayList<Screenshot>();
 
-        for (TestStep currentStep : testStepsWithScreenshots) {
-            screenshots.addAll(screenshotsIn(currentStep));
+        for (TestStep currentStep : getFlattenedTestSteps()) {
+            if (weNeedAScreenshotFor(currentStep)) {
+                screenshots.addAll(screenshotsIn(currentStep));
+            }
         }
 
         return ImmutableList.copyOf(screenshots);
@@ -292,15 +303,22 @@ public class TestOutcome {
         return (step.needsScreenshots());
     }
 
+    /**
+     * The dimensions of each screenshot are cached by the {@link ThumbnailService}, so each file is only read once.
+     */
     private int widthOf(final File screenshot) {
         try {
-            return new SimpleImageInfo(screenshot).getWidth();
+            return Injectors.getInjector().getInstance(ThumbnailService.class).dimensionsOf(screenshot).width;
         } catch (IOException e) {
             return ThucydidesSystemProperty.DEFAULT_WIDTH;
         }
     }
 
     public List<TestStep> getFlattenedTestSteps() {
+        return derivedViews().getFlattenedTestSteps();
+    }
+
+    private List<TestStep> flattenTestSteps() {
         List<TestStep> flattenedTestSteps = new ArrayList<TestStep>();
         for (TestStep step : getTestSteps()) {
             flattenedTestSteps.add(step);
@@ -312,6 +330,10 @@ public class TestOutcome {
     }
 
     public List<TestStep> getLeafTestSteps() {
+        return derivedViews().getLeafTestSteps();
+    }
+
+    private List<TestStep> findLeafTestSteps() {
         List<TestStep> leafTestSteps = new ArrayList<TestStep>();
         for (TestStep step : getTestSteps()) {
             if (step.isAGroup()) {
@@ -333,6 +355,10 @@ public class TestOutcome {
      * The test result can also be overridden using the 'setResult()' method.
      */
     public TestResult getResult() {
+        return derivedViews().getResult();
+    }
+
+    private TestResult calculateResult() {
         if (testFailureCause != null) {
             return FAILURE;
         }
@@ -355,6 +381,8 @@ public class TestOutcome {
             getCurrentStepGroup().addChildStep(step);
         } else {
             testSteps.add(step);
+            step.belongsTo(version);
+            version.changed();
         }
         return this;
     }
@@ -471,6 +499,7 @@ public class TestOutcome {
 
     public void setTestFailureCause(Throwable cause) {
         this.testFailureCause = cause;
+        version.changed();
     }
 
     public Throwable getTestFailureCause() {
@@ -479,6 +508,7 @@ public class TestOutcome {
 
     public void setAnnotatedResult(final TestResult annotatedResult) {
         this.annotatedResult = annotatedResult;
+        version.changed();
     }
 
     private Set<String> issues() {
@@ -582,15 +612,15 @@ public class TestOutcome {
     }
 
     public Integer getSuccessCount() {
-        return count(successfulSteps()).in(getLeafTestSteps());
+        return derivedViews().getSuccessCount();
     }
 
     public Integer getFailureCount() {
-        return count(failingSteps()).in(getLeafTestSteps());
+        return derivedViews().getFailureCount();
     }
 
     public Integer getIgnoredCount() {
-        return count(ignoredSteps()).in(getLeafTestSteps());
+        return derivedViews().getIgnoredCount();
     }
 
     public Integer getSkippedOrIgnoredCount() {
@@ -598,12 +628,11 @@ public class TestOutcome {
     }
 
     public Integer getSkippedCount() {
-        return count(skippedSteps()).in(getLeafTestSteps());
+        return derivedViews().getSkippedCount();
     }
 
     public Integer getPendingCount() {
-        List<TestStep> allTestSteps = getLeafTestSteps();
-        return select(allTestSteps, having(on(TestStep.class).isPending())).size();
+        return derivedViews().getPendingCount();
     }
 
     public Boolean isSuccess() {
@@ -738,4 +767,132 @@ public class TestOutcome {
             }
         };
     }
+
+    private DerivedViews derivedViews() {
+        long currentVersion = version.current();
+        DerivedViews views = derivedViews;
+        if ((views == null) || (views.version != currentVersion)) {
+            views = new DerivedViews(currentVersion);
+            derivedViews = views;
+        }
+        return views;
+    }
+
+    /**
+     * The values derived from one version of the test steps. Each value is only worked out when it is first needed,
+     * and a new set of views is started whenever the outcome or one of its steps changes.
+     */
+    private final class DerivedViews {
+        private final long version;
+        private volatile List<TestStep> testStepsView;
+        private volatile List<TestStep> flattenedTestSteps;
+        private volatile List<TestStep> leafTestSteps;
+        private volatile List<Screenshot> screenshots;
+        private volatile TestResult result;
+        private volatile StepCounts stepCounts;
+
+        private DerivedViews(final long version) {
+            this.version = version;
+        }
+
+        List<TestStep> getTestSteps() {
+            if (testStepsView == null) {
+                testStepsView = ImmutableList.copyOf(testSteps);
+            }
+            return testStepsView;
+        }
+
+        List<TestStep> getFlattenedTestSteps() {
+            if (flattenedTestSteps == null) {
+                flattenedTestSteps = flattenTestSteps();
+            }
+            return flattenedTestSteps;
+        }
+
+        List<TestStep> getLeafTestSteps() {
+            if (leafTestSteps == null) {
+                leafTestSteps = findLeafTestSteps();
+            }
+            return leafTestSteps;
+        }
+
+        List<Screenshot> getScreenshots() {
+            if (screenshots == null) {
+                screenshots = findScreenshots();
+            }
+            return screenshots;
+        }
+
+        TestResult getResult() {
+            if (result == null) {
+                result = calculateResult();
+            }
+            return result;
+        }
+
+        int getSuccessCount() {
+            return stepCounts().successCount;
+        }
+
+        int getFailureCount() {
+            return stepCounts().failureCount;
+        }
+
+        int getIgnoredCount() {
+            return stepCounts().ignoredCount;
+        }
+
+        int getSkippedCount() {
+            return stepCounts().skippedCount;
+        }
+
+        int getPendingCount() {
+            return stepCounts().pendingCount;
+        }
+
+        private StepCounts stepCounts() {
+            if (stepCounts == null) {
+                stepCounts = new StepCounts(getLeafTestSteps());
+            }
+            return stepCounts;
+        }
+    }
+
+    /**
+     * The number of leaf steps with each result, counted in a single pass.
+     */
+    private static final class StepCounts {
+        private final int successCount;
+        private final int failureCount;
+        private final int ignoredCount;
+        private final int skippedCount;
+        private final int pendingCount;
+
+        private StepCounts(final List<TestStep> leafTestSteps) {
+            int success = 0;
+            int failure = 0;
+            int ignored = 0;
+            int skipped = 0;
+            int pending = 0;
+            for (TestStep step : leafTestSteps) {
+                TestResult result = step.getResult();
+                if (result == SUCCESS) {
+                    success++;
+                } else if (result == FAILURE) {
+                    failure++;
+                } else if (result == IGNORED) {
+                    ignored++;
+                } else if (result == SKIPPED) {
+                    skipped++;
+                } else if (result == PENDING) {
+                    pending++;
+                }
+            }
+            this.successCount = success;
+            this.failureCount = failure;
+            this.ignoredCount = ignored;
+            this.skippedCount = skipped;
+            this.pendingCount = pending;
+        }
+    }
 }
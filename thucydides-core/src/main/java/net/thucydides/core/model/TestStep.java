@@ -38,6 +38,11 @@ public class TestStep {
 
     private List<TestStep> children = new ArrayList<TestStep>();
 
+    /**
+     * The version of the test outcome this step belongs to, if any, which is updated whenever the step changes.
+     */
+    private transient OutcomeVersion outcomeVersion;
+
     public TestStep() {
         startTime = System.currentTimeMillis();
     }
@@ -64,6 +69,7 @@ public class TestStep {
     
     public void setDescription(final String description) {
         this.description = description;
+        changed();
     }
 
     public String getDescription() {
@@ -97,6 +103,7 @@ public class TestStep {
      */
     public void setResult(final TestResult result) {
         this.result = result;
+        changed();
     }
 
     public TestResult getResult() {
@@ -154,6 +161,7 @@ public class TestStep {
 
     public void setDuration(final long duration) {
         this.duration = duration;
+        changed();
     }
 
     public long getDuration() {
@@ -165,8 +173,8 @@ public class TestStep {
      * @param exception why the test failed.
      */
     public void failedWith(final Throwable exception) {
-        setResult(TestResult.FAILURE);
         this.cause = exception;
+        setResult(TestResult.FAILURE);
     }
 
     public String getErrorMessage() {
@@ -179,6 +187,7 @@ public class TestStep {
      */
     public void testAborted(final Throwable exception) {
         this.cause = exception;
+        changed();
     }
 
     private String errorMessageFrom(final Throwable error) {
@@ -210,6 +219,8 @@ public class TestStep {
 
     public void addChildStep(final TestStep step) {
         children.add(step);
+        step.belongsTo(outcomeVersion);
+        changed();
     }
 
     public boolean hasChildren() {
@@ -231,6 +242,7 @@ public class TestStep {
     public void addScreenshot(ScreenshotAndHtmlSource screenshotAndHtmlSource) {
         if (thisIsANew(screenshotAndHtmlSource)) {
             screenshots.add(screenshotAndHtmlSource);
+            changed();
         }
     }
 
@@ -246,4 +258,21 @@ public class TestStep {
     public int getScreenshotCount() {
         return screenshots.size();
     }
+
+    /**
+     * Called when this step (and its children) are added to a test outcome.
+     * A step should only belong to one test outcome at a time.
+     */
+    void belongsTo(final OutcomeVersion outcomeVersion) {
+        this.outcomeVersion = outcomeVersion;
+        for (TestStep child : children) {
+            child.belongsTo(outcomeVersion);
+        }
+    }
+
+    private void changed() {
+        if (outcomeVersion != null) {
+            outcomeVersion.changed();
+        }
+    }
 }
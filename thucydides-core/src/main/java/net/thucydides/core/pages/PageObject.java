@@ -5,6 +5,7 @@ import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.pages.components.Dropdown;
 import net.thucydides.core.pages.components.FileToUpload;
 import net.thucydides.core.pages.jquery.JQueryEnabledPage;
+import net.thucydides.core.scheduling.FluentWaitOnPageChanges;
 import net.thucydides.core.scheduling.FluentWaitWithRefresh;
 import net.thucydides.core.scheduling.NormalFluentWait;
 import net.thucydides.core.scheduling.ThucydidesFluentWait;
@@ -49,6 +50,8 @@ public abstract class PageObject {
 
     private static final int WAIT_FOR_ELEMENT_PAUSE_LENGTH = 250;
 
+    private static final int INITIAL_WAIT_FOR_ELEMENT_PAUSE_LENGTH = 10;
+
     private static final int ONE_SECOND = 1000;
 
     private long waitForTimeout = 5 * ONE_SECOND;
@@ -78,12 +81,9 @@ public abstract class PageObject {
         this.driver = driver;
         this.waitForTimeout = ajaxTimeout;
         this.webdriverClock = new SystemClock();
-        this.clock = Injectors.getInjector().getInstance(net.thucydides.core.pages.SystemClock.class);
         this.sleeper = Sleeper.SYSTEM_SLEEPER;
         this.javascriptExecutorFacade = new JavascriptExecutorFacade(driver);
 
-        setupPageUrls();
-
         WebDriverFactory.initElementsWithAjaxSupport(this, driver, ajaxTimeout);
 
     }
@@ -92,12 +92,9 @@ public abstract class PageObject {
         this.driver = driver;
         this.waitForTimeout = WAIT_FOR_TIMEOUT;
         this.webdriverClock = new SystemClock();
-        this.clock = Injectors.getInjector().getInstance(net.thucydides.core.pages.SystemClock.class);
         this.sleeper = Sleeper.SYSTEM_SLEEPER;
         this.javascriptExecutorFacade = new JavascriptExecutorFacade(driver);
 
-        setupPageUrls();
-
         WebDriverFactory.initElementsWithAjaxSupport(this, driver);
 
     }
@@ -106,8 +103,11 @@ public abstract class PageObject {
         return new FileToUpload(filename);
     }
 
-    private void setupPageUrls() {
-        setPageUrls(new PageUrls(this));
+    private PageUrls getPageUrls() {
+        if (pageUrls == null) {
+            pageUrls = new PageUrls(this);
+        }
+        return pageUrls;
     }
 
     /**
@@ -130,6 +130,9 @@ public abstract class PageObject {
     }
 
     protected net.thucydides.core.pages.SystemClock getClock() {
+        if (clock == null) {
+            clock = Injectors.getInjector().getInstance(net.thucydides.core.pages.SystemClock.class);
+        }
         return clock;
     }
 
@@ -279,7 +282,7 @@ public abstract class PageObject {
     }
 
     public StepDelayer.WaitForBuilder waitFor(int duration) {
-        return new StepDelayer(clock).waitFor(duration);
+        return new StepDelayer(getClock()).waitFor(duration);
     }
 
     public List<WebElement> thenReturnElementList(final By byListCriteria) {
@@ -395,12 +398,7 @@ public abstract class PageObject {
      * Check that the specified text appears somewhere in the page.
      */
     public boolean containsAllText(final String... textValues) {
-        for (String textValue : textValues) {
-            if (!getRenderedView().containsText(textValue)) {
-                return false;
-            }
-        }
-        return true;
+        return getRenderedView().containsAllText(textValues);
     }
 
     /**
@@ -434,7 +432,7 @@ public abstract class PageObject {
 
     public String updateUrlWithBaseUrlIfDefined(final String startingUrl) {
 
-        String baseUrl = pageUrls.getBaseUrl();
+        String baseUrl = getPageUrls().getBaseUrl();
         if ((baseUrl != null) && (!StringUtils.isEmpty(baseUrl))) {
             return replaceHost(startingUrl, baseUrl);
         } else {
@@ -481,7 +479,7 @@ public abstract class PageObject {
      * represented in the URL using {0}, {1}, etc.
      */
     public final void open(final String... parameterValues) {
-        String startingUrl = pageUrls.getStartingUrl(parameterValues);
+        String startingUrl = getPageUrls().getStartingUrl(parameterValues);
         LOGGER.debug("Opening page at url {}", startingUrl);
         openPageAtUrl(startingUrl);
         callWhenPageOpensMethods();
@@ -490,7 +488,7 @@ public abstract class PageObject {
 
     public final void open(final String urlTemplateName,
                            final String[] parameterValues) {
-        String startingUrl = pageUrls.getNamedUrl(urlTemplateName, parameterValues);
+        String startingUrl = getPageUrls().getNamedUrl(urlTemplateName, parameterValues);
         LOGGER.debug("Opening page at url {}", startingUrl);
         openPageAtUrl(startingUrl);
         callWhenPageOpensMethods();
@@ -520,7 +518,7 @@ public abstract class PageObject {
      * it will open http://stage.acme.com/client/list. It will then invoke the waitUntilTitleAppears() method.
      */
     final public void open() {
-        String startingUrl = updateUrlWithBaseUrlIfDefined(pageUrls.getStartingUrl());
+        String startingUrl = updateUrlWithBaseUrlIfDefined(getPageUrls().getStartingUrl());
         openPageAtUrl(startingUrl);
         callWhenPageOpensMethods();
     }
@@ -578,7 +576,7 @@ public abstract class PageObject {
     }
 
     public void setDefaultBaseUrl(final String defaultBaseUrl) {
-        pageUrls.overrideDefaultBaseUrl(defaultBaseUrl);
+        getPageUrls().overrideDefaultBaseUrl(defaultBaseUrl);
     }
 
     /**
@@ -673,6 +671,17 @@ public abstract class PageObject {
 
     public ThucydidesFluentWait<WebDriver> waitForCondition() {
         return new NormalFluentWait<WebDriver>(driver, webdriverClock, sleeper)
+                .withTimeout(waitForTimeout, TimeUnit.MILLISECONDS)
+                .pollingAdaptively(INITIAL_WAIT_FOR_ELEMENT_PAUSE_LENGTH, WAIT_FOR_ELEMENT_PAUSE_LENGTH,
+                                   TimeUnit.MILLISECONDS)
+                .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
+    }
+
+    /**
+     * Wait for a condition that is checked again each time the page changes, using JavaScript in the browser.
+     */
+    public ThucydidesFluentWait<WebDriver> waitForConditionOnPageChanges() {
+        return new FluentWaitOnPageChanges<WebDriver>(driver, webdriverClock, sleeper)
                 .withTimeout(waitForTimeout, TimeUnit.MILLISECONDS)
                 .pollingEvery(WAIT_FOR_ELEMENT_PAUSE_LENGTH, TimeUnit.MILLISECONDS)
                 .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
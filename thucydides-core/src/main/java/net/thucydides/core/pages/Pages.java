@@ -1,5 +1,6 @@
 package net.thucydides.core.pages;
 
+import com.google.common.collect.MapMaker;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.webdriver.Configuration;
 import net.thucydides.core.webdriver.WebDriverFacade;
@@ -10,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
@@ -28,6 +30,13 @@ public class Pages implements Serializable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Pages.class);
 
+    /**
+     * Page objects are created every time a test asks for one, so their constructors are only looked up once.
+     * Page classes can be unloaded along with their class loader, so they are only weakly referenced here.
+     */
+    private static final ConcurrentMap<Class<?>, Constructor<?>> PAGE_CONSTRUCTORS
+            = new MapMaker().weakKeys().softValues().makeMap();
+
     private String defaultBaseUrl;
 
     private final Configuration configuration;
@@ -161,10 +170,7 @@ public class Pages implements Serializable {
     private <T extends PageObject> T getCurrentPageOfType(final Class<T> pageObjectClass) {
         T currentPage = null;
         try {
-            Class[] constructorArgs = new Class[1];
-            constructorArgs[0] = WebDriver.class;
-            Constructor<? extends PageObject> constructor = pageObjectClass.getConstructor(constructorArgs);
-            currentPage = (T) constructor.newInstance(driver);
+            currentPage = (T) pageConstructorFor(pageObjectClass).newInstance(driver);
         } catch (NoSuchMethodException e) {
             LOGGER.info("This page object does not appear have a constructor that takes a WebDriver parameter: "
                     + pageObjectClass, e);
@@ -176,6 +182,16 @@ public class Pages implements Serializable {
         return currentPage;
     }
 
+    private Constructor<?> pageConstructorFor(final Class<? extends PageObject> pageObjectClass)
+            throws NoSuchMethodException {
+        Constructor<?> constructor = PAGE_CONSTRUCTORS.get(pageObjectClass);
+        if (constructor == null) {
+            constructor = pageObjectClass.getConstructor(WebDriver.class);
+            PAGE_CONSTRUCTORS.putIfAbsent(pageObjectClass, constructor);
+        }
+        return constructor;
+    }
+
     private void thisIsNotThePageYourLookingFor(final Class<? extends PageObject> pageObjectClass) {
 
         String errorDetails = "This is not the page you're looking for:\n"
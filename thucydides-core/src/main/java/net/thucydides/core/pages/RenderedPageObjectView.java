@@ -31,6 +31,11 @@ class RenderedPageObjectView {
 
     private static final int WAIT_FOR_ELEMENT_PAUSE_LENGTH = 50;
 
+    private static final int INITIAL_WAIT_FOR_ELEMENT_PAUSE_LENGTH = 5;
+
+    private static final String[] NO_TEXTS = new String[0];
+    private static final By[] NO_LOCATORS = new By[0];
+
     private static final Logger LOGGER = LoggerFactory
             .getLogger(RenderedPageObjectView.class);
 
@@ -44,7 +49,8 @@ class RenderedPageObjectView {
     public ThucydidesFluentWait<WebDriver> waitForCondition() {
         return new NormalFluentWait<WebDriver>(driver, webdriverClock, sleeper)
                 .withTimeout(waitForTimeout, TimeUnit.MILLISECONDS)
-                .pollingEvery(WAIT_FOR_ELEMENT_PAUSE_LENGTH, TimeUnit.MILLISECONDS)
+                .pollingAdaptively(INITIAL_WAIT_FOR_ELEMENT_PAUSE_LENGTH, WAIT_FOR_ELEMENT_PAUSE_LENGTH,
+                                   TimeUnit.MILLISECONDS)
                 .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
     }
 
@@ -149,6 +155,14 @@ class RenderedPageObjectView {
     }
 
     public boolean containsText(final String textValue) {
+        RenderedPageSnapshot page = RenderedPageSnapshot.of(driver, new String[]{textValue}, NO_LOCATORS);
+        if (page != null) {
+            return page.containsText(0);
+        }
+        return bodyContainsText(textValue);
+    }
+
+    private boolean bodyContainsText(final String textValue) {
         String textInBody = String.format("//body[contains(.,\"%s\")]",
                 textValue);
         List<WebElement> elements = driver.findElements(By.xpath(textInBody));
@@ -231,8 +245,12 @@ class RenderedPageObjectView {
     }
 
     private boolean pageContainsAny(final String... expectedTexts) {
+        RenderedPageSnapshot page = RenderedPageSnapshot.of(driver, expectedTexts, NO_LOCATORS);
+        if (page != null) {
+            return page.containsAnyText();
+        }
         for (String expectedText : expectedTexts) {
-            if (containsText(expectedText)) {
+            if (bodyContainsText(expectedText)) {
                 return true;
             }
         }
@@ -242,16 +260,24 @@ class RenderedPageObjectView {
     private ExpectedCondition<Boolean> allTextPresent(final String... expectedTexts) {
         return new ExpectedCondition<Boolean>() {
             public Boolean apply(WebDriver driver) {
-                for(String expectedText : expectedTexts) {
-                    if (!containsText(expectedText)) {
-                        return false;
-                    }
-                }
-                return true;
+                return containsAllText(expectedTexts);
             }
         };
     }
 
+    public boolean containsAllText(final String... expectedTexts) {
+        RenderedPageSnapshot page = RenderedPageSnapshot.of(driver, expectedTexts, NO_LOCATORS);
+        if (page != null) {
+            return page.containsAllTexts();
+        }
+        for (String expectedText : expectedTexts) {
+            if (!bodyContainsText(expectedText)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void waitForAllTextToAppear(final String... expectedTexts) {
         waitForCondition().until(allTextPresent(expectedTexts));
     }
@@ -271,15 +297,34 @@ class RenderedPageObjectView {
     private ExpectedCondition<Boolean> anyElementPresent(final By... expectedElements) {
         return new ExpectedCondition<Boolean>() {
             public Boolean apply(WebDriver driver) {
-                for(By expectedElement : expectedElements) {
-                    if (elementIsDisplayed(expectedElement)) {
-                        return true;
-                    }
-                }
-                return false;
+                return anyElementIsDisplayed(expectedElements);
             }
         };
     }
+
+    private boolean anyElementIsDisplayed(final By... expectedElements) {
+        RenderedPageSnapshot page = RenderedPageSnapshot.of(driver, NO_TEXTS, expectedElements);
+        for (int i = 0; i < expectedElements.length; i++) {
+            if ((page == null) || !page.canLocate(i)) {
+                if (elementIsDisplayed(expectedElements[i])) {
+                    return true;
+                }
+            } else if (isDisplayed(page.firstElementMatching(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isDisplayed(final WebElement element) {
+        try {
+            return (element != null) && element.isDisplayed();
+        } catch (StaleElementReferenceException se) {
+            LOGGER.trace("Element no longer attached to the DOM " + se);
+            return false;
+        }
+    }
+
     public void waitForAnyRenderedElementOf(final By[] expectedElements) {
         waitForCondition().until(anyElementPresent(expectedElements));
     }
@@ -0,0 +1,166 @@
+package net.thucydides.core.pages;
+
+import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Whether a page contains each of a set of texts, and the first element matching each of a set of locators,
+ * read in a single JavaScript call.
+ * The page text is read once, as the text content of the body, which is the value that the XPath
+ * expression //body[contains(.,"...")] checks.
+ * Locators by id, name, class name, tag name, CSS selector or XPath are evaluated in the browser
+ * where it supports them; other locators, such as link texts, need to be looked up through the driver.
+ */
+class RenderedPageSnapshot {
+
+    private static final String READ_PAGE_SCRIPT =
+            "var texts = arguments[0], locatorTypes = arguments[1], locatorValues = arguments[2];\n" +
+            "var body = document.body;\n" +
+            "var pageText = body ? (body.textContent || body.innerText || '') : '';\n" +
+            "var textsFound = [];\n" +
+            "for (var i = 0; i < texts.length; i++) { textsFound.push(pageText.indexOf(texts[i]) >= 0); }\n" +
+            "function firstOf(elements) { return (elements && elements.length > 0) ? elements[0] : null; }\n" +
+            "function firstNamed(elements, value) {\n" +
+            "    for (var i = 0; i < elements.length; i++) {\n" +
+            "        if (elements[i].getAttribute('name') == value) { return elements[i]; }\n" +
+            "    }\n" +
+            "    return null;\n" +
+            "}\n" +
+            "function firstMatching(type, value) {\n" +
+            "    if (type == 'id') {\n" +
+            "        var elementWithId = document.getElementById(value);\n" +
+            "        return (elementWithId && elementWithId.id != value) ? 'unsupported' : elementWithId;\n" +
+            "    }\n" +
+            "    if (type == 'name') { return firstNamed(document.getElementsByName(value), value); }\n" +
+            "    if (type == 'tagName') { return firstOf(document.getElementsByTagName(value)); }\n" +
+            "    if (type == 'className' && document.getElementsByClassName) {\n" +
+            "        return firstOf(document.getElementsByClassName(value));\n" +
+            "    }\n" +
+            "    if (type == 'css' && document.querySelector) { return document.querySelector(value); }\n" +
+            "    if (type == 'xpath' && document.evaluate) {\n" +
+            "        return document.evaluate(value, document, null, 9, null).singleNodeValue;\n" +
+            "    }\n" +
+            "    return 'unsupported';\n" +
+            "}\n" +
+            "var elements = [];\n" +
+            "for (var j = 0; j < locatorTypes.length; j++) {\n" +
+            "    var element = firstMatching(locatorTypes[j], locatorValues[j]);\n" +
+            "    elements.push((element && element.nodeType && element.nodeType != 1) ? 'unsupported' : element);\n" +
+            "}\n" +
+            "return [textsFound, elements];";
+
+    private static final String UNSUPPORTED = "unsupported";
+
+    private final List<?> textsFound;
+    private final List<?> elements;
+
+    private RenderedPageSnapshot(final List<?> textsFound, final List<?> elements) {
+        this.textsFound = textsFound;
+        this.elements = elements;
+    }
+
+    /**
+     * Returns null if the page could not be read using JavaScript, e.g. if JavaScript is disabled.
+     */
+    static RenderedPageSnapshot of(final WebDriver driver, final String[] texts, final By[] locators) {
+        String[] locatorTypes = new String[locators.length];
+        String[] locatorValues = new String[locators.length];
+        for (int i = 0; i < locators.length; i++) {
+            locatorTypes[i] = typeOf(locators[i]);
+            locatorValues[i] = valueOf(locators[i]);
+        }
+        Object pageData;
+        try {
+            pageData = new JavascriptExecutorFacade(driver).executeScript(READ_PAGE_SCRIPT,
+                                                                          Arrays.asList(texts),
+                                                                          Arrays.asList(locatorTypes),
+                                                                          Arrays.asList(locatorValues));
+        } catch (WebDriverException e) {
+            return null;
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+        if (!(pageData instanceof List) || ((List<?>) pageData).size() != 2) {
+            return null;
+        }
+        List<?> pageParts = (List<?>) pageData;
+        if (!(pageParts.get(0) instanceof List) || !(pageParts.get(1) instanceof List)) {
+            return null;
+        }
+        List<?> textsFound = (List<?>) pageParts.get(0);
+        List<?> elements = (List<?>) pageParts.get(1);
+        if ((textsFound.size() != texts.length) || (elements.size() != locators.length)) {
+            return null;
+        }
+        return new RenderedPageSnapshot(textsFound, elements);
+    }
+
+    private static String typeOf(final By locator) {
+        if (locator.getClass() == By.ById.class) {
+            return "id";
+        } else if (locator.getClass() == By.ByName.class) {
+            return "name";
+        } else if (locator.getClass() == By.ByTagName.class) {
+            return "tagName";
+        } else if ((locator.getClass() == By.ByClassName.class) && !valueOf(locator).matches(".*\\s.*")) {
+            return "className";
+        } else if (locator.getClass() == By.ByCssSelector.class) {
+            return "css";
+        } else if (locator.getClass() == By.ByXPath.class) {
+            return "xpath";
+        }
+        return UNSUPPORTED;
+    }
+
+    /**
+     * The standard locators only expose their value through toString(), e.g. "By.id: submit".
+     */
+    private static String valueOf(final By locator) {
+        String description = locator.toString();
+        int valueStart = description.indexOf(": ");
+        return (valueStart < 0) ? "" : description.substring(valueStart + 2);
+    }
+
+    public boolean containsText(final int textIndex) {
+        return Boolean.TRUE.equals(textsFound.get(textIndex));
+    }
+
+    public boolean containsAllTexts() {
+        for (int i = 0; i < textsFound.size(); i++) {
+            if (!containsText(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean containsAnyText() {
+        for (int i = 0; i < textsFound.size(); i++) {
+            if (containsText(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * False if the locator could not be evaluated in the browser.
+     */
+    public boolean canLocate(final int locatorIndex) {
+        return !UNSUPPORTED.equals(elements.get(locatorIndex));
+    }
+
+    /**
+     * The first element matching the locator, or null if there is none.
+     */
+    public WebElement firstElementMatching(final int locatorIndex) {
+        Object element = elements.get(locatorIndex);
+        return (element instanceof WebElement) ? (WebElement) element : null;
+    }
+}
@@ -4,6 +4,7 @@ import ch.lambdaj.function.convert.Converter;
 import com.google.common.collect.ImmutableList;
 import net.thucydides.core.pages.jquery.JQueryEnabledPage;
 import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.core.webdriver.QuickElementLookup;
 import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
@@ -123,20 +124,27 @@ public class WebElementFacade {
      * Is this web element present and visible on the screen
      * This method will not throw an exception if the element is not on the screen at all.
      * The method will fail immediately if the element is not visible on the screen.
-     * There is a little black magic going on here - the web element class will detect if it is being called
-     * by a method called "isCurrently*" and, if so, fail immediately without waiting as it would normally do.
+     * Page object elements are looked up straight away here, rather than waiting for them to be displayed.
      */
     public boolean isCurrentlyVisible() {
-        return isVisible();
+        QuickElementLookup.start();
+        try {
+            return isVisible();
+        } finally {
+            QuickElementLookup.finish();
+        }
     }
 
     public boolean isCurrentlyEnabled() {
+        QuickElementLookup.start();
         try {
             return webElement.isEnabled();
         } catch (NoSuchElementException e) {
             return false;
         } catch (StaleElementReferenceException se) {
             return false;
+        } finally {
+            QuickElementLookup.finish();
         }
     }
 
@@ -165,8 +173,13 @@ public class WebElementFacade {
      * Throws an AssertionError if the element is not rendered.
      */
     public void shouldNotBeVisible() {
-        if (isVisible()) {
-            throw new AssertionError("Element should not be visible");
+        QuickElementLookup.start();
+        try {
+            if (isVisible()) {
+                throw new AssertionError("Element should not be visible");
+            }
+        } finally {
+            QuickElementLookup.finish();
         }
     }
 
@@ -391,11 +404,14 @@ public class WebElementFacade {
     }
 
     public WebElementFacade waitUntilVisible() {
+        QuickElementLookup.start();
         try {
             waitForCondition().until(elementIsDisplayed());
         } catch (Throwable error) {
             error.printStackTrace();
             throwErrorWithCauseIfPresent(error, error.getMessage());
+        } finally {
+            QuickElementLookup.finish();
         }
         return this;
     }
@@ -516,12 +532,15 @@ public class WebElementFacade {
     }
 
     public WebElementFacade waitUntilEnabled() {
+        QuickElementLookup.start();
         try {
             waitForCondition().until(elementIsEnabled());
             notifyScreenChange();
             return this;
         } catch (TimeoutException timeout) {
             throw new ElementNotVisibleException("Expected enabled element was not enabled" , timeout);
+        } finally {
+            QuickElementLookup.finish();
         }
     }
 
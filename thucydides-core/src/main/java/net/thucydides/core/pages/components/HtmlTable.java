@@ -4,6 +4,7 @@ import ch.lambdaj.function.convert.Converter;
 import net.thucydides.core.matchers.BeanMatcher;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import java.util.ArrayList;
@@ -17,29 +18,57 @@ import static ch.lambdaj.Lambda.convert;
 
 /**
  * Class designed to make it easier reading from and reasoning about data in HTML tables.
+ * If a driver is provided, each query reads the whole table in a single JavaScript call
+ * rather than reading each cell separately.
+ * If the driver cannot run JavaScript, the cells are read one at a time.
  */
 public class HtmlTable {
     private final WebElement tableElement;
+    private final WebDriver driver;
 
     public HtmlTable(final WebElement tableElement) {
+        this(tableElement, null);
+    }
+
+    public HtmlTable(final WebElement tableElement, final WebDriver driver) {
         this.tableElement = tableElement;
+        this.driver = driver;
     }
 
     public static HtmlTable inTable(final WebElement table) {
         return new HtmlTable(table);
     }
 
+    public static HtmlTable inTable(final WebElement table, final WebDriver driver) {
+        return new HtmlTable(table, driver);
+    }
+
+    private HtmlTableSnapshot snapshot() {
+        return (driver == null) ? null : HtmlTableSnapshot.of(tableElement, driver);
+    }
+
     public List<Map<Object, String>> getRows() {
 
         List<Map<Object, String>> results = new ArrayList<Map<Object, String>>();
 
+        HtmlTableSnapshot snapshot = snapshot();
+        if (snapshot != null) {
+            List<String> headings = snapshot.getHeadings();
+            for (List<String> cellValues : snapshot.getRowCells()) {
+                if (enoughCellsFor(headings).in(cellValues)) {
+                    results.add(rowDataFrom(cellValues, headings));
+                }
+            }
+            return results;
+        }
+
         List<String> headings = getHeadings();
         List<WebElement> rows = getRowElementsFor(headings);
 
         for (WebElement row : rows) {
             List<WebElement> cells = cellsIn(row);
             if (enoughCellsFor(headings).in(cells)) {
-                results.add(rowDataFrom(cells, headings));
+                results.add(rowDataFrom(cellValuesIn(cells, headings), headings));
             }
         }
         return results;
@@ -79,7 +108,7 @@ public class HtmlTable {
             this.minimumNumberOfCells = headings.size();
         }
         
-        public boolean in(List<WebElement> cells) {
+        public boolean in(List<?> cells) {
             return (cells.size() >= minimumNumberOfCells);
         }
     }
@@ -89,6 +118,14 @@ public class HtmlTable {
     }
 
     public List<String> getHeadings() {
+        HtmlTableSnapshot snapshot = snapshot();
+        if (snapshot != null) {
+            return snapshot.getHeadings();
+        }
+        return readHeadings();
+    }
+
+    private List<String> readHeadings() {
         List<String> thHeadings = convert(headingElements(), toTextValues());
         if (thHeadings.isEmpty()) {
             return convert(firstRowElements(), toTextValues());
@@ -113,8 +150,11 @@ public class HtmlTable {
     }
 
     public List<WebElement> getRowElements() {
-
-        return getRowElementsFor(getHeadings());
+        HtmlTableSnapshot snapshot = snapshot();
+        if (snapshot != null) {
+            return snapshot.getRowElements();
+        }
+        return getRowElementsFor(readHeadings());
     }
 
     private List<WebElement> stripHeaderRowIfPresent(List<WebElement> rowCandidates, List<String> headings) {
@@ -137,10 +177,25 @@ public class HtmlTable {
         return true;
     }
 
+    static boolean cellValuesMatchHeadings(List<String> cellValues, List<String> headings) {
+        for(int cellIndex = 0; cellIndex < headings.size(); cellIndex++) {
+            if ((cellValues.size() <= cellIndex) || (!cellValues.get(cellIndex).equals(headings.get(cellIndex)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public List<WebElement> getRowElementsWhere(BeanMatcher... matchers) {
 
-        List<WebElement> rowElements = getRowElementsFor(getHeadings());
-        List<Integer> matchingRowIndexes = findMatchingIndexesFor(rowElements, matchers);
+        HtmlTableSnapshot snapshot = snapshot();
+        if (snapshot != null) {
+            return rowElementsMatching(snapshot, matchers);
+        }
+
+        List<String> headings = readHeadings();
+        List<WebElement> rowElements = getRowElementsFor(headings);
+        List<Integer> matchingRowIndexes = findMatchingIndexesFor(rowElements, headings, matchers);
 
         List<WebElement> matchingElements = new ArrayList<WebElement>();
         for(Integer index : matchingRowIndexes) {
@@ -149,15 +204,27 @@ public class HtmlTable {
         return matchingElements;
     }
 
+    private List<WebElement> rowElementsMatching(HtmlTableSnapshot snapshot, BeanMatcher[] matchers) {
+        List<WebElement> matchingElements = new ArrayList<WebElement>();
+        List<List<String>> rowCells = snapshot.getRowCells();
+        for(int index = 0; index < rowCells.size(); index++) {
+            Map<Object, String> rowData = rowDataFrom(rowCells.get(index), snapshot.getHeadings());
+            if (matches(rowData, matchers)) {
+                matchingElements.add(snapshot.getRowElements().get(index));
+            }
+        }
+        return matchingElements;
+    }
+
     private List<Integer> findMatchingIndexesFor(List<WebElement> rowElements,
+                                                 List<String> headings,
                                                  BeanMatcher[] matchers) {
         List<Integer> indexes = new ArrayList<Integer>();
-        List<String> headings = getHeadings();
 
         int index = 0;
         for(WebElement row : rowElements) {
             List<WebElement> cells = cellsIn(row);
-            Map<Object, String> rowData = rowDataFrom(cells, headings);
+            Map<Object, String> rowData = rowDataFrom(cellValuesIn(cells, headings), headings);
             if (matches(rowData, matchers)) {
                 indexes.add(index);
             }
@@ -177,12 +244,12 @@ public class HtmlTable {
     }
 
 
-    private Map<Object,String> rowDataFrom(List<WebElement> cells, List<String> headings) {
+    private Map<Object,String> rowDataFrom(List<String> cellValues, List<String> headings) {
         Map<Object,String> rowData = new HashMap<Object, String>();
 
         int column = 0;
         for (String heading : headings) {
-            String cell = cellValueAt(column++, cells);
+            String cell = cellValues.get(column++);
             if (!StringUtils.isEmpty(heading)) {
                 rowData.put(heading, cell);
             }
@@ -195,8 +262,12 @@ public class HtmlTable {
         return row.findElements(By.tagName("td"));
     }
 
-    private String cellValueAt(final int column, final List<WebElement> cells) {
-        return cells.get(column).getText();
+    private List<String> cellValuesIn(final List<WebElement> cells, final List<String> headings) {
+        List<String> cellValues = new ArrayList<String>();
+        for (int column = 0; column < headings.size(); column++) {
+            cellValues.add(cells.get(column).getText());
+        }
+        return cellValues;
     }
 
     private Converter<WebElement, String> toTextValues() {
@@ -217,7 +288,7 @@ public class HtmlTable {
     }
 
     public List<WebElement> filterRows(final BeanMatcher... matchers) {
-        return new HtmlTable(tableElement).getRowElementsWhere(matchers);
+        return new HtmlTable(tableElement, driver).getRowElementsWhere(matchers);
     }
 
 }
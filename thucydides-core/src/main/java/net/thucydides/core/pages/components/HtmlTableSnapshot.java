@@ -0,0 +1,132 @@
+package net.thucydides.core.pages.components;
+
+import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The headings, candidate rows and cell values of an HTML table, read in a single JavaScript call.
+ * The rows and cells are chosen in the same way as HtmlTable chooses them one element at a time.
+ * Cell values are the text content of each cell, with white space collapsed and trimmed.
+ */
+class HtmlTableSnapshot {
+
+    private static final String READ_TABLE_SCRIPT =
+            "var table = arguments[0];\n" +
+            "function textOf(element) {\n" +
+            "    var text = (typeof element.innerText === 'string') ? element.innerText : element.textContent;\n" +
+            "    return (text || '').replace(/[\\s\\u00a0]+/g, ' ').replace(/^\\s+|\\s+$/g, '');\n" +
+            "}\n" +
+            "function textsOf(elements) {\n" +
+            "    var texts = [];\n" +
+            "    for (var i = 0; i < elements.length; i++) { texts.push(textOf(elements[i])); }\n" +
+            "    return texts;\n" +
+            "}\n" +
+            "function cellCountOf(row) {\n" +
+            "    var count = 0;\n" +
+            "    for (var i = 0; i < row.childNodes.length; i++) {\n" +
+            "        var child = row.childNodes[i];\n" +
+            "        if (child.nodeType == 1 && child.nodeName.toLowerCase() == 'td') { count++; }\n" +
+            "    }\n" +
+            "    return count;\n" +
+            "}\n" +
+            "var allRows = table.getElementsByTagName('tr');\n" +
+            "if (allRows.length == 0) { return null; }\n" +
+            "var headings = textsOf(table.getElementsByTagName('th'));\n" +
+            "if (headings.length == 0) { headings = textsOf(allRows[0].getElementsByTagName('td')); }\n" +
+            "var rows = [];\n" +
+            "var cells = [];\n" +
+            "for (var i = 0; i < allRows.length; i++) {\n" +
+            "    var cellCount = cellCountOf(allRows[i]);\n" +
+            "    if (cellCount > 0 && cellCount >= headings.length) {\n" +
+            "        rows.push(allRows[i]);\n" +
+            "        cells.push(textsOf(allRows[i].getElementsByTagName('td')));\n" +
+            "    }\n" +
+            "}\n" +
+            "return [headings, rows, cells];";
+
+    private final List<String> headings;
+    private final List<WebElement> rowElements;
+    private final List<List<String>> rowCells;
+
+    private HtmlTableSnapshot(final List<String> headings,
+                              final List<WebElement> rowElements,
+                              final List<List<String>> rowCells) {
+        this.headings = Collections.unmodifiableList(headings);
+        this.rowElements = Collections.unmodifiableList(rowElements);
+        this.rowCells = Collections.unmodifiableList(rowCells);
+    }
+
+    /**
+     * Returns null if the table could not be read using JavaScript, e.g. if JavaScript is disabled.
+     */
+    static HtmlTableSnapshot of(final WebElement tableElement, final WebDriver driver) {
+        Object tableData;
+        try {
+            tableData = new JavascriptExecutorFacade(driver).executeScript(READ_TABLE_SCRIPT, unwrapped(tableElement));
+        } catch (WebDriverException e) {
+            return null;
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+        if (!(tableData instanceof List) || ((List<?>) tableData).size() != 3) {
+            return null;
+        }
+        List<?> tableParts = (List<?>) tableData;
+        List<String> headings = stringsIn(tableParts.get(0));
+        List<WebElement> rowElements = new ArrayList<WebElement>();
+        for (Object row : (List<?>) tableParts.get(1)) {
+            rowElements.add((WebElement) row);
+        }
+        List<List<String>> rowCells = new ArrayList<List<String>>();
+        for (Object cells : (List<?>) tableParts.get(2)) {
+            rowCells.add(stringsIn(cells));
+        }
+        return withoutHeaderRow(headings, rowElements, rowCells);
+    }
+
+    private static WebElement unwrapped(final WebElement element) {
+        WebElement unwrappedElement = element;
+        while (unwrappedElement instanceof WrapsElement) {
+            unwrappedElement = ((WrapsElement) unwrappedElement).getWrappedElement();
+        }
+        return unwrappedElement;
+    }
+
+    private static List<String> stringsIn(final Object values) {
+        List<String> strings = new ArrayList<String>();
+        for (Object value : (List<?>) values) {
+            strings.add((value == null) ? "" : value.toString());
+        }
+        return strings;
+    }
+
+    private static HtmlTableSnapshot withoutHeaderRow(final List<String> headings,
+                                                      final List<WebElement> rowElements,
+                                                      final List<List<String>> rowCells) {
+        if (!rowCells.isEmpty() && HtmlTable.cellValuesMatchHeadings(rowCells.get(0), headings)) {
+            return new HtmlTableSnapshot(headings,
+                                         rowElements.subList(1, rowElements.size()),
+                                         rowCells.subList(1, rowCells.size()));
+        }
+        return new HtmlTableSnapshot(headings, rowElements, rowCells);
+    }
+
+    public List<String> getHeadings() {
+        return headings;
+    }
+
+    public List<WebElement> getRowElements() {
+        return rowElements;
+    }
+
+    public List<List<String>> getRowCells() {
+        return rowCells;
+    }
+}
@@ -1,16 +1,26 @@
 package net.thucydides.core.reports;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.util.EnvironmentVariables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sun.misc.Service;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Generates different Thucydides reports in a given output directory.
@@ -25,13 +35,24 @@ public class ReportService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReportService.class);
 
+    private static final String NEW_LINE = System.getProperty("line.separator");
+
     /**
      * Who needs to be notified when a test is done.
      */
     private List<AcceptanceTestReporter> subscribedReporters;
 
+    private final EnvironmentVariables environmentVariables;
+
     public ReportService(final File outputDirectory, final Collection<AcceptanceTestReporter> subscribedReporters) {
+        this(outputDirectory, subscribedReporters, Injectors.getInjector().getInstance(EnvironmentVariables.class));
+    }
+
+    public ReportService(final File outputDirectory,
+                         final Collection<AcceptanceTestReporter> subscribedReporters,
+                         final EnvironmentVariables environmentVariables) {
         this.outputDirectory = outputDirectory;
+        this.environmentVariables = environmentVariables;
         getSubscribedReporters().addAll(subscribedReporters);
     }
 
@@ -59,14 +80,55 @@ public class ReportService {
      * notifies these reporters of the test outcomes. The reporter's job is to
      * process each test run outcome and do whatever is appropriate.
      *
+     * The reports are generated in parallel (see the thucydides.report.threads property).
+     * If any of them fail, the others are still generated, and a single error listing every failure is thrown at the end.
      */
     public void generateReportsFor(final List<TestOutcome> testOutcomeResults) {
 
+        List<ReportGenerationTask> tasks = new ArrayList<ReportGenerationTask>();
         for (AcceptanceTestReporter reporter : getSubscribedReporters()) {
+            reporter.setOutputDirectory(outputDirectory);
             for(TestOutcome testOutcomeResult : testOutcomeResults) {
-                generateReportFor(testOutcomeResult, reporter);
+                tasks.add(new ReportGenerationTask(testOutcomeResult, reporter));
             }
         }
+
+        int threads = Math.min(getReportThreads(), tasks.size());
+        Map<ReportGenerationTask, Throwable> failures
+                = (threads > 1) ? generateInParallel(tasks, threads) : generateInSequence(tasks);
+        if (!failures.isEmpty()) {
+            throw new ReportGenerationFailedError(failureMessageFor(failures), failures.values().iterator().next());
+        }
+    }
+
+    /**
+     * Should the test runners report their outcomes in the background (see the thucydides.report.asynchronously property)?
+     */
+    public boolean generatesReportsInBackground() {
+        return environmentVariables.getPropertyAsBoolean(
+                ThucydidesSystemProperty.REPORT_ASYNCHRONOUSLY.getPropertyName(), false);
+    }
+
+    /**
+     * Queue these test outcomes to be reported in the background, and return straight away.
+     * Use {@link #awaitCompletion()} to wait until the reports have been written.
+     */
+    public void generateReportsInBackgroundFor(final List<TestOutcome> testOutcomeResults) {
+        ReportingQueue.getSharedQueue().publish(this, testOutcomeResults);
+    }
+
+    /**
+     * Wait until all of the reports queued in the background have been written.
+     * This is also done automatically before the JVM exits.
+     */
+    public static void awaitCompletion() {
+        ReportingQueue.getSharedQueue().awaitCompletion();
+    }
+
+    protected int getReportThreads() {
+        int threads = environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.REPORT_THREADS.getPropertyName(),
+                                                                Runtime.getRuntime().availableProcessors());
+        return Math.max(threads, 1);
     }
 
     /**
@@ -83,14 +145,80 @@ public class ReportService {
         return reporters;
     }
 
-    private void generateReportFor(final TestOutcome testOutcome,
-                                   final AcceptanceTestReporter reporter) {
+    private Map<ReportGenerationTask, Throwable> generateInSequence(final List<ReportGenerationTask> tasks) {
+        Map<ReportGenerationTask, Throwable> failures = new LinkedHashMap<ReportGenerationTask, Throwable>();
+        for (ReportGenerationTask task : tasks) {
+            try {
+                task.call();
+            } catch (Exception e) {
+                failures.put(task, e);
+            }
+        }
+        return failures;
+    }
+
+    private Map<ReportGenerationTask, Throwable> generateInParallel(final List<ReportGenerationTask> tasks,
+                                                                   final int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                                                                new ThreadFactoryBuilder()
+                                                                        .setNameFormat("report-generator-%d")
+                                                                        .setDaemon(true).build());
         try {
-            reporter.setOutputDirectory(outputDirectory);
-            reporter.generateReportFor(testOutcome);
-        } catch (IOException e) {
-            throw new ReportGenerationFailedError(
-                    "Failed to generate reports using " + reporter, e);
+            List<Future<File>> generatedReports = new ArrayList<Future<File>>();
+            for (ReportGenerationTask task : tasks) {
+                generatedReports.add(executor.submit(task));
+            }
+
+            Map<ReportGenerationTask, Throwable> failures = new LinkedHashMap<ReportGenerationTask, Throwable>();
+            for (int i = 0; i < tasks.size(); i++) {
+                Throwable failure = waitFor(generatedReports.get(i));
+                if (failure != null) {
+                    failures.put(tasks.get(i), failure);
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Throwable waitFor(final Future<File> generatedReport) {
+        try {
+            generatedReport.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationFailedError("Interrupted while generating reports", e);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private String failureMessageFor(final Map<ReportGenerationTask, Throwable> failures) {
+        StringBuilder message = new StringBuilder("Failed to generate " + failures.size() + " report(s):");
+        for (Map.Entry<ReportGenerationTask, Throwable> failure : failures.entrySet()) {
+            message.append(NEW_LINE).append(" - ").append(failure.getKey())
+                   .append(": ").append(failure.getValue());
+        }
+        return message.toString();
+    }
+
+    private static final class ReportGenerationTask implements Callable<File> {
+        private final TestOutcome testOutcome;
+        private final AcceptanceTestReporter reporter;
+
+        private ReportGenerationTask(final TestOutcome testOutcome, final AcceptanceTestReporter reporter) {
+            this.testOutcome = testOutcome;
+            this.reporter = reporter;
+        }
+
+        public File call() throws Exception {
+            return reporter.generateReportFor(testOutcome);
+        }
+
+        @Override
+        public String toString() {
+            return reporter.getName() + " report for " + testOutcome.getTitle();
         }
     }
 
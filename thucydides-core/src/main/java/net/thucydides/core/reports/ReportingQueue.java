@@ -0,0 +1,124 @@
+package net.thucydides.core.reports;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.model.TestOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates test reports in the background, so that the test runner can move on to the next test class
+ * while the reports for the previous one are being written.
+ * Outcomes are reported in the order in which they were published, on a single background thread.
+ * There is only one queue per JVM: a shutdown hook makes sure that every published outcome
+ * has been reported before the JVM exits.
+ */
+public class ReportingQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportingQueue.class);
+
+    private static ReportingQueue sharedQueue;
+
+    private final ExecutorService executor;
+
+    private final Queue<Future<?>> pendingReports = new ConcurrentLinkedQueue<Future<?>>();
+
+    protected ReportingQueue() {
+        executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                                                             .setNameFormat("report-queue-%d")
+                                                             .setDaemon(true).build());
+    }
+
+    /**
+     * The queue shared by all of the test runners in this JVM.
+     */
+    public static synchronized ReportingQueue getSharedQueue() {
+        if (sharedQueue == null) {
+            sharedQueue = new ReportingQueue();
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                public void run() {
+                    flushBeforeShutdown(sharedQueue);
+                }
+            }, "report-queue-shutdown"));
+        }
+        return sharedQueue;
+    }
+
+    private static void flushBeforeShutdown(final ReportingQueue queue) {
+        try {
+            queue.awaitCompletion();
+        } catch (ReportGenerationFailedError e) {
+            LOGGER.error("Some of the test reports could not be generated", e);
+        }
+    }
+
+    /**
+     * Report these test outcomes using a report service once the outcomes published before them have been reported.
+     */
+    public void publish(final ReportService reportService, final List<TestOutcome> testOutcomes) {
+        final List<TestOutcome> publishedOutcomes = ImmutableList.copyOf(testOutcomes);
+        pendingReports.add(executor.submit(new Runnable() {
+            public void run() {
+                reportService.generateReportsFor(publishedOutcomes);
+            }
+        }));
+    }
+
+    public int getPendingReportCount() {
+        int pendingReportCount = 0;
+        for (Future<?> pendingReport : pendingReports) {
+            if (!pendingReport.isDone()) {
+                pendingReportCount++;
+            }
+        }
+        return pendingReportCount;
+    }
+
+    /**
+     * Wait until every outcome published so far has been reported.
+     * If any of the reports could not be generated, a single error is thrown once all of the others are done.
+     */
+    public void awaitCompletion() {
+        List<Throwable> failures = new ArrayList<Throwable>();
+        Future<?> pendingReport;
+        while ((pendingReport = pendingReports.poll()) != null) {
+            Throwable failure = waitFor(pendingReport);
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new ReportGenerationFailedError(failureMessageFor(failures), failures.get(0));
+        }
+    }
+
+    private Throwable waitFor(final Future<?> pendingReport) {
+        try {
+            pendingReport.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationFailedError("Interrupted while waiting for the test reports", e);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private String failureMessageFor(final List<Throwable> failures) {
+        StringBuilder message = new StringBuilder("Failed to generate reports for "
+                                                  + failures.size() + " test run(s):");
+        for (Throwable failure : failures) {
+            message.append(System.getProperty("line.separator")).append(" - ").append(failure.getMessage());
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package net.thucydides.core.reports;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.model.FeatureResults;
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.StoryTestResults;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.features.ApplicationFeature;
+import net.thucydides.core.reports.xml.NotAThucydidesReportException;
+import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The test outcomes found in a report directory, grouped by user story and by feature.
+ * Each XML report file is read exactly once, using one thread per processor,
+ * and the same results are then used to generate all of the aggregate reports.
+ */
+public class TestOutcomeRepository {
+
+    private static final class XmlFilenameFilter implements FilenameFilter {
+        public boolean accept(final File file, final String filename) {
+            return filename.toLowerCase(Locale.getDefault()).endsWith(".xml");
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestOutcomeRepository.class);
+
+    private final List<TestOutcome> testOutcomes;
+    private final List<StoryTestResults> storyResults;
+    private final List<FeatureResults> featureResults;
+
+    public TestOutcomeRepository(final List<TestOutcome> testOutcomes) {
+        this.testOutcomes = ImmutableList.copyOf(testOutcomes);
+        this.storyResults = ImmutableList.copyOf(groupByStory(testOutcomes));
+        this.featureResults = ImmutableList.copyOf(groupByFeature(storyResults));
+    }
+
+    /**
+     * Load the test outcomes from the XML reports in a given directory.
+     */
+    public static TestOutcomeRepository loadFrom(final File reportDirectory) throws IOException {
+        return loadFrom(reportDirectory, new XMLTestOutcomeReporter());
+    }
+
+    public static TestOutcomeRepository loadFrom(final File reportDirectory,
+                                                 final XMLTestOutcomeReporter testOutcomeReporter) throws IOException {
+        File[] reportFiles = reportDirectory.listFiles(new XmlFilenameFilter());
+
+        if (reportFiles == null) {
+            LOGGER.error("Could not find any Thucydides reports");
+            return new TestOutcomeRepository(new ArrayList<TestOutcome>());
+        }
+        return new TestOutcomeRepository(loadTestOutcomesFrom(reportFiles, testOutcomeReporter));
+    }
+
+    private static List<TestOutcome> loadTestOutcomesFrom(final File[] reportFiles,
+                                                          final XMLTestOutcomeReporter testOutcomeReporter)
+                                                          throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                                                                new ThreadFactoryBuilder()
+                                                                        .setNameFormat("report-loader-%d")
+                                                                        .setDaemon(true).build());
+        try {
+            List<Future<TestOutcome>> loadedOutcomes = new ArrayList<Future<TestOutcome>>();
+            for (final File reportFile : reportFiles) {
+                loadedOutcomes.add(executor.submit(new Callable<TestOutcome>() {
+                    public TestOutcome call() throws Exception {
+                        return testOutcomeReporter.loadReportFrom(reportFile);
+                    }
+                }));
+            }
+
+            List<TestOutcome> testOutcomes = new ArrayList<TestOutcome>();
+            for (int i = 0; i < reportFiles.length; i++) {
+                TestOutcome testOutcome = waitFor(loadedOutcomes.get(i), reportFiles[i]);
+                if (testOutcome != null) {
+                    testOutcomes.add(testOutcome);
+                }
+            }
+            return testOutcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TestOutcome waitFor(final Future<TestOutcome> loadedOutcome,
+                                       final File reportFile) throws IOException {
+        try {
+            return loadedOutcome.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + reportFile, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof NotAThucydidesReportException) {
+                LOGGER.info("Skipping XML file - not a Thucydides report: " + reportFile);
+                return null;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Could not load " + reportFile, cause);
+        }
+    }
+
+    private static List<StoryTestResults> groupByStory(final List<TestOutcome> testOutcomes) {
+        Map<Story, StoryTestResults> stories = new LinkedHashMap<Story, StoryTestResults>();
+        for (TestOutcome testOutcome : testOutcomes) {
+            Story userStory = testOutcome.getUserStory();
+            if (userStory != null) {
+                StoryTestResults storyResults = stories.get(userStory);
+                if (storyResults == null) {
+                    storyResults = new StoryTestResults(userStory);
+                    stories.put(userStory, storyResults);
+                }
+                storyResults.recordTestRun(testOutcome);
+            }
+        }
+        return new ArrayList<StoryTestResults>(stories.values());
+    }
+
+    /**
+     * Group a list of user story results by the features they belong to.
+     * Stories that are not part of a feature are not included.
+     */
+    public static List<FeatureResults> groupByFeature(final List<StoryTestResults> storyResults) {
+        Map<ApplicationFeature, FeatureResults> features = new LinkedHashMap<ApplicationFeature, FeatureResults>();
+        for (StoryTestResults storyResult : storyResults) {
+            ApplicationFeature feature = storyResult.getStory().getFeature();
+            if (feature != null) {
+                FeatureResults featureResults = features.get(feature);
+                if (featureResults == null) {
+                    featureResults = new FeatureResults(feature);
+                    features.put(feature, featureResults);
+                }
+                featureResults.recordStoryResults(storyResult);
+            }
+        }
+        return new ArrayList<FeatureResults>(features.values());
+    }
+
+    public List<TestOutcome> getTestOutcomes() {
+        return testOutcomes;
+    }
+
+    public List<StoryTestResults> getStoryResults() {
+        return storyResults;
+    }
+
+    public List<FeatureResults> getFeatureResults() {
+        return featureResults;
+    }
+}
@@ -1,34 +1,34 @@
 package net.thucydides.core.reports.html;
 
-import ch.lambdaj.function.convert.Converter;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import net.thucydides.core.guice.Injectors;
-import net.thucydides.core.images.ResizableImage;
+import net.thucydides.core.images.ThumbnailService;
 import net.thucydides.core.issues.IssueTracking;
 import net.thucydides.core.model.Screenshot;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.model.TestStep;
 import net.thucydides.core.reports.AcceptanceTestReporter;
-import net.thucydides.core.reports.html.screenshots.ScreenshotFormatter;
-import net.thucydides.core.screenshots.ScreenshotException;
 import net.thucydides.core.util.EnvironmentVariables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.Dimension;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import static ch.lambdaj.Lambda.convert;
 import static com.google.common.collect.Iterables.any;
 import static net.thucydides.core.model.ReportType.HTML;
 
 /**
  * Generates acceptance test results in XML form.
- * 
+ * The reporter keeps no per-report state, so reports for several tests can be generated in parallel.
  */
 public class HtmlAcceptanceTestReporter extends HtmlReporter implements AcceptanceTestReporter {
 
@@ -38,10 +38,12 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HtmlAcceptanceTestReporter.class);
 
-    private String qualifier;
+    private volatile String qualifier;
 
     private final IssueTracking issueTracking;
 
+    private final ThumbnailService thumbnailService;
+
     public void setQualifier(final String qualifier) {
         this.qualifier = qualifier;
     }
@@ -49,12 +51,14 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
     public HtmlAcceptanceTestReporter() {
         super();
         this.issueTracking = Injectors.getInjector().getInstance(IssueTracking.class);
+        this.thumbnailService = Injectors.getInjector().getInstance(ThumbnailService.class);
     }
 
     public HtmlAcceptanceTestReporter(final EnvironmentVariables environmentVariables,
                                       final IssueTracking issueTracking) {
         super(environmentVariables);
         this.issueTracking = issueTracking;
+        this.thumbnailService = Injectors.getInjector().getInstance(ThumbnailService.class);
     }
 
     public String getName() {
@@ -123,43 +127,51 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
 
     }
 
+    /**
+     * Identical screenshots share the same image file, so each distinct image only needs to be rescaled once.
+     */
     private List<Screenshot> expandScreenshots(List<Screenshot> screenshots) throws IOException {
-        return convert(screenshots, new ExpandedScreenshotConverter(maxScreenshotHeightIn(screenshots)));
-    }
-
-    private class ExpandedScreenshotConverter implements Converter<Screenshot, Screenshot> {
-        private final int maxHeight;
-
-        public ExpandedScreenshotConverter(int maxHeight) {
-            this.maxHeight = maxHeight;
+        Map<String, File> screenshotFiles = existingScreenshotFilesIn(screenshots);
+        Map<File, File> scaledFiles = thumbnailService.expandCanvases(screenshotFiles.values(),
+                                                                      maxScreenshotHeightIn(screenshotFiles.values()));
+        List<Screenshot> expandedScreenshots = new ArrayList<Screenshot>();
+        for (Screenshot screenshot : screenshots) {
+            File screenshotFile = screenshotFiles.get(screenshot.getFilename());
+            if (screenshotFile != null) {
+                expandedScreenshots.add(new Screenshot(scaledFiles.get(screenshotFile).getName(),
+                                                       screenshot.getDescription(),
+                                                       screenshot.getWidth(),
+                                                       screenshot.getError()));
+            } else {
+                expandedScreenshots.add(screenshot);
+            }
         }
+        return expandedScreenshots;
+    }
 
-        public Screenshot convert(Screenshot screenshot) {
-            try {
-                return ScreenshotFormatter.forScreenshot(screenshot)
-                                          .inDirectory(getOutputDirectory())
-                                          .expandToHeight(maxHeight);
-            } catch (IOException e) {
-                LOGGER.error("Failed to write scaled screenshot for {}: {}", screenshot, e);
-                throw new ScreenshotException("Failed to write scaled screenshot", e);
+    private Map<String, File> existingScreenshotFilesIn(final List<Screenshot> screenshots) {
+        Map<String, File> screenshotFiles = new LinkedHashMap<String, File>();
+        for (Screenshot screenshot : screenshots) {
+            File screenshotFile = new File(getOutputDirectory(), screenshot.getFilename());
+            if (!screenshotFiles.containsKey(screenshot.getFilename()) && screenshotFile.exists()) {
+                screenshotFiles.put(screenshot.getFilename(), screenshotFile);
             }
         }
-    };
+        return screenshotFiles;
+    }
 
-    private int maxScreenshotHeightIn(List<Screenshot> screenshots) throws IOException {
+    private int maxScreenshotHeightIn(final Collection<File> screenshotFiles) throws IOException {
         int maxHeight = 0;
-        for (Screenshot screenshot : screenshots) {
-            File screenshotFile = new File(getOutputDirectory(),screenshot.getFilename());
-            if (screenshotFile.exists()) {
-                maxHeight = maxHeightOf(maxHeight, screenshotFile);
-            }
+        for (File screenshotFile : screenshotFiles) {
+            maxHeight = maxHeightOf(maxHeight, screenshotFile);
         }
         return maxHeight;
     }
 
     private int maxHeightOf(int maxHeight, File screenshotFile) throws IOException {
-        int height = ResizableImage.loadFrom(screenshotFile).getHeight();
-        int width = ResizableImage.loadFrom(screenshotFile).getWitdh();
+        Dimension dimensions = thumbnailService.dimensionsOf(screenshotFile);
+        int height = dimensions.height;
+        int width = dimensions.width;
         if (width > MAXIMUM_SCREENSHOT_WIDTH) {
             height = (int) ((height * 1.0) * (MAXIMUM_SCREENSHOT_WIDTH * 1.0 / width));
         }
@@ -8,8 +8,7 @@ import net.thucydides.core.model.FeatureResults;
 import net.thucydides.core.model.NumericalFormatter;
 import net.thucydides.core.model.StoryTestResults;
 import net.thucydides.core.model.UserStoriesResultSet;
-import net.thucydides.core.model.features.FeatureLoader;
-import net.thucydides.core.model.userstories.UserStoryLoader;
+import net.thucydides.core.reports.TestOutcomeRepository;
 import net.thucydides.core.reports.ThucydidesReportData;
 import net.thucydides.core.reports.UserStoryTestReporter;
 import net.thucydides.core.reports.history.TestHistory;
@@ -45,8 +44,6 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private static final String HOME_TEMPLATE_PATH = "freemarker/index.ftl";
     private static final String TREEMAP_TEMPLATE_PATH = "freemarker/treemap.ftl";
     private static final String DASHBOARD_TEMPLATE_PATH = "freemarker/dashboard.ftl";
-    private FeatureLoader featureLoader;
-    private UserStoryLoader storyLoader;
     private TestHistory testHistory;
     private String projectName;
 
@@ -57,8 +54,6 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     public HtmlAggregateStoryReporter(final String projectName, final IssueTracking issueTracking) {
-        storyLoader = new UserStoryLoader();
-        featureLoader = new FeatureLoader();
         this.projectName = projectName;
         this.issueTracking = issueTracking;
     }
@@ -99,8 +94,9 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     public ThucydidesReportData generateReportsForStoriesFrom(final File sourceDirectory) throws IOException {
-        List<StoryTestResults> storyResults = loadStoryResultsFrom(sourceDirectory);
-        List<FeatureResults> featureResults = loadFeatureResultsFrom(sourceDirectory);
+        TestOutcomeRepository testOutcomes = TestOutcomeRepository.loadFrom(sourceDirectory);
+        List<StoryTestResults> storyResults = testOutcomes.getStoryResults();
+        List<FeatureResults> featureResults = testOutcomes.getFeatureResults();
 
         copyResourcesToOutputDirectory();
 
@@ -113,14 +109,6 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         return new ThucydidesReportData(featureResults, storyResults);
     }
 
-    private List<StoryTestResults> loadStoryResultsFrom(final File sourceDirectory) throws IOException {
-        return storyLoader.loadFrom(sourceDirectory);
-    }
-
-    private List<FeatureResults> loadFeatureResultsFrom(final File sourceDirectory) throws IOException {
-        return featureLoader.loadFrom(sourceDirectory);
-    }
-
     private void generateAggregateReportFor(final List<StoryTestResults> storyResults,
                                             final List<FeatureResults> featureResults) throws IOException {
         LOGGER.info("Generating summary report for user stories to "+ getOutputDirectory());
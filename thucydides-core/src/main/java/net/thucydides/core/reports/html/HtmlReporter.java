@@ -16,14 +16,15 @@ import java.util.Map;
 
 /**
  * An HTML report generates reports in a given directory and uses resources (images,...) from another.
+ * Reports for different tests may be generated in parallel by the same reporter.
  *
  * @author johnsmart
  */
 public abstract class HtmlReporter {
 
     private static final String DEFAULT_RESOURCE_DIRECTORY = "report-resources";
-    private String resourceDirectory = DEFAULT_RESOURCE_DIRECTORY;
-    private File outputDirectory;
+    private volatile String resourceDirectory = DEFAULT_RESOURCE_DIRECTORY;
+    private volatile File outputDirectory;
     private final TemplateManager templateManager;
     private final EnvironmentVariables environmentVariables;
 
@@ -70,19 +71,20 @@ public abstract class HtmlReporter {
     }
 
     protected void copyResourcesToOutputDirectory() throws IOException {
-        updateResourceDirectoryFromSystemPropertyIfDefined();
-        HtmlResourceCopier copier = new HtmlResourceCopier(getResourceDirectory());
+        HtmlResourceCopier copier = new HtmlResourceCopier(resourceDirectoryToCopy());
 
         copier.copyHTMLResourcesTo(getOutputDirectory());
     }
 
-    private void updateResourceDirectoryFromSystemPropertyIfDefined() {
+    private String resourceDirectoryToCopy() {
 
         String systemDefinedResourceDirectory
              = getEnvironmentVariables().getProperty(ThucydidesSystemProperty.REPORT_RESOURCE_PATH.getPropertyName());
         if (systemDefinedResourceDirectory != null) {
             setResourceDirectory(systemDefinedResourceDirectory);
+            return systemDefinedResourceDirectory;
         }
+        return getResourceDirectory();
     }
 
     /**
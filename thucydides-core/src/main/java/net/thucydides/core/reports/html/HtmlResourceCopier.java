@@ -2,17 +2,26 @@ package net.thucydides.core.reports.html;
 
 import net.thucydides.core.resources.FileResources;
 import net.thucydides.core.resources.ResourceList;
+import net.thucydides.core.resources.ResourceManifest;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
  * Utility class that copies HTML resource files (images, stylesheets...) from a JAR to a target directory.
+ * The list of resources is only worked out once for each resource directory, and the resources are only
+ * copied into a target directory if they are not already there (see {@link ResourceManifest}).
  */
 public class HtmlResourceCopier {
 
+    private static final ConcurrentMap<String, ResourceManifest> RESOURCE_MANIFESTS
+            = new ConcurrentHashMap<String, ResourceManifest>();
+
     private String resourceDirectory;
 
     public HtmlResourceCopier(final String resourceDirectory) {
@@ -27,19 +36,45 @@ public class HtmlResourceCopier {
      */
     public void copyHTMLResourcesTo(final File targetDirectory) throws IOException {
 
-        Pattern resourcePattern = allFilesInDirectory(resourceDirectory);
-        FileResources fileResource = FileResources.from(resourceDirectory);
-
-        Collection<String> reportResources = ResourceList.forResources(resourcePattern).list();
+        ResourceManifest manifest = getResourceManifest();
+        synchronized (manifest) {
+            if (manifest.isUpToDateIn(targetDirectory)) {
+                return;
+            }
 
-        for (String resourcePath : reportResources) {
-            if (fileResourceFromAJar(resourcePath)) {
+            FileResources fileResource = FileResources.from(resourceDirectory);
+            for (String resourcePath : manifest.getResourcePaths()) {
                 fileResource.copyResourceTo(resourcePath, targetDirectory);
-            } else if (fileResourceFromPath(resourcePath)) {
-                fileResource.copyResourceTo(resourcePath,
-                                            targetDirectory);
+            }
+            manifest.writeTo(targetDirectory);
+        }
+    }
+
+    private ResourceManifest getResourceManifest() throws IOException {
+        ResourceManifest manifest = RESOURCE_MANIFESTS.get(resourceDirectory);
+        if (manifest == null) {
+            manifest = ResourceManifest.forResources(findResourcesIn(resourceDirectory),
+                                                     FileResources.from(resourceDirectory));
+            ResourceManifest existingManifest = RESOURCE_MANIFESTS.putIfAbsent(resourceDirectory, manifest);
+            if (existingManifest != null) {
+                manifest = existingManifest;
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Find the resource files to be copied from the classpath.
+     */
+    protected Collection<String> findResourcesIn(final String resourceDirectory) {
+        Pattern resourcePattern = allFilesInDirectory(resourceDirectory);
+        Collection<String> resources = new ArrayList<String>();
+        for (String resourcePath : ResourceList.forResources(resourcePattern).listIn(resourceDirectory)) {
+            if (fileResourceFromAJar(resourcePath) || fileResourceFromPath(resourcePath)) {
+                resources.add(resourcePath);
             }
         }
+        return resources;
     }
 
     private boolean fileResourceFromAJar(final String resourcePath) {
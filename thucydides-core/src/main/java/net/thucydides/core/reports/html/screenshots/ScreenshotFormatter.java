@@ -1,6 +1,7 @@
 package net.thucydides.core.reports.html.screenshots;
 
-import net.thucydides.core.images.ResizableImage;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.images.ThumbnailService;
 import net.thucydides.core.model.Screenshot;
 
 import java.io.File;
@@ -13,10 +14,12 @@ public class ScreenshotFormatter {
 
     private final Screenshot screenshot;
     private final File sourceDirectory;
+    private final ThumbnailService thumbnailService;
 
     private ScreenshotFormatter(final Screenshot screenshot, final File sourceDirectory) {
         this.screenshot = screenshot;
         this.sourceDirectory = sourceDirectory;
+        this.thumbnailService = Injectors.getInjector().getInstance(ThumbnailService.class);
     }
 
     public static ScreenshotFormatter forScreenshot(final Screenshot screenshot) {
@@ -41,10 +44,6 @@ public class ScreenshotFormatter {
     }
 
     private File resizedImage(File screenshotFile, int maxHeight) throws IOException {
-        ResizableImage scaledImage = ResizableImage.loadFrom(screenshotFile).rescaleCanvas(maxHeight);
-        File scaledFile = new File(sourceDirectory, "scaled_" + screenshotFile.getName());
-        scaledImage.saveTo(scaledFile);
-        return scaledFile;
+        return thumbnailService.expandCanvas(screenshotFile, maxHeight);
     }
 }
-
@@ -2,6 +2,7 @@ package net.thucydides.core.reports.xml;
 
 import com.google.common.base.Preconditions;
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
 import com.thoughtworks.xstream.mapper.CannotResolveClassException;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.reports.AcceptanceTestReporter;
@@ -9,27 +10,38 @@ import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 import static net.thucydides.core.model.ReportType.XML;
 
 /**
  * Generates acceptance test results in XML form.
- * 
+ * XStream instances are thread-safe once they have been configured, so the same instance is used
+ * to read and write all of the reports, and a reporter can write reports for several tests in parallel.
  */
 public class XMLTestOutcomeReporter implements AcceptanceTestReporter {
 
-    private File outputDirectory;
+    private static final XStream UNQUALIFIED_XSTREAM = xstreamUsing(new TestOutcomeConverter());
+
+    private volatile File outputDirectory;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XMLTestOutcomeReporter.class);
 
-    private transient String qualifier;
+    private transient volatile String qualifier;
+
+    private transient volatile XStream qualifiedXStream;
 
-    public void setQualifier(final String qualifier) {
+    public synchronized void setQualifier(final String qualifier) {
         this.qualifier = qualifier;
+        this.qualifiedXStream = null;
     }
 
     /**
@@ -42,8 +54,34 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter {
         return "xml";
     }
 
+    private static XStream xstreamUsing(final TestOutcomeConverter converter) {
+        XStream xstream = new XStream();
+        xstream.alias("acceptance-test-run", TestOutcome.class);
+        xstream.registerConverter(converter);
+        return xstream;
+    }
+
+    private XStream getXStream() {
+        if (qualifier == null) {
+            return UNQUALIFIED_XSTREAM;
+        }
+        XStream xstream = qualifiedXStream;
+        if (xstream == null) {
+            xstream = qualifiedXStreamFor(qualifier);
+        }
+        return xstream;
+    }
+
+    private synchronized XStream qualifiedXStreamFor(final String qualifier) {
+        if (qualifiedXStream == null) {
+            qualifiedXStream = xstreamUsing(new TestOutcomeConverter(qualifier));
+        }
+        return qualifiedXStream;
+    }
+
     /**
      * Generate an XML report for a given test run.
+     * The report is written to a temporary file which is then renamed, so that a report is never seen half-written.
      */
     public File generateReportFor(final TestOutcome testOutcome) throws IOException {
 
@@ -54,27 +92,39 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter {
 
         Preconditions.checkNotNull(outputDirectory);
 
-        XStream xstream = new XStream();
-        xstream.alias("acceptance-test-run", TestOutcome.class);
-        xstream.registerConverter(usingXmlConverter());
-        String xmlContents = xstream.toXML(testOutcome);
-
         String reportFilename = reportFor(testOutcome);
         LOGGER.debug("Calculated report filename: {}", reportFilename);
 
         File report = new File(getOutputDirectory(), reportFilename);
+        File temporaryReport = File.createTempFile(reportFilename, ".tmp", getOutputDirectory());
 
         LOGGER.debug("Writing XML report to {}", report.getAbsolutePath());
-        FileUtils.writeStringToFile(report, xmlContents);
+        try {
+            writeReport(testOutcome, temporaryReport);
+            moveReport(temporaryReport, report);
+        } finally {
+            FileUtils.deleteQuietly(temporaryReport);
+        }
 
         return report;
     }
 
-    private TestOutcomeConverter usingXmlConverter() {
-        if (qualifier == null) {
-            return new TestOutcomeConverter();
-        } else {
-            return new TestOutcomeConverter(qualifier);
+    private void writeReport(final TestOutcome testOutcome, final File reportFile) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile)));
+        try {
+            getXStream().marshal(testOutcome, new PrettyPrintWriter(writer));
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void moveReport(final File temporaryReport, final File report) throws IOException {
+        if (!temporaryReport.renameTo(report)) {
+            FileUtils.deleteQuietly(report);
+            if (!temporaryReport.renameTo(report)) {
+                throw new IOException("Could not write the XML report to " + report);
+            }
         }
     }
 
@@ -88,13 +138,9 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter {
 
     public TestOutcome loadReportFrom(final File reportFile) throws NotAThucydidesReportException, IOException {
 
-        InputStream input = null;
+        InputStream input = new BufferedInputStream(new FileInputStream(reportFile));
         try {
-            XStream xstream = new XStream();
-            xstream.alias("acceptance-test-run", TestOutcome.class);
-            xstream.registerConverter(usingXmlConverter());
-            input = new FileInputStream(reportFile);
-            return (TestOutcome) xstream.fromXML(input);
+            return (TestOutcome) getXStream().fromXML(input);
         } catch (CannotResolveClassException e) {
             throw new NotAThucydidesReportException("This file is not a thucydides report: " + reportFile, e);
         } finally {
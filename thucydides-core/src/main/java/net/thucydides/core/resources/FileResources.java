@@ -83,11 +83,7 @@ public final class FileResources {
         try {
             File resourceOnClasspath = new File(resourcePath);
 
-            if (resourceOnClasspath.exists()) {
-                in = new FileInputStream(resourceOnClasspath);
-            } else {
-                in = this.getClass().getClassLoader().getResourceAsStream(resourcePath);
-            }
+            in = openResource(resourcePath);
             File destinationFile = new File(targetDirectory,
                     resourceOnClasspath.getName());
             if (destinationFile.getParent() != null) {
@@ -102,6 +98,18 @@ public final class FileResources {
         }
     }
 
+    /**
+     * Open a resource that is either a file (e.g. in a classes directory) or an entry in a JAR file on the classpath.
+     */
+    public InputStream openResource(final String resourcePath) throws IOException {
+        File resourceOnClasspath = new File(resourcePath);
+        if (resourceOnClasspath.exists()) {
+            return new FileInputStream(resourceOnClasspath);
+        } else {
+            return this.getClass().getClassLoader().getResourceAsStream(resourcePath);
+        }
+    }
+
     private void copyData(final InputStream in, final OutputStream out)
             throws IOException {
         byte[] buffer = new byte[BUFFER_SIZE];
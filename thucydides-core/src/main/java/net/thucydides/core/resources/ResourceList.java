@@ -1,10 +1,16 @@
 package net.thucydides.core.resources;
 
+import org.apache.commons.lang3.StringUtils;
+
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -48,6 +54,51 @@ public class ResourceList {
         return resources;
     }
 
+    /**
+     * Find the resources matching the pattern, looking only in the JAR files or directories on the classpath
+     * that contain a given resource directory (such as "report-resources").
+     * This avoids opening every JAR file on the classpath. If the resource directory cannot be located,
+     * the whole classpath is scanned as before.
+     */
+    public Collection<String> listIn(final String resourceDirectory) {
+        final ArrayList<String> resources = new ArrayList<String>();
+        for (URL location : locationsOf(resourceDirectory)) {
+            File classpathElement = classpathElementFor(location);
+            if (classpathElement != null) {
+                resources.addAll(getResources(classpathElement.getPath(), pattern));
+            }
+        }
+        if (resources.isEmpty()) {
+            return list();
+        }
+        return resources;
+    }
+
+    private List<URL> locationsOf(final String resourceDirectory) {
+        try {
+            return Collections.list(getClass().getClassLoader().getResources(resourceDirectory));
+        } catch (IOException e) {
+            throw new ResourceCopyingError("Could not look for " + resourceDirectory + " on the classpath", e);
+        }
+    }
+
+    /**
+     * The JAR file containing a resource, or the directory itself for resources on the file system.
+     */
+    private File classpathElementFor(final URL location) {
+        try {
+            if ("jar".equals(location.getProtocol())) {
+                String jarPath = StringUtils.substringBefore(location.getPath(), "!/");
+                return new File(new URI(jarPath));
+            } else if ("file".equals(location.getProtocol())) {
+                return new File(location.toURI());
+            }
+        } catch (URISyntaxException e) {
+            throw new ResourceCopyingError("Could not read the resources in " + location, e);
+        }
+        return null;
+    }
+
     private Collection<String> getResources(final String element, final Pattern pattern) {
         final ArrayList<String> resources = new ArrayList<String>();
         final File file = new File(element);
@@ -0,0 +1,124 @@
+package net.thucydides.core.resources;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A list of the resources (stylesheets, images...) to be copied into a report directory, with their sizes and checksums.
+ * A copy of the manifest is written to the report directory once the resources have been copied there,
+ * so that the resources don't need to be copied again as long as the manifest and the copied files match.
+ */
+public class ResourceManifest {
+
+    public static final String MANIFEST_FILENAME = "report-resources.manifest";
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final List<Entry> entries;
+    private final String contents;
+
+    private static final class Entry {
+        private final String resourcePath;
+        private final String targetPath;
+        private final long size;
+        private final long checksum;
+
+        private Entry(final String resourcePath, final String targetPath, final long size, final long checksum) {
+            this.resourcePath = resourcePath;
+            this.targetPath = targetPath;
+            this.size = size;
+            this.checksum = checksum;
+        }
+    }
+
+    private ResourceManifest(final List<Entry> entries) {
+        this.entries = ImmutableList.copyOf(entries);
+        this.contents = contentsOf(entries);
+    }
+
+    /**
+     * Build the manifest for a set of resources, reading each resource once to find its size and checksum.
+     */
+    public static ResourceManifest forResources(final Collection<String> resourcePaths,
+                                                final FileResources fileResources) throws IOException {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (String resourcePath : resourcePaths) {
+            entries.add(entryFor(resourcePath, fileResources));
+        }
+        return new ResourceManifest(entries);
+    }
+
+    private static Entry entryFor(final String resourcePath, final FileResources fileResources) throws IOException {
+        String targetDirectory = fileResources.findTargetSubdirectoryFrom(resourcePath);
+        String targetFile = fileResources.findTargetFileFrom(resourcePath);
+        String targetPath = (targetDirectory.length() > 0) ? targetDirectory + "/" + targetFile : targetFile;
+
+        CRC32 checksum = new CRC32();
+        long size = 0;
+        InputStream in = fileResources.openResource(resourcePath);
+        if (in != null) {
+            try {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
+                    checksum.update(buffer, 0, bytesRead);
+                    size += bytesRead;
+                }
+            } finally {
+                IOUtils.closeQuietly(in);
+            }
+        }
+        return new Entry(resourcePath, targetPath, size, checksum.getValue());
+    }
+
+    private static String contentsOf(final List<Entry> entries) {
+        StringBuilder contents = new StringBuilder();
+        for (Entry entry : entries) {
+            contents.append(entry.targetPath).append('\t')
+                    .append(entry.size).append('\t')
+                    .append(Long.toHexString(entry.checksum)).append('\n');
+        }
+        return contents.toString();
+    }
+
+    public List<String> getResourcePaths() {
+        List<String> resourcePaths = new ArrayList<String>();
+        for (Entry entry : entries) {
+            resourcePaths.add(entry.resourcePath);
+        }
+        return resourcePaths;
+    }
+
+    /**
+     * Have these resources already been copied into the target directory?
+     */
+    public boolean isUpToDateIn(final File targetDirectory) throws IOException {
+        File manifestFile = new File(targetDirectory, MANIFEST_FILENAME);
+        if (!manifestFile.exists()) {
+            return false;
+        }
+        if (!contents.equals(FileUtils.readFileToString(manifestFile))) {
+            return false;
+        }
+        for (Entry entry : entries) {
+            File copiedResource = new File(targetDirectory, entry.targetPath);
+            if (!copiedResource.isFile() || copiedResource.length() != entry.size) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void writeTo(final File targetDirectory) throws IOException {
+        FileUtils.writeStringToFile(new File(targetDirectory, MANIFEST_FILENAME), contents);
+    }
+}
@@ -0,0 +1,103 @@
+package net.thucydides.core.scheduling;
+
+import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static net.thucydides.core.webdriver.javascript.JavascriptSupport.javascriptIsSupportedIn;
+
+/**
+ * Checks the condition again soon after the page changes, rather than after a fixed pause.
+ * The first check installs a small script in the page that counts changes to the DOM; between checks,
+ * the wait then looks at this count, and checks the condition again as soon as it moves,
+ * or when the polling interval has passed, whichever comes first.
+ * The count is read after a few milliseconds at first, then half as often each time, up to a few times a second,
+ * so that a long wait does not keep the browser busy answering scripts.
+ * Browsers without MutationObserver support use DOM mutation events where they can, and the size of the page
+ * is also compared, as some of them (such as HtmlUnit) do not send every event.
+ * Only short synchronous scripts are used, so the timeouts of the driver are left as they are.
+ * A change made just before the wait starts watching the page is only noticed when the polling interval has passed.
+ * If the script cannot be run, e.g. if JavaScript is disabled, this wait simply pauses like a normal wait.
+ */
+public class FluentWaitOnPageChanges<T> extends ThucydidesFluentWait<T> {
+
+    private static final long INITIAL_PAGE_CHECK_INTERVAL = 25;
+    private static final long MAXIMUM_PAGE_CHECK_INTERVAL = 500;
+
+    /**
+     * Returns a value that changes whenever the page changes: the id of the change counter installed in the page
+     * (a new page gets a new counter) and the number of changes seen so far.
+     */
+    private static final String PAGE_CHANGES_SCRIPT =
+            "var changes = window.__thucydidesPageChanges;\n" +
+            "function pageState() {\n" +
+            "    var body = document.body;\n" +
+            "    return document.getElementsByTagName('*').length + ':' + (body ? body.innerHTML.length : 0);\n" +
+            "}\n" +
+            "if (!changes) {\n" +
+            "    changes = {id: new Date().getTime() + '-' + Math.random(), count: 0, observed: false};\n" +
+            "    window.__thucydidesPageChanges = changes;\n" +
+            "    var pageChanged = function() { changes.count++; };\n" +
+            "    var Observer = window.MutationObserver || window.WebKitMutationObserver;\n" +
+            "    if (Observer) {\n" +
+            "        new Observer(pageChanged).observe(document,\n" +
+            "                {childList: true, attributes: true, characterData: true, subtree: true});\n" +
+            "        changes.observed = true;\n" +
+            "    } else if (document.addEventListener) {\n" +
+            "        document.addEventListener('DOMSubtreeModified', pageChanged, true);\n" +
+            "        document.addEventListener('DOMAttrModified', pageChanged, true);\n" +
+            "    }\n" +
+            "}\n" +
+            "return changes.id + ':' + changes.count + (changes.observed ? '' : ':' + pageState());";
+
+    private boolean pageChangesCanBeObserved = true;
+
+    public FluentWaitOnPageChanges(T input, Clock clock, Sleeper sleeper) {
+        super(input, clock, sleeper);
+    }
+
+    @Override
+    public void doWait() throws InterruptedException {
+        String pageState = pageChangesCanBeObserved ? currentPageState() : null;
+        if (pageState == null) {
+            getSleeper().sleep(getPollingInterval());
+        } else {
+            waitForPageChangesSince(pageState);
+        }
+    }
+
+    private void waitForPageChangesSince(final String initialPageState) throws InterruptedException {
+        long end = getClock().laterBy(getPollingInterval().in(MILLISECONDS));
+        long pageCheckInterval = INITIAL_PAGE_CHECK_INTERVAL;
+        while (getClock().isNowBefore(end)) {
+            long pause = Math.min(pageCheckInterval, end - getClock().now());
+            getSleeper().sleep(new Duration(pause, MILLISECONDS));
+            String pageState = currentPageState();
+            if ((pageState == null) || !pageState.equals(initialPageState)) {
+                return;
+            }
+            pageCheckInterval = Math.min(pageCheckInterval * 2, MAXIMUM_PAGE_CHECK_INTERVAL);
+        }
+    }
+
+    private String currentPageState() {
+        if (!(getInput() instanceof WebDriver) || !javascriptIsSupportedIn((WebDriver) getInput())) {
+            pageChangesCanBeObserved = false;
+            return null;
+        }
+        try {
+            Object pageState = new JavascriptExecutorFacade((WebDriver) getInput()).executeScript(PAGE_CHANGES_SCRIPT);
+            pageChangesCanBeObserved = (pageState != null);
+            return (pageState != null) ? pageState.toString() : null;
+        } catch (WebDriverException e) {
+            pageChangesCanBeObserved = false;
+        } catch (UnsupportedOperationException e) {
+            pageChangesCanBeObserved = false;
+        }
+        return null;
+    }
+}
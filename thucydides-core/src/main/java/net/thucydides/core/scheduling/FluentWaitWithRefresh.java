@@ -12,7 +12,7 @@ public class FluentWaitWithRefresh<T> extends ThucydidesFluentWait<T> {
 
     @Override
     public void doWait() throws InterruptedException {
-        getSleeper().sleep(interval);
+        getSleeper().sleep(getPollingInterval());
         ((WebDriver) getInput()).navigate().refresh();
     }
 }
\ No newline at end of file
@@ -25,6 +25,12 @@ public abstract class ThucydidesFluentWait<T> implements Wait<T> {
     protected Duration timeout = FIVE_HUNDRED_MILLIS;
     protected Duration interval = FIVE_HUNDRED_MILLIS;
 
+    /**
+     * When set, polling starts at this interval and doubles after each check, up to the polling interval.
+     */
+    private Duration initialInterval;
+    private Duration currentInterval = FIVE_HUNDRED_MILLIS;
+
     private List<Class<? extends RuntimeException>> ignoredExceptions = Lists.newLinkedList();
 
     private final Clock clock;
@@ -52,6 +58,7 @@ public abstract class ThucydidesFluentWait<T> implements Wait<T> {
     public <V> V until(Function<? super T, V> isTrue) {
         long end = getClock().laterBy(timeout.in(MILLISECONDS));
         RuntimeException lastException = null;
+        currentInterval = (initialInterval != null) ? initialInterval : interval;
         while (true) {
             if (aPreviousStepHasFailed()) {
                 return (V) Boolean.TRUE;
@@ -81,9 +88,24 @@ public abstract class ThucydidesFluentWait<T> implements Wait<T> {
                 Thread.currentThread().interrupt();
                 throw new WebDriverException(e);
             }
+            currentInterval = nextIntervalAfter(currentInterval);
         }
     }
 
+    private Duration nextIntervalAfter(final Duration previousInterval) {
+        long maximumInterval = interval.in(MILLISECONDS);
+        long nextInterval = Math.min(Math.max(previousInterval.in(MILLISECONDS) * 2, 1), maximumInterval);
+        return new Duration(nextInterval, MILLISECONDS);
+    }
+
+    /**
+     * How long to wait before checking the condition again.
+     * This is the polling interval, unless adaptive polling is used.
+     */
+    protected Duration getPollingInterval() {
+        return currentInterval;
+    }
+
     private boolean aPreviousStepHasFailed() {
         return StepEventBus.getEventBus().aStepInTheCurrentTestHasFailed();
     }
@@ -111,6 +133,18 @@ public abstract class ThucydidesFluentWait<T> implements Wait<T> {
 
     public ThucydidesFluentWait<T> pollingEvery(long duration, TimeUnit unit) {
         this.interval = new Duration(duration, unit);
+        this.initialInterval = null;
+        return this;
+    }
+
+    /**
+     * Check the condition again quickly at first, then less and less often:
+     * the interval starts at the initial duration and doubles after each check, up to the maximum duration.
+     * A later call to pollingEvery() goes back to polling at a fixed interval.
+     */
+    public ThucydidesFluentWait<T> pollingAdaptively(long initialDuration, long maximumDuration, TimeUnit unit) {
+        this.initialInterval = new Duration(initialDuration, unit);
+        this.interval = new Duration(Math.max(initialDuration, maximumDuration), unit);
         return this;
     }
 
@@ -0,0 +1,122 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes screenshots to disk using a small pool of background threads, so that the tests
+ * don't have to wait for the disk between steps.
+ * The queue is bounded: if the writers fall too far behind, the test thread saves the screenshot
+ * itself, which stops the queued image data from using up too much memory.
+ * Identical screenshots share the same file, so a screenshot that is already waiting to be written is not queued twice.
+ * There is normally only one of these per JVM (see the Guice module).
+ */
+public class MultithreadScreenshotProcessor implements ScreenshotProcessor {
+
+    public static final int DEFAULT_THREAD_COUNT = 2;
+    public static final int DEFAULT_QUEUE_CAPACITY = 32;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultithreadScreenshotProcessor.class);
+
+    private static final Set<MultithreadScreenshotProcessor> PROCESSORS = processorsToWaitForOnShutdown();
+
+    private final ThreadPoolExecutor executor;
+    private final Object lock = new Object();
+    private final Set<File> pendingScreenshots = new HashSet<File>();
+
+    public MultithreadScreenshotProcessor() {
+        this(DEFAULT_THREAD_COUNT, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public MultithreadScreenshotProcessor(final int threadCount, final int queueCapacity) {
+        executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<Runnable>(queueCapacity),
+                                          new ThreadFactoryBuilder().setNameFormat("screenshot-writer-%d")
+                                                                    .setDaemon(true).build(),
+                                          new ThreadPoolExecutor.CallerRunsPolicy());
+        PROCESSORS.add(this);
+    }
+
+    /**
+     * A single shutdown hook waits for the screenshots of every processor, however many have been created.
+     * Processors are only weakly referenced, so the ones that are no longer used can be garbage collected:
+     * the threads of a processor that is still writing screenshots keep it reachable.
+     */
+    private static Set<MultithreadScreenshotProcessor> processorsToWaitForOnShutdown() {
+        final Set<MultithreadScreenshotProcessor> processors
+                = Sets.newSetFromMap(new MapMaker().weakKeys().<MultithreadScreenshotProcessor, Boolean>makeMap());
+        Runtime.getRuntime().addShutdownHook(new Thread("screenshot-writer-shutdown") {
+            @Override
+            public void run() {
+                for (MultithreadScreenshotProcessor processor : processors) {
+                    processor.waitUntilDone();
+                }
+            }
+        });
+        return processors;
+    }
+
+    public void queueScreenshot(final QueuedScreenshot queuedScreenshot) {
+        synchronized (lock) {
+            if (!pendingScreenshots.add(queuedScreenshot.getScreenshotFile())) {
+                return;
+            }
+        }
+        executor.execute(new Runnable() {
+            public void run() {
+                try {
+                    saveScreenshot(queuedScreenshot);
+                } finally {
+                    screenshotDone(queuedScreenshot);
+                }
+            }
+        });
+    }
+
+    protected void saveScreenshot(final QueuedScreenshot queuedScreenshot) {
+        try {
+            queuedScreenshot.save();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write screenshot " + queuedScreenshot.getScreenshotFile(), e);
+        }
+    }
+
+    private void screenshotDone(final QueuedScreenshot queuedScreenshot) {
+        synchronized (lock) {
+            pendingScreenshots.remove(queuedScreenshot.getScreenshotFile());
+            if (pendingScreenshots.isEmpty()) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    public void waitUntilDone() {
+        synchronized (lock) {
+            while (!pendingScreenshots.isEmpty()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        synchronized (lock) {
+            return pendingScreenshots.isEmpty();
+        }
+    }
+}
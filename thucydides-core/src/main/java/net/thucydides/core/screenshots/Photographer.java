@@ -1,7 +1,6 @@
 package net.thucydides.core.screenshots;
 
 import net.thucydides.core.webdriver.WebDriverFacade;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
@@ -10,29 +9,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.UUID;
 
 /**
  * The photographer takes and stores screenshots during the test.
  * The actual screenshots are taken using the specified web driver,
  * and are stored in the specified target directory. Screenshots
- * are numbered sequentially.
+ * are named after an MD5 digest of their contents, so an image that
+ * has already been saved is simply reused rather than written again
+ * (along with the page source that was saved with it).
+ * The screenshots themselves are written to disk by a ScreenshotProcessor, which may
+ * do so in the background: only the image data and page source are captured in the test thread.
  *
  * @author johnsmart
  */
 public class Photographer {
 
     private static final int MESSAGE_DIGEST_MASK = 0xFF;
+    private static final int HEX_PADDING_THRESHOLD = 0x10;
     private static final int PNG_SUFFIX_LENGTH = ".png".length();
     private final WebDriver driver;
     private final File targetDirectory;
-    private final ScreenshotSequence screenshotSequence;
     private final MessageDigest digest;
+    private final ScreenshotProcessor screenshotProcessor;
 
     private final Logger logger = LoggerFactory.getLogger(Photographer.class);
 
@@ -40,13 +41,16 @@ public class Photographer {
         return logger;
     }
 
-    private static final ScreenshotSequence DEFAULT_SCREENSHOT_SEQUENCE = new ScreenshotSequence();
-
     public Photographer(final WebDriver driver, final File targetDirectory) {
+        this(driver, targetDirectory, new SynchronousScreenshotProcessor());
+    }
+
+    public Photographer(final WebDriver driver, final File targetDirectory,
+                        final ScreenshotProcessor screenshotProcessor) {
         this.driver = driver;
         this.targetDirectory = targetDirectory;
-        this.screenshotSequence = DEFAULT_SCREENSHOT_SEQUENCE;
         this.digest = getMd5Digest();
+        this.screenshotProcessor = screenshotProcessor;
     }
 
     private MessageDigest getMd5Digest() {
@@ -59,65 +63,53 @@ public class Photographer {
         return md;
     }
 
-    protected long nextScreenshotNumber() {
-        return screenshotSequence.next();
-    }
-
-    private String nextScreenshotName(final String prefix) {
-        long nextScreenshotNumber = nextScreenshotNumber();
-        return "screenshot-" + getMD5DigestFrom(prefix) + nextScreenshotNumber + ".png";
+    private String screenshotNameFor(final byte[] screenshotData) {
+        return "screenshot-" + getMD5DigestFrom(screenshotData) + ".png";
     }
 
-    private String getMD5DigestFrom(final String value) {
-        byte[] messageDigest = digest.digest(value.getBytes());
-        StringBuffer hexString = new StringBuffer();
+    private String getMD5DigestFrom(final byte[] value) {
+        byte[] messageDigest = digest.digest(value);
+        StringBuilder hexString = new StringBuilder();
         for (int i = 0; i < messageDigest.length; i++) {
-            hexString.append(Integer.toHexString(MESSAGE_DIGEST_MASK & messageDigest[i]));
+            int digestByte = MESSAGE_DIGEST_MASK & messageDigest[i];
+            if (digestByte < HEX_PADDING_THRESHOLD) {
+                hexString.append('0');
+            }
+            hexString.append(Integer.toHexString(digestByte));
         }
         return hexString.toString();
     }
 
-    private String getTemporarySnapshotName() {
-        return UUID.randomUUID() + ".png";
-    }
-
     /**
      * Take a screenshot of the current browser and store it in the output directory.
+     * The returned file may not have been written yet if the screenshot processor works in the background.
      */
     public File takeScreenshot(final String prefix) {
-        File screenshot = null;
         if (driverCanTakeSnapshots()) {
-            OutputStream stream = null;
             try {
                 byte[] screenshotData = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                    if (screenshotData != null) {
-                    File temporaryFolder = FileUtils.getTempDirectory();
-                    String snapshotName = getTemporarySnapshotName();
-                    screenshot = new File(temporaryFolder, snapshotName);
-                    stream = new FileOutputStream(screenshot);
-                    stream.write(screenshotData);
-                }
-                if ((screenshot != null) && (screenshot.exists())) {
-                    return saveScreenshoot(prefix, screenshot);
+                if (screenshotData != null) {
+                    return saveScreenshoot(screenshotData);
                 } else if (!isAMock(driver)){
                     getLogger().warn("Failed to write screenshot (possibly an out of memory error)");
                 }
             } catch (Throwable e) {
                 getLogger().warn("Failed to write screenshot (possibly an out of memory error)", e);
-            } finally {
-                if (stream != null)
-                    try {
-                        stream.close();
-                    } catch (IOException e) {} // Ignore any error on close
             }
         }
-        return screenshot;
+        return null;
     }
 
-    protected File saveScreenshoot(final String prefix, final File screenshot) throws IOException {
-        File savedScreenshot = new File(targetDirectory, nextScreenshotName(prefix));
-        FileUtils.copyFile(screenshot, savedScreenshot);
-        savePageSourceFor(savedScreenshot.getAbsolutePath());
+    /**
+     * Identical images map to the same file, so we only need to queue the screenshot if it is a new one.
+     */
+    protected File saveScreenshoot(final byte[] screenshotData) throws IOException {
+        File savedScreenshot = new File(targetDirectory, screenshotNameFor(screenshotData));
+        if (!savedScreenshot.exists()) {
+            File savedSource = new File(sourceCodeFileFor(savedScreenshot.getAbsolutePath()));
+            screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, savedScreenshot,
+                                                                     getPageSource(), savedSource));
+        }
         return savedScreenshot;
     }
 
@@ -136,21 +128,15 @@ public class Photographer {
         return driver.getClass().getCanonicalName().contains("Mock");
     }
 
-    private void savePageSourceFor(final String screenshotFile) throws IOException {
-        if (WebDriver.class.isAssignableFrom(driver.getClass())) {
-            try {
-                WebDriver webdriver = driver;
-                String pageSource = webdriver.getPageSource();
-
-                File savedSource = new File(sourceCodeFileFor(screenshotFile));
-                FileUtils.writeStringToFile(savedSource, pageSource);
-            } catch (WebDriverException e) {
-                getLogger().warn("Failed to save screen source code", e);
-            }
+    private String getPageSource() {
+        try {
+            return driver.getPageSource();
+        } catch (WebDriverException e) {
+            getLogger().warn("Failed to save screen source code", e);
+            return null;
         }
     }
 
-
     private String sourceCodeFileFor(final String screenshotFile) {
         String rootFilename = screenshotFile.substring(0, screenshotFile.length() - PNG_SUFFIX_LENGTH);
         return rootFilename + ".html";
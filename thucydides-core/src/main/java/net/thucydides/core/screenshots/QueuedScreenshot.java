@@ -0,0 +1,71 @@
+package net.thucydides.core.screenshots;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A screenshot that has been captured from the browser but not yet written to disk.
+ * The image data and the page source are captured in the test thread, as the driver
+ * cannot be used safely from elsewhere, but they can be saved from any thread.
+ */
+public class QueuedScreenshot {
+
+    private final byte[] screenshotData;
+    private final File screenshotFile;
+    private final String pageSource;
+    private final File sourcecodeFile;
+
+    public QueuedScreenshot(final byte[] screenshotData, final File screenshotFile,
+                            final String pageSource, final File sourcecodeFile) {
+        this.screenshotData = screenshotData;
+        this.screenshotFile = screenshotFile;
+        this.pageSource = pageSource;
+        this.sourcecodeFile = sourcecodeFile;
+    }
+
+    public File getScreenshotFile() {
+        return screenshotFile;
+    }
+
+    public File getSourcecodeFile() {
+        return sourcecodeFile;
+    }
+
+    /**
+     * Write the page source (if we have it) and then the screenshot. Each file is written to a temporary file
+     * in the same directory and then renamed into place, so a file only appears under its final name once
+     * it is complete. Screenshot files are named after their contents, so there is nothing to do if the file
+     * is already there. As a result, when several pages produce the same image, the page source saved with it
+     * is the one from the first of these pages.
+     */
+    public void save() throws IOException {
+        if (screenshotFile.exists()) {
+            return;
+        }
+        if ((pageSource != null) && (sourcecodeFile != null)) {
+            writeAtomically(sourcecodeFile, pageSource.getBytes());
+        }
+        writeAtomically(screenshotFile, screenshotData);
+    }
+
+    private void writeAtomically(final File file, final byte[] data) throws IOException {
+        File temporaryFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try {
+            FileUtils.writeByteArrayToFile(temporaryFile, data);
+            moveIntoPlace(temporaryFile, file);
+        } finally {
+            FileUtils.deleteQuietly(temporaryFile);
+        }
+    }
+
+    /**
+     * If the rename fails because another writer has already saved the same file, we keep their copy.
+     */
+    private void moveIntoPlace(final File temporaryFile, final File file) throws IOException {
+        if (!temporaryFile.renameTo(file) && !file.exists()) {
+            throw new IOException("Could not save " + file);
+        }
+    }
+}
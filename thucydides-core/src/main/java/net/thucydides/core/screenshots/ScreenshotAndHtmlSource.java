@@ -7,6 +7,8 @@ import java.io.IOException;
 
 /**
  * A screenshot image and the corresponding HTML source code.
+ * Screenshot files are named after their contents, so two screenshots stored in the same file
+ * are known to be identical without having to read the images (which may not even have been written yet).
  */
 public class ScreenshotAndHtmlSource {
     
@@ -41,6 +43,10 @@ public class ScreenshotAndHtmlSource {
             return (that.screenshot == null);
         } else if (that.screenshot == null) {
             return (this.screenshot == null);
+        } else if (screenshot.equals(that.screenshot)) {
+            return true;
+        } else if (!screenshot.exists() || !that.screenshot.exists()) {
+            return false;
         } else {
             try {
                 return FileUtils.contentEquals(screenshot, that.screenshot);
@@ -0,0 +1,24 @@
+package net.thucydides.core.screenshots;
+
+/**
+ * Saves screenshots to disk on behalf of the photographer.
+ * Implementations may save the screenshots straight away, or queue them and write them
+ * in the background, in which case waitUntilDone() must be called before the screenshots are used.
+ */
+public interface ScreenshotProcessor {
+
+    /**
+     * Save a screenshot, either immediately or at some later time.
+     */
+    void queueScreenshot(QueuedScreenshot queuedScreenshot);
+
+    /**
+     * Block until all of the screenshots queued so far have been written to disk.
+     */
+    void waitUntilDone();
+
+    /**
+     * Are there any screenshots still waiting to be written?
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,29 @@
+package net.thucydides.core.screenshots;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Writes each screenshot to disk as soon as it is taken, in the calling thread.
+ */
+public class SynchronousScreenshotProcessor implements ScreenshotProcessor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SynchronousScreenshotProcessor.class);
+
+    public void queueScreenshot(final QueuedScreenshot queuedScreenshot) {
+        try {
+            queuedScreenshot.save();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write screenshot " + queuedScreenshot.getScreenshotFile(), e);
+        }
+    }
+
+    public void waitUntilDone() {
+    }
+
+    public boolean isEmpty() {
+        return true;
+    }
+}
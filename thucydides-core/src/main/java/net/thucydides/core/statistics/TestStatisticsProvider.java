@@ -2,7 +2,6 @@ package net.thucydides.core.statistics;
 
 import com.google.inject.Inject;
 import net.thucydides.core.Thucydides;
-import net.thucydides.core.model.TestResult;
 import net.thucydides.core.statistics.dao.TestOutcomeHistoryDAO;
 import net.thucydides.core.statistics.model.TestRun;
 import net.thucydides.core.statistics.model.TestRunTag;
@@ -54,33 +53,26 @@ public class TestStatisticsProvider {
         return null;
     }
 
+    /*
+     * The counts are worked out from the list of results, so each set of statistics only needs two queries:
+     * one for the results, most recent first, and one for the tags of the latest test run.
+     */
     private TestStatistics testStatisticsForTestsWithTag(WithTagNamed withCondition) {
         String tag = withCondition.getTag();
-        Long totalTests = testOutcomeHistoryDAO.countTestRunsByTag(tag);
-        Long passingTests = testOutcomeHistoryDAO.countTestRunsByTagAndResult(tag, TestResult.SUCCESS);
-        Long failingTests = testOutcomeHistoryDAO.countTestRunsByTagAndResult(tag, TestResult.FAILURE);
-        List<TestResult> results = testOutcomeHistoryDAO.getResultsForTestsWithTag(tag);
-        List<TestRunTag> latestTags = testOutcomeHistoryDAO.getLatestTagsForTestsWithTag(tag);
-        return new TestStatistics(totalTests, passingTests, failingTests, results, latestTags);
+        return TestStatistics.from(testOutcomeHistoryDAO.getResultsForTestsWithTag(tag),
+                                   testOutcomeHistoryDAO.getLatestTagsForTestsWithTag(tag));
     }
 
     private TestStatistics testStatisticsForTestsWithTagType(WithTagTypeNamed withCondition) {
         String tagType = withCondition.getTagType();
-        Long totalTests = testOutcomeHistoryDAO.countTestRunsByTagType(tagType);
-        Long passingTests = testOutcomeHistoryDAO.countTestRunsByTagTypeAndResult(tagType, TestResult.SUCCESS);
-        Long failingTests = testOutcomeHistoryDAO.countTestRunsByTagTypeAndResult(tagType, TestResult.FAILURE);
-        List<TestResult> results = testOutcomeHistoryDAO.getResultsForTestsWithTagType(tagType);
-        List<TestRunTag> latestTags = testOutcomeHistoryDAO.getLatestTagsForTestsWithTagType(tagType);
-        return new TestStatistics(totalTests, passingTests, failingTests, results, latestTags);
+        return TestStatistics.from(testOutcomeHistoryDAO.getResultsForTestsWithTagType(tagType),
+                                   testOutcomeHistoryDAO.getLatestTagsForTestsWithTagType(tagType));
     }
 
     private TestStatistics testStatisticsForTitle(WithTitle withCondition) {
-        Long totalTests = testOutcomeHistoryDAO.countTestRunsByTitle(withCondition.getTitle());
-        Long passingTests = testOutcomeHistoryDAO.countTestRunsByTitleAndResult(withCondition.getTitle(), TestResult.SUCCESS);
-        Long failingTests = testOutcomeHistoryDAO.countTestRunsByTitleAndResult(withCondition.getTitle(), TestResult.FAILURE);
-        List<TestResult> results = testOutcomeHistoryDAO.getResultsTestWithTitle(withCondition.getTitle());
-        List<TestRunTag> latestTags = testOutcomeHistoryDAO.getLatestTagsForTestWithTitleByTitle(withCondition.getTitle());
-        return new TestStatistics(totalTests, passingTests, failingTests, results, latestTags);
+        String title = withCondition.getTitle();
+        return TestStatistics.from(testOutcomeHistoryDAO.getResultsTestWithTitle(title),
+                                   testOutcomeHistoryDAO.getLatestTagsForTestWithTitleByTitle(title));
     }
 
     public List<TestRunTag> findAllTags() {
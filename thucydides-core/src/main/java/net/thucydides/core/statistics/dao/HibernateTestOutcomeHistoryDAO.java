@@ -1,10 +1,13 @@
 package net.thucydides.core.statistics.dao;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import net.thucydides.core.Thucydides;
 import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.guice.DatabaseConfig;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.model.TestResult;
 import net.thucydides.core.pages.SystemClock;
@@ -17,97 +20,119 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.persistence.EntityManager;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
-    private static final String FIND_ALL_TEST_HISTORIES = "select t from TestRun t where t.projectKey = :projectKey order by t.executionDate";
+    private static final String FIND_ALL_TEST_HISTORIES = "select t from TestRun t where t.projectKey = :projectKey order by t.executionDate, t.id";
     private static final String FIND_BY_NAME = "select t from TestRun t where t.title = :title and t.projectKey = :projectKey";
-    private static final String FIND_TAG_BY_NAME = "select t from TestRunTag t where t.name = :name and t.code = :code and t.projectKey = :projectKey";
+    private static final String FIND_TAGS_BY_NAME = "select t from TestRunTag t where t.name in (:names) and t.projectKey = :projectKey";
     private static final String FIND_ALL_TAGS  = "select t from TestRunTag t where t.projectKey = :projectKey order by t.name";
     private static final String FIND_ALL_TAG_TYPES = "select distinct t.type from TestRunTag t where t.projectKey = :projectKey order by t.type";
     private static final String COUNT_BY_NAME = "select count(t) from TestRun t where t.title = :title and t.projectKey = :projectKey";
     private static final String COUNT_TESTS_BY_NAME_AND_RESULT
             = "select count(t) from TestRun t where t.title = :title and t.projectKey = :projectKey and t.result = :result";
 
-    private static final String COUNT_LATEST_TESTS_BY_TAG_AND_RESULT
+    private static final String COUNT_TESTS_BY_TAG_AND_RESULT
             = "select count(test) from TestRun test "+
             " left outer join test.tags as tag " +
             "where tag.name = :name " +
             "and test.result = :result " +
-            "and test.projectKey = :projectKey " +
-            "and test.executionDate = "+
-            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+            "and test.projectKey = :projectKey";
 
-    private static final String COUNT_LATEST_TESTS_BY_TAG_TYPE_AND_RESULT
+    private static final String COUNT_TESTS_BY_TAG_TYPE_AND_RESULT
             = "select count(test) from TestRun test "+
             " left outer join test.tags as tag " +
             "where tag.type = :type " +
             "and test.result = :result " +
-            "and test.projectKey = :projectKey " +
-            "and test.executionDate = "+
-            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
-
-    private static final String SELECT_LATEST_TEST_BY_TITLE
-            = "select t from TestRun t "+
-            "where t.title = :title " +
-            "and t.projectKey = :projectKey " +
-            "and t.executionDate = "+
-            "     (select max(tt.executionDate) from TestRun tt where tt.id = t.id)";
-
-    private static final String SELECT_LATEST_TEST_BY_TAG
-            = "select test from TestRun test "+
-            " left outer join test.tags as tag " +
-            "where tag.name = :name " +
-            "and test.projectKey = :projectKey " +
-            "and test.executionDate = "+
-            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
-
-    private static final String SELECT_LATEST_TEST_BY_TAG_TYPE
-            = "select test from TestRun test "+
-            " left outer join test.tags as tag " +
-            "where tag.type = :type " +
-            "and test.projectKey = :projectKey " +
-            "and test.executionDate = "+
-            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+            "and test.projectKey = :projectKey";
+
+    /*
+     * The latest test run is the one with the most recent execution date,
+     * and the highest id if several runs were stored in the same batch.
+     */
+    private static final String SELECT_LATEST_TAGS_BY_TITLE
+            = "select tag from TestRun test " +
+            " join test.tags as tag " +
+            "where test.id = " +
+            "(select max(latest.id) from TestRun latest " +
+            "  where latest.title = :title " +
+            "  and latest.projectKey = :projectKey " +
+            "  and latest.executionDate = " +
+            "  (select max(tt.executionDate) from TestRun tt " +
+            "    where tt.title = :title " +
+            "    and tt.projectKey = :projectKey)) " +
+            "order by tag.name";
+
+    private static final String SELECT_LATEST_TAGS_BY_TAG
+            = "select tag from TestRun test " +
+            " join test.tags as tag " +
+            "where test.id = " +
+            "(select max(latest.id) from TestRun latest " +
+            "  join latest.tags as latestTag " +
+            "  where latestTag.name = :name " +
+            "  and latest.projectKey = :projectKey " +
+            "  and latest.executionDate = " +
+            "  (select max(tt.executionDate) from TestRun tt " +
+            "    join tt.tags as ttTag " +
+            "    where ttTag.name = :name " +
+            "    and tt.projectKey = :projectKey)) " +
+            "order by tag.name";
+
+    private static final String SELECT_LATEST_TAGS_BY_TAG_TYPE
+            = "select tag from TestRun test " +
+            " join test.tags as tag " +
+            "where test.id = " +
+            "(select max(latest.id) from TestRun latest " +
+            "  join latest.tags as latestTag " +
+            "  where latestTag.type = :type " +
+            "  and latest.projectKey = :projectKey " +
+            "  and latest.executionDate = " +
+            "  (select max(tt.executionDate) from TestRun tt " +
+            "    join tt.tags as ttTag " +
+            "    where ttTag.type = :type " +
+            "    and tt.projectKey = :projectKey)) " +
+            "order by tag.name";
 
     private static final String SELECT_TEST_RESULTS_BY_TAG
             = "select test.result from TestRun test "+
             " left outer join test.tags as tag " +
             "where tag.name = :name " +
             "and test.projectKey = :projectKey " +
-            "order by test.executionDate desc";
+            "order by test.executionDate desc, test.id desc";
 
     private static final String SELECT_TEST_RESULTS_BY_TAG_TYPE
             = "select test.result from TestRun test "+
             " left outer join test.tags as tag " +
             "where tag.type = :type " +
             "and test.projectKey = :projectKey " +
-            "order by test.executionDate desc";
+            "order by test.executionDate desc, test.id desc";
 
-    private static final String COUNT_LATEST_TEST_BY_TAG
+    private static final String COUNT_TESTS_BY_TAG
             = "select count(test) from TestRun test "+
             " left outer join test.tags as tag " +
             "where tag.name = :name " +
-            "and test.projectKey = :projectKey " +
-            "and test.executionDate = "+
-            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+            "and test.projectKey = :projectKey";
 
-    private static final String COUNT_LATEST_TEST_BY_TAG_TYPE
+    private static final String COUNT_TESTS_BY_TAG_TYPE
             = "select count(test) from TestRun test "+
             " left outer join test.tags as tag " +
             "where tag.type = :type " +
-            "and test.projectKey = :projectKey " +
-            "and test.executionDate = "+
-            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+            "and test.projectKey = :projectKey";
 
     private static final String SELECT_TEST_RESULTS_BY_TITLE
             = "select test.result from TestRun test " +
               "where test.title = :title " +
               "and test.projectKey = :projectKey " +
-              "order by test.executionDate desc";
+              "order by test.executionDate desc, test.id desc";
+
+    /**
+     * Keep the IN lists well below the parameter limits of the supported databases.
+     */
+    private static final int MAX_TAG_NAMES_PER_QUERY = 500;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HibernateTestOutcomeHistoryDAO.class);
 
@@ -121,10 +146,17 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
     @Inject
     public HibernateTestOutcomeHistoryDAO(EntityManager entityManager, EnvironmentVariables environmentVariables, SystemClock clock) {
+        this(entityManager, environmentVariables, clock, TagProviderService.getTagProviders());
+    }
+
+    public HibernateTestOutcomeHistoryDAO(EntityManager entityManager,
+                                          EnvironmentVariables environmentVariables,
+                                          SystemClock clock,
+                                          List<TagProvider> tagProviders) {
         this.entityManager = entityManager;
         this.environmentVariables = environmentVariables;
         this.clock = clock;
-        tagProviders = TagProviderService.getTagProviders();
+        this.tagProviders = tagProviders;
     }
 
     @Override
@@ -142,51 +174,152 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
                                             .getResultList();
     }
 
+    /**
+     * The tags for the whole batch are looked up in a few queries and any new ones are inserted first.
+     * The session is flushed and cleared every batch, so that JDBC batching can be used
+     * and large batches do not fill up the persistence context.
+     */
     @Override
     public void storeTestOutcomes(List<TestOutcome> testOutcomes) {
         entityManager.getTransaction().begin();
 
+        Map<TestOutcome, Set<TestRunTag>> tagsByOutcome = tagsFor(testOutcomes);
+        Map<TagKey, TestRunTag> storedTags = findOrCreateTags(tagsByOutcome.values());
+
+        int batchSize = getBatchSize();
+        int pendingEntities = 0;
         for(TestOutcome testOutcome : testOutcomes) {
             TestRun storedHistory = TestRun.from(testOutcome)
                                            .inProject(getProjectKey())
                                            .at(clock.getCurrentTime().toDate());
-            addTagsTo(testOutcome, storedHistory);
+            for(TestRunTag tag : tagsByOutcome.get(testOutcome)) {
+                storedHistory.getTags().add(storedTags.get(TagKey.of(tag)));
+            }
             LOGGER.debug("Storing statistics for test result " + testOutcome.getTitle());
             entityManager.persist(storedHistory);
+            if (++pendingEntities % batchSize == 0) {
+                flushAndClear();
+            }
         }
 
         entityManager.getTransaction().commit();
     }
 
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
     private String getProjectKey() {
         return ThucydidesSystemProperty.PROJECT_KEY.from(environmentVariables,
                                                          Thucydides.DEFAULT_PROJECT_KEY);
     }
 
-    private void addTagsTo(TestOutcome testResult, TestRun storedTestRun) {
-        for(TagProvider tagProvider : tagProviders) {
-            Set<TestRunTag> tags = tagProvider.getTagsFor(testResult);
-            List<TestRunTag> matchedTags = Lists.newArrayList();
+    private int getBatchSize() {
+        Object batchSize = entityManager.getEntityManagerFactory().getProperties().get("hibernate.jdbc.batch_size");
+        try {
+            return (batchSize == null) ? DatabaseConfig.DEFAULT_BATCH_SIZE : Math.max(1, Integer.parseInt(batchSize.toString()));
+        } catch (NumberFormatException e) {
+            return DatabaseConfig.DEFAULT_BATCH_SIZE;
+        }
+    }
+
+    private Map<TestOutcome, Set<TestRunTag>> tagsFor(List<TestOutcome> testOutcomes) {
+        Map<TestOutcome, Set<TestRunTag>> tagsByOutcome = Maps.newIdentityHashMap();
+        for(TestOutcome testOutcome : testOutcomes) {
+            Set<TestRunTag> tags = Sets.newLinkedHashSet();
+            for(TagProvider tagProvider : tagProviders) {
+                tags.addAll(tagProvider.getTagsFor(testOutcome));
+            }
+            tagsByOutcome.put(testOutcome, tags);
+        }
+        return tagsByOutcome;
+    }
+
+    /**
+     * Find the stored tags matching the tags of a batch of test results, and store any that are missing.
+     * A tag is identified by its project, name and code; each one is only stored once.
+     */
+    private Map<TagKey, TestRunTag> findOrCreateTags(Collection<Set<TestRunTag>> tagsForEachOutcome) {
+        Map<TagKey, TestRunTag> storedTags = Maps.newHashMap();
+        Map<String, Set<String>> tagNamesByProject = Maps.newHashMap();
+        for(Set<TestRunTag> tags : tagsForEachOutcome) {
             for(TestRunTag tag : tags) {
-                List<TestRunTag> matchingStoredTags = entityManager.createQuery(FIND_TAG_BY_NAME)
-                        .setParameter("name", tag.getName())
-                        .setParameter("projectKey", tag.getProjectKey())
-                        .setParameter("code", tag.getCode())
-                        .getResultList();
-                if (!matchingStoredTags.isEmpty()) {
-                    TestRunTag firstMatchingTag = matchingStoredTags.get(0);
-                    storedTestRun.getTags().add(firstMatchingTag);
-                    firstMatchingTag.getTestRuns().add(storedTestRun);
-                    matchedTags.add(tag);
+                if (!tagNamesByProject.containsKey(tag.getProjectKey())) {
+                    tagNamesByProject.put(tag.getProjectKey(), Sets.<String>newHashSet());
                 }
+                tagNamesByProject.get(tag.getProjectKey()).add(tag.getName());
             }
+        }
 
-            tags.removeAll(matchedTags);
+        for(String projectKey : tagNamesByProject.keySet()) {
+            List<String> tagNames = Lists.newArrayList(tagNamesByProject.get(projectKey));
+            for(List<String> someTagNames : Lists.partition(tagNames, MAX_TAG_NAMES_PER_QUERY)) {
+                List<TestRunTag> matchingStoredTags = entityManager.createQuery(FIND_TAGS_BY_NAME)
+                        .setParameter("names", someTagNames)
+                        .setParameter("projectKey", projectKey)
+                        .getResultList();
+                for(TestRunTag storedTag : matchingStoredTags) {
+                    TagKey key = TagKey.of(storedTag);
+                    if (!storedTags.containsKey(key)) {
+                        storedTags.put(key, storedTag);
+                    }
+                }
+            }
+        }
 
+        int newTags = 0;
+        for(Set<TestRunTag> tags : tagsForEachOutcome) {
             for(TestRunTag tag : tags) {
-                entityManager.persist(tag);
-                storedTestRun.getTags().add(tag);
+                TagKey key = TagKey.of(tag);
+                if (!storedTags.containsKey(key)) {
+                    entityManager.persist(tag);
+                    storedTags.put(key, tag);
+                    newTags++;
+                }
+            }
+        }
+        if (newTags > 0) {
+            entityManager.flush();
+        }
+        return storedTags;
+    }
+
+    /**
+     * The fields used to match a tag against the tags already in the database.
+     */
+    private static final class TagKey {
+        private final String projectKey;
+        private final String name;
+        private final String code;
+
+        private TagKey(String projectKey, String name, String code) {
+            this.projectKey = projectKey;
+            this.name = name;
+            this.code = code;
+        }
+
+        static TagKey of(TestRunTag tag) {
+            return new TagKey(tag.getProjectKey(), tag.getName(), tag.getCode());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
             }
+            if (!(other instanceof TagKey)) {
+                return false;
+            }
+            TagKey that = (TagKey) other;
+            return Objects.equal(projectKey, that.projectKey)
+                    && Objects.equal(name, that.name)
+                    && Objects.equal(code, that.code);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(projectKey, name, code);
         }
     }
 
@@ -217,15 +350,10 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
     @Override
     public List<TestRunTag> getLatestTagsForTestWithTitleByTitle(String title) {
-       List<TestRun> latestTestRuns = entityManager.createQuery(SELECT_LATEST_TEST_BY_TITLE)
-                                                   .setParameter("title", title)
-                                                   .setParameter("projectKey", getProjectKey())
-                                                   .getResultList();
-       if (latestTestRuns.isEmpty()) {
-           return Collections.emptyList();
-       } else {
-           return ImmutableList.copyOf(latestTestRuns.get(0).getTags());
-       }
+        return entityManager.createQuery(SELECT_LATEST_TAGS_BY_TITLE)
+                            .setParameter("title", title)
+                            .setParameter("projectKey", getProjectKey())
+                            .getResultList();
     }
 
     @Override
@@ -254,7 +382,7 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
     @Override
     public Long countTestRunsByTag(String tag) {
-        return (Long) entityManager.createQuery(COUNT_LATEST_TEST_BY_TAG)
+        return (Long) entityManager.createQuery(COUNT_TESTS_BY_TAG)
                                    .setParameter("name", tag)
                                    .setParameter("projectKey", getProjectKey())
                                    .getSingleResult();
@@ -262,7 +390,7 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
     @Override
     public Long countTestRunsByTagType(String tagType) {
-        return (Long) entityManager.createQuery(COUNT_LATEST_TEST_BY_TAG_TYPE)
+        return (Long) entityManager.createQuery(COUNT_TESTS_BY_TAG_TYPE)
                 .setParameter("type", tagType)
                 .setParameter("projectKey", getProjectKey())
                 .getSingleResult();
@@ -270,7 +398,7 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
     @Override
     public Long countTestRunsByTagAndResult(String tag, TestResult result) {
-        return (Long) entityManager.createQuery(COUNT_LATEST_TESTS_BY_TAG_AND_RESULT)
+        return (Long) entityManager.createQuery(COUNT_TESTS_BY_TAG_AND_RESULT)
                 .setParameter("name", tag)
                 .setParameter("result",result)
                 .setParameter("projectKey", getProjectKey())
@@ -279,7 +407,7 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
     @Override
     public Long countTestRunsByTagTypeAndResult(String tagType, TestResult result) {
-        return (Long) entityManager.createQuery(COUNT_LATEST_TESTS_BY_TAG_TYPE_AND_RESULT)
+        return (Long) entityManager.createQuery(COUNT_TESTS_BY_TAG_TYPE_AND_RESULT)
                 .setParameter("type", tagType)
                 .setParameter("result",result)
                 .setParameter("projectKey", getProjectKey())
@@ -288,28 +416,18 @@ public class HibernateTestOutcomeHistoryDAO implements TestOutcomeHistoryDAO {
 
     @Override
     public List<TestRunTag> getLatestTagsForTestsWithTag(String tag) {
-        List<TestRun> latestTestRuns = entityManager.createQuery(SELECT_LATEST_TEST_BY_TAG)
-                                                    .setParameter("name", tag)
-                                                    .setParameter("projectKey", getProjectKey())
-                                                    .getResultList();
-        if (latestTestRuns.isEmpty()) {
-            return Collections.emptyList();
-        } else {
-            return ImmutableList.copyOf(latestTestRuns.get(0).getTags());
-        }
+        return entityManager.createQuery(SELECT_LATEST_TAGS_BY_TAG)
+                            .setParameter("name", tag)
+                            .setParameter("projectKey", getProjectKey())
+                            .getResultList();
     }
 
     @Override
     public List<TestRunTag> getLatestTagsForTestsWithTagType(String tagType) {
-        List<TestRun> latestTestRuns = entityManager.createQuery(SELECT_LATEST_TEST_BY_TAG_TYPE)
-                                                    .setParameter("type", tagType)
-                                                    .setParameter("projectKey", getProjectKey())
-                                                    .getResultList();
-        if (latestTestRuns.isEmpty()) {
-            return Collections.emptyList();
-        } else {
-            return ImmutableList.copyOf(latestTestRuns.get(0).getTags());
-        }
+        return entityManager.createQuery(SELECT_LATEST_TAGS_BY_TAG_TYPE)
+                            .setParameter("type", tagType)
+                            .setParameter("projectKey", getProjectKey())
+                            .getResultList();
     }
 
     @Override
@@ -3,7 +3,10 @@ package net.thucydides.core.statistics.model;
 import com.google.common.collect.ImmutableSet;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.model.TestResult;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Index;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -20,12 +23,18 @@ import java.util.Set;
 public class TestRun {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "test_run_ids")
+    @GenericGenerator(name = "test_run_ids", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+                      parameters = {@Parameter(name = "sequence_name", value = "hibernate_sequence"),
+                                    @Parameter(name = "optimizer", value = "hilo"),
+                                    @Parameter(name = "increment_size", value = "50")})
     private Long id;
 
+    @Index(name = "testrun_title_idx")
     private String title;
     private String projectKey;
     private TestResult result;
+    @Index(name = "testrun_executiondate_idx")
     private Date executionDate;
     private long duration;
 
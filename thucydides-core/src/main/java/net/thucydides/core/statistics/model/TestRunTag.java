@@ -1,6 +1,9 @@
 package net.thucydides.core.statistics.model;
 
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Index;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -14,12 +17,18 @@ import java.util.Set;
 public class TestRunTag {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "test_run_tag_ids")
+    @GenericGenerator(name = "test_run_tag_ids", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+                      parameters = {@Parameter(name = "sequence_name", value = "hibernate_sequence"),
+                                    @Parameter(name = "optimizer", value = "hilo"),
+                                    @Parameter(name = "increment_size", value = "50")})
     private Long id;
 
     private String projectKey;
     private String code;
+    @Index(name = "testruntag_name_idx")
     private String name;
+    @Index(name = "testruntag_type_idx")
     private String type;
 
     public TestRunTag() {
@@ -17,6 +17,7 @@ public class TestStatistics {
     private final Long totalTestRuns;
     private final Long passingTestRuns;
     private final Long failingTestRuns;
+    private final Long pendingTestRuns;
     private final List<TestResult> testResults;
     private final List<TestRunTag> tags;
     private static final int OVERALL = Integer.MAX_VALUE;
@@ -26,13 +27,52 @@ public class TestStatistics {
                           Long failingTestRuns,
                           List<TestResult> testResults,
                           List<TestRunTag> tags) {
+        this(totalTestRuns, passingTestRuns, failingTestRuns, count(TestResult.PENDING, testResults), testResults, tags);
+    }
+
+    public TestStatistics(Long totalTestRuns,
+                          Long passingTestRuns,
+                          Long failingTestRuns,
+                          Long pendingTestRuns,
+                          List<TestResult> testResults,
+                          List<TestRunTag> tags) {
         this.totalTestRuns = totalTestRuns;
         this.passingTestRuns = passingTestRuns;
         this.failingTestRuns = failingTestRuns;
+        this.pendingTestRuns = pendingTestRuns;
         this.tags = ImmutableList.copyOf(tags);
         this.testResults = ImmutableList.copyOf(testResults);
     }
 
+    /**
+     * Work out the statistics for a set of test runs from their results, most recent first.
+     */
+    public static TestStatistics from(List<TestResult> testResults, List<TestRunTag> tags) {
+        long passing = 0;
+        long failing = 0;
+        long pending = 0;
+        for (TestResult result : testResults) {
+            if (result == TestResult.SUCCESS) {
+                passing++;
+            } else if (result == TestResult.FAILURE) {
+                failing++;
+            } else if (result == TestResult.PENDING) {
+                pending++;
+            }
+        }
+        return new TestStatistics((long) testResults.size(), passing, failing, pending, testResults, tags);
+    }
+
+    private static Long count(TestResult expectedResult, List<TestResult> testResults) {
+        long count = 0;
+        for (TestResult result : testResults) {
+            if (result == expectedResult) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     public Long getTotalTestRuns() {
         return totalTestRuns;
     }
@@ -45,6 +85,10 @@ public class TestStatistics {
         return failingTestRuns;
     }
 
+    public Long getPendingTestRuns() {
+        return pendingTestRuns;
+    }
+
     public Double getOverallPassRate() {
         if (totalTestRuns > 0) {
             return (double) passingTestRuns / (double) totalTestRuns;
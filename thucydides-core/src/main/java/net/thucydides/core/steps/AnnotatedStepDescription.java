@@ -1,21 +1,16 @@
 package net.thucydides.core.steps;
 
-import net.thucydides.core.annotations.Step;
-import net.thucydides.core.annotations.StepGroup;
-import net.thucydides.core.annotations.TestsRequirement;
-import net.thucydides.core.annotations.TestsRequirements;
-import net.thucydides.core.annotations.Title;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import static net.thucydides.core.util.NameConverter.humanize;
 
 /**
  * Test steps and step groups can be described by various annotations.
+ * The annotations themselves are read via the cached StepMethodMetadata.
  */
 public final class AnnotatedStepDescription {
 
@@ -34,27 +29,11 @@ public final class AnnotatedStepDescription {
         List<String> requirements = new ArrayList<String>();
         Method testMethod = getTestMethod();
         if (testMethod != null) {
-            addRequirementFrom(requirements, testMethod);
-            addMultipleRequirementsFrom(requirements, testMethod);
+            requirements.addAll(StepMethodMetadata.forMethod(testMethod).getRequirements());
         }
         return requirements;
     }
 
-    private void addMultipleRequirementsFrom(final List<String> requirements, final Method testMethod) {
-        TestsRequirements testRequirements = testMethod.getAnnotation(TestsRequirements.class);
-        if (testRequirements != null) {
-            requirements.addAll(Arrays.asList(testRequirements.value()));
-        }
-    }
-
-    private void addRequirementFrom(final List<String> requirements, final Method testMethod) {
-        TestsRequirement testsRequirement = testMethod
-                .getAnnotation(TestsRequirement.class);
-        if (testsRequirement != null) {
-            requirements.add(testsRequirement.value());
-        }
-    }
-
     public Method getTestMethod() {
         if (getTestClass() != null) {
             return methodCalled(withNoArguments(description.getName()), getTestClass());
@@ -88,27 +67,14 @@ public final class AnnotatedStepDescription {
     }
 
     private Method findMethodCalled(final String methodName, final Class<?> testClass) {
-        Method methodFound = null;
-
         if (testClass != null) {
-            Method[] methods = testClass.getMethods();
-            for (Method method : methods) {
-                if (method.getName().equals(methodName)) {
-                    methodFound = method;
-                }
-            }
+            return StepMethodMetadata.lastMethodCalled(methodName, testClass);
         }
-        return methodFound;
+        return null;
     }
 
     public String getAnnotatedTitle() {
-
-        Method testMethod = getTestMethod();
-        Title title = testMethod.getAnnotation(Title.class);
-        if (title != null) {
-            return title.value();
-        }
-        return null;
+        return StepMethodMetadata.forMethod(getTestMethod()).getTitle();
     }
 
     private String getAnnotatedStepName() {
@@ -116,12 +82,7 @@ public final class AnnotatedStepDescription {
     }
 
     private String getNameFromStepAnnotationIn(final Method testMethod) {
-        Step step = testMethod.getAnnotation(Step.class);
-
-        if ((step != null) && (!StringUtils.isEmpty(step.value()))) {
-            return step.value();
-        }
-        return null;
+        return StepMethodMetadata.forMethod(testMethod).getStepName();
     }
 
     public String getName() {
@@ -164,35 +125,26 @@ public final class AnnotatedStepDescription {
     public boolean isAGroup() {
 
         Method testMethod = getTestMethodIfPresent();
-        if (testMethod != null) {
-            StepGroup testGroup = testMethod.getAnnotation(StepGroup.class);
-            return (testGroup != null);
-        } else {
-            return false;
-        }
+        return testMethod != null && StepMethodMetadata.forMethod(testMethod).isAGroup();
     }
 
     private String getGroupName() {
         Method testMethod = getTestMethodIfPresent();
-        StepGroup testGroup = testMethod.getAnnotation(StepGroup.class);
-        return testGroup.value();
+        return StepMethodMetadata.forMethod(testMethod).getGroupName();
     }
 
     public boolean isPending() {
         Method testMethod = getTestMethodIfPresent();
-        return testMethod != null && TestStatus.of(testMethod).isPending();
+        return testMethod != null && StepMethodMetadata.forMethod(testMethod).isPending();
     }
 
     public boolean isIgnored() {
         Method testMethod = getTestMethodIfPresent();
-        return testMethod != null && TestStatus.of(testMethod).isIgnored();
+        return testMethod != null && StepMethodMetadata.forMethod(testMethod).isIgnored();
     }
 
     public boolean isFluent() {
-        if (description.getTestMethod() != null) {
-            Step step = description.getTestMethod().getAnnotation(Step.class);
-            return ((step != null) && (step.fluent()));
-        }
-        return false;
+        Method testMethod = description.getTestMethod();
+        return testMethod != null && StepMethodMetadata.forMethod(testMethod).isFluent();
     }
 }
@@ -16,6 +16,7 @@ import net.thucydides.core.pages.SystemClock;
 import net.thucydides.core.screenshots.Photographer;
 import net.thucydides.core.screenshots.ScreenshotAndHtmlSource;
 import net.thucydides.core.screenshots.ScreenshotException;
+import net.thucydides.core.screenshots.ScreenshotProcessor;
 import net.thucydides.core.webdriver.Configuration;
 import net.thucydides.core.webdriver.WebDriverFacade;
 import net.thucydides.core.webdriver.WebdriverProxyFactory;
@@ -83,7 +84,12 @@ public class BaseStepListener implements StepListener, StepPublisher {
     private Configuration configuration;
     
     private boolean inFluentStepSequence;
-    
+
+    /**
+     * Writes the screenshots to disk, possibly in the background.
+     */
+    private final ScreenshotProcessor screenshotProcessor;
+
     public BaseStepListener(final File outputDirectory) {
         this.proxyFactory = WebdriverProxyFactory.getFactory();
         this.testOutcomes = new ArrayList<TestOutcome>();
@@ -92,6 +98,7 @@ public class BaseStepListener implements StepListener, StepPublisher {
         this.outputDirectory = outputDirectory;
         this.clock = Injectors.getInjector().getInstance(SystemClock.class);
         this.configuration = Injectors.getInjector().getInstance(Configuration.class);
+        this.screenshotProcessor = Injectors.getInjector().getInstance(ScreenshotProcessor.class);
         this.inFluentStepSequence = false;
     }
 
@@ -176,8 +183,12 @@ public class BaseStepListener implements StepListener, StepPublisher {
         testedStory = story;
     }
 
+    /**
+     * Screenshots may still be being written in the background, so wait for them before the reports are generated.
+     */
     @Override
     public void testSuiteFinished() {
+        screenshotProcessor.waitUntilDone();
     }
 
 
@@ -458,7 +469,7 @@ public class BaseStepListener implements StepListener, StepPublisher {
     }
 
     public Photographer getPhotographer() {
-        return new Photographer(driver, outputDirectory);
+        return new Photographer(driver, outputDirectory, screenshotProcessor);
 
     }
 
@@ -1,7 +1,6 @@
 package net.thucydides.core.steps;
 
-import net.thucydides.core.csv.CSVTestDataSource;
-import net.thucydides.core.csv.TestDataSource;
+import net.thucydides.core.csv.StreamingCSVTestDataSource;
 
 import java.io.IOException;
 import java.util.List;
@@ -30,7 +29,7 @@ public final class StepData {
     public <T extends ScenarioSteps> T run(final T steps) throws IOException {
 
         useDefaultStepFactoryIfUnassigned();
-        TestDataSource testdata = new CSVTestDataSource(testDataSource, separator);
+        StreamingCSVTestDataSource testdata = new StreamingCSVTestDataSource(testDataSource, separator);
 
         Class<? extends ScenarioSteps> scenarioStepsClass = (Class<? extends ScenarioSteps>) steps.getClass().getSuperclass();
         List<T> instanciatedSteps = (List<T>) testdata.getInstanciatedInstancesFrom(scenarioStepsClass, factory);
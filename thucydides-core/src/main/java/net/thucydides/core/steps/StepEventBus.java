@@ -1,20 +1,17 @@
 package net.thucydides.core.steps;
 
 import com.google.common.collect.ImmutableList;
-import com.google.inject.internal.Lists;
 import net.thucydides.core.model.Story;
 import net.thucydides.core.model.TestOutcome;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sun.misc.Service;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.Stack;
 
 /**
  * An event bus for Step-related notifications.
@@ -27,6 +24,8 @@ import java.util.Stack;
  * placing your class in the classpath. Thucydides will automatically detect the listener and add it to the
  * registered listeners. It will load custom listeners automatically when a test starts for the first time.
  *
+ * Each thread has its own event bus, so the bus itself does not need to be thread-safe.
+ * The listeners are kept in an array that is only rebuilt when a listener is registered or dropped.
  */
 public class StepEventBus {
 
@@ -44,14 +43,20 @@ public class StepEventBus {
         return stepEventBusThreadLocal.get();
     }
 
+    private static List<Class<? extends StepListener>> customListenerClasses;
+
+    private static final StepListener[] NO_LISTENERS = new StepListener[0];
+
     private List<StepListener> registeredListeners = new ArrayList<StepListener>();
 
-    private TestResultTally resultTally;
+    private List<StepListener> customListeners;
 
-    private Stack<String> stepStack = new Stack<String>();
-    private Stack<Boolean> webdriverSuspensions = new Stack<Boolean>();
+    private StepListener[] allListeners;
+
+    private TestResultTally resultTally;
 
-    private Set<StepListener> customListeners;
+    private Deque<String> stepStack = new ArrayDeque<String>();
+    private Deque<Boolean> webdriverSuspensions = new ArrayDeque<Boolean>();
 
     private boolean stepFailed;
 
@@ -68,6 +73,7 @@ public class StepEventBus {
      */
     public StepEventBus registerListener(final StepListener listener) {
         registeredListeners.add(listener);
+        allListeners = null;
         return this;
     }
 
@@ -75,7 +81,7 @@ public class StepEventBus {
 
         clear();
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.testStarted(testName);
         }
     }
@@ -103,29 +109,59 @@ public class StepEventBus {
     }
 
     protected List<StepListener> getAllListeners() {
-        List<StepListener> allListeners = Lists.newArrayList(registeredListeners);
-        allListeners.addAll(getCustomListeners());
-        return ImmutableList.copyOf(allListeners);
+        return ImmutableList.copyOf(listeners());
+    }
+
+    /**
+     * The registered listeners followed by the custom listeners, rebuilt only when the registered listeners change.
+     * Dispatching loops over the array returned here, so listeners registered during an event only receive later events.
+     */
+    private StepListener[] listeners() {
+        if (allListeners == null) {
+            List<StepListener> listeners = new ArrayList<StepListener>(registeredListeners);
+            listeners.addAll(getCustomListeners());
+            allListeners = listeners.toArray(NO_LISTENERS);
+        }
+        return allListeners;
     }
 
-    private Set<StepListener> getCustomListeners() {
+    private List<StepListener> getCustomListeners() {
 
         if (customListeners == null) {
-            customListeners = Collections.synchronizedSet(new HashSet<StepListener>());
+            customListeners = new ArrayList<StepListener>();
+            for (Class<? extends StepListener> listenerClass : getCustomListenerClasses()) {
+                try {
+                    customListeners.add(listenerClass.newInstance());
+                } catch (Exception e) {
+                    LOGGER.error("Could not create custom listener " + listenerClass, e);
+                }
+            }
+        }
+        return customListeners;
+    }
+
+    /**
+     * Searching the classpath for custom listeners is slow, so it is only done once.
+     * Each event bus still gets its own listener instances, as listeners may record the state of the current test.
+     */
+    private static synchronized List<Class<? extends StepListener>> getCustomListenerClasses() {
+        if (customListenerClasses == null) {
+            List<Class<? extends StepListener>> listenerClasses = new ArrayList<Class<? extends StepListener>>();
             Iterator<?> listenerImplementations = Service.providers(StepListener.class);
 
             while (listenerImplementations.hasNext()) {
                 StepListener listener = (StepListener) listenerImplementations.next();
                 if (!isACore(listener)) {
                     LOGGER.info("Registering custom listener " + listener);
-                    customListeners.add(listener);
+                    listenerClasses.add(listener.getClass());
                 }
             }
+            customListenerClasses = listenerClasses;
         }
-        return customListeners;
+        return customListenerClasses;
     }
 
-    private boolean isACore(final StepListener listener) {
+    private static boolean isACore(final StepListener listener) {
         return listener.getClass().getPackage().getName().startsWith(CORE_THUCYDIDES_PACKAGE);
     }
 
@@ -133,7 +169,7 @@ public class StepEventBus {
         LOGGER.debug("Test suite started for {}", testClass);
         clear();
         updateClassUnderTest(testClass);
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.testSuiteStarted(testClass);
         }
     }
@@ -150,7 +186,7 @@ public class StepEventBus {
     public void testSuiteStarted(final Story story) {
         LOGGER.debug("Test suite started for story {}", story);
         updateStoryUnderTest(story);
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.testSuiteStarted(story);
         }
     }
@@ -177,14 +213,14 @@ public class StepEventBus {
     }
 
     public void testFinished(TestOutcome result) {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.testFinished(result);
         }
         clear();
     }
 
     private void pushStep(String stepName) {
-        stepStack.push(stepName);
+        stepStack.push((stepName == null) ? "" : stepName);
     }
 
     private void popStep() {
@@ -211,7 +247,7 @@ public class StepEventBus {
 
         pushStep(executedStepDescription.getName());
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.stepStarted(executedStepDescription);
         }
     }
@@ -224,7 +260,7 @@ public class StepEventBus {
 
         pushStep(executedStepDescription.getName());
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.skippedStepStarted(executedStepDescription);
         }
     }
@@ -232,13 +268,13 @@ public class StepEventBus {
     public void stepFinished() {
         stepDone();
         getResultTally().logExecutedTest();
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.stepFinished();
         }
     }
 
     private void stepDone() {
-        if (!stepStack.empty()) {
+        if (!stepStack.isEmpty()) {
             popStep();
         }
     }
@@ -248,7 +284,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logFailure(failure);
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.stepFailed(failure);
         }
         stepFailed = true;
@@ -258,7 +294,7 @@ public class StepEventBus {
 
         getResultTally().logFailure(failure);
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.stepFailed(failure);
         }
         stepFailed = true;
@@ -269,7 +305,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logIgnoredTest();
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.stepIgnored();
         }
     }
@@ -288,7 +324,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logIgnoredTest();
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             if (message != null) {
                 stepListener.stepPending(message);
             } else {
@@ -299,10 +335,12 @@ public class StepEventBus {
 
     public void dropListener(final StepListener stepListener) {
         registeredListeners.remove(stepListener);
+        allListeners = null;
     }
 
     public void dropAllListeners() {
         registeredListeners.clear();
+        allListeners = null;
     }
 
     public boolean webdriverCallsAreSuspended() {
@@ -322,7 +360,7 @@ public class StepEventBus {
      * @param cause the underlying cause of the failure.
      */
     public void testFailed(final Throwable cause) {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.testFailed(cause);
         }
     }
@@ -340,7 +378,7 @@ public class StepEventBus {
     }
 
     public void testIgnored() {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.testIgnored();
         }
     }
@@ -350,13 +388,13 @@ public class StepEventBus {
     }
 
     public void notifyScreenChange() {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.notifyScreenChange();
         }
     }
 
     public void testSuiteFinished() {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : listeners()) {
             stepListener.testSuiteFinished();
         }
     }
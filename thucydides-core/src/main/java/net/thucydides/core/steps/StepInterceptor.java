@@ -4,21 +4,14 @@ import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 import net.thucydides.core.IgnoredStepException;
 import net.thucydides.core.PendingStepException;
-import net.thucydides.core.annotations.Pending;
-import net.thucydides.core.annotations.Step;
-import net.thucydides.core.annotations.StepGroup;
-import net.thucydides.core.annotations.TestAnnotations;
 import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
 
 import static net.thucydides.core.steps.ErrorConvertor.forError;
-import static org.apache.commons.lang.StringUtils.split;
 
 /**
  * Listen to step results and publish notification messages.
@@ -51,58 +44,12 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
 
     }
 
-    private final List<String> OBJECT_METHODS
-       = Arrays.asList("toString",
-            "equals",
-            "hashcode",
-            "clone",
-            "notify",
-            "notifyAll",
-            "wait",
-            "finalize",
-            "getMetaClass");
-
     private boolean baseClassMethod(final Method method, final Class callingClass) {
-        boolean isACoreLanguageMethod = (OBJECT_METHODS.contains(method.getName()));
-        boolean methodDoesNotComeFromThisClassOrARelatedParentClass = !declaredInSameDomain(method, callingClass);
-        return (isACoreLanguageMethod || methodDoesNotComeFromThisClassOrARelatedParentClass); 
+        return StepMethodMetadata.forMethod(method).isABaseClassMethodFor(callingClass);
     }
 
     private boolean declaredInSameDomain(Method method, final Class callingClass) {
-        return domainPackageOf(getRoot(method)).equals(domainPackageOf(callingClass));
-    }
-
-    private String domainPackageOf(Class callingClass) {
-        String methodPackage = callingClass.getPackage().getName();
-        return packageDomainName(methodPackage);
-    }
-
-    private String packageDomainName(String methodPackage) {
-        String[] packages = split(methodPackage,".");
-
-        if (packages.length == 0) {
-            return "";
-        } else if (packages.length == 1) {
-            return packages[0];
-        } else {
-            return packages[0] + "." + packages[1];
-        }
-    }
-
-    private String domainPackageOf(Method method) {
-        String methodPackage = method.getDeclaringClass().getPackage().getName();
-        return packageDomainName(methodPackage);
-    }
-
-    private Method getRoot(Method method) {
-        try {
-            method.getClass().getDeclaredField("root").setAccessible(true);
-            return (Method) method.getClass().getDeclaredField("root").get(method);
-        } catch (IllegalAccessException e) {
-            return method;
-        } catch (NoSuchFieldException e) {
-            return method;
-        }
+        return StepMethodMetadata.forMethod(method).isDeclaredInTheSameDomainAs(callingClass);
     }
 
     private Object testStepResult(final Object obj, final Method method,
@@ -221,20 +168,12 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
         }
     }
 
-    private StepGroup getTestGroupAnnotationFor(final Method method) {
-        return method.getAnnotation(StepGroup.class);
-    }
-
-    private Step getTestAnnotationFor(final Method method) {
-        return method.getAnnotation(Step.class);
-    }
-
     private boolean isATestStep(final Method method) {
-        return (getTestAnnotationFor(method) != null) || (getTestGroupAnnotationFor(method) != null);
+        return StepMethodMetadata.forMethod(method).isAStep();
     }
 
     private boolean isIgnored(final Method method) {
-        return TestAnnotations.isIgnored(method);
+        return StepMethodMetadata.forMethod(method).isIgnored();
     }
 
     private Object runTestStep(final Object obj, final Method method,
@@ -279,7 +218,7 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
     }
 
     private boolean isPending(final Method method) {
-        return (method.getAnnotation(Pending.class) != null);
+        return StepMethodMetadata.forMethod(method).isPending();
     }
 
     private void notifyStepFinishedFor(final Method method, final Object[] args) {
@@ -0,0 +1,236 @@
+package net.thucydides.core.steps;
+
+import com.google.common.collect.ImmutableList;
+import net.thucydides.core.annotations.Step;
+import net.thucydides.core.annotations.StepGroup;
+import net.thucydides.core.annotations.TestAnnotations;
+import net.thucydides.core.annotations.TestsRequirement;
+import net.thucydides.core.annotations.TestsRequirements;
+import net.thucydides.core.annotations.Title;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * What the annotations on a step method tell us about it.
+ * Step methods are called over and over again during a test run, so the annotations of each method
+ * are read once and the results are cached, as are the step methods of each step library class.
+ */
+public final class StepMethodMetadata {
+
+    private static final List<String> OBJECT_METHODS
+            = Arrays.asList("toString",
+                            "equals",
+                            "hashcode",
+                            "clone",
+                            "notify",
+                            "notifyAll",
+                            "wait",
+                            "finalize",
+                            "getMetaClass");
+
+    private static final ConcurrentMap<Method, StepMethodMetadata> METHOD_METADATA
+            = new ConcurrentHashMap<Method, StepMethodMetadata>();
+
+    private static final ConcurrentMap<Class<?>, MethodsByName> STEP_CLASS_METHODS
+            = new ConcurrentHashMap<Class<?>, MethodsByName>();
+
+    private static final ConcurrentMap<Class<?>, String> CLASS_DOMAINS
+            = new ConcurrentHashMap<Class<?>, String>();
+
+    private final boolean aStep;
+    private final boolean aGroup;
+    private final boolean fluent;
+    private final boolean pending;
+    private final boolean ignored;
+    private final boolean aCoreLanguageMethod;
+    private final String groupName;
+    private final String stepName;
+    private final String title;
+    private final String domain;
+    private final List<String> requirements;
+
+    private StepMethodMetadata(final Method method) {
+        Step step = method.getAnnotation(Step.class);
+        StepGroup stepGroup = method.getAnnotation(StepGroup.class);
+        Title titleAnnotation = method.getAnnotation(Title.class);
+
+        aStep = (step != null) || (stepGroup != null);
+        aGroup = (stepGroup != null);
+        fluent = (step != null) && step.fluent();
+        pending = TestAnnotations.isPending(method);
+        ignored = TestAnnotations.isIgnored(method);
+        aCoreLanguageMethod = OBJECT_METHODS.contains(method.getName());
+        groupName = (stepGroup != null) ? stepGroup.value() : null;
+        stepName = ((step != null) && !StringUtils.isEmpty(step.value())) ? step.value() : null;
+        title = (titleAnnotation != null) ? titleAnnotation.value() : null;
+        domain = domainOf(method.getDeclaringClass());
+        requirements = requirementsFrom(method);
+    }
+
+    /**
+     * Return the (cached) metadata for a given step method.
+     */
+    public static StepMethodMetadata forMethod(final Method method) {
+        StepMethodMetadata metadata = METHOD_METADATA.get(method);
+        if (metadata == null) {
+            metadata = new StepMethodMetadata(method);
+            METHOD_METADATA.putIfAbsent(method, metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Find the first public method with a given name in a step class, or null if there isn't one.
+     */
+    public static Method firstMethodCalled(final String methodName, final Class<?> stepClass) {
+        return methodsOf(stepClass).firstMethodCalled(methodName);
+    }
+
+    /**
+     * Find the last public method with a given name in a step class, or null if there isn't one.
+     */
+    public static Method lastMethodCalled(final String methodName, final Class<?> stepClass) {
+        return methodsOf(stepClass).lastMethodCalled(methodName);
+    }
+
+    private static MethodsByName methodsOf(final Class<?> stepClass) {
+        MethodsByName methods = STEP_CLASS_METHODS.get(stepClass);
+        if (methods == null) {
+            methods = new MethodsByName(stepClass);
+            STEP_CLASS_METHODS.putIfAbsent(stepClass, methods);
+        }
+        return methods;
+    }
+
+    /**
+     * The domain of a class is the first two elements of its package name (e.g. "net.thucydides").
+     */
+    static String domainOf(final Class<?> callingClass) {
+        String domain = CLASS_DOMAINS.get(callingClass);
+        if (domain == null) {
+            domain = packageDomainName(packageNameOf(callingClass));
+            CLASS_DOMAINS.putIfAbsent(callingClass, domain);
+        }
+        return domain;
+    }
+
+    private static String packageNameOf(final Class<?> callingClass) {
+        Package classPackage = callingClass.getPackage();
+        return (classPackage != null) ? classPackage.getName() : "";
+    }
+
+    private static String packageDomainName(final String methodPackage) {
+        String[] packages = StringUtils.split(methodPackage, ".");
+
+        if (packages.length == 0) {
+            return "";
+        } else if (packages.length == 1) {
+            return packages[0];
+        } else {
+            return packages[0] + "." + packages[1];
+        }
+    }
+
+    private static List<String> requirementsFrom(final Method method) {
+        List<String> requirements = new ArrayList<String>();
+        TestsRequirement testsRequirement = method.getAnnotation(TestsRequirement.class);
+        if (testsRequirement != null) {
+            requirements.add(testsRequirement.value());
+        }
+        TestsRequirements testsRequirements = method.getAnnotation(TestsRequirements.class);
+        if (testsRequirements != null) {
+            requirements.addAll(Arrays.asList(testsRequirements.value()));
+        }
+        return ImmutableList.copyOf(requirements);
+    }
+
+    /**
+     * Is this method annotated with @Step or @StepGroup?
+     */
+    public boolean isAStep() {
+        return aStep;
+    }
+
+    public boolean isAGroup() {
+        return aGroup;
+    }
+
+    public boolean isFluent() {
+        return fluent;
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    /**
+     * Methods from Object or Groovy, or methods that don't come from the same domain as the calling class
+     * (such as those added by CGLIB), are invoked directly rather than being treated as steps.
+     */
+    public boolean isABaseClassMethodFor(final Class<?> callingClass) {
+        return aCoreLanguageMethod || !isDeclaredInTheSameDomainAs(callingClass);
+    }
+
+    public boolean isDeclaredInTheSameDomainAs(final Class<?> callingClass) {
+        return domain.equals(domainOf(callingClass));
+    }
+
+    /**
+     * The value of the @StepGroup annotation, if any.
+     */
+    public String getGroupName() {
+        return groupName;
+    }
+
+    /**
+     * The value of the @Step annotation, or null if it is not defined.
+     */
+    public String getStepName() {
+        return stepName;
+    }
+
+    /**
+     * The value of the @Title annotation, if any.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getRequirements() {
+        return requirements;
+    }
+
+    private static final class MethodsByName {
+        private final Map<String, Method> firstMethods = new HashMap<String, Method>();
+        private final Map<String, Method> lastMethods = new HashMap<String, Method>();
+
+        MethodsByName(final Class<?> stepClass) {
+            for (Method method : stepClass.getMethods()) {
+                if (!firstMethods.containsKey(method.getName())) {
+                    firstMethods.put(method.getName(), method);
+                }
+                lastMethods.put(method.getName(), method);
+            }
+        }
+
+        Method firstMethodCalled(final String methodName) {
+            return firstMethods.get(methodName);
+        }
+
+        Method lastMethodCalled(final String methodName) {
+            return lastMethods.get(methodName);
+        }
+    }
+}
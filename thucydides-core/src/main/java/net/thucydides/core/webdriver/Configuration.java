@@ -24,6 +24,14 @@ public interface Configuration {
     public void setDefaultBaseUrl(final String defaultBaseUrl);
 
     public int getRestartFrequency();
+
+    /**
+     * How many threads should be used to run the test methods of a test class in parallel,
+     * as defined by the thucydides.concurrent.methods property, e.g. "true", "8" or "2x".
+     * Null if the test methods should run one at a time.
+     */
+    public String getConcurrentMethodThreads();
+
     /**
      * This is the URL where test cases start.
      * The default value can be overriden using the webdriver.baseurl property.
@@ -0,0 +1,66 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.collect.MapMaker;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.Locatable;
+import org.openqa.selenium.internal.WrapsElement;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates the same element proxies as the DefaultFieldDecorator, but only looks up the proxy classes
+ * once per class loader rather than once for every field of every page object.
+ */
+class DisplayedElementFieldDecorator extends DefaultFieldDecorator {
+
+    private static final Class<?>[] ELEMENT_INTERFACES = {WebElement.class, WrapsElement.class, Locatable.class};
+    private static final Class<?>[] ELEMENT_LIST_INTERFACES = {List.class};
+
+    private static final ConcurrentMap<ClassLoader, Constructor<?>> ELEMENT_PROXIES
+            = new MapMaker().weakKeys().softValues().makeMap();
+    private static final ConcurrentMap<ClassLoader, Constructor<?>> ELEMENT_LIST_PROXIES
+            = new MapMaker().weakKeys().softValues().makeMap();
+
+    public DisplayedElementFieldDecorator(final ElementLocatorFactory factory) {
+        super(factory);
+    }
+
+    @Override
+    protected WebElement proxyForLocator(final ClassLoader loader, final ElementLocator locator) {
+        return (WebElement) newProxy(ELEMENT_PROXIES, ELEMENT_INTERFACES, loader,
+                                     new LocatingElementHandler(locator));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<WebElement> proxyForListLocator(final ClassLoader loader, final ElementLocator locator) {
+        return (List<WebElement>) newProxy(ELEMENT_LIST_PROXIES, ELEMENT_LIST_INTERFACES, loader,
+                                           new LocatingElementListHandler(locator));
+    }
+
+    private Object newProxy(final ConcurrentMap<ClassLoader, Constructor<?>> proxyConstructors,
+                            final Class<?>[] interfaces,
+                            final ClassLoader loader,
+                            final InvocationHandler handler) {
+        try {
+            Constructor<?> proxyConstructor = proxyConstructors.get(loader);
+            if (proxyConstructor == null) {
+                proxyConstructor = Proxy.getProxyClass(loader, interfaces).getConstructor(InvocationHandler.class);
+                proxyConstructors.putIfAbsent(loader, proxyConstructor);
+            }
+            return proxyConstructor.newInstance(handler);
+        } catch (Exception e) {
+            throw new WebDriverException("Could not create a proxy for a page object field", e);
+        }
+    }
+}
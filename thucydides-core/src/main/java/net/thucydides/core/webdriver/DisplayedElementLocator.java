@@ -1,73 +1,157 @@
 package net.thucydides.core.webdriver;
 
-import net.thucydides.core.pages.WebElementFacade;
 import net.thucydides.core.steps.StepEventBus;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.pagefactory.AjaxElementLocator;
+import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.SlowLoadableComponent;
+import org.openqa.selenium.support.ui.SystemClock;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-class DisplayedElementLocator extends AjaxElementLocator {
+/**
+ * Locates the element for a page object field, waiting for it to be displayed, in the same way as
+ * an AjaxElementLocator. An AjaxElementLocator is not used here, even for the waiting lookups,
+ * because it reads the field annotations again each time it is created: the locator for each field
+ * is only built once, and shared by every page object that uses the field.
+ */
+class DisplayedElementLocator implements ElementLocator {
 
-    private static final List<String> QUICK_METHODS = Arrays.asList("isCurrentlyVisible",
-                                                                    "isCurrentlyEnabled",
-                                                                    "waitUntilVisible",
-                                                                    "waitUntilEnabled",
-                                                                    "shouldNotBeVisible");
+    /**
+     * Page objects are created many times, but the annotations on their fields never change.
+     */
+    private static final ConcurrentMap<Field, By> FIELD_LOCATORS = new ConcurrentHashMap<Field, By>();
 
-    private static final List<String> QUICK_CLASSES = Arrays.asList(WebElementFacade.class.getName());
+    private static final long WAIT_FOR_ELEMENT_PAUSE_LENGTH = 250;
 
-    private final Field field;
+    private final By by;
     private final WebDriver driver;
+    private final boolean shouldCache;
+    private final int timeOutInSeconds;
+    private final Clock clock;
+
+    private WebElement cachedElement;
+    private List<WebElement> cachedElementList;
 
     DisplayedElementLocator(WebDriver driver, Field field, int timeOutInSeconds) {
-        super(driver, field, timeOutInSeconds);
-        this.field = field;
+        this.by = locatorFor(field);
         this.driver = driver;
+        this.shouldCache = field.isAnnotationPresent(CacheLookup.class);
+        this.timeOutInSeconds = timeOutInSeconds;
+        this.clock = new SystemClock();
+    }
+
+    private static By locatorFor(final Field field) {
+        By by = FIELD_LOCATORS.get(field);
+        if (by == null) {
+            by = new Annotations(field).buildBy();
+            FIELD_LOCATORS.putIfAbsent(field, by);
+        }
+        return by;
     }
 
-    @Override
     public WebElement findElement() {
         if (shouldFindElementImmediately()) {
             return findElementImmediately();
         } else {
-            return super.findElement();
+            return waitForElement();
         }
     }
 
+    public List<WebElement> findElements() {
+        if (shouldCache && (cachedElementList != null)) {
+            return cachedElementList;
+        }
+        List<WebElement> elements = driver.findElements(by);
+        if (shouldCache) {
+            cachedElementList = elements;
+        }
+        return elements;
+    }
+
     private boolean shouldFindElementImmediately() {
         if (StepEventBus.getEventBus().aStepInTheCurrentTestHasFailed()) {
             return true;
         }
-        if (calledFromAQuickMethod()) {
+        if (QuickElementLookup.inProgress()) {
             return true;
         }
         return false;
     }
 
-    private boolean calledFromAQuickMethod() {
-        for(StackTraceElement elt : Thread.currentThread().getStackTrace()){
-            if (QUICK_METHODS.contains(elt.getMethodName())
-                &&  QUICK_CLASSES.contains(elt.getClassName())) {
-                return true;
-            }
+    public WebElement findElementImmediately() {
+        return driver.findElement(by);
+    }
+
+    private WebElement waitForElement() {
+        try {
+            return new SlowLoadingElement().get().getElement();
+        } catch (ElementNotFoundError e) {
+            throw new NoSuchElementException(String.format("Timed out after %d seconds. %s",
+                                                           timeOutInSeconds, e.getMessage()), e.getCause());
         }
-        return false;
     }
 
-    public WebElement findElementImmediately() {
-        Annotations annotations = new Annotations(field);
-        By by = annotations.buildBy();
-        return driver.findElement(by);
+    private WebElement lookUpElement() {
+        if (shouldCache && (cachedElement != null)) {
+            return cachedElement;
+        }
+        WebElement element = driver.findElement(by);
+        if (shouldCache) {
+            cachedElement = element;
+        }
+        return element;
     }
 
-    @Override
     protected boolean isElementUsable(WebElement element) {
         return (element != null) && (element.isDisplayed());
     }
+
+    private class SlowLoadingElement extends SlowLoadableComponent<SlowLoadingElement> {
+
+        private WebElement element;
+
+        SlowLoadingElement() {
+            super(clock, timeOutInSeconds);
+        }
+
+        @Override
+        protected void load() {
+        }
+
+        @Override
+        protected long sleepFor() {
+            return WAIT_FOR_ELEMENT_PAUSE_LENGTH;
+        }
+
+        @Override
+        protected void isLoaded() throws Error {
+            try {
+                element = lookUpElement();
+                if (!isElementUsable(element)) {
+                    throw new NoSuchElementException("Element is not usable");
+                }
+            } catch (NoSuchElementException e) {
+                throw new ElementNotFoundError("Unable to locate the element", e);
+            }
+        }
+
+        WebElement getElement() {
+            return element;
+        }
+    }
+
+    private static class ElementNotFoundError extends Error {
+        ElementNotFoundError(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
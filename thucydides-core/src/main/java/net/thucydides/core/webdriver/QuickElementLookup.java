@@ -0,0 +1,46 @@
+package net.thucydides.core.webdriver;
+
+/**
+ * Marks the element lookups made by the current thread as quick ones: while a quick lookup is in progress,
+ * page object elements are looked up straight away instead of waiting for them to be displayed.
+ * Methods that check the current state of an element, or do their own waiting, use it as follows:
+ * <pre>
+ *     QuickElementLookup.start();
+ *     try {
+ *         ...
+ *     } finally {
+ *         QuickElementLookup.finish();
+ *     }
+ * </pre>
+ */
+public final class QuickElementLookup {
+
+    private static final class Depth {
+        int value;
+    }
+
+    private static final ThreadLocal<Depth> DEPTH = new ThreadLocal<Depth>() {
+        @Override
+        protected Depth initialValue() {
+            return new Depth();
+        }
+    };
+
+    private QuickElementLookup() {
+    }
+
+    public static void start() {
+        DEPTH.get().value++;
+    }
+
+    public static void finish() {
+        Depth depth = DEPTH.get();
+        if (depth.value > 0) {
+            depth.value--;
+        }
+    }
+
+    public static boolean inProgress() {
+        return DEPTH.get().value > 0;
+    }
+}
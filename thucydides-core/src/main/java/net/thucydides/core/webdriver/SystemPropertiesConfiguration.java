@@ -170,6 +170,14 @@ public class SystemPropertiesConfiguration implements Configuration {
 
     }
 
+    public String getConcurrentMethodThreads() {
+        String threads = environmentVariables.getProperty(ThucydidesSystemProperty.CONCURRENT_METHODS.getPropertyName());
+        if ((threads == null) || threads.trim().isEmpty() || threads.trim().equalsIgnoreCase("false")) {
+            return null;
+        }
+        return threads.trim();
+    }
+
     /**
      * This is the URL where test cases start.
      * The default value can be overriden using the webdriver.baseurl property.
@@ -13,9 +13,13 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.SystemClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +27,13 @@ import java.util.Set;
 
 /**
  * A proxy class for webdriver instances, designed to prevent the browser being opened unnecessarily.
+ * The proxied driver is assumed to be alive until a call fails because the browser session has died.
+ * When this happens, the dead driver is discarded and a new one is created by the next call.
+ * Only get() is retried on the new browser: the other calls read the state of the current page,
+ * which the new browser's blank page does not have, so the error is passed on instead.
+ * The objects returned by switchTo(), navigate() and manage() are tied to the driver that created them.
+ * If the driver pool is enabled, drivers are leased from the shared pool and returned to it
+ * rather than being closed.
  */
 public class WebDriverFacade implements WebDriver, TakesScreenshot {
 
@@ -30,14 +41,37 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
 
     private final WebDriverFactory webDriverFactory;
 
+    private final Clock clock;
+
     protected WebDriver proxiedWebDriver;
 
+    private long nextHealthCheck;
+
+    private boolean leasedFromPool;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverFacade.class);
 
+    private static final List<String> DEAD_SESSION_MESSAGES
+            = Arrays.asList("session not found",
+                            "no such session",
+                            "session id is null",
+                            "session/null",
+                            "error communicating with the remote browser",
+                            "it may have died");
+
+    private static final long MILLISECONDS_IN_A_SECOND = 1000;
+
     public WebDriverFacade(final Class<? extends WebDriver> driverClass,
                            final WebDriverFactory webDriverFactory) {
+        this(driverClass, webDriverFactory, new SystemClock());
+    }
+
+    protected WebDriverFacade(final Class<? extends WebDriver> driverClass,
+                              final WebDriverFactory webDriverFactory,
+                              final Clock clock) {
         this.driverClass = driverClass;
         this.webDriverFactory = webDriverFactory;
+        this.clock = clock;
     }
 
     public Class<? extends WebDriver>  getDriverClass() {
@@ -47,34 +81,135 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
     public WebDriver getProxiedDriver() {
         if (proxiedWebDriver == null) {
             proxiedWebDriver = newProxyDriver();
+            scheduleNextHealthCheck();
             WebdriverProxyFactory.getFactory().notifyListenersOfWebdriverCreationIn(this);
+        } else if (healthCheckIsDue()) {
+            ensureValidDriver();
         }
-        ensureValidDriver();
         return proxiedWebDriver;
     }
 
     public boolean isEnabled() {
         return !StepEventBus.getEventBus().webdriverCallsAreSuspended();
     }
+
+    private boolean healthCheckIsDue() {
+        return (nextHealthCheck > 0) && (clock.now() >= nextHealthCheck);
+    }
+
+    private void scheduleNextHealthCheck() {
+        int healthCheckInterval = webDriverFactory.getHealthCheckInterval();
+        if (healthCheckInterval > 0) {
+            nextHealthCheck = clock.laterBy(healthCheckInterval * MILLISECONDS_IN_A_SECOND);
+        } else {
+            nextHealthCheck = 0;
+        }
+    }
+
     /**
-     * Workaround for Webdriver issue 1438 (http://code.google.com/p/selenium/issues/detail?id=1438)
+     * Optional periodic check (see the thucydides.driver.health.check.interval property).
+     * Also a workaround for Webdriver issue 1438 (http://code.google.com/p/selenium/issues/detail?id=1438)
      */
     private void ensureValidDriver() {
+        scheduleNextHealthCheck();
         try {
             proxiedWebDriver.getCurrentUrl();
         } catch (WebDriverException e) {
-            proxiedWebDriver.switchTo().defaultContent();
+            if (isADeadSession(e)) {
+                discardDeadDriver(e);
+                getProxiedDriver();
+            } else {
+                proxiedWebDriver.switchTo().defaultContent();
+            }
+        }
+    }
+
+    /**
+     * A call to the proxied driver.
+     */
+    private abstract static class DriverCall<T> {
+        abstract T on(final WebDriver driver);
+    }
+
+    /**
+     * Make a call to the proxied driver. If it fails because the browser session has died, the driver is
+     * discarded and the call is made once more on a new browser. Any other error is passed on to the caller.
+     * Only calls that do not depend on the state of the current page can be repeated like this.
+     */
+    private <T> T retryingOnceIfTheSessionHasDied(final DriverCall<T> call) {
+        try {
+            return call.on(getProxiedDriver());
+        } catch (WebDriverException e) {
+            if (!isADeadSession(e)) {
+                throw e;
+            }
+            discardDeadDriver(e);
+            return call.on(getProxiedDriver());
         }
     }
 
+    /**
+     * Used for calls whose result depends on the state of the page, and so cannot be repeated on a new browser:
+     * if the session has died, the dead driver is discarded so that the next call starts a new one,
+     * but the error is passed on to the caller.
+     */
+    private <T> T discardingTheDriverIfTheSessionDies(final DriverCall<T> call) {
+        try {
+            return call.on(getProxiedDriver());
+        } catch (WebDriverException e) {
+            if (isADeadSession(e)) {
+                discardDeadDriver(e);
+            }
+            throw e;
+        }
+    }
+
+    protected boolean isADeadSession(final WebDriverException e) {
+        if (e instanceof UnreachableBrowserException) {
+            return true;
+        }
+        String message = StringUtils.lowerCase(e.getMessage());
+        if (message != null) {
+            for (String deadSessionMessage : DEAD_SESSION_MESSAGES) {
+                if (message.contains(deadSessionMessage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void discardDeadDriver(final WebDriverException cause) {
+        LOGGER.warn("The browser session has died - starting a new browser", cause);
+        if (leasedFromPool) {
+            webDriverFactory.getDriverPool().discard(proxiedWebDriver);
+        } else {
+            try {
+                proxiedWebDriver.quit();
+            } catch (WebDriverException e) {
+                LOGGER.debug("Could not quit the dead driver", e);
+            }
+        }
+        proxiedWebDriver = null;
+    }
+
     public void reset() {
         if (proxiedWebDriver != null) {
-            forcedQuit();
+            if (leasedFromPool) {
+                returnDriverToPool();
+            } else {
+                forcedQuit();
+            }
         }
         proxiedWebDriver = null;
 
     }
 
+    private void returnDriverToPool() {
+        webDriverFactory.getDriverPool().release(proxiedWebDriver);
+        proxiedWebDriver = null;
+    }
+
     private void forcedQuit() {
         try {
             getDriverInstance().quit();
@@ -90,6 +225,10 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
 
     private WebDriver newDriverInstance() {
         try {
+            leasedFromPool = webDriverFactory.usesDriverPoolFor(driverClass);
+            if (leasedFromPool) {
+                return webDriverFactory.getDriverPool().lease(webDriverFactory.poolKeyFor(driverClass));
+            }
             return webDriverFactory.newWebdriverInstance(driverClass);
         } catch (Exception e) {
             LOGGER.error("FAILED TO CREATE NEW DRIVER INSTANCE " + driverClass, e);
@@ -121,7 +260,12 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return;
         }
 
-        getProxiedDriver().get(url);
+        retryingOnceIfTheSessionHasDied(new DriverCall<Void>() {
+            public Void on(final WebDriver driver) {
+                driver.get(url);
+                return null;
+            }
+        });
     }
 
     public String getCurrentUrl() {
@@ -129,7 +273,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return StringUtils.EMPTY;
         }
 
-        return getProxiedDriver().getCurrentUrl();
+        return discardingTheDriverIfTheSessionDies(new DriverCall<String>() {
+            public String on(final WebDriver driver) {
+                return driver.getCurrentUrl();
+            }
+        });
     }
 
     public String getTitle() {
@@ -137,7 +285,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return StringUtils.EMPTY;
         }
 
-        return getProxiedDriver().getTitle();
+        return discardingTheDriverIfTheSessionDies(new DriverCall<String>() {
+            public String on(final WebDriver driver) {
+                return driver.getTitle();
+            }
+        });
     }
 
     public List<WebElement> findElements(final By by) {
@@ -145,7 +297,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return Collections.emptyList();
         }
 
-        return getProxiedDriver().findElements(by);
+        return discardingTheDriverIfTheSessionDies(new DriverCall<List<WebElement>>() {
+            public List<WebElement> on(final WebDriver driver) {
+                return driver.findElements(by);
+            }
+        });
     }
 
     public WebElement findElement(final By by) {
@@ -153,7 +309,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             throw new ElementNotVisibleException("No element found for " + by.toString() + " (a previous step has failed)");
         }
 
-        return getProxiedDriver().findElement(by);
+        return discardingTheDriverIfTheSessionDies(new DriverCall<WebElement>() {
+            public WebElement on(final WebDriver driver) {
+                return driver.findElement(by);
+            }
+        });
     }
 
     public String getPageSource() {
@@ -161,21 +321,34 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return StringUtils.EMPTY;
         }
 
-        return getProxiedDriver().getPageSource();
+        return discardingTheDriverIfTheSessionDies(new DriverCall<String>() {
+            public String on(final WebDriver driver) {
+                return driver.getPageSource();
+            }
+        });
     }
 
     protected WebDriver getDriverInstance() {
         return proxiedWebDriver;
     }
 
+    /**
+     * Closing the last window of a pooled browser returns the browser to the pool instead.
+     */
     public void close() {
         if (proxyInstanciated()) {
-            getDriverInstance().close();
+            if (leasedFromPool && getDriverInstance().getWindowHandles().size() <= 1) {
+                returnDriverToPool();
+            } else {
+                getDriverInstance().close();
+            }
         }
     }
 
     public void quit() {
-        if (proxyInstanciated()) {
+        if (proxyInstanciated() && leasedFromPool) {
+            returnDriverToPool();
+        } else if (proxyInstanciated()) {
             try {
                 getDriverInstance().quit();
             } catch (WebDriverException e) {
@@ -194,7 +367,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return new HashSet<String>();
         }
 
-        return getProxiedDriver().getWindowHandles();
+        return discardingTheDriverIfTheSessionDies(new DriverCall<Set<String>>() {
+            public Set<String> on(final WebDriver driver) {
+                return driver.getWindowHandles();
+            }
+        });
     }
 
     public String getWindowHandle() {
@@ -202,7 +379,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return StringUtils.EMPTY;
         }
 
-        return getProxiedDriver().getWindowHandle();
+        return discardingTheDriverIfTheSessionDies(new DriverCall<String>() {
+            public String on(final WebDriver driver) {
+                return driver.getWindowHandle();
+            }
+        });
     }
 
     public TargetLocator switchTo() {
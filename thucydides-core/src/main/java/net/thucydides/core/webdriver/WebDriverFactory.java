@@ -5,6 +5,7 @@ import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.util.NameConverter;
 import net.thucydides.core.webdriver.firefox.FirefoxProfileEnhancer;
+import net.thucydides.core.webdriver.firefox.FirefoxProfileTemplate;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -27,10 +28,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 import static net.thucydides.core.webdriver.javascript.JavascriptSupport.activateJavascriptSupportFor;
@@ -57,6 +64,20 @@ public class WebDriverFactory {
     private final EnvironmentVariables environmentVariables;
     private final FirefoxProfileEnhancer firefoxProfileEnhancer;
 
+    private final Object firefoxProfileLock = new Object();
+    private FirefoxProfileTemplate firefoxProfileTemplate;
+
+    private static final Map<List<Object>, WebDriverPool> DRIVER_POOLS = new HashMap<List<Object>, WebDriverPool>();
+
+    private static final List<String> BROWSER_SETTINGS = Arrays.asList(
+            "webdriver.firefox.profile",
+            ThucydidesSystemProperty.PROXY_URL.getPropertyName(),
+            ThucydidesSystemProperty.PROXY_PORT.getPropertyName(),
+            ThucydidesSystemProperty.ACTIVATE_FIREBUGS.getPropertyName(),
+            ThucydidesSystemProperty.ASSUME_UNTRUSTED_CERTIFICATE_ISSUER.getPropertyName(),
+            ThucydidesSystemProperty.SNAPSHOT_HEIGHT.getPropertyName(),
+            ThucydidesSystemProperty.SNAPSHOT_WIDTH.getPropertyName());
+
     public WebDriverFactory() {
         this(new WebdriverInstanceFactory(), Injectors.getInjector().getInstance(EnvironmentVariables.class));
     }
@@ -106,18 +127,105 @@ public class WebDriverFactory {
         }
     }
 
+    /**
+     * How often (in seconds) the browser session should be checked proactively.
+     * Zero means the session is only checked when a WebDriver call fails.
+     */
+    public int getHealthCheckInterval() {
+        return environmentVariables.getPropertyAsInteger(
+                ThucydidesSystemProperty.DRIVER_HEALTH_CHECK_INTERVAL.getPropertyName(), 0);
+    }
+
+    /**
+     * How many tests can use a pooled browser before it is closed.
+     * Zero means that browsers are not pooled, and are closed at the end of each test.
+     */
+    public int getDriverPoolMaxUses() {
+        return environmentVariables.getPropertyAsInteger(
+                ThucydidesSystemProperty.DRIVER_POOL_MAX_USES.getPropertyName(), 0);
+    }
+
+    /**
+     * Remote (SauceLabs) browsers are never pooled, so that each test keeps its own job name and recording.
+     */
+    public boolean usesDriverPoolFor(final Class<? extends WebDriver> driverClass) {
+        return (getDriverPoolMaxUses() > 0) && !isARemoteDriver(driverClass);
+    }
+
+    /**
+     * The browser pool shared by all of the test threads in this JVM that use the same browser configuration.
+     * A factory with different settings gets a different pool, as the browsers it starts are set up differently.
+     * Any browsers left in the pools are closed when the JVM shuts down.
+     */
+    public WebDriverPool getDriverPool() {
+        List<Object> poolConfiguration = driverPoolConfiguration();
+        synchronized (DRIVER_POOLS) {
+            WebDriverPool driverPool = DRIVER_POOLS.get(poolConfiguration);
+            if (driverPool == null) {
+                driverPool = new WebDriverPool(new WebDriverPool.DriverSource() {
+                    public WebDriver newDriverFor(final WebDriverPool.DriverKey key) {
+                        return newWebdriverInstance(key.getDriverClass());
+                    }
+                }, getDriverPoolMaxUses());
+                if (DRIVER_POOLS.isEmpty()) {
+                    closeDriverPoolsOnShutdown();
+                }
+                DRIVER_POOLS.put(poolConfiguration, driverPool);
+            }
+            return driverPool;
+        }
+    }
+
+    private List<Object> driverPoolConfiguration() {
+        return Arrays.<Object>asList(webdriverInstanceFactory.getClass(), getDriverPoolMaxUses(), browserSettings());
+    }
+
+    private static void closeDriverPoolsOnShutdown() {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            public void run() {
+                synchronized (DRIVER_POOLS) {
+                    for (WebDriverPool driverPool : DRIVER_POOLS.values()) {
+                        driverPool.shutdown();
+                    }
+                }
+            }
+        }, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Pooled drivers can be reused by tests asking for the same driver class with the same browser settings
+     * (Firefox profile, proxy, window size and so on).
+     */
+    public WebDriverPool.DriverKey poolKeyFor(final Class<? extends WebDriver> driverClass) {
+        return new WebDriverPool.DriverKey(driverClass, browserSettings());
+    }
+
+    /**
+     * The properties that change the way a new browser is set up.
+     */
+    private Map<String, String> browserSettings() {
+        Map<String, String> browserSettings = new TreeMap<String, String>();
+        for (String property : BROWSER_SETTINGS) {
+            String value = environmentVariables.getProperty(property);
+            if (value != null) {
+                browserSettings.put(property, value);
+            }
+        }
+        return browserSettings;
+    }
+
     public boolean usesSauceLabs() {
         return StringUtils.isNotEmpty(ThucydidesSystemProperty.SAUCELABS_URL.from(environmentVariables));
     }
     /**
-     * This method is synchronized because multiple webdriver instances can be created in parallel.
-     * However, they may use common system resources such as ports, so may potentially interfere
-     * with each other.
+     * Multiple webdriver instances can be created in parallel.
+     * Only the Firefox profile is shared between them, so only building the profile is synchronized:
+     * each browser gets its own copy, and the slow part, starting the browser, is not.
      *
      * @param driverClass
      * @return
      */
-    protected synchronized WebDriver newWebdriverInstance(final Class<? extends WebDriver> driverClass) {
+    protected WebDriver newWebdriverInstance(final Class<? extends WebDriver> driverClass) {
         try {
             WebDriver driver;
             if (isARemoteDriver(driverClass)) {
@@ -162,6 +270,15 @@ public class WebDriverFactory {
 
     private DesiredCapabilities findSaucelabsCapabilities() {
 
+        DesiredCapabilities capabilities = baseSaucelabsCapabilities();
+
+        configureTestName(capabilities);
+
+        return capabilities;
+    }
+
+    private DesiredCapabilities baseSaucelabsCapabilities() {
+
         String driver = ThucydidesSystemProperty.DRIVER.from(environmentVariables);
         DesiredCapabilities capabilities = capabilitiesForDriver(driver);
 
@@ -169,8 +286,6 @@ public class WebDriverFactory {
 
         configureTargetPlatform(capabilities);
 
-        configureTestName(capabilities);
-
         capabilities.setJavascriptEnabled(true);
 
         return capabilities;
@@ -262,7 +377,7 @@ public class WebDriverFactory {
     }
 
     private WebDriver firefoxDriverFrom(Class<? extends WebDriver> driverClass) throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
-        FirefoxProfile profile = buildFirefoxProfile();
+        FirefoxProfile profile = newFirefoxProfile();
         if (aProfileCouldBeCreated(profile)) {
             return webdriverInstanceFactory.newInstanceOf(driverClass, profile);
         } else {
@@ -318,6 +433,40 @@ public class WebDriverFactory {
         return new FirefoxProfile(profileDirectory);
     }
 
+    /**
+     * The profile is built once, and later browsers get a copy of it.
+     * If the profile cannot be copied, a new one is built each time.
+     */
+    private FirefoxProfile newFirefoxProfile() {
+        FirefoxProfileTemplate template;
+        synchronized (firefoxProfileLock) {
+            if (firefoxProfileTemplate == null) {
+                return buildFirefoxProfileTemplate();
+            }
+            template = firefoxProfileTemplate;
+        }
+        try {
+            return template.newProfile();
+        } catch (IOException e) {
+            LOGGER.warn("Could not copy the Firefox profile", e);
+            synchronized (firefoxProfileLock) {
+                return buildFirefoxProfile();
+            }
+        }
+    }
+
+    private FirefoxProfile buildFirefoxProfileTemplate() {
+        FirefoxProfile profile = buildFirefoxProfile();
+        if (aProfileCouldBeCreated(profile)) {
+            try {
+                firefoxProfileTemplate = FirefoxProfileTemplate.from(profile);
+            } catch (IOException e) {
+                LOGGER.warn("Could not keep a copy of the Firefox profile", e);
+            }
+        }
+        return profile;
+    }
+
     private FirefoxProfile buildFirefoxProfile() {
         FirefoxProfile profile = null;
         try {
@@ -383,12 +532,12 @@ public class WebDriverFactory {
     public static void initElementsWithAjaxSupport(final Object pageObject, final WebDriver driver) {
         Configuration configuration = Injectors.getInjector().getInstance(Configuration.class);
         ElementLocatorFactory finder = new DisplayedElementLocatorFactory(driver, configuration.getElementTimeout());
-        PageFactory.initElements(finder, pageObject);
+        PageFactory.initElements(new DisplayedElementFieldDecorator(finder), pageObject);
     }
 
     public static void initElementsWithAjaxSupport(final Object pageObject, final WebDriver driver, int timeout) {
         ElementLocatorFactory finder = new DisplayedElementLocatorFactory(driver, timeout);
-        PageFactory.initElements(finder, pageObject);
+        PageFactory.initElements(new DisplayedElementFieldDecorator(finder), pageObject);
     }
 
 }
@@ -0,0 +1,263 @@
+package net.thucydides.core.webdriver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of browsers that can be shared between tests running in different threads.
+ * A test leases a driver of a given type, and returns it to the pool when it has finished with it.
+ * Returned drivers are cleaned up (cookies deleted, extra windows closed, blank page displayed) so that
+ * the next test starts from a known state. Drivers are closed for good once they have been used
+ * a given number of times, or if they could not be cleaned up.
+ * New browsers are started outside of any lock, so several threads can start browsers at the same time.
+ */
+public class WebDriverPool {
+
+    /**
+     * Starts the real browsers when there are no idle ones available.
+     */
+    public interface DriverSource {
+        WebDriver newDriverFor(DriverKey key);
+    }
+
+    /**
+     * Drivers can only be reused by tests that need the same type of driver with the same capabilities
+     * and browser settings (such as the Firefox profile or proxy).
+     */
+    public static final class DriverKey {
+        private final Class<? extends WebDriver> driverClass;
+        private final Map<String, Object> capabilities;
+
+        public DriverKey(final Class<? extends WebDriver> driverClass, final Map<String, ?> capabilities) {
+            this.driverClass = driverClass;
+            this.capabilities = Collections.unmodifiableMap(new HashMap<String, Object>(capabilities));
+        }
+
+        public DriverKey(final Class<? extends WebDriver> driverClass) {
+            this(driverClass, Collections.<String, Object>emptyMap());
+        }
+
+        public Class<? extends WebDriver> getDriverClass() {
+            return driverClass;
+        }
+
+        public Map<String, Object> getCapabilities() {
+            return capabilities;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof DriverKey)) {
+                return false;
+            }
+            DriverKey otherKey = (DriverKey) other;
+            return driverClass.equals(otherKey.driverClass) && capabilities.equals(otherKey.capabilities);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * driverClass.hashCode() + capabilities.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return driverClass.getSimpleName() + capabilities;
+        }
+    }
+
+    private static final class PooledDriver {
+        private final DriverKey key;
+        private final WebDriver driver;
+        private final String mainWindow;
+        private int useCount;
+
+        /**
+         * The main window is recorded when the browser starts, as getWindowHandles() does not say which one it is.
+         */
+        private PooledDriver(final DriverKey key, final WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+            this.mainWindow = mainWindowOf(driver);
+        }
+
+        private static String mainWindowOf(final WebDriver driver) {
+            try {
+                return driver.getWindowHandle();
+            } catch (WebDriverException e) {
+                LOGGER.debug("Could not find the main window of the browser", e);
+                return null;
+            }
+        }
+    }
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private final DriverSource driverSource;
+
+    private final int maxUses;
+
+    private final ConcurrentMap<DriverKey, Queue<PooledDriver>> idleDrivers
+            = new ConcurrentHashMap<DriverKey, Queue<PooledDriver>>();
+
+    private final ConcurrentMap<WebDriver, PooledDriver> leasedDrivers = new ConcurrentHashMap<WebDriver, PooledDriver>();
+
+    private final AtomicInteger startedDriverCount = new AtomicInteger();
+
+    private final AtomicInteger reuseCount = new AtomicInteger();
+
+    public WebDriverPool(final DriverSource driverSource, final int maxUses) {
+        if (maxUses < 1) {
+            throw new IllegalArgumentException("Pooled drivers must be usable at least once");
+        }
+        this.driverSource = driverSource;
+        this.maxUses = maxUses;
+    }
+
+    /**
+     * Take an idle driver of the requested type from the pool, or start a new one if there are none.
+     * The driver belongs to the calling test until it is released or discarded.
+     */
+    public WebDriver lease(final DriverKey key) {
+        PooledDriver pooledDriver = idleDriversFor(key).poll();
+        if (pooledDriver == null) {
+            pooledDriver = new PooledDriver(key, driverSource.newDriverFor(key));
+            startedDriverCount.incrementAndGet();
+        } else {
+            reuseCount.incrementAndGet();
+        }
+        pooledDriver.useCount++;
+        leasedDrivers.put(pooledDriver.driver, pooledDriver);
+        return pooledDriver.driver;
+    }
+
+    /**
+     * Return a leased driver to the pool, ready for the next test.
+     * Drivers that have been used too often or that cannot be cleaned up are closed instead.
+     */
+    public void release(final WebDriver driver) {
+        PooledDriver pooledDriver = leasedDrivers.remove(driver);
+        if (pooledDriver == null) {
+            return;
+        }
+        if (pooledDriver.useCount >= maxUses) {
+            LOGGER.debug("Closing {} after {} uses", pooledDriver.key, pooledDriver.useCount);
+            quietlyQuit(driver);
+            return;
+        }
+        try {
+            resetBrowserStateOf(pooledDriver);
+            idleDriversFor(pooledDriver.key).offer(pooledDriver);
+        } catch (WebDriverException e) {
+            LOGGER.warn("Could not clean up the browser for reuse - closing it", e);
+            quietlyQuit(driver);
+        }
+    }
+
+    /**
+     * Close a leased driver that should not be used again, for example because an error occurred.
+     */
+    public void discard(final WebDriver driver) {
+        leasedDrivers.remove(driver);
+        quietlyQuit(driver);
+    }
+
+    /**
+     * Close all of the drivers known to the pool, whether they are idle or in use.
+     */
+    public void shutdown() {
+        List<WebDriver> openDrivers = new ArrayList<WebDriver>(leasedDrivers.keySet());
+        leasedDrivers.clear();
+        for (Queue<PooledDriver> idleQueue : idleDrivers.values()) {
+            PooledDriver pooledDriver;
+            while ((pooledDriver = idleQueue.poll()) != null) {
+                openDrivers.add(pooledDriver.driver);
+            }
+        }
+        for (WebDriver driver : openDrivers) {
+            quietlyQuit(driver);
+        }
+    }
+
+    /**
+     * How many idle drivers are waiting in the pool.
+     */
+    public int getIdleDriverCount() {
+        int idleDriverCount = 0;
+        for (Queue<PooledDriver> idleQueue : idleDrivers.values()) {
+            idleDriverCount += idleQueue.size();
+        }
+        return idleDriverCount;
+    }
+
+    public int getLeasedDriverCount() {
+        return leasedDrivers.size();
+    }
+
+    /**
+     * How many new browsers have been started by the pool.
+     */
+    public int getStartedDriverCount() {
+        return startedDriverCount.get();
+    }
+
+    /**
+     * How many leases have been satisfied by an idle driver rather than by starting a new browser.
+     */
+    public int getReuseCount() {
+        return reuseCount.get();
+    }
+
+    private Queue<PooledDriver> idleDriversFor(final DriverKey key) {
+        Queue<PooledDriver> idleQueue = idleDrivers.get(key);
+        if (idleQueue == null) {
+            idleDrivers.putIfAbsent(key, new ConcurrentLinkedQueue<PooledDriver>());
+            idleQueue = idleDrivers.get(key);
+        }
+        return idleQueue;
+    }
+
+    private void resetBrowserStateOf(final PooledDriver pooledDriver) {
+        WebDriver driver = pooledDriver.driver;
+        String mainWindow = pooledDriver.mainWindow;
+        Set<String> windowHandles = driver.getWindowHandles();
+        if ((mainWindow == null) || !windowHandles.contains(mainWindow)) {
+            throw new WebDriverException("The main browser window is no longer open");
+        }
+        for (String windowHandle : windowHandles) {
+            if (!windowHandle.equals(mainWindow)) {
+                driver.switchTo().window(windowHandle);
+                driver.close();
+            }
+        }
+        driver.switchTo().window(mainWindow);
+        driver.manage().deleteAllCookies();
+        driver.get(BLANK_PAGE);
+    }
+
+    private void quietlyQuit(final WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            LOGGER.debug("Could not quit the driver", e);
+        }
+    }
+}
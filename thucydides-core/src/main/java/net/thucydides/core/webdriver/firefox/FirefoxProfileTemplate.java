@@ -0,0 +1,39 @@
+package net.thucydides.core.webdriver.firefox;
+
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import java.io.IOException;
+
+/**
+ * A fully configured Firefox profile, kept in serialized form so that each new browser can get its own copy.
+ * Firefox drivers write their port into the profile they are given, so one profile cannot be shared
+ * between browsers that start at the same time.
+ */
+public class FirefoxProfileTemplate {
+
+    private final String serializedProfile;
+    private final boolean loadNoFocusLib;
+
+    private FirefoxProfileTemplate(final String serializedProfile, final boolean loadNoFocusLib) {
+        this.serializedProfile = serializedProfile;
+        this.loadNoFocusLib = loadNoFocusLib;
+    }
+
+    public static FirefoxProfileTemplate from(final FirefoxProfile profile) throws IOException {
+        String serializedProfile = profile.toJson();
+        if (serializedProfile == null) {
+            throw new IOException("Could not copy the Firefox profile");
+        }
+        return new FirefoxProfileTemplate(serializedProfile, profile.shouldLoadNoFocusLib());
+    }
+
+    /**
+     * The native events and certificate settings are restored from the copied preferences,
+     * but the no-focus library setting is not, so it is set again here.
+     */
+    public FirefoxProfile newProfile() throws IOException {
+        FirefoxProfile profile = FirefoxProfile.fromJson(serializedProfile);
+        profile.setAlwaysLoadNoFocusLib(loadNoFocusLib);
+        return profile;
+    }
+}
@@ -30,6 +30,21 @@ public class JavascriptExecutorFacade {
         }
     }
 
+    /**
+     * Execute some Javascript in the underlying WebDriver driver, passing it the given arguments.
+     * @param script
+     * @param params
+     * @return
+     */
+    public Object executeScript(final String script, final Object... params) {
+        if (javascriptIsSupportedIn(driver)) {
+            JavascriptExecutor js = getJavascriptEnabledDriver();
+            return js.executeScript(script, params);
+        } else {
+            return null;
+        }
+    }
+
     private WebDriver getRealDriver() {
         if (WebDriverFacade.class.isAssignableFrom(driver.getClass())) {
             WebDriverFacade driverFacade = (WebDriverFacade) driver;
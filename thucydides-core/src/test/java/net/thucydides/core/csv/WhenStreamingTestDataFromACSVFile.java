@@ -0,0 +1,205 @@
+package net.thucydides.core.csv;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenStreamingTestDataFromACSVFile {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    File temporaryDirectory;
+
+    @Before
+    public void setupTemporaryDirectory() {
+        temporaryDirectory = temporaryFolder.newFolder("testdata");
+    }
+
+    protected File useTestDataIn(String filename, String... data) throws IOException {
+        File testDataFile = new File(temporaryDirectory, filename);
+
+        BufferedWriter out = new BufferedWriter(new FileWriter(testDataFile));
+
+        for (String row : data) {
+            out.write(row);
+            out.newLine();
+        }
+        out.close();
+
+        return testDataFile;
+    }
+
+    @Test
+    public void should_read_the_same_rows_as_when_loading_the_whole_file() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv",
+                                          "name, address, phone, unknown",
+                                          "Bill, 10 main street, 123456789",
+                                          "Joe, 20 main street, 987654321, extra, columns",
+                                          "Mary, , 111111111, x");
+
+        String path = testDataFile.getAbsolutePath();
+
+        assertThat(new StreamingCSVTestDataSource(path).getData(), is(new CSVTestDataSource(path).getData()));
+    }
+
+    @Test
+    public void should_read_test_data_from_the_classpath() throws IOException {
+        StreamingCSVTestDataSource testdata = new StreamingCSVTestDataSource("testdata/test.csv");
+
+        assertThat(testdata.countRows(), is(3));
+        assertThat(testdata.getData(), is(new CSVTestDataSource("testdata/test.csv").getData()));
+    }
+
+    @Test(expected = IOException.class)
+    public void should_fail_straight_away_if_the_file_does_not_exist() throws IOException {
+        new StreamingCSVTestDataSource("does-not-exist.csv");
+    }
+
+    @Test
+    public void should_allow_non_comma_separators_to_be_used() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv",
+                                          "name;address;phone",
+                                          "Bill;10 main street, Sydney;123456789");
+
+        List<Person> people = new StreamingCSVTestDataSource(testDataFile.getAbsolutePath(), ';')
+                                        .getDataAsInstancesOf(Person.class);
+
+        assertThat(people.get(0).getAddress(), is("10 main street, Sydney"));
+    }
+
+    @Test
+    public void should_assign_properties_and_public_fields_in_each_object() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv",
+                                          "NAME, ADDRESS, PHONE, DATE OF BIRTH, NICKNAME, UNKNOWN",
+                                          "Bill, 10 main street, 123456789, 10/10/1970, Billy, ?",
+                                          "Joe, , 987654321, 10/10/1971, Joey, ?");
+
+        Iterator<Person> people = new StreamingCSVTestDataSource(testDataFile.getAbsolutePath())
+                                            .instancesOf(Person.class).iterator();
+
+        Person bill = people.next();
+        assertThat(bill.getName(), is("Bill"));
+        assertThat(bill.getAddress(), is("10 main street"));
+        assertThat(bill.getPhone(), is("123456789"));
+        assertThat(bill.getDateOfBirth(), is("10/10/1970"));
+        assertThat(bill.nickname, is("Billy"));
+
+        Person joe = people.next();
+        assertThat(joe.getName(), is("Joe"));
+        assertThat(joe.getAddress(), is(""));
+        assertThat(joe.nickname, is("Joey"));
+        assertThat(people.hasNext(), is(false));
+    }
+
+    @Test
+    public void should_read_the_file_again_each_time_the_rows_are_iterated() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv",
+                                          "name, address",
+                                          "Bill, 10 main street",
+                                          "Joe, 20 main street");
+
+        Iterable<Map<String, String>> rows = new StreamingCSVTestDataSource(testDataFile.getAbsolutePath()).rows();
+
+        int rowCount = 0;
+        for (Map<String, String> row : rows) {
+            rowCount++;
+        }
+        for (Map<String, String> row : rows) {
+            rowCount++;
+        }
+        assertThat(rowCount, is(4));
+    }
+
+    @Test
+    public void should_load_nothing_if_only_the_titles_are_present() throws IOException {
+        File emptyFile = useTestDataIn("empty.csv");
+        File titlesOnly = useTestDataIn("titles.csv", "name, address, phone");
+
+        assertThat(new StreamingCSVTestDataSource(emptyFile.getAbsolutePath()).countRows(), is(0));
+        assertThat(new StreamingCSVTestDataSource(titlesOnly.getAbsolutePath()).getData().isEmpty(), is(true));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void should_not_read_past_the_last_row() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv", "name", "Bill");
+
+        Iterator<Map<String, String>> rows = new StreamingCSVTestDataSource(testDataFile.getAbsolutePath())
+                                                        .rows().iterator();
+        rows.next();
+        rows.next();
+    }
+
+    @Test(expected = FailedToInitializeTestData.class)
+    public void should_fail_if_no_column_matches_a_property() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv", "colour, size", "red, big");
+
+        new StreamingCSVTestDataSource(testDataFile.getAbsolutePath()).getDataAsInstancesOf(Person.class);
+    }
+
+    @Test
+    public void should_release_the_file_when_a_loop_that_stopped_early_closes_its_rows() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv",
+                                          "name, address",
+                                          "Bill, 10 main street",
+                                          "Joe, 20 main street");
+        StreamingCSVTestDataSource testdata = new StreamingCSVTestDataSource(testDataFile.getAbsolutePath());
+        int filesOpenBefore = openFileCount();
+
+        StreamingCSVTestDataSource.RowIterator<Map<String, String>> rows = testdata.rows().iterator();
+        while (rows.hasNext()) {
+            if (rows.next().get("name").equals("Bill")) {
+                break;
+            }
+        }
+        int filesOpenDuringTheLoop = openFileCount();
+        rows.close();
+
+        assertThat(filesOpenDuringTheLoop, is(filesOpenBefore + (openFilesCanBeCounted() ? 1 : 0)));
+        assertThat(openFileCount(), is(filesOpenBefore));
+        assertThat(rows.hasNext(), is(false));
+        assertThat(testDataFile.delete(), is(true));
+    }
+
+    @Test
+    public void should_release_the_file_if_a_row_cannot_be_converted() throws IOException {
+        File testDataFile = useTestDataIn("testdata.csv", "colour, size", "red, big", "blue, small");
+        StreamingCSVTestDataSource testdata = new StreamingCSVTestDataSource(testDataFile.getAbsolutePath());
+        int filesOpenBefore = openFileCount();
+
+        Iterator<Person> people = testdata.instancesOf(Person.class).iterator();
+        try {
+            people.next();
+        } catch (FailedToInitializeTestData expected) {
+        }
+
+        assertThat(openFileCount(), is(filesOpenBefore));
+        assertThat(testDataFile.delete(), is(true));
+    }
+
+    /**
+     * Open files can only be counted where the process file system is available (e.g. on Linux).
+     * Elsewhere, deleting the file shows whether it is still open on platforms that lock open files.
+     */
+    private boolean openFilesCanBeCounted() {
+        return new File("/proc/self/fd").isDirectory();
+    }
+
+    private int openFileCount() {
+        String[] openFiles = new File("/proc/self/fd").list();
+        return (openFiles == null) ? 0 : openFiles.length;
+    }
+}
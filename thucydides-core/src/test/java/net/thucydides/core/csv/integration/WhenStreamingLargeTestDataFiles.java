@@ -0,0 +1,70 @@
+package net.thucydides.core.csv.integration;
+
+import net.thucydides.core.csv.CSVTestDataSource;
+import net.thucydides.core.csv.Person;
+import net.thucydides.core.csv.StreamingCSVTestDataSource;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenStreamingLargeTestDataFiles {
+
+    private static final int LARGE_FILE_ROWS = 500000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_read_every_row_of_a_large_file() throws IOException {
+        File testDataFile = testDataWith(LARGE_FILE_ROWS);
+        StreamingCSVTestDataSource testdata = new StreamingCSVTestDataSource(testDataFile.getAbsolutePath());
+
+        int rowCount = 0;
+        Person lastPerson = null;
+        for (Person person : testdata.instancesOf(Person.class)) {
+            rowCount++;
+            lastPerson = person;
+        }
+
+        assertThat(rowCount, is(LARGE_FILE_ROWS));
+        assertThat(lastPerson.getName(), is("Person " + (LARGE_FILE_ROWS - 1)));
+    }
+
+    @Test
+    public void should_create_the_same_objects_as_when_loading_the_whole_file() throws IOException {
+        String path = testDataWith(10000).getAbsolutePath();
+
+        List<Person> loadedPeople = new CSVTestDataSource(path).getDataAsInstancesOf(Person.class);
+        Iterator<Person> streamedPeople = new StreamingCSVTestDataSource(path).instancesOf(Person.class).iterator();
+
+        for (Person loadedPerson : loadedPeople) {
+            assertThat(EqualsBuilder.reflectionEquals(streamedPeople.next(), loadedPerson), is(true));
+        }
+        assertThat(streamedPeople.hasNext(), is(false));
+    }
+
+    private File testDataWith(int rows) throws IOException {
+        File testDataFile = temporaryFolder.newFile("people-" + rows + ".csv");
+        BufferedWriter out = new BufferedWriter(new FileWriter(testDataFile));
+        out.write("Name, Address, Phone, Date of birth, Nickname");
+        out.newLine();
+        for (int row = 0; row < rows; row++) {
+            out.write("Person " + row + ", " + row + " main street, " + (100000000 + row)
+                      + ", 10/10/" + (1900 + row % 100) + ", P" + row);
+            out.newLine();
+        }
+        out.close();
+        return testDataFile;
+    }
+}
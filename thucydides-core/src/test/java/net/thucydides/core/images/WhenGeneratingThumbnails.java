@@ -0,0 +1,260 @@
+package net.thucydides.core.images;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class WhenGeneratingThumbnails {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ThumbnailService thumbnailService = new ThumbnailService(2);
+
+    @Test
+    public void should_read_the_dimensions_of_an_image() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+
+        assertThat(thumbnailService.dimensionsOf(screenshot), is(new Dimension(1200, 788)));
+    }
+
+    @Test
+    public void should_read_the_dimensions_again_if_the_image_changes() throws IOException {
+        File screenshot = imageFile("changing.png", BufferedImage.TYPE_3BYTE_BGR, 40, 30);
+        assertThat(thumbnailService.dimensionsOf(screenshot), is(new Dimension(40, 30)));
+
+        writeImage(screenshot, BufferedImage.TYPE_3BYTE_BGR, 60, 50);
+        screenshot.setLastModified(screenshot.lastModified() + 2000);
+
+        assertThat(thumbnailService.dimensionsOf(screenshot), is(new Dimension(60, 50)));
+    }
+
+    @Test
+    public void should_pad_a_screenshot_exactly_like_a_resizable_image() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+
+        File scaledImage = thumbnailService.expandCanvas(screenshot, 1250);
+
+        assertSamePixels(scaledImage, legacyPaddingOf(screenshot, 1250));
+    }
+
+    @Test
+    public void should_pad_an_RGB_image_exactly_like_a_resizable_image() throws IOException {
+        File image = imageFile("rgb.png", BufferedImage.TYPE_3BYTE_BGR, 50, 30);
+
+        File scaledImage = thumbnailService.expandCanvas(image, 80);
+
+        assertSamePixels(scaledImage, legacyPaddingOf(image, 80));
+    }
+
+    @Test
+    public void should_pad_an_image_with_transparency_exactly_like_a_resizable_image() throws IOException {
+        File image = imageFile("rgba.png", BufferedImage.TYPE_4BYTE_ABGR, 50, 30);
+
+        File scaledImage = thumbnailService.expandCanvas(image, 80);
+
+        assertSamePixels(scaledImage, legacyPaddingOf(image, 80));
+    }
+
+    @Test
+    public void should_fill_the_padding_with_a_grey_background() throws IOException {
+        File image = imageFile("rgb.png", BufferedImage.TYPE_3BYTE_BGR, 50, 30);
+
+        BufferedImage scaledImage = ImageIO.read(thumbnailService.expandCanvas(image, 80));
+
+        assertThat(scaledImage.getHeight(), is(80));
+        assertThat(scaledImage.getWidth(), is(50));
+        assertThat(scaledImage.getRGB(10, 79), is(Color.LIGHT_GRAY.getRGB()));
+        assertThat(scaledImage.getRGB(10, 10), is(ImageIO.read(image).getRGB(10, 10)));
+    }
+
+    @Test
+    public void should_copy_images_that_are_already_tall_enough() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+
+        File scaledImage = thumbnailService.expandCanvas(screenshot, 400);
+
+        assertThat(scaledImage.getName(), is("scaled_400_google_page_1.png"));
+        assertThat(FileUtils.contentEquals(scaledImage, screenshot), is(true));
+    }
+
+    @Test
+    public void should_limit_the_padding_to_the_maximum_supported_height() throws IOException {
+        File image = imageFile("rgb.png", BufferedImage.TYPE_3BYTE_BGR, 10, 30);
+
+        File scaledImage = thumbnailService.expandCanvas(image, 30000);
+
+        assertThat(thumbnailService.dimensionsOf(scaledImage).height, is(ThumbnailService.MAX_SUPPORTED_HEIGHT));
+    }
+
+    @Test
+    public void should_not_pad_images_taller_than_the_maximum_supported_height() throws IOException {
+        File image = imageFile("tall.png", BufferedImage.TYPE_3BYTE_BGR, 5, ThumbnailService.MAX_SUPPORTED_HEIGHT + 1);
+
+        File scaledImage = thumbnailService.expandCanvas(image, 5000);
+
+        assertThat(FileUtils.contentEquals(scaledImage, image), is(true));
+    }
+
+    @Test
+    public void should_not_rewrite_a_scaled_image_made_from_the_same_source_and_height() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+        File scaledImage = thumbnailService.expandCanvas(screenshot, 1000);
+        scaledImage.setLastModified(0);
+
+        thumbnailService.expandCanvas(screenshot, 1000);
+
+        assertThat(scaledImage.lastModified(), is(0L));
+    }
+
+    @Test
+    public void should_not_rewrite_scaled_images_recorded_by_a_previous_run() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+        File scaledImage = thumbnailService.expandCanvas(screenshot, 1000);
+        scaledImage.setLastModified(0);
+
+        new ThumbnailService(1).expandCanvas(screenshot, 1000);
+
+        assertThat(scaledImage.lastModified(), is(0L));
+        assertThat(new File(screenshot.getParentFile(), ThumbnailService.INDEX_FILENAME).exists(), is(true));
+    }
+
+    @Test
+    public void should_not_leave_temporary_files_behind_when_the_index_is_saved() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+        thumbnailService.expandCanvas(screenshot, 1000);
+        thumbnailService.expandCanvas(screenshot, 1100);
+
+        for (String fileName : screenshot.getParentFile().list()) {
+            assertThat(fileName.endsWith(".tmp"), is(false));
+        }
+    }
+
+    @Test
+    public void should_keep_a_separate_scaled_image_for_each_target_height() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+        File firstScaledImage = thumbnailService.expandCanvas(screenshot, 1000);
+
+        File secondScaledImage = thumbnailService.expandCanvas(screenshot, 1100);
+
+        assertThat(secondScaledImage, is(not(firstScaledImage)));
+        assertThat(thumbnailService.dimensionsOf(firstScaledImage).height, is(1000));
+        assertThat(thumbnailService.dimensionsOf(secondScaledImage).height, is(1100));
+    }
+
+    @Test
+    public void should_not_rewrite_scaled_images_when_alternating_between_target_heights() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+        File firstScaledImage = thumbnailService.expandCanvas(screenshot, 1000);
+        thumbnailService.expandCanvas(screenshot, 1100);
+        firstScaledImage.setLastModified(0);
+
+        thumbnailService.expandCanvas(screenshot, 1000);
+
+        assertThat(firstScaledImage.lastModified(), is(0L));
+    }
+
+    @Test
+    public void should_rewrite_a_scaled_image_if_the_source_image_changes() throws IOException {
+        File image = imageFile("changing.png", BufferedImage.TYPE_3BYTE_BGR, 40, 30);
+        thumbnailService.expandCanvas(image, 100);
+
+        writeImage(image, BufferedImage.TYPE_3BYTE_BGR, 60, 30);
+        image.setLastModified(image.lastModified() + 2000);
+        File scaledImage = thumbnailService.expandCanvas(image, 100);
+
+        assertThat(thumbnailService.dimensionsOf(scaledImage), is(new Dimension(60, 100)));
+    }
+
+    @Test
+    public void should_rewrite_a_scaled_image_that_has_been_deleted() throws IOException {
+        File screenshot = copyOfScreenshot("google_page_1.png");
+        File scaledImage = thumbnailService.expandCanvas(screenshot, 1000);
+        scaledImage.delete();
+
+        thumbnailService.expandCanvas(screenshot, 1000);
+
+        assertThat(scaledImage.exists(), is(true));
+    }
+
+    @Test
+    public void should_scale_several_images_in_parallel() throws IOException {
+        List<File> images = new ArrayList<File>();
+        for (int i = 0; i < 8; i++) {
+            images.add(imageFile("image-" + i + ".png", BufferedImage.TYPE_3BYTE_BGR, 30 + i, 20 + i));
+        }
+
+        Map<File, File> scaledImages = new ThumbnailService(4).expandCanvases(images, 40);
+
+        assertThat(scaledImages.size(), is(8));
+        for (File image : images) {
+            File scaledImage = scaledImages.get(image);
+            assertThat(scaledImage.getName(), is("scaled_40_" + image.getName()));
+            assertSamePixels(scaledImage, legacyPaddingOf(image, 40));
+        }
+    }
+
+    private BufferedImage legacyPaddingOf(final File image, final int height) throws IOException {
+        File legacyImage = temporaryFolder.newFile("legacy_" + image.getName());
+        ResizableImage.loadFrom(image).rescaleCanvas(height).saveTo(legacyImage);
+        return ImageIO.read(legacyImage);
+    }
+
+    private void assertSamePixels(final File scaledImageFile, final BufferedImage expectedImage) throws IOException {
+        BufferedImage scaledImage = ImageIO.read(scaledImageFile);
+        assertThat(scaledImage.getWidth(), is(expectedImage.getWidth()));
+        assertThat(scaledImage.getHeight(), is(expectedImage.getHeight()));
+        assertThat(scaledImage.getType(), is(expectedImage.getType()));
+        int width = expectedImage.getWidth();
+        int height = expectedImage.getHeight();
+        int[] expectedPixels = expectedImage.getRGB(0, 0, width, height, null, 0, width);
+        int[] actualPixels = scaledImage.getRGB(0, 0, width, height, null, 0, width);
+        for (int i = 0; i < expectedPixels.length; i++) {
+            if (actualPixels[i] != expectedPixels[i]) {
+                assertThat("Pixel (" + (i % width) + "," + (i / width) + ")", actualPixels[i], is(expectedPixels[i]));
+            }
+        }
+        assertThat(actualPixels.length, is(not(0)));
+    }
+
+    private File imageFile(final String name, final int imageType, final int width, final int height) throws IOException {
+        File imageFile = new File(temporaryFolder.getRoot(), name);
+        writeImage(imageFile, imageType, width, height);
+        return imageFile;
+    }
+
+    private void writeImage(final File imageFile, final int imageType, final int width, final int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, imageType);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(new Color(200, 30, 60, 128));
+        g2d.fillRect(0, 0, width / 2, height);
+        g2d.setColor(new Color(10, 220, 90, 255));
+        g2d.fillRect(width / 2, 0, width - width / 2, height / 2);
+        g2d.dispose();
+        ImageIO.write(image, "PNG", imageFile);
+    }
+
+    private File copyOfScreenshot(final String screenshot) throws IOException {
+        URL sourcePath = getClass().getResource("/screenshots/" + screenshot);
+        File sourceFile = new File(sourcePath.getPath());
+        FileUtils.copyFileToDirectory(sourceFile, temporaryFolder.getRoot());
+        return new File(temporaryFolder.getRoot(), screenshot);
+    }
+}
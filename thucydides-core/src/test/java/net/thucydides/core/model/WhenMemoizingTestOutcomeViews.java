@@ -0,0 +1,168 @@
+package net.thucydides.core.model;
+
+import net.thucydides.core.screenshots.ScreenshotAndHtmlSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static net.thucydides.core.model.TestResult.FAILURE;
+import static net.thucydides.core.model.TestResult.IGNORED;
+import static net.thucydides.core.model.TestResult.PENDING;
+import static net.thucydides.core.model.TestResult.SUCCESS;
+import static net.thucydides.core.model.TestStepFactory.forAPendingTestStepCalled;
+import static net.thucydides.core.model.TestStepFactory.forASuccessfulNestedTestStepCalled;
+import static net.thucydides.core.model.TestStepFactory.forASuccessfulTestStepCalled;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class WhenMemoizingTestOutcomeViews {
+
+    TestOutcome testOutcome;
+
+    @Before
+    public void createTestOutcome() {
+        testOutcome = new TestOutcome("a_test");
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 1"));
+        testOutcome.recordStep(forASuccessfulNestedTestStepCalled("Step 2"));
+        testOutcome.recordStep(forAPendingTestStepCalled("Step 3"));
+    }
+
+    @Test
+    public void the_same_views_should_be_returned_while_the_outcome_does_not_change() {
+        assertThat(testOutcome.getTestSteps(), is(sameInstance(testOutcome.getTestSteps())));
+        assertThat(testOutcome.getFlattenedTestSteps(), is(sameInstance(testOutcome.getFlattenedTestSteps())));
+        assertThat(testOutcome.getLeafTestSteps(), is(sameInstance(testOutcome.getLeafTestSteps())));
+        assertThat(testOutcome.getScreenshots(), is(sameInstance(testOutcome.getScreenshots())));
+    }
+
+    @Test
+    public void the_views_should_not_be_modifiable() {
+        assertUnmodifiable(testOutcome.getTestSteps());
+        assertUnmodifiable(testOutcome.getFlattenedTestSteps());
+        assertUnmodifiable(testOutcome.getLeafTestSteps());
+        try {
+            testOutcome.getScreenshots().clear();
+            fail("The screenshot list should not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void the_views_should_be_recalculated_when_a_step_is_recorded() {
+        List<TestStep> stepsBefore = testOutcome.getTestSteps();
+        assertThat(testOutcome.getSuccessCount(), is(3));
+
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 4"));
+
+        assertThat(testOutcome.getTestSteps(), is(not(sameInstance(stepsBefore))));
+        assertThat(testOutcome.getTestSteps().size(), is(4));
+        assertThat(testOutcome.getLeafTestSteps().size(), is(5));
+        assertThat(testOutcome.getSuccessCount(), is(4));
+    }
+
+    @Test
+    public void the_views_should_be_recalculated_when_the_result_of_a_recorded_step_changes() {
+        assertThat(testOutcome.getResult(), is(PENDING));
+        assertThat(testOutcome.getPendingCount(), is(1));
+
+        testOutcome.getTestSteps().get(2).setResult(SUCCESS);
+
+        assertThat(testOutcome.getResult(), is(SUCCESS));
+        assertThat(testOutcome.getPendingCount(), is(0));
+        assertThat(testOutcome.getSuccessCount(), is(4));
+    }
+
+    @Test
+    public void the_views_should_be_recalculated_when_a_nested_step_fails() {
+        assertThat(testOutcome.getFailureCount(), is(0));
+
+        TestStep nestedStep = testOutcome.getTestSteps().get(1).getChildren().get(0);
+        nestedStep.failedWith(new AssertionError("Oops!"));
+
+        assertThat(testOutcome.getFailureCount(), is(1));
+        assertThat(testOutcome.getResult(), is(FAILURE));
+    }
+
+    @Test
+    public void the_views_should_be_recalculated_when_a_child_step_is_added_to_a_recorded_group() {
+        int leafStepsBefore = testOutcome.getLeafTestSteps().size();
+        int flattenedStepsBefore = testOutcome.getFlattenedTestSteps().size();
+
+        testOutcome.getTestSteps().get(1).addChildStep(forASuccessfulTestStepCalled("Step 2.3"));
+
+        assertThat(testOutcome.getLeafTestSteps().size(), is(leafStepsBefore + 1));
+        assertThat(testOutcome.getFlattenedTestSteps().size(), is(flattenedStepsBefore + 1));
+    }
+
+    @Test
+    public void the_views_should_be_recalculated_when_steps_are_recorded_in_a_group() {
+        testOutcome.startGroup();
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 4"));
+        int leafStepsBefore = testOutcome.getLeafTestSteps().size();
+
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 5"));
+
+        assertThat(testOutcome.getLeafTestSteps().size(), is(leafStepsBefore + 1));
+    }
+
+    @Test
+    public void the_screenshots_should_be_recalculated_when_a_screenshot_is_added() {
+        int screenshotsBefore = testOutcome.getScreenshots().size();
+
+        testOutcome.getTestSteps().get(0).addScreenshot(new ScreenshotAndHtmlSource(new File("another.png"),
+                                                                                    new File("another.html")));
+
+        assertThat(testOutcome.getScreenshots().size(), is(screenshotsBefore + 1));
+    }
+
+    @Test
+    public void the_result_should_be_recalculated_when_the_test_fails() {
+        assertThat(testOutcome.getResult(), is(PENDING));
+
+        testOutcome.setTestFailureCause(new AssertionError("Oops!"));
+
+        assertThat(testOutcome.getResult(), is(FAILURE));
+    }
+
+    @Test
+    public void the_result_should_be_recalculated_when_the_result_is_annotated() {
+        assertThat(testOutcome.getResult(), is(PENDING));
+
+        testOutcome.setAnnotatedResult(IGNORED);
+
+        assertThat(testOutcome.getResult(), is(IGNORED));
+    }
+
+    @Test
+    public void the_memoized_views_should_match_a_freshly_built_outcome() {
+        testOutcome.getResult();
+        testOutcome.getScreenshots();
+        testOutcome.getTestSteps().get(2).setResult(SUCCESS);
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 4"));
+
+        TestOutcome freshOutcome = new TestOutcome("a_test");
+        for (TestStep step : testOutcome.getTestSteps()) {
+            freshOutcome.recordStep(step);
+        }
+
+        assertThat(testOutcome.getResult(), is(freshOutcome.getResult()));
+        assertThat(testOutcome.getSuccessCount(), is(freshOutcome.getSuccessCount()));
+        assertThat(testOutcome.getPendingCount(), is(freshOutcome.getPendingCount()));
+        assertThat(testOutcome.getFlattenedTestSteps(), is(freshOutcome.getFlattenedTestSteps()));
+        assertThat(testOutcome.getLeafTestSteps(), is(freshOutcome.getLeafTestSteps()));
+        assertThat(testOutcome.getScreenshots().size(), is(freshOutcome.getScreenshots().size()));
+    }
+
+    private void assertUnmodifiable(final List<TestStep> steps) {
+        try {
+            steps.add(new TestStep("Extra step"));
+            fail("The step list should not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+}
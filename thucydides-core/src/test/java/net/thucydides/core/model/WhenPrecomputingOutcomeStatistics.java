@@ -0,0 +1,235 @@
+package net.thucydides.core.model;
+
+import net.thucydides.core.annotations.Feature;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static ch.lambdaj.Lambda.extract;
+import static ch.lambdaj.Lambda.having;
+import static ch.lambdaj.Lambda.on;
+import static ch.lambdaj.Lambda.select;
+import static ch.lambdaj.Lambda.sum;
+import static net.thucydides.core.model.TestStepFactory.createNewNestedTestSteps;
+import static net.thucydides.core.model.TestStepFactory.createNewTestStep;
+import static net.thucydides.core.model.TestStepFactory.forAFailingTestStepCalled;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WhenPrecomputingOutcomeStatistics {
+
+    private static final int STORY_COUNT = 50;
+    private static final int MAX_TESTS_PER_STORY = 20;
+
+    private static final TestResult[] STEP_RESULTS = {TestResult.SUCCESS, TestResult.SUCCESS, TestResult.SUCCESS,
+                                                      TestResult.FAILURE, TestResult.SKIPPED,
+                                                      TestResult.IGNORED, TestResult.PENDING};
+
+    @Feature
+    class WidgetFeature {
+        class PurchaseNewWidget{};
+    }
+
+    private Random random;
+
+    private Story story;
+
+    @Before
+    public void init() {
+        random = new Random(12345);
+        story = Story.from(WidgetFeature.PurchaseNewWidget.class);
+    }
+
+    @Test
+    public void story_statistics_should_match_the_values_calculated_from_each_outcome() {
+        for (int i = 0; i < STORY_COUNT; i++) {
+            StoryTestResults storyResults = aStoryWithRandomOutcomes();
+            List<TestOutcome> outcomes = storyResults.getTestOutcomes();
+
+            assertThat(storyResults.getTotal(), is(outcomes.size()));
+            assertThat(storyResults.getSuccessCount(), is(countOf(outcomes, TestResult.SUCCESS)));
+            assertThat(storyResults.getFailureCount(),
+                       is(select(outcomes, having(on(TestOutcome.class).isFailure())).size()));
+            assertThat(storyResults.getSkipCount(),
+                       is(select(outcomes, having(on(TestOutcome.class).isSkipped())).size()));
+            assertThat(storyResults.getPendingCount(),
+                       is(select(outcomes, having(on(TestOutcome.class).isPending())).size()));
+            assertThat(storyResults.getStepCount(),
+                       is(sum(extract(outcomes, on(TestOutcome.class).getNestedStepCount())).intValue()));
+            assertThat(storyResults.countStepsInSuccessfulTests(),
+                       is(stepsIn(select(outcomes, having(on(TestOutcome.class).isSuccess())))));
+            assertThat(storyResults.countStepsInFailingTests(),
+                       is(stepsIn(select(outcomes, having(on(TestOutcome.class).isFailure())))));
+            assertThat(storyResults.countStepsInSkippedTests(),
+                       is(stepsIn(select(outcomes, having(on(TestOutcome.class).isSkipped())))));
+            assertThat(storyResults.getDuration(), is(sum(outcomes, on(TestOutcome.class).getDuration()).longValue()));
+            assertThat(storyResults.getResult(), is(overallResultOf(outcomes)));
+        }
+    }
+
+    @Test
+    public void story_statistics_should_be_recalculated_when_a_new_test_run_is_recorded() {
+        StoryTestResults storyResults = new StoryTestResults(story);
+        storyResults.recordTestRun(anOutcomeWith(TestResult.SUCCESS, TestResult.SUCCESS));
+        assertThat(storyResults.getResult(), is(TestResult.SUCCESS));
+        assertThat(storyResults.getStepCount(), is(2));
+
+        TestOutcome failingOutcome = TestOutcome.forTestInStory("failing_test", story);
+        failingOutcome.recordStep(forAFailingTestStepCalled("a failing step", new AssertionError("oops")));
+        storyResults.recordTestRun(failingOutcome);
+
+        assertThat(storyResults.getResult(), is(TestResult.FAILURE));
+        assertThat(storyResults.getStepCount(), is(3));
+        assertThat(storyResults.getFailureCount(), is(1));
+        assertThat(storyResults.countStepsInFailingTests(), is(1));
+    }
+
+    @Test
+    public void feature_statistics_should_match_the_totals_of_the_stories() {
+        FeatureResults featureResults = new FeatureResults(story.getFeature());
+        List<StoryTestResults> stories = new ArrayList<StoryTestResults>();
+        for (int i = 0; i < STORY_COUNT; i++) {
+            StoryTestResults storyResults = aStoryWithRandomOutcomes();
+            stories.add(storyResults);
+            featureResults.recordStoryResults(storyResults);
+        }
+
+        assertThat(featureResults.getTotalTests(),
+                   is(sum(extract(stories, on(StoryTestResults.class).getTotal())).intValue()));
+        assertThat(featureResults.getPassingTests(),
+                   is(sum(extract(stories, on(StoryTestResults.class).getSuccessCount())).intValue()));
+        assertThat(featureResults.getFailingTests(),
+                   is(sum(extract(stories, on(StoryTestResults.class).getFailureCount())).intValue()));
+        assertThat(featureResults.getSkippedTests(),
+                   is(sum(extract(stories, on(StoryTestResults.class).getSkipCount())).intValue()));
+        assertThat(featureResults.getPendingTests(),
+                   is(sum(extract(stories, on(StoryTestResults.class).getPendingCount())).intValue()));
+        assertThat(featureResults.getTotalSteps(),
+                   is(sum(extract(stories, on(StoryTestResults.class).getStepCount())).intValue()));
+        assertThat(featureResults.getPassingSteps(),
+                   is(sum(extract(stories, on(StoryTestResults.class).countStepsInSuccessfulTests())).intValue()));
+        assertThat(featureResults.getFailingSteps(),
+                   is(sum(extract(stories, on(StoryTestResults.class).countStepsInFailingTests())).intValue()));
+        assertThat(featureResults.getSkippedSteps(),
+                   is(sum(extract(stories, on(StoryTestResults.class).countStepsInSkippedTests())).intValue()));
+        assertThat(featureResults.getEstimatedTotalSteps(),
+                   is(sum(extract(stories, on(StoryTestResults.class).getEstimatedTotalStepCount())).intValue()));
+
+        int estimatedTotalSteps = featureResults.getEstimatedTotalSteps();
+        int coveredSteps = 0;
+        int passingSteps = 0;
+        int failingSteps = 0;
+        int pendingSteps = 0;
+        for (StoryTestResults storyResults : stories) {
+            coveredSteps += (storyResults.getCoverage() * storyResults.getEstimatedTotalStepCount());
+            passingSteps += (storyResults.getPercentPassingCoverage() * storyResults.getEstimatedTotalStepCount());
+            failingSteps += (storyResults.getPercentFailingCoverage() * storyResults.getEstimatedTotalStepCount());
+            pendingSteps += (storyResults.getPercentPendingCoverage() * storyResults.getEstimatedTotalStepCount());
+        }
+        assertThat(featureResults.getCoverage(), is(((double) coveredSteps) / estimatedTotalSteps));
+        assertThat(featureResults.getPercentPassingCoverage(), is(((double) passingSteps) / estimatedTotalSteps));
+        assertThat(featureResults.getPercentFailingCoverage(), is(((double) failingSteps) / estimatedTotalSteps));
+        assertThat(featureResults.getPercentPendingCoverage(), is(((double) pendingSteps) / estimatedTotalSteps));
+        assertThat(featureResults.getResult(),
+                   is(TestResultList.of(extract(stories, on(StoryTestResults.class).getResult())).getOverallResult()));
+    }
+
+    @Test
+    public void feature_statistics_should_only_be_calculated_once() {
+        StoryTestResults storyResults = mock(StoryTestResults.class);
+        when(storyResults.getTotal()).thenReturn(10);
+        when(storyResults.getSuccessCount()).thenReturn(7);
+        FeatureResults featureResults = new FeatureResults(story.getFeature());
+        featureResults.recordStoryResults(storyResults);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(featureResults.getTotalTests(), is(10));
+            assertThat(featureResults.getPassingTests(), is(7));
+            featureResults.getFormatted();
+        }
+
+        verify(storyResults, times(1)).getTotal();
+        verify(storyResults, times(1)).getSuccessCount();
+    }
+
+    @Test
+    public void feature_statistics_should_be_recalculated_when_a_new_story_is_recorded() {
+        FeatureResults featureResults = new FeatureResults(story.getFeature());
+        featureResults.recordStoryResults(aStoryWithOutcomes(anOutcomeWith(TestResult.SUCCESS)));
+        assertThat(featureResults.getTotalTests(), is(1));
+
+        featureResults.recordStoryResults(aStoryWithOutcomes(anOutcomeWith(TestResult.SUCCESS)));
+
+        assertThat(featureResults.getTotalTests(), is(2));
+    }
+
+    private StoryTestResults aStoryWithRandomOutcomes() {
+        StoryTestResults storyResults = new StoryTestResults(story);
+        int testCount = random.nextInt(MAX_TESTS_PER_STORY);
+        for (int i = 0; i < testCount; i++) {
+            storyResults.recordTestRun(aRandomOutcome(i));
+        }
+        return storyResults;
+    }
+
+    private StoryTestResults aStoryWithOutcomes(TestOutcome... outcomes) {
+        StoryTestResults storyResults = new StoryTestResults(story);
+        for (TestOutcome outcome : outcomes) {
+            storyResults.recordTestRun(outcome);
+        }
+        return storyResults;
+    }
+
+    private TestOutcome aRandomOutcome(int testNumber) {
+        TestOutcome outcome = TestOutcome.forTestInStory("test_" + testNumber, story);
+        int stepCount = random.nextInt(6);
+        for (int i = 0; i < stepCount; i++) {
+            TestResult result = STEP_RESULTS[random.nextInt(STEP_RESULTS.length)];
+            if (random.nextInt(4) == 0) {
+                outcome.recordStep(createNewNestedTestSteps("step " + i, result));
+            } else {
+                outcome.recordStep(createNewTestStep("step " + i, result));
+            }
+        }
+        outcome.setDuration(random.nextInt(1000));
+        return outcome;
+    }
+
+    private TestOutcome anOutcomeWith(TestResult... stepResults) {
+        TestOutcome outcome = TestOutcome.forTestInStory("a_test", story);
+        int stepNumber = 0;
+        for (TestResult result : stepResults) {
+            outcome.recordStep(createNewTestStep("step " + stepNumber++, result));
+        }
+        return outcome;
+    }
+
+    private int countOf(List<TestOutcome> outcomes, TestResult result) {
+        int count = 0;
+        for (TestOutcome outcome : outcomes) {
+            if (outcome.getResult() == result) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int stepsIn(List<TestOutcome> outcomes) {
+        return outcomes.isEmpty() ? 0 : sum(outcomes, on(TestOutcome.class).getNestedStepCount()).intValue();
+    }
+
+    private TestResult overallResultOf(List<TestOutcome> outcomes) {
+        List<TestResult> results = new ArrayList<TestResult>();
+        for (TestOutcome outcome : outcomes) {
+            results.add(outcome.getResult());
+        }
+        return TestResultList.of(results).getOverallResult();
+    }
+}
@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -237,6 +238,17 @@ public class WhenKeepingTrackOfVisitedPages {
         assertThat(page2, is(not(page1)));
     }
 
+    @Test
+    public void should_create_page_objects_using_the_driver_of_each_pages_object() {
+        WebDriver anotherDriver = mock(WebDriver.class);
+        Pages pages = new Pages(driver, configuration);
+        Pages otherPages = new Pages(anotherDriver, configuration);
+
+        assertThat(pages.get(GooglePage.class).getDriver(), is(driver));
+        assertThat(otherPages.get(GooglePage.class).getDriver(), is(anotherDriver));
+        assertThat(pages.get(GooglePage.class).getDriver(), is(driver));
+    }
+
     @Test
     public void should_use_the_same_page_object_if_we_indicate_that_are_on_the_same_unchanged_page() {
         when(driver.getCurrentUrl()).thenReturn("http://www.google.com");
@@ -0,0 +1,246 @@
+package net.thucydides.core.pages.integration;
+
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import net.thucydides.core.pages.PageObject;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenCheckingSeveralPageConditionsAtOnce {
+
+    private static final String[] TEXTS_ON_THE_PAGE = {"Welcome", "Order summary", "Total: $42.00",
+                                                       "Delivery address", "Thank you for your order"};
+
+    private static final String[] TEXTS_NOT_ON_THE_PAGE = {"Error", "Payment declined", "Welcome!"};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    HtmlUnitDriver driver;
+
+    int driverCommands;
+
+    public static class OrderPage extends PageObject {
+        public OrderPage(WebDriver driver) {
+            super(driver, 1);
+        }
+    }
+
+    @Before
+    public void openFixturePage() throws IOException {
+        driver = new HtmlUnitDriver(BrowserVersion.FIREFOX_3_6);
+        driver.setJavascriptEnabled(true);
+        driver.get(anOrderPage().toURI().toString());
+    }
+
+    @After
+    public void closeDriver() {
+        driver.quit();
+    }
+
+    @Test
+    public void should_check_all_the_expected_texts_in_a_single_call() {
+        new OrderPage(counted(driver, JavascriptExecutor.class)).waitForAllTextToAppear(TEXTS_ON_THE_PAGE);
+        int commandsForASingleCall = driverCommands;
+
+        driverCommands = 0;
+        new OrderPage(counted(driver)).waitForAllTextToAppear(TEXTS_ON_THE_PAGE);
+
+        assertThat(commandsForASingleCall, is(1));
+        assertThat(driverCommands, is(TEXTS_ON_THE_PAGE.length));
+    }
+
+    @Test
+    public void should_check_any_of_the_expected_texts_in_a_single_call() {
+        String[] expectedTexts = {"Error", "Payment declined", "Thank you for your order"};
+
+        new OrderPage(counted(driver, JavascriptExecutor.class)).waitForAnyTextToAppear(expectedTexts);
+        int commandsForASingleCall = driverCommands;
+
+        driverCommands = 0;
+        new OrderPage(counted(driver)).waitForAnyTextToAppear(expectedTexts);
+
+        assertThat(commandsForASingleCall, is(1));
+        assertThat(driverCommands, is(expectedTexts.length));
+    }
+
+    @Test
+    public void should_find_the_same_texts_as_when_checking_each_text_with_xpath() {
+        OrderPage pageCheckedInASingleCall = new OrderPage(counted(driver, JavascriptExecutor.class));
+        OrderPage pageCheckedWithXPath = new OrderPage(counted(driver));
+
+        for (String text : TEXTS_ON_THE_PAGE) {
+            assertThat(pageCheckedInASingleCall.containsText(text), is(true));
+            assertThat(pageCheckedWithXPath.containsText(text), is(true));
+        }
+        for (String text : TEXTS_NOT_ON_THE_PAGE) {
+            assertThat(pageCheckedInASingleCall.containsText(text), is(false));
+            assertThat(pageCheckedWithXPath.containsText(text), is(false));
+        }
+        assertThat(pageCheckedInASingleCall.containsAllText(TEXTS_ON_THE_PAGE), is(true));
+        assertThat(pageCheckedInASingleCall.containsAllText("Welcome", "Error"), is(false));
+    }
+
+    @Test
+    public void should_look_for_all_the_expected_elements_in_a_single_call() {
+        By[] expectedElements = {By.id("error-message"), By.name("payment-error"), By.className("warning"),
+                                 By.xpath("//div[@id='missing']"), By.cssSelector("#summary .total")};
+
+        new OrderPage(counted(driver, JavascriptExecutor.class)).waitForAnyRenderedElementOf(expectedElements);
+        int commandsForASingleCall = driverCommands;
+
+        driverCommands = 0;
+        new OrderPage(counted(driver)).waitForAnyRenderedElementOf(expectedElements);
+
+        assertThat(commandsForASingleCall, is(2));
+        assertThat(driverCommands, is(expectedElements.length + 1));
+    }
+
+    @Test
+    public void should_only_accept_displayed_elements() {
+        OrderPage page = new OrderPage(counted(driver, JavascriptExecutor.class));
+
+        page.waitForAnyRenderedElementOf(By.id("hidden-note"), By.tagName("h1"));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void should_not_accept_hidden_elements() {
+        OrderPage page = new OrderPage(counted(driver, JavascriptExecutor.class));
+        page.setWaitForTimeout(200);
+
+        page.waitForAnyRenderedElementOf(By.id("hidden-note"), By.className("warning"));
+    }
+
+    @Test
+    public void should_look_up_locators_that_cannot_be_evaluated_in_the_browser_through_the_driver() {
+        OrderPage page = new OrderPage(counted(driver, JavascriptExecutor.class));
+
+        page.waitForAnyRenderedElementOf(By.id("error-message"), By.linkText("Continue shopping"));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void should_time_out_if_an_expected_text_never_appears() {
+        OrderPage page = new OrderPage(counted(driver, JavascriptExecutor.class));
+        page.setWaitForTimeout(200);
+
+        page.waitForAllTextToAppear("Welcome", "Payment declined");
+    }
+
+    @Test
+    public void should_look_up_elements_through_the_driver_if_the_browser_cannot_evaluate_the_locators()
+            throws IOException {
+        HtmlUnitDriver driverWithFewerLocators = new HtmlUnitDriver(true);
+        try {
+            driverWithFewerLocators.get(anOrderPage().toURI().toString());
+            OrderPage page = new OrderPage(counted(driverWithFewerLocators, JavascriptExecutor.class));
+            page.setWaitForTimeout(200);
+
+            page.waitForAnyRenderedElementOf(By.className("warning"), By.xpath("//div[@id='missing']"),
+                                             By.cssSelector("#summary .total"));
+            assertThat(page.containsAllText(TEXTS_ON_THE_PAGE), is(true));
+        } finally {
+            driverWithFewerLocators.quit();
+        }
+    }
+
+    @Test
+    public void should_check_each_text_if_javascript_is_disabled() throws IOException {
+        HtmlUnitDriver driverWithoutJavascript = new HtmlUnitDriver();
+        try {
+            driverWithoutJavascript.get(anOrderPage().toURI().toString());
+            OrderPage page = new OrderPage(counted(driverWithoutJavascript, JavascriptExecutor.class));
+
+            page.waitForAllTextToAppear(TEXTS_ON_THE_PAGE);
+            page.waitForAnyRenderedElementOf(By.id("error-message"), By.cssSelector("#summary .total"));
+
+            assertThat(page.containsText("Payment declined"), is(false));
+        } finally {
+            driverWithoutJavascript.quit();
+        }
+    }
+
+    private File anOrderPage() throws IOException {
+        String html = "<html><head><title>Order</title></head><body>\n"
+                    + "<h1>Welcome</h1>\n"
+                    + "<div id='summary'><h2>Order summary</h2><p class='total'>Total: <b>$42.00</b></p></div>\n"
+                    + "<div id='address'>Delivery address</div>\n"
+                    + "<p id='hidden-note' style='display:none'>Thank you</p>\n"
+                    + "<p>Thank you for your order</p>\n"
+                    + "<a href='#'>Continue shopping</a>\n"
+                    + "</body></html>";
+        File pageFile = File.createTempFile("order", ".html", temporaryFolder.getRoot());
+        FileUtils.writeStringToFile(pageFile, html);
+        return pageFile;
+    }
+
+    /**
+     * Counts each command sent to the driver, and to any element found through it.
+     */
+    private WebDriver counted(final WebDriver driver, final Class<?>... extraInterfaces) {
+        Class<?>[] interfaces = new Class<?>[extraInterfaces.length + 1];
+        interfaces[0] = WebDriver.class;
+        System.arraycopy(extraInterfaces, 0, interfaces, 1, extraInterfaces.length);
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), interfaces,
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("manage")) {
+                            return method.invoke(driver, args);
+                        }
+                        return countedResultOf(invokeAndCount(driver, method, args));
+                    }
+                });
+    }
+
+    private WebElement counted(final WebElement element) {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{WebElement.class},
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        return countedResultOf(invokeAndCount(element, method, args));
+                    }
+                });
+    }
+
+    private Object invokeAndCount(Object target, Method method, Object[] args) throws Throwable {
+        driverCommands++;
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object countedResultOf(Object result) {
+        if (result instanceof WebElement) {
+            return counted((WebElement) result);
+        }
+        if (result instanceof List) {
+            List<Object> countedResults = new ArrayList<Object>();
+            for (Object value : (List<?>) result) {
+                countedResults.add(countedResultOf(value));
+            }
+            return countedResults;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,212 @@
+package net.thucydides.core.pages.integration;
+
+import net.thucydides.core.pages.components.HtmlTable;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static net.thucydides.core.matchers.BeanMatchers.the;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class WhenReadingTableDataFromASnapshot {
+
+    private static final int LARGE_TABLE_ROWS = 200;
+    private static final int LARGE_TABLE_COLUMNS = 10;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    HtmlUnitDriver driver;
+    StaticSitePage page;
+
+    int webdriverCalls;
+
+    @Before
+    public void openStaticPage() {
+        driver = new HtmlUnitDriver(true);
+        page = new StaticSitePage(driver, 1);
+        page.setWaitForTimeout(500);
+        page.open();
+    }
+
+    @After
+    public void closeDriver() {
+        driver.quit();
+    }
+
+    @Test
+    public void should_read_the_same_headings_and_rows_as_when_reading_each_cell() {
+        for (WebElement table : allTables()) {
+            HtmlTable tableReadCellByCell = new HtmlTable(table);
+            HtmlTable tableSnapshot = new HtmlTable(table, driver);
+
+            assertThat(tableSnapshot.getHeadings(), is(tableReadCellByCell.getHeadings()));
+            assertThat(tableSnapshot.getRows(), is(tableReadCellByCell.getRows()));
+            assertThat(textOf(tableSnapshot.getRowElements()), is(textOf(tableReadCellByCell.getRowElements())));
+        }
+    }
+
+    @Test
+    public void should_find_the_same_matching_rows_as_when_reading_each_cell() {
+        List<WebElement> matchingRows = HtmlTable.inTable(page.clients, driver)
+                                                 .getRowElementsWhere(the("First Name", is("Tim")),
+                                                                      the("Last Name", containsString("Taylor")));
+
+        assertThat(matchingRows.size(), is(1));
+        assertThat(matchingRows.get(0).getText(), containsString("Brooke-Taylor"));
+        assertThat(HtmlTable.inTable(page.clients, driver).containsRowElementsWhere(the("First Name", is("Tim")),
+                                                                                    the("Last Name", containsString("Garden"))),
+                   is(false));
+    }
+
+    @Test
+    public void should_read_a_table_in_a_single_call() {
+        List<Map<Object, String>> rowsReadCellByCell = new HtmlTable(counted(page.clients)).getRows();
+        int callsReadingCellByCell = webdriverCalls;
+
+        webdriverCalls = 0;
+        List<Map<Object, String>> rowsFromSnapshot = new HtmlTable(counted(page.clients), counted(driver)).getRows();
+
+        assertThat(rowsFromSnapshot, is(rowsReadCellByCell));
+        assertThat(webdriverCalls, is(1));
+        assertThat(callsReadingCellByCell, greaterThan(12));
+    }
+
+    @Test
+    public void should_read_a_large_table_in_a_single_call() throws IOException {
+        driver.get(aLargeTable().toURI().toString());
+        WebElement table = driver.findElement(By.id("large"));
+
+        List<Map<Object, String>> rowsReadCellByCell = new HtmlTable(counted(table)).getRows();
+        int callsReadingCellByCell = webdriverCalls;
+
+        webdriverCalls = 0;
+        List<Map<Object, String>> rowsFromSnapshot = new HtmlTable(counted(table), counted(driver)).getRows();
+
+        assertThat(rowsFromSnapshot.size(), is(LARGE_TABLE_ROWS));
+        assertThat(rowsFromSnapshot, is(rowsReadCellByCell));
+        assertThat(webdriverCalls, is(1));
+        assertThat(callsReadingCellByCell, greaterThan(LARGE_TABLE_ROWS * LARGE_TABLE_COLUMNS));
+    }
+
+    @Test
+    public void should_read_each_cell_if_javascript_is_disabled() {
+        HtmlUnitDriver driverWithoutJavascript = new HtmlUnitDriver();
+        try {
+            StaticSitePage pageWithoutJavascript = new StaticSitePage(driverWithoutJavascript, 1);
+            pageWithoutJavascript.open();
+
+            List<Map<Object, String>> rows = new HtmlTable(pageWithoutJavascript.clients, driverWithoutJavascript).getRows();
+
+            assertThat(rows, is(new HtmlTable(pageWithoutJavascript.clients).getRows()));
+            assertThat(rows.size(), is(3));
+            assertThat(rows.get(0).get("First Name"), is("Tim"));
+        } finally {
+            driverWithoutJavascript.quit();
+        }
+    }
+
+    private List<WebElement> allTables() {
+        return Arrays.asList(page.clients, page.clients_with_extra_cells, page.clients_with_missing_cells,
+                             page.table_with_merged_cells, page.table_with_empty_headers, page.table_with_td_headers);
+    }
+
+    private List<String> textOf(List<WebElement> elements) {
+        List<String> texts = new ArrayList<String>();
+        for (WebElement element : elements) {
+            texts.add(element.getText());
+        }
+        return texts;
+    }
+
+    private File aLargeTable() throws IOException {
+        StringBuilder html = new StringBuilder("<html><body><table id='large'><thead><tr>");
+        for (int column = 0; column < LARGE_TABLE_COLUMNS; column++) {
+            html.append("<th>Column ").append(column).append("</th>");
+        }
+        html.append("</tr></thead><tbody>");
+        for (int row = 0; row < LARGE_TABLE_ROWS; row++) {
+            html.append("<tr>");
+            for (int column = 0; column < LARGE_TABLE_COLUMNS; column++) {
+                html.append("<td>Row ").append(row).append(", cell ").append(column).append("</td>");
+            }
+            html.append("</tr>");
+        }
+        html.append("</tbody></table></body></html>");
+        File tableFile = temporaryFolder.newFile("large-table.html");
+        FileUtils.writeStringToFile(tableFile, html.toString());
+        return tableFile;
+    }
+
+    /**
+     * Counts each call made to the element, and to any element found from it.
+     */
+    private WebElement counted(final WebElement element) {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{WebElement.class, WrapsElement.class},
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("getWrappedElement")) {
+                            return element;
+                        }
+                        return countedResultOf(invokeAndCount(element, method, args));
+                    }
+                });
+    }
+
+    private WebDriver counted(final HtmlUnitDriver driver) {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{WebDriver.class, JavascriptExecutor.class},
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        return invokeAndCount(driver, method, args);
+                    }
+                });
+    }
+
+    private Object invokeAndCount(Object target, Method method, Object[] args) throws Throwable {
+        webdriverCalls++;
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object countedResultOf(Object result) {
+        if (result instanceof WebElement) {
+            return counted((WebElement) result);
+        }
+        if (result instanceof List) {
+            List<WebElement> countedElements = new ArrayList<WebElement>();
+            for (Object element : (List<?>) result) {
+                countedElements.add(counted((WebElement) element));
+            }
+            return countedElements;
+        }
+        return result;
+    }
+}
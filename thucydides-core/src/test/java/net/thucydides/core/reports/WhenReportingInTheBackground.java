@@ -0,0 +1,187 @@
+package net.thucydides.core.reports;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+public class WhenReportingInTheBackground {
+
+    private static final int TEST_CLASSES = 5;
+    private static final int TESTS_PER_CLASS = 4;
+
+    static class SlowReporter implements AcceptanceTestReporter {
+
+        private final CountDownLatch released;
+        private final long delayInMilliseconds;
+        final ConcurrentMap<TestOutcome, AtomicInteger> reportCounts = new ConcurrentHashMap<TestOutcome, AtomicInteger>();
+
+        SlowReporter(final CountDownLatch released, final long delayInMilliseconds) {
+            this.released = released;
+            this.delayInMilliseconds = delayInMilliseconds;
+        }
+
+        public String getName() {
+            return "slow";
+        }
+
+        public void setQualifier(final String qualifier) {
+        }
+
+        public void setOutputDirectory(final File outputDirectory) {
+        }
+
+        public void setResourceDirectory(final String resourceDirectoryPath) {
+        }
+
+        public File generateReportFor(final TestOutcome testOutcome) throws IOException {
+            try {
+                released.await(10, TimeUnit.SECONDS);
+                Thread.sleep(delayInMilliseconds);
+            } catch (InterruptedException e) {
+                throw new IOException("Interrupted", e);
+            }
+            reportCounts.putIfAbsent(testOutcome, new AtomicInteger());
+            reportCounts.get(testOutcome).incrementAndGet();
+            return null;
+        }
+
+        int totalReports() {
+            int total = 0;
+            for (AtomicInteger count : reportCounts.values()) {
+                total += count.get();
+            }
+            return total;
+        }
+    }
+
+    static class FailingReporter extends SlowReporter {
+        FailingReporter() {
+            super(new CountDownLatch(0), 0);
+        }
+
+        @Override
+        public File generateReportFor(final TestOutcome testOutcome) throws IOException {
+            throw new IOException("disk full");
+        }
+    }
+
+    private ReportService reportServiceFor(final AcceptanceTestReporter reporter) {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty(ThucydidesSystemProperty.REPORT_THREADS.getPropertyName(), "2");
+        List<AcceptanceTestReporter> reporters = new ArrayList<AcceptanceTestReporter>();
+        reporters.add(reporter);
+        return new ReportService(new File("target/thucydides"), reporters, environmentVariables);
+    }
+
+    private List<TestOutcome> outcomesForTestClass(final int testClass) {
+        List<TestOutcome> testOutcomes = new ArrayList<TestOutcome>();
+        for (int i = 0; i < TESTS_PER_CLASS; i++) {
+            testOutcomes.add(new TestOutcome("test_" + i + "_of_class_" + testClass));
+        }
+        return testOutcomes;
+    }
+
+    @Test
+    public void publishing_outcomes_should_not_wait_for_the_reports_to_be_written() {
+        CountDownLatch released = new CountDownLatch(1);
+        SlowReporter reporter = new SlowReporter(released, 10);
+        ReportService reportService = reportServiceFor(reporter);
+        ReportingQueue queue = new ReportingQueue();
+
+        for (int testClass = 0; testClass < TEST_CLASSES; testClass++) {
+            queue.publish(reportService, outcomesForTestClass(testClass));
+        }
+
+        assertThat(reporter.totalReports(), is(0));
+        assertThat(queue.getPendingReportCount(), is(TEST_CLASSES));
+
+        released.countDown();
+        queue.awaitCompletion();
+
+        assertThat(queue.getPendingReportCount(), is(0));
+        assertThat(reporter.totalReports(), is(TEST_CLASSES * TESTS_PER_CLASS));
+    }
+
+    @Test
+    public void every_published_outcome_should_be_reported_exactly_once() {
+        SlowReporter reporter = new SlowReporter(new CountDownLatch(0), 20);
+        ReportService reportService = reportServiceFor(reporter);
+        ReportingQueue queue = new ReportingQueue();
+
+        List<TestOutcome> publishedOutcomes = new ArrayList<TestOutcome>();
+        for (int testClass = 0; testClass < TEST_CLASSES; testClass++) {
+            List<TestOutcome> testOutcomes = outcomesForTestClass(testClass);
+            publishedOutcomes.addAll(testOutcomes);
+            queue.publish(reportService, testOutcomes);
+        }
+        queue.awaitCompletion();
+
+        assertThat(reporter.reportCounts.size(), is(publishedOutcomes.size()));
+        for (TestOutcome testOutcome : publishedOutcomes) {
+            assertThat(reporter.reportCounts.get(testOutcome).get(), is(1));
+        }
+    }
+
+    @Test
+    public void outcomes_published_after_the_list_was_handed_over_should_not_be_reported() {
+        CountDownLatch released = new CountDownLatch(1);
+        SlowReporter reporter = new SlowReporter(released, 0);
+        ReportingQueue queue = new ReportingQueue();
+
+        List<TestOutcome> testOutcomes = outcomesForTestClass(1);
+        queue.publish(reportServiceFor(reporter), testOutcomes);
+        testOutcomes.add(new TestOutcome("a_test_that_was_added_later"));
+
+        released.countDown();
+        queue.awaitCompletion();
+
+        assertThat(reporter.totalReports(), is(TESTS_PER_CLASS));
+    }
+
+    @Test
+    public void failed_reports_should_be_reported_when_waiting_for_completion() {
+        ReportingQueue queue = new ReportingQueue();
+        queue.publish(reportServiceFor(new FailingReporter()), outcomesForTestClass(1));
+        queue.publish(reportServiceFor(new FailingReporter()), outcomesForTestClass(2));
+
+        try {
+            queue.awaitCompletion();
+            fail("A ReportGenerationFailedError should have been thrown");
+        } catch (ReportGenerationFailedError expected) {
+            assertThat(expected.getMessage(), containsString("Failed to generate reports for 2 test run(s)"));
+        }
+        assertThat(queue.getPendingReportCount(), is(0));
+    }
+
+    @Test
+    public void the_report_service_should_use_the_shared_queue_for_background_reports() {
+        SlowReporter reporter = new SlowReporter(new CountDownLatch(0), 10);
+        ReportService reportService = reportServiceFor(reporter);
+
+        reportService.generateReportsInBackgroundFor(outcomesForTestClass(1));
+        ReportService.awaitCompletion();
+
+        assertThat(reporter.totalReports(), is(TESTS_PER_CLASS));
+    }
+
+    @Test
+    public void reports_should_be_generated_in_the_foreground_by_default() {
+        assertThat(reportServiceFor(new SlowReporter(new CountDownLatch(0), 0)).generatesReportsInBackground(), is(false));
+    }
+}
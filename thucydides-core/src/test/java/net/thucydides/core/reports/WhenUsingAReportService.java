@@ -1,6 +1,8 @@
 package net.thucydides.core.reports;
 
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.util.MockEnvironmentVariables;
 import org.hamcrest.Matcher;
 import org.junit.Before;
 import org.junit.Test;
@@ -14,10 +16,13 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -81,6 +86,65 @@ public class WhenUsingAReportService {
         verify(reporter).setOutputDirectory(outputDirectory);
     }
 
+    @Test
+    public void a_report_service_should_generate_the_other_reports_and_list_every_failure_at_the_end() throws Exception {
+        TestOutcome failingOutcome = mock(TestOutcome.class);
+        TestOutcome otherFailingOutcome = mock(TestOutcome.class);
+        when(failingOutcome.getTitle()).thenReturn("First failing test");
+        when(otherFailingOutcome.getTitle()).thenReturn("Second failing test");
+        when(reporter.getName()).thenReturn("mock");
+        when(reporter.generateReportFor(failingOutcome)).thenThrow(new IOException("disk full"));
+        when(reporter.generateReportFor(otherFailingOutcome)).thenThrow(new IOException("disk still full"));
+
+        List<TestOutcome> testOutcomeResults = new ArrayList<TestOutcome>();
+        testOutcomeResults.add(failingOutcome);
+        testOutcomeResults.add(testOutcome);
+        testOutcomeResults.add(otherFailingOutcome);
+
+        ReportService reportService = reportServiceUsingThreads(4);
+        reportService.subscribe(reporter);
+
+        try {
+            reportService.generateReportsFor(testOutcomeResults);
+            fail("A ReportGenerationFailedError should have been thrown");
+        } catch (ReportGenerationFailedError expected) {
+            assertThat(expected.getMessage(), containsString("Failed to generate 2 report(s)"));
+            assertThat(expected.getMessage(), containsString("mock report for First failing test"));
+            assertThat(expected.getMessage(), containsString("mock report for Second failing test"));
+            assertThat(expected.getCause().getMessage(), is("disk full"));
+        }
+        verify(reporter).generateReportFor(testOutcome);
+    }
+
+    @Test
+    public void a_report_service_should_generate_reports_for_each_outcome_when_running_in_parallel() throws Exception {
+        AcceptanceTestReporter otherReporter = mock(AcceptanceTestReporter.class);
+        List<TestOutcome> testOutcomeResults = new ArrayList<TestOutcome>();
+        for (int i = 0; i < 20; i++) {
+            testOutcomeResults.add(mock(TestOutcome.class));
+        }
+
+        ReportService reportService = reportServiceUsingThreads(4);
+        reportService.subscribe(reporter);
+        reportService.subscribe(otherReporter);
+
+        reportService.generateReportsFor(testOutcomeResults);
+
+        for (TestOutcome outcome : testOutcomeResults) {
+            verify(reporter).generateReportFor(outcome);
+            verify(otherReporter).generateReportFor(outcome);
+        }
+        verify(reporter).setOutputDirectory(outputDirectory);
+        verify(otherReporter).setOutputDirectory(outputDirectory);
+    }
+
+    private ReportService reportServiceUsingThreads(final int threads) {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty(ThucydidesSystemProperty.REPORT_THREADS.getPropertyName(),
+                                         Integer.toString(threads));
+        return new ReportService(outputDirectory, new ArrayList<AcceptanceTestReporter>(), environmentVariables);
+    }
+
     @Test
     public void default_reporters_should_include_xml_and_html() {
         List reporters = ReportService.getDefaultReporters();
@@ -0,0 +1,108 @@
+package net.thucydides.core.reports.integration;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.html.HtmlResourceCopier;
+import net.thucydides.core.resources.ResourceManifest;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class WhenCopyingReportResources extends AbstractReportGenerationTest {
+
+    private static final int OUTCOME_COUNT = 500;
+    private static final long ORIGINAL_TIMESTAMP = 1000000000000L;
+
+    /**
+     * The resource lists are cached for the whole JVM, so this directory must not be used by any other test.
+     */
+    private static final String RESOURCES_ONLY_USED_HERE = "copiedoncereportresources";
+
+    static class CountingResourceCopier extends HtmlResourceCopier {
+
+        static int lookupCount = 0;
+
+        CountingResourceCopier(String resourceDirectory) {
+            super(resourceDirectory);
+        }
+
+        @Override
+        protected Collection<String> findResourcesIn(String resourceDirectory) {
+            lookupCount++;
+            return super.findResourcesIn(resourceDirectory);
+        }
+    }
+
+    @Before
+    public void resetLookupCount() {
+        CountingResourceCopier.lookupCount = 0;
+    }
+
+    @Test
+    public void the_resources_should_only_be_looked_up_once_for_each_resource_directory() throws IOException {
+        File anotherOutputDirectory = temporaryDirectory.newFolder("another-report-directory");
+
+        for (int i = 0; i < OUTCOME_COUNT; i++) {
+            new CountingResourceCopier(RESOURCES_ONLY_USED_HERE).copyHTMLResourcesTo(outputDirectory);
+        }
+        new CountingResourceCopier(RESOURCES_ONLY_USED_HERE).copyHTMLResourcesTo(anotherOutputDirectory);
+
+        assertThat(CountingResourceCopier.lookupCount, is(1));
+        assertThat(new File(outputDirectory, "sample.css").exists(), is(true));
+        assertThat(new File(anotherOutputDirectory, "sample.css").exists(), is(true));
+    }
+
+    @Test
+    public void the_resources_should_only_be_written_once_when_reporting_on_many_outcomes() throws IOException {
+        reporter.generateReportFor(aTestOutcomeCalled("test_0"));
+        Map<File, Long> copiedResources = copiedResourcesIn(outputDirectory);
+        for (File copiedResource : copiedResources.keySet()) {
+            copiedResource.setLastModified(ORIGINAL_TIMESTAMP);
+        }
+
+        for (int i = 1; i < OUTCOME_COUNT; i++) {
+            reporter.generateReportFor(aTestOutcomeCalled("test_" + i));
+        }
+
+        assertThat(copiedResources.size(), is(greaterThan(0)));
+        for (File copiedResource : copiedResources.keySet()) {
+            assertThat(copiedResource.getPath(), copiedResource.lastModified(), is(ORIGINAL_TIMESTAMP));
+        }
+    }
+
+    @Test
+    public void the_resources_should_be_copied_again_if_a_copied_resource_has_been_deleted() throws IOException {
+        reporter.generateReportFor(aTestOutcomeCalled("test_0"));
+        File coreStylesheet = new File(new File(outputDirectory, "css"), "core.css");
+        coreStylesheet.delete();
+
+        reporter.generateReportFor(aTestOutcomeCalled("test_1"));
+
+        assertThat(coreStylesheet.exists(), is(true));
+    }
+
+    private TestOutcome aTestOutcomeCalled(String name) {
+        TestOutcome testOutcome = new TestOutcome(name);
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1"));
+        return testOutcome;
+    }
+
+    private Map<File, Long> copiedResourcesIn(File directory) {
+        Map<File, Long> copiedResources = new HashMap<File, Long>();
+        for (File file : FileUtils.listFiles(directory, null, true)) {
+            if (!file.getName().endsWith(".html") && !file.getName().equals(ResourceManifest.MANIFEST_FILENAME)) {
+                copiedResources.put(file, file.lastModified());
+            }
+        }
+        return copiedResources;
+    }
+}
@@ -17,11 +17,14 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static net.thucydides.core.hamcrest.XMLMatchers.isSimilarTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
 
 public class WhenGeneratingAnXMLReport {
@@ -544,6 +547,76 @@ public class WhenGeneratingAnXMLReport {
         assertThat(generatedReportText, containsString("<exception>java.lang.IllegalArgumentException"));
     }
 
+    @Test
+    public void a_report_should_be_read_back_exactly_as_it_was_written() throws Exception {
+        TestOutcome testOutcome = TestOutcome.forTest("should_do_this", ATestScenarioWithIssues.class);
+        testOutcome.setSessionId("1234");
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1"));
+        testOutcome.startGroup("A group");
+        testOutcome.recordStep(TestStepFactory.skippedTestStepCalled("step 2"));
+        testOutcome.recordStep(TestStepFactory.pendingTestStepCalled("step 3"));
+        testOutcome.endGroup();
+        testOutcome.recordStep(TestStepFactory.ignoredTestStepCalled("step 4"));
+
+        File xmlReport = reporter.generateReportFor(testOutcome);
+        TestOutcome loadedTestOutcome = new XMLTestOutcomeReporter().loadReportFrom(xmlReport);
+
+        XMLTestOutcomeReporter anotherReporter = new XMLTestOutcomeReporter();
+        anotherReporter.setOutputDirectory(temporaryDirectory.newFolder("copy"));
+        File rewrittenReport = anotherReporter.generateReportFor(loadedTestOutcome);
+
+        assertThat(getStringFrom(rewrittenReport), is(getStringFrom(xmlReport)));
+        assertThat(loadedTestOutcome.getTitle(), is(testOutcome.getTitle()));
+        assertThat(loadedTestOutcome.getStepCount(), is(testOutcome.getStepCount()));
+        assertThat(loadedTestOutcome.getResult(), is(testOutcome.getResult()));
+        assertThat(loadedTestOutcome.getSessionId(), is("1234"));
+    }
+
+    @Test
+    public void no_temporary_files_should_be_left_in_the_output_directory() throws Exception {
+        TestOutcome testOutcome = TestOutcome.forTest("should_do_this", SomeTestScenario.class);
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1"));
+
+        reporter.generateReportFor(testOutcome);
+        reporter.generateReportFor(testOutcome);
+
+        assertThat(outputDirectory.list().length, is(1));
+    }
+
+    @Test
+    public void reports_being_rewritten_should_never_be_read_half_written() throws Exception {
+        final TestOutcome testOutcome = TestOutcome.forTest("should_do_this", SomeTestScenario.class);
+        for (int i = 0; i < 50; i++) {
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step " + i));
+        }
+        final File xmlReport = reporter.generateReportFor(testOutcome);
+        final AtomicReference<Throwable> readError = new AtomicReference<Throwable>();
+        final AtomicBoolean writing = new AtomicBoolean(true);
+
+        Thread readerThread = new Thread() {
+            @Override
+            public void run() {
+                XMLTestOutcomeReporter reader = new XMLTestOutcomeReporter();
+                while (writing.get()) {
+                    try {
+                        assertThat(reader.loadReportFrom(xmlReport).getStepCount(), is(50));
+                    } catch (Throwable e) {
+                        readError.set(e);
+                        return;
+                    }
+                }
+            }
+        };
+        readerThread.start();
+        for (int i = 0; i < 200; i++) {
+            reporter.generateReportFor(testOutcome);
+        }
+        writing.set(false);
+        readerThread.join();
+
+        assertThat(readError.get(), is(nullValue()));
+    }
+
     private String getStringFrom(File reportFile) throws IOException {
         return FileUtils.readFileToString(reportFile);
     }
@@ -0,0 +1,122 @@
+package net.thucydides.core.reports.integration;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.issues.SystemPropertiesIssueTracking;
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.reports.AcceptanceTestReporter;
+import net.thucydides.core.reports.ReportService;
+import net.thucydides.core.reports.html.HtmlAcceptanceTestReporter;
+import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import net.thucydides.core.screenshots.ScreenshotAndHtmlSource;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenGeneratingReportsInParallel {
+
+    private static final int OUTCOME_COUNT = 2000;
+    private static final int STORY_COUNT = 100;
+    private static final String[] SCREENSHOTS = {"google_page_1.png", "google_page_2.png", "google_page_3.png"};
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    private File sequentialDirectory;
+
+    private File parallelDirectory;
+
+    private List<TestOutcome> testOutcomes;
+
+    @Before
+    public void prepareOutcomes() throws IOException {
+        sequentialDirectory = temporaryDirectory.newFolder("sequential");
+        parallelDirectory = temporaryDirectory.newFolder("parallel");
+        copyScreenshotsTo(sequentialDirectory);
+        copyScreenshotsTo(parallelDirectory);
+
+        testOutcomes = new ArrayList<TestOutcome>();
+        for (int i = 0; i < OUTCOME_COUNT; i++) {
+            testOutcomes.add(anOutcome(i));
+        }
+    }
+
+    @Test
+    public void reports_generated_in_parallel_should_be_identical_to_reports_generated_one_at_a_time() throws IOException {
+        reportServiceUsing(1, sequentialDirectory).generateReportsFor(testOutcomes);
+        reportServiceUsing(8, parallelDirectory).generateReportsFor(testOutcomes);
+
+        String[] sequentialReports = sequentialDirectory.list();
+        String[] parallelReports = parallelDirectory.list();
+        Arrays.sort(sequentialReports);
+        Arrays.sort(parallelReports);
+
+        assertThat(parallelReports.length > OUTCOME_COUNT * 2, is(true));
+        assertThat(Arrays.asList(parallelReports), is(Arrays.asList(sequentialReports)));
+        for (String report : sequentialReports) {
+            File sequentialReport = new File(sequentialDirectory, report);
+            File parallelReport = new File(parallelDirectory, report);
+            if (sequentialReport.isFile()) {
+                assertThat("Report " + report + " differs",
+                           FileUtils.contentEquals(sequentialReport, parallelReport), is(true));
+            }
+        }
+    }
+
+    private ReportService reportServiceUsing(final int threads, final File outputDirectory) {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty(ThucydidesSystemProperty.REPORT_THREADS.getPropertyName(),
+                                         Integer.toString(threads));
+        List<AcceptanceTestReporter> reporters = new ArrayList<AcceptanceTestReporter>();
+        reporters.add(new XMLTestOutcomeReporter());
+        reporters.add(new HtmlAcceptanceTestReporter(environmentVariables,
+                                                     new SystemPropertiesIssueTracking(environmentVariables)));
+        return new ReportService(outputDirectory, reporters, environmentVariables);
+    }
+
+    private TestOutcome anOutcome(final int testNumber) {
+        int storyNumber = testNumber % STORY_COUNT;
+        Story story = Story.withId("net.thucydides.parallel.Story" + storyNumber, "Story " + storyNumber);
+        TestOutcome testOutcome = TestOutcome.forTestInStory("test_number_" + testNumber, story);
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("Step 1 of test " + testNumber));
+        if (testNumber % 5 == 0) {
+            testOutcome.recordStep(TestStepFactory.failingTestStepCalled("Step 2 of test " + testNumber));
+        } else if (testNumber % 7 == 0) {
+            testOutcome.recordStep(TestStepFactory.pendingTestStepCalled("Step 2 of test " + testNumber));
+        } else {
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("Step 2 of test " + testNumber));
+        }
+        if (testNumber % 200 == 0) {
+            testOutcome.recordStep(aStepWithScreenshots("Step 3 of test " + testNumber));
+        }
+        return testOutcome;
+    }
+
+    private TestStep aStepWithScreenshots(final String description) {
+        TestStep step = TestStepFactory.successfulTestStepCalled(description);
+        for (String screenshot : SCREENSHOTS) {
+            step.addScreenshot(new ScreenshotAndHtmlSource(new File(screenshot), new File(screenshot + ".html")));
+        }
+        return step;
+    }
+
+    private void copyScreenshotsTo(final File directory) throws IOException {
+        for (String screenshot : SCREENSHOTS) {
+            File sourceFile = new File(getClass().getResource("/screenshots/" + screenshot).getPath());
+            FileUtils.copyFileToDirectory(sourceFile, directory);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package net.thucydides.core.reports.integration;
+
+import net.thucydides.core.model.StoryTestResults;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.TestOutcomeRepository;
+import net.thucydides.core.reports.xml.NotAThucydidesReportException;
+import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenLoadingTestOutcomesIntoARepository {
+
+    private static final int OUTCOME_COUNT = 5000;
+    private static final int STORY_COUNT = 50;
+    private static final int FEATURE_COUNT = 5;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    File reportDirectory;
+
+    static class CountingTestOutcomeReporter extends XMLTestOutcomeReporter {
+
+        final ConcurrentMap<File, AtomicInteger> loadCounts = new ConcurrentHashMap<File, AtomicInteger>();
+
+        @Override
+        public TestOutcome loadReportFrom(File reportFile) throws NotAThucydidesReportException, IOException {
+            loadCounts.putIfAbsent(reportFile, new AtomicInteger());
+            loadCounts.get(reportFile).incrementAndGet();
+            return super.loadReportFrom(reportFile);
+        }
+    }
+
+    @Before
+    public void generateTestOutcomes() throws IOException {
+        reportDirectory = temporaryFolder.newFolder("reports");
+        for (int i = 0; i < OUTCOME_COUNT; i++) {
+            FileUtils.writeStringToFile(new File(reportDirectory, "outcome-" + i + ".xml"), outcomeReport(i));
+        }
+        FileUtils.writeStringToFile(new File(reportDirectory, "some-other-xml-file.xml"), "<forest><tree id='1'/></forest>");
+    }
+
+    private String outcomeReport(int outcomeNumber) {
+        int storyNumber = outcomeNumber % STORY_COUNT;
+        int featureNumber = storyNumber % FEATURE_COUNT;
+        return "<acceptance-test-run title='Test " + outcomeNumber + "' name='test_" + outcomeNumber + "'"
+               + " steps='1' successful='1' failures='0' skipped='0' ignored='0' pending='0' result='SUCCESS'>"
+               + "  <user-story id='net.thucydides.samples.Feature" + featureNumber + ".Story" + storyNumber + "'"
+               + "              name='Story " + storyNumber + "'>"
+               + "    <feature id='net.thucydides.samples.Feature" + featureNumber + "' name='Feature " + featureNumber + "'/>"
+               + "  </user-story>"
+               + "  <test-step result='SUCCESS'><description>Step " + outcomeNumber + "</description></test-step>"
+               + "</acceptance-test-run>";
+    }
+
+    @Test
+    public void each_report_file_should_only_be_read_once() throws IOException {
+        CountingTestOutcomeReporter reporter = new CountingTestOutcomeReporter();
+
+        TestOutcomeRepository repository = TestOutcomeRepository.loadFrom(reportDirectory, reporter);
+
+        assertThat(repository.getTestOutcomes().size(), is(OUTCOME_COUNT));
+        assertThat(reporter.loadCounts.size(), is(OUTCOME_COUNT + 1));
+        for (AtomicInteger loadCount : reporter.loadCounts.values()) {
+            assertThat(loadCount.get(), is(1));
+        }
+    }
+
+    @Test
+    public void the_outcomes_should_be_grouped_by_story_and_by_feature() throws IOException {
+        TestOutcomeRepository repository = TestOutcomeRepository.loadFrom(reportDirectory);
+
+        assertThat(repository.getStoryResults().size(), is(STORY_COUNT));
+        assertThat(repository.getFeatureResults().size(), is(FEATURE_COUNT));
+        for (StoryTestResults story : repository.getStoryResults()) {
+            assertThat(story.getTestOutcomes().size(), is(OUTCOME_COUNT / STORY_COUNT));
+        }
+    }
+
+    @Test
+    public void an_empty_repository_should_be_returned_if_the_directory_does_not_exist() throws IOException {
+        TestOutcomeRepository repository = TestOutcomeRepository.loadFrom(new File("does/not/exist"));
+
+        assertThat(repository.getTestOutcomes().size(), is(0));
+        assertThat(repository.getStoryResults().size(), is(0));
+    }
+}
@@ -0,0 +1,222 @@
+package net.thucydides.core.scheduling;
+
+import net.thucydides.core.steps.StepEventBus;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class WhenPollingAdaptively {
+
+    @Mock
+    WebDriver driver;
+
+    FakeClock clock;
+
+    RecordingSleeper sleeper;
+
+    class ATestClass {
+        public void someTest() {}
+    }
+
+    /**
+     * A clock that only moves when the sleeper sleeps.
+     */
+    class FakeClock implements Clock {
+        long now = 0;
+
+        public long now() {
+            return now;
+        }
+
+        public long laterBy(long durationInMillis) {
+            return now + durationInMillis;
+        }
+
+        public boolean isNowBefore(long endInMillis) {
+            return now < endInMillis;
+        }
+    }
+
+    class RecordingSleeper implements Sleeper {
+        List<Long> pauses = new ArrayList<Long>();
+
+        public void sleep(Duration duration) {
+            pauses.add(duration.in(TimeUnit.MILLISECONDS));
+            clock.now += duration.in(TimeUnit.MILLISECONDS);
+        }
+    }
+
+    class ReadyAfter implements ExpectedCondition<Boolean> {
+        final long readyTime;
+        long readyWhenChecked = -1;
+        int checks = 0;
+
+        ReadyAfter(long readyTime) {
+            this.readyTime = readyTime;
+        }
+
+        public Boolean apply(WebDriver driver) {
+            checks++;
+            if (clock.now() >= readyTime) {
+                readyWhenChecked = clock.now();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A browser whose page never changes, and which counts the scripts it is asked to run.
+     */
+    class ScriptCountingDriver extends HtmlUnitDriver {
+        int scripts = 0;
+
+        ScriptCountingDriver() {
+            super(true);
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            scripts++;
+            return "page:0";
+        }
+    }
+
+    @Before
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+        clock = new FakeClock();
+        sleeper = new RecordingSleeper();
+
+        StepEventBus.getEventBus().clear();
+        StepEventBus.getEventBus().testSuiteStarted(ATestClass.class);
+        StepEventBus.getEventBus().testStarted("someTest");
+    }
+
+    @Test
+    public void should_double_the_polling_interval_up_to_the_maximum_interval() {
+        new NormalFluentWait<WebDriver>(driver, clock, sleeper)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingAdaptively(10, 250, TimeUnit.MILLISECONDS)
+                .until(new ReadyAfter(1000));
+
+        assertThat(sleeper.pauses.subList(0, 7)).containsExactly(10L, 20L, 40L, 80L, 160L, 250L, 250L);
+    }
+
+    @Test
+    public void should_notice_a_condition_sooner_than_when_polling_at_the_maximum_interval() {
+        ReadyAfter conditionCheckedAdaptively = new ReadyAfter(120);
+        new NormalFluentWait<WebDriver>(driver, clock, sleeper)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingAdaptively(10, 250, TimeUnit.MILLISECONDS)
+                .until(conditionCheckedAdaptively);
+
+        clock.now = 0;
+        ReadyAfter conditionCheckedAtFixedIntervals = new ReadyAfter(120);
+        new NormalFluentWait<WebDriver>(driver, clock, sleeper)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingEvery(250, TimeUnit.MILLISECONDS)
+                .until(conditionCheckedAtFixedIntervals);
+
+        assertThat(conditionCheckedAdaptively.readyWhenChecked).isEqualTo(150);
+        assertThat(conditionCheckedAtFixedIntervals.readyWhenChecked).isEqualTo(250);
+    }
+
+    @Test
+    public void should_check_a_slow_condition_less_often_than_when_polling_at_the_initial_interval() {
+        ReadyAfter conditionCheckedAdaptively = new ReadyAfter(3000);
+        new NormalFluentWait<WebDriver>(driver, clock, sleeper)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingAdaptively(10, 250, TimeUnit.MILLISECONDS)
+                .until(conditionCheckedAdaptively);
+
+        assertThat(conditionCheckedAdaptively.checks).isLessThan(20);
+        assertThat(conditionCheckedAdaptively.readyWhenChecked).isLessThan(3250);
+    }
+
+    @Test
+    public void should_start_again_from_the_initial_interval_for_each_wait() {
+        NormalFluentWait<WebDriver> waitFor = new NormalFluentWait<WebDriver>(driver, clock, sleeper);
+        waitFor.withTimeout(5, TimeUnit.SECONDS).pollingAdaptively(10, 250, TimeUnit.MILLISECONDS);
+
+        waitFor.until(new ReadyAfter(100));
+        sleeper.pauses.clear();
+        waitFor.until(new ReadyAfter(clock.now() + 100));
+
+        assertThat(sleeper.pauses.get(0)).isEqualTo(10L);
+    }
+
+    @Test
+    public void should_poll_at_a_fixed_interval_if_one_is_requested_for_a_wait() {
+        new NormalFluentWait<WebDriver>(driver, clock, sleeper)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingAdaptively(10, 250, TimeUnit.MILLISECONDS)
+                .pollingEvery(100).milliseconds()
+                .until(new ReadyAfter(300));
+
+        assertThat(sleeper.pauses).containsExactly(100L, 100L, 100L);
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void should_still_time_out_when_polling_adaptively() {
+        new NormalFluentWait<WebDriver>(driver, clock, sleeper)
+                .withTimeout(1, TimeUnit.SECONDS)
+                .pollingAdaptively(10, 250, TimeUnit.MILLISECONDS)
+                .until(new ReadyAfter(5000));
+    }
+
+    @Test
+    public void should_pause_between_checks_if_the_page_changes_cannot_be_observed() {
+        new FluentWaitOnPageChanges<WebDriver>(driver, clock, sleeper)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingEvery(100, TimeUnit.MILLISECONDS)
+                .until(new ReadyAfter(200));
+
+        assertThat(sleeper.pauses).containsExactly(100L, 100L);
+    }
+
+    @Test
+    public void should_read_the_page_changes_less_and_less_often_during_a_wait() {
+        ScriptCountingDriver browser = new ScriptCountingDriver();
+        try {
+            new FluentWaitOnPageChanges<WebDriver>(browser, clock, sleeper)
+                    .withTimeout(5, TimeUnit.SECONDS)
+                    .pollingEvery(1, TimeUnit.SECONDS)
+                    .until(new ReadyAfter(1000));
+
+            assertThat(sleeper.pauses).containsExactly(25L, 50L, 100L, 200L, 400L, 225L);
+            assertThat(browser.scripts).isEqualTo(7);
+        } finally {
+            browser.quit();
+        }
+    }
+
+    @Test
+    public void should_read_the_page_changes_at_most_a_few_times_a_second_during_a_long_wait() {
+        ScriptCountingDriver browser = new ScriptCountingDriver();
+        try {
+            new FluentWaitOnPageChanges<WebDriver>(browser, clock, sleeper)
+                    .withTimeout(20, TimeUnit.SECONDS)
+                    .pollingEvery(10, TimeUnit.SECONDS)
+                    .until(new ReadyAfter(10000));
+
+            assertThat(browser.scripts).isEqualTo(25);
+        } finally {
+            browser.quit();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package net.thucydides.core.scheduling.integration;
+
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import net.thucydides.core.scheduling.FluentWaitOnPageChanges;
+import net.thucydides.core.scheduling.NormalFluentWait;
+import net.thucydides.core.scheduling.ThucydidesFluentWait;
+import net.thucydides.core.steps.StepEventBus;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class WhenWaitingForPageChanges {
+
+    private static final long PAGE_CHANGE_DELAY = 1000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    HtmlUnitDriver driver;
+
+    int checks;
+
+    class ATestClass {
+        public void someTest() {}
+    }
+
+    @Before
+    public void openPageThatChangesOnATimer() throws IOException {
+        StepEventBus.getEventBus().clear();
+        StepEventBus.getEventBus().testSuiteStarted(ATestClass.class);
+        StepEventBus.getEventBus().testStarted("someTest");
+
+        driver = new HtmlUnitDriver(true);
+        driver.get(aPageThatChangesAfter(PAGE_CHANGE_DELAY).toURI().toString());
+    }
+
+    @After
+    public void closeDriver() {
+        driver.quit();
+    }
+
+    @Test
+    public void should_check_the_condition_again_as_soon_as_the_page_changes() {
+        ThucydidesFluentWait<WebDriver> waitForPageChanges
+                = new FluentWaitOnPageChanges<WebDriver>(driver, new SystemClock(), Sleeper.SYSTEM_SLEEPER)
+                        .withTimeout(20, TimeUnit.SECONDS)
+                        .pollingEvery(10, TimeUnit.SECONDS);
+
+        long elapsedTime = timeToWaitWith(waitForPageChanges);
+
+        assertThat(elapsedTime).isLessThan(PAGE_CHANGE_DELAY + 4000);
+        assertThat(checks).isLessThan(5);
+    }
+
+    /**
+     * Fails if anything tries to change the timeouts of the browser.
+     */
+    class DriverWithFixedTimeouts extends HtmlUnitDriver {
+        DriverWithFixedTimeouts() {
+            super(true);
+        }
+
+        @Override
+        public Options manage() {
+            throw new AssertionError("The timeouts of the driver should not be changed");
+        }
+    }
+
+    @Test
+    public void should_leave_the_timeouts_of_the_driver_unchanged() throws IOException {
+        HtmlUnitDriver driverWithFixedTimeouts = new DriverWithFixedTimeouts();
+        try {
+            driverWithFixedTimeouts.get(aPageThatChangesAfter(PAGE_CHANGE_DELAY).toURI().toString());
+            ThucydidesFluentWait<WebDriver> waitForPageChanges
+                    = new FluentWaitOnPageChanges<WebDriver>(driverWithFixedTimeouts,
+                                                             new SystemClock(), Sleeper.SYSTEM_SLEEPER)
+                            .withTimeout(20, TimeUnit.SECONDS)
+                            .pollingEvery(10, TimeUnit.SECONDS);
+
+            long elapsedTime = timeToWaitWith(waitForPageChanges);
+
+            assertThat(elapsedTime).isLessThan(PAGE_CHANGE_DELAY + 4000);
+        } finally {
+            driverWithFixedTimeouts.quit();
+        }
+    }
+
+    @Test
+    public void should_use_dom_mutation_events_where_they_are_supported() throws IOException {
+        HtmlUnitDriver firefoxDriver = new HtmlUnitDriver(BrowserVersion.FIREFOX_3_6);
+        try {
+            firefoxDriver.setJavascriptEnabled(true);
+            firefoxDriver.get(aPageThatChangesAfter(PAGE_CHANGE_DELAY).toURI().toString());
+            ThucydidesFluentWait<WebDriver> waitForPageChanges
+                    = new FluentWaitOnPageChanges<WebDriver>(firefoxDriver, new SystemClock(), Sleeper.SYSTEM_SLEEPER)
+                            .withTimeout(20, TimeUnit.SECONDS)
+                            .pollingEvery(10, TimeUnit.SECONDS);
+
+            long elapsedTime = timeToWaitWith(waitForPageChanges);
+
+            assertThat(elapsedTime).isLessThan(PAGE_CHANGE_DELAY + 4000);
+            assertThat(checks).isLessThan(5);
+        } finally {
+            firefoxDriver.quit();
+        }
+    }
+
+    @Test
+    public void should_check_the_condition_less_often_than_when_polling_quickly() {
+        timeToWaitWith(new NormalFluentWait<WebDriver>(driver)
+                               .withTimeout(5, TimeUnit.SECONDS)
+                               .pollingEvery(10, TimeUnit.MILLISECONDS));
+        int checksWhenPolling = checks;
+
+        driver.navigate().refresh();
+        checks = 0;
+        long elapsedTimeWhenWaitingForChanges = timeToWaitWith(new FluentWaitOnPageChanges<WebDriver>(driver,
+                                                                       new SystemClock(), Sleeper.SYSTEM_SLEEPER)
+                                                                       .withTimeout(5, TimeUnit.SECONDS)
+                                                                       .pollingEvery(1, TimeUnit.SECONDS));
+
+        assertThat(elapsedTimeWhenWaitingForChanges).isLessThan(PAGE_CHANGE_DELAY + 2000);
+        assertThat(checks).isLessThan(checksWhenPolling);
+    }
+
+    @Test
+    public void should_check_the_condition_sooner_when_polling_adaptively_than_at_the_maximum_interval() {
+        long elapsedTimeWithAdaptivePolling = timeToWaitWith(new NormalFluentWait<WebDriver>(driver)
+                                                                  .withTimeout(10, TimeUnit.SECONDS)
+                                                                  .pollingAdaptively(10, 2000, TimeUnit.MILLISECONDS));
+        driver.navigate().refresh();
+        long elapsedTimeWithFixedPolling = timeToWaitWith(new NormalFluentWait<WebDriver>(driver)
+                                                               .withTimeout(10, TimeUnit.SECONDS)
+                                                               .pollingEvery(2000, TimeUnit.MILLISECONDS));
+
+        assertThat(elapsedTimeWithAdaptivePolling).isLessThan(elapsedTimeWithFixedPolling);
+    }
+
+    @Test
+    public void should_pause_between_checks_if_javascript_is_disabled() {
+        HtmlUnitDriver driverWithoutJavascript = new HtmlUnitDriver();
+        try {
+            ThucydidesFluentWait<WebDriver> waitForPageChanges
+                    = new FluentWaitOnPageChanges<WebDriver>(driverWithoutJavascript,
+                                                             new SystemClock(), Sleeper.SYSTEM_SLEEPER)
+                            .withTimeout(1, TimeUnit.SECONDS)
+                            .pollingEvery(100, TimeUnit.MILLISECONDS);
+
+            waitForPageChanges.until(new ExpectedCondition<Boolean>() {
+                public Boolean apply(WebDriver driver) {
+                    checks++;
+                    return checks > 3;
+                }
+            });
+            assertThat(checks).isEqualTo(4);
+        } finally {
+            driverWithoutJavascript.quit();
+        }
+    }
+
+    private long timeToWaitWith(ThucydidesFluentWait<WebDriver> waitForChange) {
+        long start = System.currentTimeMillis();
+        waitForChange.until(new ExpectedCondition<Boolean>() {
+            public Boolean apply(WebDriver driver) {
+                checks++;
+                return !driver.findElements(By.id("changed")).isEmpty();
+            }
+        });
+        return System.currentTimeMillis() - start;
+    }
+
+    private File aPageThatChangesAfter(long delay) throws IOException {
+        String html = "<html><head><script type='text/javascript'>\n"
+                    + "function changePage() {\n"
+                    + "    var message = document.createElement('div');\n"
+                    + "    message.id = 'changed';\n"
+                    + "    message.appendChild(document.createTextNode('The page has changed'));\n"
+                    + "    document.body.appendChild(message);\n"
+                    + "}\n"
+                    + "</script></head>\n"
+                    + "<body onload='setTimeout(changePage, " + delay + ")'><div id='content'>Waiting</div></body>"
+                    + "</html>";
+        File pageFile = File.createTempFile("changing-page", ".html", temporaryFolder.getRoot());
+        FileUtils.writeStringToFile(pageFile, html);
+        return pageFile;
+    }
+}
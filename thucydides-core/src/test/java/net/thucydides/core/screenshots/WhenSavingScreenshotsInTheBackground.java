@@ -0,0 +1,215 @@
+package net.thucydides.core.screenshots;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.firefox.FirefoxDriver;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+public class WhenSavingScreenshotsInTheBackground {
+
+    private static final int STEP_COUNT = 10;
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    private File screenshotDirectory;
+    private byte[] screenshotTaken;
+
+    @Mock
+    private FirefoxDriver driver;
+
+    @Before
+    public void initMocks() throws IOException {
+        MockitoAnnotations.initMocks(this);
+        screenshotDirectory = temporaryDirectory.newFolder("screenshots");
+        screenshotTaken = new byte[10000];
+        screenshotTaken[0] = 42;
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotTaken);
+        when(driver.getPageSource()).thenReturn("<html/>");
+    }
+
+    private void driverReturnsADifferentScreenshotEachTime() {
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenAnswer(new Answer<byte[]>() {
+            private int screenshotNumber = 0;
+
+            public byte[] answer(InvocationOnMock invocation) {
+                byte[] screenshot = new byte[10000];
+                screenshot[0] = (byte) screenshotNumber;
+                screenshot[1] = (byte) (screenshotNumber / 256);
+                screenshotNumber++;
+                return screenshot;
+            }
+        });
+    }
+
+    @Test
+    public void the_screenshot_should_be_saved_once_the_processor_has_finished() throws IOException {
+        ScreenshotProcessor processor = new MultithreadScreenshotProcessor();
+        Photographer photographer = new Photographer(driver, screenshotDirectory, processor);
+
+        File screenshot = photographer.takeScreenshot("screenshot");
+        processor.waitUntilDone();
+
+        assertThat(screenshot.isFile(), is(true));
+        assertThat(FileUtils.readFileToByteArray(screenshot), is(screenshotTaken));
+    }
+
+    @Test
+    public void the_page_source_should_be_saved_with_the_screenshot() throws IOException {
+        ScreenshotProcessor processor = new MultithreadScreenshotProcessor();
+        Photographer photographer = new Photographer(driver, screenshotDirectory, processor);
+
+        File screenshot = photographer.takeScreenshot("screenshot");
+        processor.waitUntilDone();
+
+        File htmlSource = photographer.getMatchingSourceCodeFor(screenshot);
+        assertThat(FileUtils.readFileToString(htmlSource), is("<html/>"));
+    }
+
+    @Test
+    public void identical_screenshots_saved_at_the_same_time_should_leave_a_single_complete_file()
+            throws InterruptedException, IOException {
+        final File screenshotFile = new File(screenshotDirectory, "screenshot-identical.png");
+        final File sourceFile = new File(screenshotDirectory, "screenshot-identical.html");
+        final CountDownLatch writersCanStart = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            writers.add(new Thread() {
+                public void run() {
+                    try {
+                        writersCanStart.await();
+                        new QueuedScreenshot(screenshotTaken, screenshotFile, "<html/>", sourceFile).save();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        writersCanStart.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertThat(screenshotDirectory.list().length, is(2));
+        assertThat(FileUtils.readFileToByteArray(screenshotFile), is(screenshotTaken));
+    }
+
+    @Test
+    public void a_screenshot_that_has_already_been_saved_should_not_be_written_again() throws IOException {
+        File screenshotFile = new File(screenshotDirectory, "screenshot-existing.png");
+        FileUtils.writeByteArrayToFile(screenshotFile, screenshotTaken);
+        screenshotFile.setLastModified(0);
+
+        new QueuedScreenshot(screenshotTaken, screenshotFile, "<html/>",
+                             new File(screenshotDirectory, "screenshot-existing.html")).save();
+
+        assertThat(screenshotFile.lastModified(), is(0L));
+        assertThat(screenshotDirectory.list().length, is(1));
+    }
+
+    @Test
+    public void the_test_thread_should_not_wait_for_the_screenshot_to_be_written() throws IOException {
+        final CountDownLatch writersCanProceed = new CountDownLatch(1);
+        ScreenshotProcessor processor = new MultithreadScreenshotProcessor() {
+            @Override
+            protected void saveScreenshot(QueuedScreenshot queuedScreenshot) {
+                try {
+                    writersCanProceed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.saveScreenshot(queuedScreenshot);
+            }
+        };
+        Photographer photographer = new Photographer(driver, screenshotDirectory, processor);
+
+        File screenshot = photographer.takeScreenshot("screenshot");
+
+        assertThat(screenshot.exists(), is(false));
+        assertThat(processor.isEmpty(), is(false));
+
+        writersCanProceed.countDown();
+        processor.waitUntilDone();
+
+        assertThat(screenshot.isFile(), is(true));
+        assertThat(processor.isEmpty(), is(true));
+    }
+
+    @Test
+    public void all_the_screenshots_should_be_saved_even_when_the_queue_is_full() {
+        driverReturnsADifferentScreenshotEachTime();
+        ScreenshotProcessor processor = new MultithreadScreenshotProcessor(1, 2);
+        Photographer photographer = new Photographer(driver, screenshotDirectory, processor);
+
+        for (int i = 0; i < 100; i++) {
+            photographer.takeScreenshot("screenshot");
+        }
+        processor.waitUntilDone();
+
+        assertThat(screenshotDirectory.listFiles().length, is(200));
+    }
+
+    @Test(timeout = 10000)
+    public void steps_should_not_wait_for_the_screenshots_to_be_written() {
+        driverReturnsADifferentScreenshotEachTime();
+        final CountDownLatch writersCanFinish = new CountDownLatch(1);
+        ScreenshotProcessor backgroundProcessor = new MultithreadScreenshotProcessor(2, STEP_COUNT) {
+            @Override
+            protected void saveScreenshot(QueuedScreenshot queuedScreenshot) {
+                waitFor(writersCanFinish);
+                super.saveScreenshot(queuedScreenshot);
+            }
+        };
+        Photographer photographer = new Photographer(driver, screenshotDirectory, backgroundProcessor);
+
+        for (int i = 0; i < STEP_COUNT; i++) {
+            photographer.takeScreenshot("screenshot");
+        }
+
+        assertThat(backgroundProcessor.isEmpty(), is(false));
+        assertThat(screenshotsIn(screenshotDirectory).length, is(0));
+
+        writersCanFinish.countDown();
+        backgroundProcessor.waitUntilDone();
+
+        assertThat(backgroundProcessor.isEmpty(), is(true));
+        assertThat(screenshotsIn(screenshotDirectory).length, is(STEP_COUNT));
+    }
+
+    private File[] screenshotsIn(File directory) {
+        return directory.listFiles(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".png");
+            }
+        });
+    }
+
+    private void waitFor(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -137,23 +137,38 @@ public class WhenScreenshotsAreTaken {
     }
 
     @Test
-    public void successive_screenshots_should_have_different_names() throws IOException {
+    public void successive_different_screenshots_should_have_different_names() throws IOException {
+
+        byte[] differentScreenshot = new byte[10000];
+        differentScreenshot[0] = 1;
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotTaken, differentScreenshot);
 
-        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotTaken);
-        
         String screenshotName1 = photographer.takeScreenshot("screenshot").getName();
         String screenshotName2 = photographer.takeScreenshot("screenshot").getName();
         
         assertThat(screenshotName1, is(not((screenshotName2))));
     }
 
+    @Test
+    public void identical_screenshots_should_share_the_same_file() throws IOException {
+
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotTaken);
+        when(driver.getPageSource()).thenReturn("<html/>");
+
+        String screenshotName1 = photographer.takeScreenshot("screenshot").getName();
+        String screenshotName2 = photographer.takeScreenshot("another_screenshot").getName();
+
+        assertThat(screenshotName1, is(screenshotName2));
+        assertThat(screenshotDirectory.list().length, is(2));
+    }
+
     @Test
     public void calling_api_generates_a_filename_safe_hashed_name_for_the_screenshot() throws IOException {
         when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotTaken);
 
         String screenshotFile = photographer.takeScreenshot("test1_finished").getName();
         
-        assertThat(screenshotFile, startsWith("screenshot-989da2d4"));
+        assertThat(screenshotFile, is("screenshot-b85d6fb9ef4260dcf1ce0a1b0bff80d3.png"));
     }
     
     @Test
@@ -171,7 +186,7 @@ public class WhenScreenshotsAreTaken {
         }
 
         @Override
-        protected File saveScreenshoot(String prefix, File screenshot) throws IOException {
+        protected File saveScreenshoot(byte[] screenshotData) throws IOException {
             throw new IOException();
         }
     }
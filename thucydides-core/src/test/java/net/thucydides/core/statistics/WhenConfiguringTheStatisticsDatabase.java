@@ -52,6 +52,39 @@ public class WhenConfiguringTheStatisticsDatabase {
         assertThat(properties.getProperty("hibernate.hbm2ddl.auto"), is("update"));
     }
 
+    @Test
+    public void should_batch_and_order_inserts_by_default() {
+        Properties properties = DatabaseConfig.usingPropertiesFrom(environmentVariables).getProperties();
+
+        assertThat(properties.getProperty("hibernate.jdbc.batch_size"), is("50"));
+        assertThat(properties.getProperty("hibernate.order_inserts"), is("true"));
+    }
+
+    @Test
+    public void should_allow_the_batch_size_to_be_configured() {
+        environmentVariables.setProperty("thucydides.statistics.batch_size", "200");
+
+        Properties properties = DatabaseConfig.usingPropertiesFrom(environmentVariables).getProperties();
+
+        assertThat(properties.getProperty("hibernate.jdbc.batch_size"), is("200"));
+    }
+
+    @Test
+    public void should_keep_several_connections_open_by_default() {
+        Properties properties = DatabaseConfig.usingPropertiesFrom(environmentVariables).getProperties();
+
+        assertThat(properties.getProperty("hibernate.connection.pool_size"), is("10"));
+    }
+
+    @Test
+    public void should_allow_the_connection_pool_size_to_be_configured() {
+        environmentVariables.setProperty("thucydides.statistics.pool_size", "20");
+
+        Properties properties = DatabaseConfig.usingPropertiesFrom(environmentVariables).getProperties();
+
+        assertThat(properties.getProperty("hibernate.connection.pool_size"), is("20"));
+    }
+
     @Test
     public void should_validate_but_not_update_an_existing_custom_database() throws SQLException {
         String preexistingDatabaseUrl = "jdbc:hsqldb:mem:stats";
@@ -298,7 +298,7 @@ public class WhenRecordingTestResultStatistics {
         assertThat(testStatistics.getTotalTestRuns(), is(56L));
         assertThat(testStatistics.getPassingTestRuns(), is(32L));
         assertThat(testStatistics.getFailingTestRuns(), is(22L));
-        assertThat(testStatistics.getTags().size(), is(2));
+        assertThat(testStatistics.getTags().size(), is(1));
     }
 
     @Test
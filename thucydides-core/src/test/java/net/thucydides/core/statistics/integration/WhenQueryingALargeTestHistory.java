@@ -0,0 +1,363 @@
+package net.thucydides.core.statistics.integration;
+
+import net.thucydides.core.guice.DatabaseConfig;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.pages.InternalSystemClock;
+import net.thucydides.core.statistics.TestStatisticsProvider;
+import net.thucydides.core.statistics.With;
+import net.thucydides.core.statistics.dao.HibernateTestOutcomeHistoryDAO;
+import net.thucydides.core.statistics.model.TestRun;
+import net.thucydides.core.statistics.model.TestRunTag;
+import net.thucydides.core.statistics.model.TestStatistics;
+import net.thucydides.core.statistics.service.TagProvider;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class WhenQueryingALargeTestHistory {
+
+    private static final String PROJECT_KEY = "HISTORY";
+    private static final int TEST_RUNS = 100000;
+    private static final int TITLES = 100;
+    private static final int FEATURES = 20;
+    private static final int STORIES = 7;
+    /*
+     * Two runs of each feature share every execution date, so the latest run is the one stored last.
+     */
+    private static final int RUNS_PER_EXECUTION_DATE = 2 * FEATURES;
+    private static final long FIRST_EXECUTION_DATE = 1325376000000L;
+
+    private static final TestResult[] RESULTS = {TestResult.SUCCESS, TestResult.FAILURE, TestResult.SUCCESS,
+                                                 TestResult.PENDING, TestResult.IGNORED, TestResult.SUCCESS,
+                                                 TestResult.SKIPPED};
+
+    /*
+     * The queries used before the statistics queries were rewritten.
+     */
+    private static final String ORIGINAL_COUNT_BY_TAG_TYPE
+            = "select count(test) from TestRun test " +
+            " left outer join test.tags as tag " +
+            "where tag.type = :type " +
+            "and test.projectKey = :projectKey " +
+            "and test.executionDate = " +
+            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+
+    private static final String ORIGINAL_COUNT_BY_TAG_TYPE_AND_RESULT
+            = "select count(test) from TestRun test " +
+            " left outer join test.tags as tag " +
+            "where tag.type = :type " +
+            "and test.result = :result " +
+            "and test.projectKey = :projectKey " +
+            "and test.executionDate = " +
+            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+
+    private static final String ORIGINAL_RESULTS_BY_TAG_TYPE
+            = "select test.result from TestRun test " +
+            " left outer join test.tags as tag " +
+            "where tag.type = :type " +
+            "and test.projectKey = :projectKey " +
+            "order by test.executionDate desc";
+
+    private static final String ORIGINAL_LATEST_TEST_BY_TAG_TYPE
+            = "select test from TestRun test " +
+            " left outer join test.tags as tag " +
+            "where tag.type = :type " +
+            "and test.projectKey = :projectKey " +
+            "and test.executionDate = " +
+            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+
+    private static final String ORIGINAL_COUNT_BY_TAG
+            = "select count(test) from TestRun test " +
+            " left outer join test.tags as tag " +
+            "where tag.name = :name " +
+            "and test.projectKey = :projectKey " +
+            "and test.executionDate = " +
+            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+
+    private static final String ORIGINAL_COUNT_BY_TAG_AND_RESULT
+            = "select count(test) from TestRun test " +
+            " left outer join test.tags as tag " +
+            "where tag.name = :name " +
+            "and test.result = :result " +
+            "and test.projectKey = :projectKey " +
+            "and test.executionDate = " +
+            "(select max(tt.executionDate) from TestRun tt where tt.id = test.id)";
+
+    private static final String ORIGINAL_RESULTS_BY_TITLE
+            = "select test.result from TestRun test " +
+            "where test.title = :title " +
+            "and test.projectKey = :projectKey " +
+            "order by test.executionDate desc";
+
+    private static EntityManagerFactory entityManagerFactory;
+    private static Statistics statistics;
+
+    private EntityManager entityManager;
+    private HibernateTestOutcomeHistoryDAO dao;
+    private TestStatisticsProvider testStatisticsProvider;
+
+    @BeforeClass
+    public static void createTestHistory() throws SQLException {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("thucydides.statistics.url", "jdbc:hsqldb:mem:largehistory");
+        DatabaseConfig databaseConfig = DatabaseConfig.usingPropertiesFrom(environmentVariables);
+        Properties properties = databaseConfig.getProperties();
+        entityManagerFactory = Persistence.createEntityManagerFactory("db-manager", properties);
+        databaseConfig.addMissingIndexes(properties);
+        statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:largehistory", "sa", "");
+        try {
+            insertTags(connection);
+            insertTestRuns(connection);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @AfterClass
+    public static void closeDatabase() {
+        entityManagerFactory.close();
+    }
+
+    @Before
+    public void createProvider() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("thucydides.project.key", PROJECT_KEY);
+        entityManager = entityManagerFactory.createEntityManager();
+        dao = new HibernateTestOutcomeHistoryDAO(entityManager, environmentVariables, new InternalSystemClock(),
+                                                 new ArrayList<TagProvider>());
+        testStatisticsProvider = new TestStatisticsProvider(dao);
+    }
+
+    @Test
+    public void statistics_for_a_tag_type_should_match_the_original_queries() {
+        TestStatistics testStatistics = testStatisticsProvider.statisticsForTests(With.tagType("feature"));
+
+        assertThat(testStatistics.getTotalTestRuns(), is(count(ORIGINAL_COUNT_BY_TAG_TYPE, "type", "feature", null)));
+        assertThat(testStatistics.getPassingTestRuns(),
+                   is(count(ORIGINAL_COUNT_BY_TAG_TYPE_AND_RESULT, "type", "feature", TestResult.SUCCESS)));
+        assertThat(testStatistics.getFailingTestRuns(),
+                   is(count(ORIGINAL_COUNT_BY_TAG_TYPE_AND_RESULT, "type", "feature", TestResult.FAILURE)));
+        assertThat(testStatistics.getPendingTestRuns(),
+                   is(count(ORIGINAL_COUNT_BY_TAG_TYPE_AND_RESULT, "type", "feature", TestResult.PENDING)));
+        assertThat(sorted(dao.getResultsForTestsWithTagType("feature")),
+                   is(sorted(results(ORIGINAL_RESULTS_BY_TAG_TYPE, "type", "feature"))));
+    }
+
+    @Test
+    public void statistics_for_a_tag_should_match_the_original_queries() {
+        TestStatistics testStatistics = testStatisticsProvider.statisticsForTests(With.tag("feature-3"));
+
+        assertThat(testStatistics.getTotalTestRuns(), is(count(ORIGINAL_COUNT_BY_TAG, "name", "feature-3", null)));
+        assertThat(testStatistics.getPassingTestRuns(),
+                   is(count(ORIGINAL_COUNT_BY_TAG_AND_RESULT, "name", "feature-3", TestResult.SUCCESS)));
+        assertThat(testStatistics.getFailingTestRuns(),
+                   is(count(ORIGINAL_COUNT_BY_TAG_AND_RESULT, "name", "feature-3", TestResult.FAILURE)));
+    }
+
+    @Test
+    public void results_for_a_test_should_match_the_original_query_with_the_most_recent_first() {
+        TestStatistics testStatistics = testStatisticsProvider.statisticsForTests(With.title("Test 42"));
+        List<TestResult> results = dao.getResultsTestWithTitle("Test 42");
+
+        assertThat(results, is(results(ORIGINAL_RESULTS_BY_TITLE, "title", "Test 42")));
+        assertThat(results.get(0), is(resultOf(latestRunWithTitle(42))));
+        assertThat(testStatistics.getTotalTestRuns(), is((long) (TEST_RUNS / TITLES)));
+    }
+
+    @Test
+    public void the_tags_should_come_from_the_most_recent_test_run() {
+        int latestRun = latestRunWithTitle(42);
+
+        List<TestRunTag> tags = testStatisticsProvider.statisticsForTests(With.title("Test 42")).getTags();
+
+        assertThat(tags.size(), is(2));
+        assertThat(tags.get(0).getName(), is(featureOf(latestRun)));
+        assertThat(tags.get(1).getName(), is(storyOf(latestRun)));
+    }
+
+    @Test
+    public void the_tags_for_a_tag_type_should_come_from_the_most_recent_test_run() {
+        List<TestRunTag> tags = testStatisticsProvider.statisticsForTests(With.tagType("story")).getTags();
+
+        assertThat(tags.size(), is(2));
+        assertThat(tags.get(0).getName(), is(featureOf(TEST_RUNS - 1)));
+        assertThat(tags.get(1).getName(), is(storyOf(TEST_RUNS - 1)));
+    }
+
+    @Test
+    public void the_tags_for_a_tag_should_come_from_the_most_recently_stored_of_the_latest_test_runs() {
+        int latestRun = TEST_RUNS - FEATURES + 3;
+
+        List<TestRunTag> tags = testStatisticsProvider.statisticsForTests(With.tag("feature-3")).getTags();
+
+        assertThat(tags.size(), is(2));
+        assertThat(tags.get(0).getName(), is("feature-3"));
+        assertThat(tags.get(1).getName(), is(storyOf(latestRun)));
+    }
+
+    @Test
+    public void statistics_should_need_fewer_queries_than_the_original_queries() {
+        statistics.clear();
+        statisticsUsingTheOriginalQueries("feature");
+        long originalStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        testStatisticsProvider.statisticsForTests(With.tagType("feature"));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(statements, is(2L));
+        assertThat(statements, lessThan(originalStatements));
+    }
+
+    private void statisticsUsingTheOriginalQueries(String tagType) {
+        count(ORIGINAL_COUNT_BY_TAG_TYPE, "type", tagType, null);
+        count(ORIGINAL_COUNT_BY_TAG_TYPE_AND_RESULT, "type", tagType, TestResult.SUCCESS);
+        count(ORIGINAL_COUNT_BY_TAG_TYPE_AND_RESULT, "type", tagType, TestResult.FAILURE);
+        results(ORIGINAL_RESULTS_BY_TAG_TYPE, "type", tagType);
+        List<TestRun> latestTestRuns = entityManager.createQuery(ORIGINAL_LATEST_TEST_BY_TAG_TYPE)
+                                                    .setParameter("type", tagType)
+                                                    .setParameter("projectKey", PROJECT_KEY)
+                                                    .setMaxResults(1)
+                                                    .getResultList();
+        latestTestRuns.get(0).getTags().size();
+    }
+
+    private Long count(String query, String parameter, String value, TestResult result) {
+        javax.persistence.Query countQuery = entityManager.createQuery(query)
+                                                          .setParameter(parameter, value)
+                                                          .setParameter("projectKey", PROJECT_KEY);
+        if (result != null) {
+            countQuery.setParameter("result", result);
+        }
+        return (Long) countQuery.getSingleResult();
+    }
+
+    private List<TestResult> results(String query, String parameter, String value) {
+        return entityManager.createQuery(query)
+                            .setParameter(parameter, value)
+                            .setParameter("projectKey", PROJECT_KEY)
+                            .getResultList();
+    }
+
+    private List<TestResult> sorted(List<TestResult> results) {
+        List<TestResult> sortedResults = new ArrayList<TestResult>(results);
+        Collections.sort(sortedResults);
+        return sortedResults;
+    }
+
+    private int latestRunWithTitle(int title) {
+        int latestRun = title;
+        while (latestRun + TITLES < TEST_RUNS) {
+            latestRun += TITLES;
+        }
+        return latestRun;
+    }
+
+    private static void insertTags(Connection connection) throws SQLException {
+        PreparedStatement insertTag = connection.prepareStatement(
+                "insert into TestRunTag (id, projectKey, code, name, type) values (?, ?, ?, ?, ?)");
+        try {
+            for (int feature = 0; feature < FEATURES; feature++) {
+                addTag(insertTag, featureTagId(feature), "feature-" + feature, "feature");
+            }
+            for (int story = 0; story < STORIES; story++) {
+                addTag(insertTag, storyTagId(story), "story-" + story, "story");
+            }
+            insertTag.executeBatch();
+        } finally {
+            insertTag.close();
+        }
+    }
+
+    private static void addTag(PreparedStatement insertTag, long id, String name, String type) throws SQLException {
+        insertTag.setLong(1, id);
+        insertTag.setString(2, PROJECT_KEY);
+        insertTag.setString(3, name);
+        insertTag.setString(4, name);
+        insertTag.setString(5, type);
+        insertTag.addBatch();
+    }
+
+    private static void insertTestRuns(Connection connection) throws SQLException {
+        PreparedStatement insertTestRun = connection.prepareStatement(
+                "insert into TestRun (id, title, projectKey, result, executionDate, duration) values (?, ?, ?, ?, ?, ?)");
+        PreparedStatement insertTestRunTag = connection.prepareStatement(
+                "insert into testrun_tags (testrun_id, tag_id) values (?, ?)");
+        try {
+            for (int run = 0; run < TEST_RUNS; run++) {
+                insertTestRun.setLong(1, testRunId(run));
+                insertTestRun.setString(2, "Test " + (run % TITLES));
+                insertTestRun.setString(3, PROJECT_KEY);
+                insertTestRun.setInt(4, resultOf(run).ordinal());
+                insertTestRun.setTimestamp(5, new Timestamp(FIRST_EXECUTION_DATE + (run / RUNS_PER_EXECUTION_DATE) * 1000L));
+                insertTestRun.setLong(6, 100);
+                insertTestRun.addBatch();
+
+                addTestRunTag(insertTestRunTag, run, featureTagId(run % FEATURES));
+                addTestRunTag(insertTestRunTag, run, storyTagId(run % STORIES));
+
+                if ((run % 1000 == 999) || (run == TEST_RUNS - 1)) {
+                    insertTestRun.executeBatch();
+                    insertTestRunTag.executeBatch();
+                }
+            }
+        } finally {
+            insertTestRun.close();
+            insertTestRunTag.close();
+        }
+    }
+
+    private static void addTestRunTag(PreparedStatement insertTestRunTag, int run, long tagId) throws SQLException {
+        insertTestRunTag.setLong(1, testRunId(run));
+        insertTestRunTag.setLong(2, tagId);
+        insertTestRunTag.addBatch();
+    }
+
+    private static long testRunId(int run) {
+        return run + 1;
+    }
+
+    private static long featureTagId(int feature) {
+        return feature + 1;
+    }
+
+    private static long storyTagId(int story) {
+        return FEATURES + story + 1;
+    }
+
+    private static TestResult resultOf(int run) {
+        return RESULTS[(run * 3) % RESULTS.length];
+    }
+
+    private static String featureOf(int run) {
+        return "feature-" + (run % FEATURES);
+    }
+
+    private static String storyOf(int run) {
+        return "story-" + (run % STORIES);
+    }
+}
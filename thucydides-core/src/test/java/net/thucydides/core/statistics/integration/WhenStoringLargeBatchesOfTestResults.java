@@ -0,0 +1,115 @@
+package net.thucydides.core.statistics.integration;
+
+import net.thucydides.core.guice.DatabaseConfig;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.pages.InternalSystemClock;
+import net.thucydides.core.statistics.dao.HibernateTestOutcomeHistoryDAO;
+import net.thucydides.core.statistics.model.TestRun;
+import net.thucydides.core.statistics.model.TestRunTag;
+import net.thucydides.core.statistics.service.TagProvider;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class WhenStoringLargeBatchesOfTestResults {
+
+    private static final String PROJECT_KEY = "BATCHES";
+    private static final int TEST_OUTCOMES = 10000;
+    private static final int TAGS_PER_OUTCOME = 20;
+    private static final int DISTINCT_TAGS = 200;
+
+    /**
+     * Each batch needs one block of ids, one insert statement for the test runs and one for their tags.
+     * Looking up each tag and inserting each row separately would take over 400,000 statements.
+     */
+    private static final long MAX_STATEMENTS = 3 * (TEST_OUTCOMES + DISTINCT_TAGS) / DatabaseConfig.DEFAULT_BATCH_SIZE + 100;
+
+    class TwentyTagsPerTest implements TagProvider {
+        public Set<TestRunTag> getTagsFor(final TestOutcome testOutcome) {
+            int testNumber = Integer.parseInt(testOutcome.getMethodName().substring("test_".length()));
+            Set<TestRunTag> tags = new HashSet<TestRunTag>();
+            for (int i = 0; i < TAGS_PER_OUTCOME; i++) {
+                String tagName = "tag-" + ((testNumber + i * 7) % DISTINCT_TAGS);
+                tags.add(new TestRunTag(PROJECT_KEY, "feature", tagName, tagName));
+            }
+            return tags;
+        }
+    }
+
+    EntityManagerFactory entityManagerFactory;
+    EntityManager entityManager;
+    HibernateTestOutcomeHistoryDAO dao;
+    Statistics statistics;
+
+    @Before
+    public void createDatabase() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("thucydides.statistics.url", "jdbc:hsqldb:mem:largebatches" + System.nanoTime());
+        environmentVariables.setProperty("thucydides.project.key", PROJECT_KEY);
+
+        entityManagerFactory = Persistence.createEntityManagerFactory("db-manager",
+                DatabaseConfig.usingPropertiesFrom(environmentVariables).getProperties());
+        entityManager = entityManagerFactory.createEntityManager();
+        statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        List<TagProvider> tagProviders = new ArrayList<TagProvider>();
+        tagProviders.add(new TwentyTagsPerTest());
+        dao = new HibernateTestOutcomeHistoryDAO(entityManager, environmentVariables, new InternalSystemClock(), tagProviders);
+    }
+
+    @After
+    public void closeDatabase() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void should_store_a_large_batch_of_tagged_test_results_in_a_few_statements() {
+        List<TestOutcome> testOutcomes = new ArrayList<TestOutcome>();
+        for (int i = 0; i < TEST_OUTCOMES; i++) {
+            testOutcomes.add(new TestOutcome("test_" + i));
+        }
+        statistics.clear();
+
+        dao.storeTestOutcomes(testOutcomes);
+
+        assertThat(statistics.getPrepareStatementCount(), lessThan(MAX_STATEMENTS));
+
+        entityManager.clear();
+        assertThat(dao.countTestRunsByTitle("Test 1"), is(1L));
+        assertThat(dao.findAllTags().size(), is(DISTINCT_TAGS));
+        assertThat(dao.findAll().size(), is(TEST_OUTCOMES));
+    }
+
+    @Test
+    public void should_reuse_the_tags_stored_by_previous_batches() {
+        dao.storeTestOutcomes(Arrays.asList(new TestOutcome("test_1"), new TestOutcome("test_2")));
+        dao.storeTestOutcomes(Arrays.asList(new TestOutcome("test_1"), new TestOutcome("test_3")));
+        entityManager.clear();
+
+        List<TestRun> testRuns = dao.findTestRunsByTitle("Test 1");
+
+        assertThat(testRuns.size(), is(2));
+        for (TestRun testRun : testRuns) {
+            assertThat(testRun.getTags().size(), is(TAGS_PER_OUTCOME));
+        }
+        assertThat(dao.findAllTags().size(), is(3 * TAGS_PER_OUTCOME));
+    }
+}
@@ -0,0 +1,112 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.annotations.Pending;
+import net.thucydides.core.annotations.Step;
+import net.thucydides.core.annotations.StepGroup;
+import net.thucydides.core.annotations.TestsRequirement;
+import net.thucydides.core.annotations.Title;
+import net.thucydides.core.pages.Pages;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class WhenCachingStepMethodMetadata {
+
+    public static class SomeSteps extends ScenarioSteps {
+
+        public SomeSteps(Pages pages) {
+            super(pages);
+        }
+
+        @Step("Some named step")
+        public void a_named_step() {}
+
+        @Step(fluent = true)
+        public void a_fluent_step() {}
+
+        @StepGroup("A group of steps")
+        public void a_step_group() {}
+
+        @Pending @Step
+        public void a_pending_step() {}
+
+        @Ignore @Step
+        public void an_ignored_step() {}
+
+        @Title("A step with a title")
+        @TestsRequirement("REQ-1")
+        @Step
+        public void an_annotated_step() {}
+
+        public int not_a_step() {
+            return 1;
+        }
+    }
+
+    @Test
+    public void should_recognize_steps_and_step_groups() throws Exception {
+        assertThat(metadataFor("a_named_step").isAStep(), is(true));
+        assertThat(metadataFor("a_step_group").isAStep(), is(true));
+        assertThat(metadataFor("a_step_group").isAGroup(), is(true));
+        assertThat(metadataFor("not_a_step").isAStep(), is(false));
+    }
+
+    @Test
+    public void should_record_the_step_and_group_names() throws Exception {
+        assertThat(metadataFor("a_named_step").getStepName(), is("Some named step"));
+        assertThat(metadataFor("a_step_group").getGroupName(), is("A group of steps"));
+        assertThat(metadataFor("a_fluent_step").getStepName(), is(nullValue()));
+    }
+
+    @Test
+    public void should_record_the_step_status() throws Exception {
+        assertThat(metadataFor("a_pending_step").isPending(), is(true));
+        assertThat(metadataFor("an_ignored_step").isIgnored(), is(true));
+        assertThat(metadataFor("a_fluent_step").isFluent(), is(true));
+        assertThat(metadataFor("a_named_step").isPending(), is(false));
+        assertThat(metadataFor("a_named_step").isIgnored(), is(false));
+        assertThat(metadataFor("a_named_step").isFluent(), is(false));
+    }
+
+    @Test
+    public void should_record_titles_and_requirements() throws Exception {
+        StepMethodMetadata metadata = metadataFor("an_annotated_step");
+
+        assertThat(metadata.getTitle(), is("A step with a title"));
+        assertThat(metadata.getRequirements(), hasItems("REQ-1"));
+    }
+
+    @Test
+    public void should_recognize_methods_from_other_domains_as_base_class_methods() throws Exception {
+        Method toString = Object.class.getMethod("toString");
+        Method step = SomeSteps.class.getMethod("a_named_step");
+
+        assertThat(StepMethodMetadata.forMethod(toString).isABaseClassMethodFor(SomeSteps.class), is(true));
+        assertThat(StepMethodMetadata.forMethod(step).isABaseClassMethodFor(SomeSteps.class), is(false));
+    }
+
+    @Test
+    public void should_only_read_the_annotations_of_a_method_once() throws Exception {
+        Method step = SomeSteps.class.getMethod("a_named_step");
+
+        assertThat(StepMethodMetadata.forMethod(step), is(sameInstance(StepMethodMetadata.forMethod(step))));
+    }
+
+    @Test
+    public void should_find_step_methods_by_name() throws Exception {
+        assertThat(StepMethodMetadata.firstMethodCalled("a_named_step", SomeSteps.class),
+                   is(SomeSteps.class.getMethod("a_named_step")));
+        assertThat(StepMethodMetadata.lastMethodCalled("unknown_step", SomeSteps.class), is(nullValue()));
+    }
+
+    private StepMethodMetadata metadataFor(String methodName) throws NoSuchMethodException {
+        return StepMethodMetadata.forMethod(SomeSteps.class.getMethod(methodName));
+    }
+}
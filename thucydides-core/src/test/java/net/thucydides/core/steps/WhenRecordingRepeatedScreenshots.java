@@ -0,0 +1,140 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.annotations.Story;
+import net.thucydides.core.model.Screenshot;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.pages.Pages;
+import net.thucydides.core.steps.samples.FlatScenarioSteps;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import net.thucydides.core.webdriver.Configuration;
+import net.thucydides.core.webdriver.SystemPropertiesConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.firefox.FirefoxDriver;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+public class WhenRecordingRepeatedScreenshots {
+
+    BaseStepListener stepListener;
+
+    StepFactory stepFactory;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    File outputDirectory;
+
+    @Mock
+    FirefoxDriver driver;
+
+    @Mock
+    Pages pages;
+
+    @Mock
+    TestOutcome testOutcome;
+
+    class MyStory {
+    }
+
+    @Story(MyStory.class)
+    class MyTestCase {
+        public void app_should_work() {
+        }
+    }
+
+    @Before
+    public void createStepListenerAndFactory() throws IOException {
+        MockitoAnnotations.initMocks(this);
+        outputDirectory = temporaryFolder.newFolder("thucydides");
+        stepFactory = new StepFactory(pages);
+
+        Configuration configuration = new SystemPropertiesConfiguration(new MockEnvironmentVariables());
+
+        stepListener = new BaseStepListener(FirefoxDriver.class, outputDirectory, configuration);
+        stepListener.setDriver(driver);
+        when(driver.getCurrentUrl()).thenReturn("http://www.google.com");
+        when(driver.getPageSource()).thenReturn("<html/>");
+
+        StepEventBus.getEventBus().clear();
+        StepEventBus.getEventBus().registerListener(stepListener);
+    }
+
+    @After
+    public void dropListener() {
+        StepEventBus.getEventBus().dropListener(stepListener);
+    }
+
+    @Test
+    public void identical_screenshots_should_only_be_stored_once() {
+        byte[] firstPage = screenshotOfPage(1);
+        byte[] secondPage = screenshotOfPage(2);
+        when(driver.getScreenshotAs(any(OutputType.class))).thenReturn(firstPage, firstPage,
+                                                                       firstPage, secondPage,
+                                                                       secondPage, secondPage);
+
+        runThreeStepScenario();
+
+        assertThat(savedScreenshotsIn(outputDirectory).length, is(2));
+    }
+
+    @Test
+    public void steps_with_identical_screenshots_should_refer_to_the_same_file() {
+        byte[] firstPage = screenshotOfPage(1);
+        when(driver.getScreenshotAs(any(OutputType.class))).thenReturn(firstPage);
+
+        runThreeStepScenario();
+
+        List<Screenshot> screenshots = stepListener.getTestOutcomes().get(0).getScreenshots();
+        Set<String> screenshotFiles = new HashSet<String>();
+        for (Screenshot screenshot : screenshots) {
+            screenshotFiles.add(screenshot.getFilename());
+        }
+        assertThat(screenshots.size(), is(3));
+        assertThat(screenshotFiles.size(), is(1));
+        assertThat(savedScreenshotsIn(outputDirectory).length, is(1));
+    }
+
+    private void runThreeStepScenario() {
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps = stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.step_two();
+        steps.step_three();
+
+        StepEventBus.getEventBus().testFinished(testOutcome);
+        StepEventBus.getEventBus().testSuiteFinished();
+    }
+
+    private byte[] screenshotOfPage(int pageNumber) {
+        byte[] screenshot = new byte[10000];
+        screenshot[0] = (byte) pageNumber;
+        return screenshot;
+    }
+
+    private File[] savedScreenshotsIn(File directory) {
+        return directory.listFiles(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".png");
+            }
+        });
+    }
+}
@@ -16,13 +16,22 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.openqa.selenium.WebDriver;
+import sample.listeners.SampleStepListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class WhenUsingTheStepEventBus {
@@ -699,4 +708,59 @@ public class WhenUsingTheStepEventBus {
 
         assertThat(StepEventBus.getEventBus().areStepsRunning(), is(false));
     }
+
+    @Test
+    public void a_dropped_listener_should_not_receive_any_more_events() {
+        StepEventBus.getEventBus().testStarted("a_test", SampleTestScenario.class);
+        StepEventBus.getEventBus().dropListener(listener);
+
+        StepEventBus.getEventBus().stepStarted(ExecutedStepDescription.withTitle("a step"));
+
+        verify(listener, never()).stepStarted(any(ExecutedStepDescription.class));
+    }
+
+    @Test
+    public void a_listener_registered_during_an_event_should_receive_the_following_events() {
+        final StepListener lateListener = mock(StepListener.class);
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                StepEventBus.getEventBus().registerListener(lateListener);
+                return null;
+            }
+        }).when(listener).stepStarted(any(ExecutedStepDescription.class));
+        StepEventBus.getEventBus().testStarted("a_test", SampleTestScenario.class);
+
+        StepEventBus.getEventBus().stepStarted(ExecutedStepDescription.withTitle("a step"));
+        StepEventBus.getEventBus().stepFinished();
+
+        verify(lateListener, never()).stepStarted(any(ExecutedStepDescription.class));
+        verify(lateListener).stepFinished();
+    }
+
+    @Test
+    public void each_event_bus_should_have_its_own_custom_listeners() throws InterruptedException {
+        final List<StepListener> listenersInAnotherThread = new ArrayList<StepListener>();
+        Thread anotherThread = new Thread() {
+            public void run() {
+                listenersInAnotherThread.addAll(StepEventBus.getEventBus().getAllListeners());
+            }
+        };
+        anotherThread.start();
+        anotherThread.join();
+
+        StepListener customListener = customListenerIn(StepEventBus.getEventBus().getAllListeners());
+        StepListener customListenerInAnotherThread = customListenerIn(listenersInAnotherThread);
+
+        assertThat(customListenerInAnotherThread.getClass() == customListener.getClass(), is(true));
+        assertThat(customListenerInAnotherThread == customListener, is(false));
+    }
+
+    private StepListener customListenerIn(List<StepListener> listeners) {
+        for (StepListener stepListener : listeners) {
+            if (stepListener instanceof SampleStepListener) {
+                return stepListener;
+            }
+        }
+        throw new AssertionError("No custom listener found");
+    }
 }
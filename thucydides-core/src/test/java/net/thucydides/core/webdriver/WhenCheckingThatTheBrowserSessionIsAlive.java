@@ -0,0 +1,311 @@
+package net.thucydides.core.webdriver;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.openqa.selenium.support.ui.Clock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+public class WhenCheckingThatTheBrowserSessionIsAlive {
+
+    /**
+     * A driver stub that counts the calls made to the browser.
+     */
+    static class CountingDriver implements WebDriver {
+
+        int calls = 0;
+        int currentUrlCalls = 0;
+        boolean quit = false;
+        WebDriverException nextError;
+
+        private void call() {
+            calls++;
+            if (nextError != null) {
+                WebDriverException error = nextError;
+                nextError = null;
+                throw error;
+            }
+        }
+
+        public void get(String url) {
+            call();
+        }
+
+        public String getCurrentUrl() {
+            currentUrlCalls++;
+            call();
+            return "http://www.google.com";
+        }
+
+        public String getTitle() {
+            call();
+            return "Google";
+        }
+
+        public List<WebElement> findElements(By by) {
+            call();
+            return Collections.emptyList();
+        }
+
+        public WebElement findElement(By by) {
+            call();
+            return null;
+        }
+
+        public String getPageSource() {
+            call();
+            return "<html/>";
+        }
+
+        public void close() {
+        }
+
+        public void quit() {
+            quit = true;
+        }
+
+        public Set<String> getWindowHandles() {
+            call();
+            return Collections.emptySet();
+        }
+
+        public String getWindowHandle() {
+            call();
+            return "";
+        }
+
+        public TargetLocator switchTo() {
+            call();
+            return null;
+        }
+
+        public Navigation navigate() {
+            call();
+            return null;
+        }
+
+        public Options manage() {
+            call();
+            return null;
+        }
+    }
+
+    static class ManualClock implements Clock {
+        long time = 1000;
+
+        public long now() {
+            return time;
+        }
+
+        public long laterBy(long durationInMillis) {
+            return time + durationInMillis;
+        }
+
+        public boolean isNowBefore(long endInMillis) {
+            return time < endInMillis;
+        }
+    }
+
+    static class CountingWebDriverFacade extends WebDriverFacade {
+
+        List<CountingDriver> createdDrivers = new ArrayList<CountingDriver>();
+
+        CountingWebDriverFacade(WebDriverFactory webDriverFactory, Clock clock) {
+            super(CountingDriver.class, webDriverFactory, clock);
+        }
+
+        @Override
+        protected WebDriver newProxyDriver() {
+            CountingDriver driver = new CountingDriver();
+            createdDrivers.add(driver);
+            return driver;
+        }
+
+        CountingDriver currentDriver() {
+            return createdDrivers.get(createdDrivers.size() - 1);
+        }
+    }
+
+    MockEnvironmentVariables environmentVariables;
+
+    ManualClock clock;
+
+    CountingWebDriverFacade facade;
+
+    @Before
+    public void createFacade() {
+        StepEventBus.getEventBus().clear();
+        environmentVariables = new MockEnvironmentVariables();
+        clock = new ManualClock();
+        facade = new CountingWebDriverFacade(new WebDriverFactory(environmentVariables), clock);
+    }
+
+    @Test
+    public void each_facade_call_should_result_in_exactly_one_call_to_the_browser() {
+        facade.get("http://www.google.com");
+        facade.getTitle();
+        facade.findElement(By.id("q"));
+        facade.findElements(By.id("q"));
+        facade.getPageSource();
+
+        assertThat(facade.currentDriver().calls, is(5));
+        assertThat(facade.currentDriver().currentUrlCalls, is(0));
+    }
+
+    @Test
+    public void opening_a_page_should_be_retried_in_a_new_browser_if_the_session_has_died() {
+        facade.getTitle();
+        CountingDriver deadDriver = facade.currentDriver();
+        deadDriver.nextError = new UnreachableBrowserException("Error communicating with the remote browser", new RuntimeException());
+
+        facade.get("http://www.google.com");
+
+        assertThat(deadDriver.quit, is(true));
+        assertThat(facade.createdDrivers.size(), is(2));
+        assertThat(facade.currentDriver().calls, is(1));
+    }
+
+    @Test
+    public void a_dead_session_should_be_recognized_from_the_error_message() {
+        facade.getTitle();
+        facade.currentDriver().nextError = new WebDriverException("Session not found");
+
+        facade.get("http://www.google.com");
+
+        assertThat(facade.createdDrivers.size(), is(2));
+    }
+
+    @Test
+    public void reading_the_current_url_should_not_be_retried_in_a_new_browser() {
+        facade.getTitle();
+        CountingDriver deadDriver = facade.currentDriver();
+        WebDriverException deadSession = new UnreachableBrowserException("It may have died", new RuntimeException());
+        deadDriver.nextError = deadSession;
+
+        try {
+            facade.getCurrentUrl();
+            fail("The original error should have been passed on");
+        } catch (WebDriverException e) {
+            assertThat(e, is(deadSession));
+        }
+
+        assertThat(deadDriver.quit, is(true));
+        assertThat(facade.createdDrivers.size(), is(1));
+    }
+
+    @Test
+    public void the_next_call_after_a_failed_page_read_should_use_a_new_browser() {
+        facade.getTitle();
+        facade.currentDriver().nextError = new WebDriverException("Session not found");
+
+        try {
+            facade.getTitle();
+        } catch (WebDriverException expected) {
+        }
+        String title = facade.getTitle();
+
+        assertThat(title, is("Google"));
+        assertThat(facade.createdDrivers.size(), is(2));
+        assertThat(facade.currentDriver().calls, is(1));
+    }
+
+    @Test
+    public void element_lookups_should_not_be_retried_in_a_new_browser() {
+        facade.getTitle();
+        CountingDriver deadDriver = facade.currentDriver();
+        WebDriverException deadSession = new WebDriverException("Session not found");
+        deadDriver.nextError = deadSession;
+
+        try {
+            facade.findElement(By.id("q"));
+            fail("The original error should have been passed on");
+        } catch (WebDriverException e) {
+            assertThat(e, is(deadSession));
+        }
+
+        assertThat(deadDriver.quit, is(true));
+        assertThat(facade.createdDrivers.size(), is(1));
+    }
+
+    @Test
+    public void the_next_call_after_a_failed_element_lookup_should_use_a_new_browser() {
+        facade.getTitle();
+        facade.currentDriver().nextError = new WebDriverException("Session not found");
+
+        try {
+            facade.findElements(By.id("q"));
+        } catch (WebDriverException expected) {
+        }
+        facade.findElements(By.id("q"));
+
+        assertThat(facade.createdDrivers.size(), is(2));
+        assertThat(facade.currentDriver().calls, is(1));
+    }
+
+    @Test(expected = WebDriverException.class)
+    public void calls_returning_driver_helpers_should_not_be_retried() {
+        facade.getTitle();
+        facade.currentDriver().nextError = new WebDriverException("Session not found");
+
+        try {
+            facade.navigate();
+        } finally {
+            assertThat(facade.createdDrivers.size(), is(1));
+        }
+    }
+
+    @Test(expected = WebDriverException.class)
+    public void other_webdriver_errors_should_be_passed_on_without_retrying() {
+        facade.getTitle();
+        facade.currentDriver().nextError = new WebDriverException("Element is not clickable");
+
+        try {
+            facade.findElement(By.id("q"));
+        } finally {
+            assertThat(facade.createdDrivers.size(), is(1));
+            assertThat(facade.currentDriver().calls, is(2));
+        }
+    }
+
+    @Test
+    public void the_browser_session_should_be_checked_periodically_if_requested() {
+        environmentVariables.setProperty(ThucydidesSystemProperty.DRIVER_HEALTH_CHECK_INTERVAL.getPropertyName(), "10");
+
+        facade.getTitle();
+        facade.getTitle();
+        assertThat(facade.currentDriver().currentUrlCalls, is(0));
+
+        clock.time += 10000;
+        facade.getTitle();
+        facade.getTitle();
+        assertThat(facade.currentDriver().currentUrlCalls, is(1));
+    }
+
+    @Test
+    public void a_dead_session_found_by_the_periodic_check_should_be_replaced() {
+        environmentVariables.setProperty(ThucydidesSystemProperty.DRIVER_HEALTH_CHECK_INTERVAL.getPropertyName(), "10");
+
+        facade.getTitle();
+        facade.currentDriver().nextError = new UnreachableBrowserException("It may have died", new RuntimeException());
+        clock.time += 10000;
+        facade.getTitle();
+
+        assertThat(facade.createdDrivers.size(), is(2));
+        assertThat(facade.currentDriver().calls, is(1));
+    }
+}
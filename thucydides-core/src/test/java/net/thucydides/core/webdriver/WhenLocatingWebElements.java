@@ -6,17 +6,35 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.Locatable;
+import org.openqa.selenium.internal.WrapsElement;
+import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class WhenLocatingWebElements {
 
@@ -35,6 +53,13 @@ public class WhenLocatingWebElements {
         @FindBy(id="someId")
         public WebElement someField;
 
+        @FindBy(id="cachedId")
+        @CacheLookup
+        public WebElement cachedField;
+
+        @FindBy(className="row")
+        public List<WebElement> rows;
+
     }
 
     @Before
@@ -53,6 +78,84 @@ public class WhenLocatingWebElements {
         locator.findElement();
     }
 
+    @Test(timeout = 500)
+    public void should_find_element_immediately_during_a_quick_lookup() {
+        DisplayedElementLocator locator = new DisplayedElementLocator(driver, field, 5);
+        QuickElementLookup.start();
+        try {
+            locator.findElement();
+        } finally {
+            QuickElementLookup.finish();
+        }
+    }
+
+    @Test
+    public void should_look_up_elements_using_the_field_annotations() {
+        new DisplayedElementLocator(driver, field, 5).findElementImmediately();
+        new DisplayedElementLocator(driver, field, 5).findElementImmediately();
+
+        verify(driver, times(2)).findElement(By.id("someId"));
+    }
+
+    @Test
+    public void should_only_look_up_elements_once_if_the_lookup_is_cached() throws Exception {
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        when(driver.findElement(By.id("cachedId"))).thenReturn(element);
+
+        DisplayedElementLocator locator = new DisplayedElementLocator(driver,
+                                                                      SomePageObject.class.getField("cachedField"), 5);
+        locator.findElement();
+        locator.findElement();
+
+        verify(driver, times(1)).findElement(By.id("cachedId"));
+    }
+
+    @Test
+    public void should_return_an_element_once_it_is_displayed() {
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(false, true);
+        when(driver.findElement(By.id("someId"))).thenReturn(element);
+
+        WebElement foundElement = new DisplayedElementLocator(driver, field, 2).findElement();
+
+        assertThat(foundElement, is(element));
+        verify(driver, times(2)).findElement(By.id("someId"));
+    }
+
+    @Test
+    public void should_only_build_the_locator_for_a_field_once_for_all_the_page_objects_that_use_it() {
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        when(driver.findElement(any(By.class))).thenReturn(element);
+
+        for (int i = 0; i < 50; i++) {
+            SomePageObject page = new SomePageObject();
+            WebDriverFactory.initElementsWithAjaxSupport(page, driver, 1);
+            page.someField.isDisplayed();
+            page.cachedField.isDisplayed();
+        }
+
+        ArgumentCaptor<By> locators = ArgumentCaptor.forClass(By.class);
+        verify(driver, times(100)).findElement(locators.capture());
+        Set<By> locatorsBuilt = Collections.newSetFromMap(new IdentityHashMap<By, Boolean>());
+        locatorsBuilt.addAll(locators.getAllValues());
+        assertThat(locatorsBuilt.size(), is(2));
+    }
+
+    @Test
+    public void should_initialize_page_object_fields_with_element_proxies() {
+        WebElement row = mock(WebElement.class);
+        when(driver.findElements(By.className("row"))).thenReturn(Arrays.asList(row, row));
+        SomePageObject page = new SomePageObject();
+
+        WebDriverFactory.initElementsWithAjaxSupport(page, driver, 1);
+
+        assertThat(page.someField, is(instanceOf(WrapsElement.class)));
+        assertThat(page.cachedField, is(instanceOf(Locatable.class)));
+        assertThat(page.rows.size(), is(2));
+    }
+
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
@@ -66,4 +169,16 @@ public class WhenLocatingWebElements {
         locator.findElement();
     }
 
+    @Test
+    public void should_wait_for_elements_again_once_a_quick_lookup_is_finished() {
+
+        expectedException.expect(NoSuchElementException.class);
+        expectedException.expectMessage(containsString("Timed out after 1 second"));
+
+        DisplayedElementLocator locator = new DisplayedElementLocator(driver, field, 1);
+        QuickElementLookup.start();
+        QuickElementLookup.finish();
+        locator.findElement();
+    }
+
 }
@@ -0,0 +1,313 @@
+package net.thucydides.core.webdriver;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WhenPoolingWebDriverInstances {
+
+    private static final WebDriverPool.DriverKey FIREFOX = new WebDriverPool.DriverKey(FirefoxDriver.class);
+    private static final WebDriverPool.DriverKey HTMLUNIT = new WebDriverPool.DriverKey(HtmlUnitDriver.class);
+
+    /**
+     * Hands out mock drivers instead of starting real browsers.
+     */
+    static class FakeDriverSource implements WebDriverPool.DriverSource {
+
+        final List<WebDriver> startedDrivers = new CopyOnWriteArrayList<WebDriver>();
+
+        public WebDriver newDriverFor(WebDriverPool.DriverKey key) {
+            WebDriver driver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+            when(driver.getWindowHandle()).thenReturn("main");
+            when(driver.getWindowHandles()).thenReturn(Collections.singleton("main"));
+            startedDrivers.add(driver);
+            return driver;
+        }
+    }
+
+    FakeDriverSource driverSource;
+
+    WebDriverPool pool;
+
+    @Before
+    public void createPool() {
+        driverSource = new FakeDriverSource();
+        pool = new WebDriverPool(driverSource, 3);
+    }
+
+    @Test
+    public void a_released_driver_should_be_reused_by_the_next_test() {
+        WebDriver firstDriver = pool.lease(FIREFOX);
+        pool.release(firstDriver);
+
+        WebDriver secondDriver = pool.lease(FIREFOX);
+
+        assertThat(secondDriver, is(sameInstance(firstDriver)));
+        assertThat(pool.getStartedDriverCount(), is(1));
+        assertThat(pool.getReuseCount(), is(1));
+    }
+
+    @Test
+    public void drivers_should_only_be_reused_for_the_same_driver_type() {
+        WebDriver firefoxDriver = pool.lease(FIREFOX);
+        pool.release(firefoxDriver);
+
+        WebDriver htmlunitDriver = pool.lease(HTMLUNIT);
+
+        assertThat(htmlunitDriver, is(not(sameInstance(firefoxDriver))));
+        assertThat(pool.getIdleDriverCount(), is(1));
+        assertThat(pool.getLeasedDriverCount(), is(1));
+    }
+
+    @Test
+    public void drivers_with_different_capabilities_should_not_be_shared() {
+        WebDriverPool.DriverKey windowsFirefox
+                = new WebDriverPool.DriverKey(FirefoxDriver.class, Collections.singletonMap("platform", "WINDOWS"));
+        WebDriverPool.DriverKey linuxFirefox
+                = new WebDriverPool.DriverKey(FirefoxDriver.class, Collections.singletonMap("platform", "LINUX"));
+
+        pool.release(pool.lease(windowsFirefox));
+        pool.lease(linuxFirefox);
+
+        assertThat(pool.getStartedDriverCount(), is(2));
+    }
+
+    @Test
+    public void the_browser_should_be_cleaned_up_when_it_is_returned_to_the_pool() {
+        WebDriver driver = pool.lease(FIREFOX);
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<String>(Arrays.asList("main", "popup")));
+
+        pool.release(driver);
+
+        verify(driver.switchTo()).window("popup");
+        verify(driver).close();
+        verify(driver.switchTo()).window("main");
+        verify(driver.manage()).deleteAllCookies();
+        verify(driver).get("about:blank");
+        verify(driver, never()).quit();
+    }
+
+    @Test
+    public void the_window_the_browser_started_with_should_be_kept_whatever_order_the_windows_are_listed_in() {
+        WebDriver driver = pool.lease(FIREFOX);
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<String>(Arrays.asList("popup", "main")));
+
+        pool.release(driver);
+
+        verify(driver.switchTo()).window("popup");
+        verify(driver.switchTo()).window("main");
+        verify(driver).close();
+        assertThat(pool.getIdleDriverCount(), is(1));
+    }
+
+    @Test
+    public void a_driver_whose_main_window_has_been_closed_should_not_be_reused() {
+        WebDriver driver = pool.lease(FIREFOX);
+        when(driver.getWindowHandles()).thenReturn(Collections.singleton("popup"));
+
+        pool.release(driver);
+
+        verify(driver).quit();
+        assertThat(pool.getIdleDriverCount(), is(0));
+    }
+
+    @Test
+    public void a_driver_should_be_closed_once_it_has_been_used_the_maximum_number_of_times() {
+        for (int i = 0; i < 3; i++) {
+            pool.release(pool.lease(FIREFOX));
+        }
+
+        assertThat(pool.getIdleDriverCount(), is(0));
+        verify(driverSource.startedDrivers.get(0)).quit();
+
+        pool.lease(FIREFOX);
+        assertThat(pool.getStartedDriverCount(), is(2));
+    }
+
+    @Test
+    public void a_driver_that_cannot_be_cleaned_up_should_be_closed() {
+        WebDriver driver = pool.lease(FIREFOX);
+        when(driver.getWindowHandles()).thenThrow(new WebDriverException("Browser has died"));
+
+        pool.release(driver);
+
+        verify(driver).quit();
+        assertThat(pool.getIdleDriverCount(), is(0));
+    }
+
+    @Test
+    public void a_discarded_driver_should_be_closed_and_never_reused() {
+        WebDriver driver = pool.lease(FIREFOX);
+
+        pool.discard(driver);
+
+        verify(driver).quit();
+        assertThat(pool.getLeasedDriverCount(), is(0));
+        assertThat(pool.lease(FIREFOX), is(not(sameInstance(driver))));
+    }
+
+    @Test
+    public void shutting_down_the_pool_should_close_idle_and_leased_drivers() {
+        WebDriver idleDriver = pool.lease(FIREFOX);
+        WebDriver leasedDriver = pool.lease(FIREFOX);
+        pool.release(idleDriver);
+
+        pool.shutdown();
+
+        verify(idleDriver).quit();
+        verify(leasedDriver).quit();
+        assertThat(pool.getIdleDriverCount(), is(0));
+        assertThat(pool.getLeasedDriverCount(), is(0));
+    }
+
+    @Test
+    public void browsers_should_be_started_in_parallel() throws Exception {
+        final int threadCount = 4;
+        final CountDownLatch allStarting = new CountDownLatch(threadCount);
+        WebDriverPool slowPool = new WebDriverPool(new FakeDriverSource() {
+            @Override
+            public WebDriver newDriverFor(WebDriverPool.DriverKey key) {
+                allStarting.countDown();
+                try {
+                    if (!allStarting.await(5, TimeUnit.SECONDS)) {
+                        throw new WebDriverException("Browsers were not started in parallel");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.newDriverFor(key);
+            }
+        }, 3);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<WebDriver>> leasedDrivers = new ArrayList<Future<WebDriver>>();
+            for (int i = 0; i < threadCount; i++) {
+                leasedDrivers.add(executor.submit(leaseFrom(slowPool)));
+            }
+            for (Future<WebDriver> leasedDriver : leasedDrivers) {
+                leasedDriver.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(slowPool.getStartedDriverCount(), is(threadCount));
+        assertThat(slowPool.getLeasedDriverCount(), is(threadCount));
+    }
+
+    @Test
+    public void a_facade_should_return_its_driver_to_the_pool_when_it_is_reset() {
+        StepEventBus.getEventBus().clear();
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty(ThucydidesSystemProperty.DRIVER_POOL_MAX_USES.getPropertyName(), "5");
+        final WebDriverPool facadePool = new WebDriverPool(driverSource, 5);
+        WebDriverFactory factory = new WebDriverFactory(environmentVariables) {
+            @Override
+            public WebDriverPool getDriverPool() {
+                return facadePool;
+            }
+        };
+
+        WebDriverFacade firstTestDriver = new WebDriverFacade(FirefoxDriver.class, factory);
+        firstTestDriver.getTitle();
+        firstTestDriver.reset();
+        WebDriverFacade secondTestDriver = new WebDriverFacade(FirefoxDriver.class, factory);
+        secondTestDriver.getTitle();
+
+        assertThat(secondTestDriver.getProxiedDriver(), is(sameInstance(driverSource.startedDrivers.get(0))));
+        assertThat(facadePool.getStartedDriverCount(), is(1));
+        verify(driverSource.startedDrivers.get(0), never()).quit();
+    }
+
+    @Test
+    public void factories_with_the_same_settings_should_share_a_pool() {
+        WebDriverFactory factory = new WebDriverFactory(poolingEnvironment());
+        WebDriverFactory factoryWithTheSameSettings = new WebDriverFactory(poolingEnvironment());
+
+        assertThat(factory.getDriverPool(), is(sameInstance(factoryWithTheSameSettings.getDriverPool())));
+    }
+
+    @Test
+    public void factories_with_different_settings_should_not_share_a_pool() {
+        MockEnvironmentVariables proxyEnvironment = poolingEnvironment();
+        proxyEnvironment.setProperty(ThucydidesSystemProperty.PROXY_URL.getPropertyName(), "proxy.mycompany.com");
+        MockEnvironmentVariables shortLivedEnvironment = poolingEnvironment();
+        shortLivedEnvironment.setProperty(ThucydidesSystemProperty.DRIVER_POOL_MAX_USES.getPropertyName(), "2");
+
+        WebDriverPool defaultPool = new WebDriverFactory(poolingEnvironment()).getDriverPool();
+
+        assertThat(new WebDriverFactory(proxyEnvironment).getDriverPool(), is(not(sameInstance(defaultPool))));
+        assertThat(new WebDriverFactory(shortLivedEnvironment).getDriverPool(), is(not(sameInstance(defaultPool))));
+    }
+
+    @Test
+    public void the_pool_key_should_include_the_firefox_profile_and_proxy_settings() {
+        MockEnvironmentVariables proxyEnvironment = poolingEnvironment();
+        proxyEnvironment.setProperty(ThucydidesSystemProperty.PROXY_URL.getPropertyName(), "proxy.mycompany.com");
+        proxyEnvironment.setProperty(ThucydidesSystemProperty.PROXY_PORT.getPropertyName(), "8080");
+        MockEnvironmentVariables profileEnvironment = poolingEnvironment();
+        profileEnvironment.setProperty("webdriver.firefox.profile", "testing");
+
+        WebDriverPool.DriverKey defaultKey = new WebDriverFactory(poolingEnvironment()).poolKeyFor(FirefoxDriver.class);
+        WebDriverPool.DriverKey proxyKey = new WebDriverFactory(proxyEnvironment).poolKeyFor(FirefoxDriver.class);
+        WebDriverPool.DriverKey profileKey = new WebDriverFactory(profileEnvironment).poolKeyFor(FirefoxDriver.class);
+
+        assertThat(proxyKey, is(not(defaultKey)));
+        assertThat(profileKey, is(not(defaultKey)));
+        assertThat(proxyKey.getCapabilities().get(ThucydidesSystemProperty.PROXY_PORT.getPropertyName()),
+                   is((Object) "8080"));
+    }
+
+    @Test
+    public void remote_drivers_should_not_be_pooled() {
+        WebDriverFactory factory = new WebDriverFactory(poolingEnvironment());
+
+        assertThat(factory.usesDriverPoolFor(FirefoxDriver.class), is(true));
+        assertThat(factory.usesDriverPoolFor(RemoteWebDriver.class), is(false));
+    }
+
+    private MockEnvironmentVariables poolingEnvironment() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty(ThucydidesSystemProperty.DRIVER_POOL_MAX_USES.getPropertyName(), "5");
+        return environmentVariables;
+    }
+
+    private Callable<WebDriver> leaseFrom(final WebDriverPool pool) {
+        return new Callable<WebDriver>() {
+            public WebDriver call() {
+                return pool.lease(FIREFOX);
+            }
+        };
+    }
+}
@@ -0,0 +1,186 @@
+package net.thucydides.core.webdriver;
+
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WhenStartingBrowsersInParallel {
+
+    private static final int BROWSERS = 4;
+    private static final long BROWSER_STARTUP_TIME = 500;
+
+    public static class SlowStartingDriver implements WebDriver {
+
+        public SlowStartingDriver() throws InterruptedException {
+            Thread.sleep(BROWSER_STARTUP_TIME);
+        }
+
+        public void get(String url) {}
+
+        public String getCurrentUrl() {
+            return null;
+        }
+
+        public String getTitle() {
+            return null;
+        }
+
+        public List<WebElement> findElements(By by) {
+            return Collections.emptyList();
+        }
+
+        public WebElement findElement(By by) {
+            return null;
+        }
+
+        public String getPageSource() {
+            return null;
+        }
+
+        public void close() {}
+
+        public void quit() {}
+
+        public Set<String> getWindowHandles() {
+            return Collections.emptySet();
+        }
+
+        public String getWindowHandle() {
+            return null;
+        }
+
+        public TargetLocator switchTo() {
+            return null;
+        }
+
+        public Navigation navigate() {
+            return null;
+        }
+
+        public Options manage() {
+            return null;
+        }
+    }
+
+    @Mock
+    WebdriverInstanceFactory webdriverInstanceFactory;
+
+    @Mock
+    FirefoxDriver firefoxDriver;
+
+    MockEnvironmentVariables environmentVariables;
+
+    int firefoxProfilesBuilt;
+
+    @Before
+    public void initMocks() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        environmentVariables = new MockEnvironmentVariables();
+        when(webdriverInstanceFactory.newInstanceOf(eq(FirefoxDriver.class), any(FirefoxProfile.class))).thenReturn(firefoxDriver);
+    }
+
+    @Test
+    public void browsers_should_start_at_the_same_time() throws Exception {
+        final WebDriverFactory factory = new WebDriverFactory(new WebdriverInstanceFactory(), environmentVariables);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        List<Callable<WebDriver>> browserStarts = new ArrayList<Callable<WebDriver>>();
+        for (int i = 0; i < BROWSERS; i++) {
+            browserStarts.add(new Callable<WebDriver>() {
+                public WebDriver call() throws Exception {
+                    startSignal.await();
+                    return factory.newWebdriverInstance(SlowStartingDriver.class);
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(BROWSERS);
+        try {
+            List<Future<WebDriver>> drivers = new ArrayList<Future<WebDriver>>();
+            for (Callable<WebDriver> browserStart : browserStarts) {
+                drivers.add(executor.submit(browserStart));
+            }
+            long startTime = System.currentTimeMillis();
+            startSignal.countDown();
+            for (Future<WebDriver> driver : drivers) {
+                assertThat(driver.get(), instanceOf(SlowStartingDriver.class));
+            }
+            long elapsedTime = System.currentTimeMillis() - startTime;
+
+            assertThat(elapsedTime, lessThan(2 * BROWSER_STARTUP_TIME));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void the_firefox_profile_should_only_be_built_once() {
+        WebDriverFactory factory = new CountingFirefoxProfileWebDriverFactory();
+
+        for (int i = 0; i < BROWSERS; i++) {
+            factory.newInstanceOf(SupportedWebDriver.FIREFOX);
+        }
+
+        assertThat(firefoxProfilesBuilt, is(1));
+    }
+
+    @Test
+    public void each_firefox_browser_should_get_its_own_copy_of_the_profile() throws Exception {
+        WebDriverFactory factory = new CountingFirefoxProfileWebDriverFactory();
+
+        for (int i = 0; i < BROWSERS; i++) {
+            factory.newInstanceOf(SupportedWebDriver.FIREFOX);
+        }
+
+        ArgumentCaptor<FirefoxProfile> profiles = ArgumentCaptor.forClass(FirefoxProfile.class);
+        verify(webdriverInstanceFactory, times(BROWSERS)).newInstanceOf(eq(FirefoxDriver.class), profiles.capture());
+        List<FirefoxProfile> usedProfiles = profiles.getAllValues();
+        for (int i = 1; i < BROWSERS; i++) {
+            assertThat(usedProfiles.get(i), is(not(sameInstance(usedProfiles.get(0)))));
+            assertThat(usedProfiles.get(i).areNativeEventsEnabled(), is(true));
+            assertThat(usedProfiles.get(i).shouldLoadNoFocusLib(), is(true));
+        }
+    }
+
+    class CountingFirefoxProfileWebDriverFactory extends WebDriverFactory {
+
+        CountingFirefoxProfileWebDriverFactory() {
+            super(webdriverInstanceFactory, environmentVariables);
+        }
+
+        @Override
+        protected FirefoxProfile createNewFirefoxProfile() {
+            firefoxProfilesBuilt++;
+            return super.createNewFirefoxProfile();
+        }
+    }
+}
@@ -213,6 +213,7 @@ public class ThucydidesPlugin extends BasePlugin {
 
     @Override
     public Object afterStory(final Binding binding) {
+        baseStepListener.testSuiteFinished()
         StepEventBus.eventBus.dropAllListeners()
         StepEventBus.eventBus.clear()
 
@@ -1,7 +1,6 @@
 package net.thucydides.junit.runners;
 
-import net.thucydides.core.csv.CSVTestDataSource;
-import net.thucydides.core.csv.TestDataSource;
+import net.thucydides.core.csv.StreamingCSVTestDataSource;
 import net.thucydides.junit.annotations.TestData;
 import net.thucydides.junit.annotations.UseTestDataFrom;
 import org.apache.commons.lang3.StringUtils;
@@ -74,13 +73,13 @@ public class DataDrivenAnnotations {
     }
 
     public <T> List<T> getDataAsInstancesOf(final Class<T> clazz) throws IOException {
-        TestDataSource testdata = new CSVTestDataSource(findTestDataSource(), findTestDataSeparator());
+        StreamingCSVTestDataSource testdata = new StreamingCSVTestDataSource(findTestDataSource(), findTestDataSeparator());
         return testdata.getDataAsInstancesOf(clazz);
     }
     
     public int countDataEntries() throws IOException {
-        TestDataSource testdata = new CSVTestDataSource(findTestDataSource(), findTestDataSeparator());
-        return testdata.getData().size();
+        StreamingCSVTestDataSource testdata = new StreamingCSVTestDataSource(findTestDataSource(), findTestDataSeparator());
+        return testdata.countRows();
     }
 
     private char findTestDataSeparator() {
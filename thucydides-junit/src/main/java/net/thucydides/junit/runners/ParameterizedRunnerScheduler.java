@@ -14,7 +14,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * JUnit scheduler for parallel parameterized tests.
+ * JUnit scheduler for parallel parameterized tests, and for test methods run in parallel.
  */
 class ParameterizedRunnerScheduler implements RunnerScheduler {
 
@@ -36,6 +36,14 @@ class TestClassRunnerForInstanciatedTestCase extends ThucydidesRunner {
         return instanciatedTest;
     }
 
+    /**
+     * The data-driven runner runs each set of test data in parallel, rather than the test methods.
+     */
+    @Override
+    protected boolean runTestMethodsInParallelFor(final Class<?> klass) {
+        return false;
+    }
+
     @Override
     protected String getName() {
         return QualifierFinder.forTestCase(instanciatedTest).getQualifier();
@@ -39,6 +39,14 @@ class TestClassRunnerForParameters extends ThucydidesRunner {
         return getTestClass().getOnlyConstructor().newInstance(computeParams());
     }
 
+    /**
+     * The data-driven runner runs each set of test data in parallel, rather than the test methods.
+     */
+    @Override
+    protected boolean runTestMethodsInParallelFor(final Class<?> klass) {
+        return false;
+    }
+
     private Object[] computeParams() throws Exception {
         try {
             return parameterList.get(parameterSetNumber);
@@ -0,0 +1,38 @@
+package net.thucydides.junit.runners;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Works out how many threads to use to run tests in parallel.
+ * The thread value can be a number of threads (e.g. "8"), or a number of threads per processor (e.g. "2x").
+ * Otherwise, twice the number of available processors is used.
+ */
+final class ThreadCount {
+
+    private static final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    private ThreadCount() {
+    }
+
+    static int forThreadValue(final String threadValue) {
+        int threads = (AVAILABLE_PROCESSORS * 2);
+        if (StringUtils.isNotEmpty(threadValue)) {
+            if (StringUtils.isNumeric(threadValue)) {
+                threads = Integer.valueOf(threadValue);
+            } else if (threadValue.endsWith("x")) {
+                threads = getRelativeThreadCount(threadValue);
+            }
+
+        }
+        return threads;
+    }
+
+    private static int getRelativeThreadCount(final String threadValue) {
+        try {
+            String threadCount = threadValue.substring(0, threadValue.length() - 1);
+            return Integer.valueOf(threadCount) * AVAILABLE_PROCESSORS;
+        } catch (NumberFormatException cause) {
+            throw new IllegalArgumentException("Illegal thread value: " + threadValue, cause);
+        }
+    }
+}
@@ -5,7 +5,6 @@ import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.webdriver.Configuration;
 import net.thucydides.core.webdriver.WebDriverFactory;
 import net.thucydides.junit.annotations.Concurrent;
-import org.apache.commons.lang.StringUtils;
 import org.junit.runner.Runner;
 import org.junit.runners.Suite;
 
@@ -20,8 +19,6 @@ import java.util.List;
  */
 public class ThucydidesParameterizedRunner extends Suite {
 
-    private static final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
-
     private final List<Runner> runners = new ArrayList<Runner>();
 
     private final Configuration configuration;
@@ -57,26 +54,7 @@ public class ThucydidesParameterizedRunner extends Suite {
 
     protected int getThreadCountFor(final Class<?> klass) {
         Concurrent concurrent = klass.getAnnotation(Concurrent.class);
-        String threadValue = concurrent.threads();
-        int threads = (AVAILABLE_PROCESSORS * 2);
-        if (StringUtils.isNotEmpty(threadValue)) {
-            if (StringUtils.isNumeric(threadValue)) {
-                threads = Integer.valueOf(threadValue);
-            } else if (threadValue.endsWith("x")) {
-                threads = getRelativeThreadCount(threadValue);
-            }
-
-        }
-        return threads;
-    }
-
-    private int getRelativeThreadCount(final String threadValue) {
-        try {
-            String threadCount = threadValue.substring(0, threadValue.length() - 1);
-            return Integer.valueOf(threadCount) * AVAILABLE_PROCESSORS;
-        } catch (NumberFormatException cause) {
-            throw new IllegalArgumentException("Illegal thread value: " + threadValue, cause);
-        }
+        return ThreadCount.forThreadValue(concurrent.threads());
     }
 
     private void buildTestRunnersForEachDataSetUsing(final WebDriverFactory webDriverFactory) throws Throwable {
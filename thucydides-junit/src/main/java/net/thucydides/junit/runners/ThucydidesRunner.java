@@ -20,10 +20,13 @@ import net.thucydides.core.webdriver.ThucydidesWebdriverManager;
 import net.thucydides.core.webdriver.WebDriverFactory;
 import net.thucydides.core.webdriver.WebdriverManager;
 import net.thucydides.core.webdriver.WebdriverProxyFactory;
+import net.thucydides.junit.annotations.Concurrent;
 import net.thucydides.junit.listeners.JUnitStepListener;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Ignore;
 import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
@@ -35,8 +38,11 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static net.thucydides.core.Thucydides.initializeTestSession;
 
@@ -47,6 +53,10 @@ import static net.thucydides.core.Thucydides.initializeTestSession;
  * <p/>
  * The test runner will by default produce output in XML and HTML. This
  * can extended by subscribing more reporter implementations to the test runner.
+ * <p/>
+ * If the test class is annotated with @Concurrent, or if the thucydides.concurrent.methods property is set,
+ * the test methods run in parallel. Each test method then runs in a worker thread with its own
+ * event bus, step listener and browser, and the test outcomes are reported in the order of the test methods.
  *
  * @author johnsmart
  */
@@ -74,21 +84,62 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
 
     private BatchManager batchManager;
 
+    private final boolean testMethodsRunInParallel;
+
+    /**
+     * The step listener, pages and step factory of the test method running in the current worker thread,
+     * when the test methods run in parallel.
+     */
+    private final ThreadLocal<TestMethodWorker> currentWorker = new ThreadLocal<TestMethodWorker>();
+
+    private final Map<FrameworkMethod, List<TestOutcome>> testOutcomesByMethod
+            = new ConcurrentHashMap<FrameworkMethod, List<TestOutcome>>();
+
     /**
      * The Step Listener observes and records what happens during the execution of the test.
      * Once the test is over, the Step Listener can provide the acceptance test outcome in the
      * form of an TestOutcome object.
      */
     public JUnitStepListener getStepListener() {
-        return stepListener;
+        TestMethodWorker worker = currentWorker.get();
+        return (worker != null) ? worker.stepListener : stepListener;
     }
 
     protected void setStepListener(final JUnitStepListener stepListener) {
-        this.stepListener = stepListener;
+        TestMethodWorker worker = currentWorker.get();
+        if (worker != null) {
+            worker.stepListener = stepListener;
+        } else {
+            this.stepListener = stepListener;
+        }
     }
 
     public Pages getPages() {
-        return pages;
+        TestMethodWorker worker = currentWorker.get();
+        return (worker != null) ? worker.pages : pages;
+    }
+
+    private void setPages(final Pages pages) {
+        TestMethodWorker worker = currentWorker.get();
+        if (worker != null) {
+            worker.pages = pages;
+        } else {
+            this.pages = pages;
+        }
+    }
+
+    private StepFactory getStepFactory() {
+        TestMethodWorker worker = currentWorker.get();
+        return (worker != null) ? worker.stepFactory : stepFactory;
+    }
+
+    private void setStepFactory(final StepFactory stepFactory) {
+        TestMethodWorker worker = currentWorker.get();
+        if (worker != null) {
+            worker.stepFactory = stepFactory;
+        } else {
+            this.stepFactory = stepFactory;
+        }
     }
 
     /**
@@ -149,6 +200,28 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
 
         loadLocalPreferences();
 
+        this.testMethodsRunInParallel = runTestMethodsInParallelFor(klass);
+        if (testMethodsRunInParallel) {
+            setScheduler(new ParameterizedRunnerScheduler(klass, getThreadCountFor(klass)));
+        }
+    }
+
+    /**
+     * Test methods run in parallel if the test class is annotated with @Concurrent,
+     * or if the thucydides.concurrent.methods property is set.
+     */
+    protected boolean runTestMethodsInParallelFor(final Class<?> klass) {
+        return (klass.getAnnotation(Concurrent.class) != null)
+                || (getConfiguration().getConcurrentMethodThreads() != null);
+    }
+
+    protected int getThreadCountFor(final Class<?> klass) {
+        Concurrent concurrent = klass.getAnnotation(Concurrent.class);
+        if (concurrent != null) {
+            return ThreadCount.forThreadValue(concurrent.threads());
+        } else {
+            return ThreadCount.forThreadValue(getConfiguration().getConcurrentMethodThreads());
+        }
     }
 
     private void loadLocalPreferences() throws InitializationError {
@@ -213,23 +286,48 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
      */
     @Override
     public void run(final RunNotifier notifier) {
-        if (!skipThisTest()) {
+        if (skipThisTest()) {
+            return;
+        }
+        if (testMethodsRunInParallel) {
+            runTestMethodsInParallel(notifier);
+        } else {
             initializeDriversAndListeners(notifier);
 
             super.run(notifier);
 
+            StepEventBus.getEventBus().testSuiteFinished();
             stepListener.close();
             generateReportsFor(stepListener.getTestOutcomes());
             closeDrivers();
-            StepEventBus.getEventBus().testSuiteFinished();
         }
     }
 
+    /**
+     * Each test method sets up its own event bus, step listener and browser in the worker thread that runs it
+     * (see runInItsOwnWorker()). The reports are generated once all of the test methods have finished.
+     */
+    private void runTestMethodsInParallel(final RunNotifier notifier) {
+        RunListener workerStepListeners = new CurrentWorkerStepListener();
+        notifier.addListener(workerStepListeners);
+        try {
+            super.run(notifier);
+        } finally {
+            notifier.removeListener(workerStepListeners);
+        }
+        generateReportsFor(getTestOutcomes());
+    }
+
     private boolean skipThisTest() {
         return (batchManager != null) && (!batchManager.shouldExecuteThisTest());
     }
 
     private void initializeDriversAndListeners(RunNotifier notifier) {
+        initializeDriversAndListeners();
+        notifier.addListener(stepListener);
+    }
+
+    private void initializeDriversAndListeners() {
         initStepEventBus();
         if (webtestsAreSupported()) {
             initPagesObjectUsing(webdriverManager.getWebdriver(requestedDriver));
@@ -239,7 +337,6 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
             initListeners();
             initStepFactory();
         }
-        notifier.addListener(stepListener);
     }
 
     private void initStepEventBus() {
@@ -247,7 +344,7 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
     }
 
     private void initPagesObjectUsing(final WebDriver driver) {
-        pages = new Pages(driver, getConfiguration());
+        setPages(new Pages(driver, getConfiguration()));
     }
 
     protected JUnitStepListener initListenersUsing(final Pages pageFactory) {
@@ -275,11 +372,11 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
     }
 
     private void initStepFactoryUsing(final Pages pagesObject) {
-        stepFactory = new StepFactory(pagesObject);
+        setStepFactory(new StepFactory(pagesObject));
     }
 
     private void initStepFactory() {
-        stepFactory = new StepFactory();
+        setStepFactory(new StepFactory());
     }
 
     private void closeDrivers() {
@@ -303,15 +400,58 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
      * place the reports in. Then, at the end of the test, the test runner
      * notifies these reporters of the test outcomes. The reporter's job is to
      * process each test run outcome and do whatever is appropriate.
+     * In asynchronous mode, the reports are written in the background while the next test class runs.
      */
     private void generateReportsFor(final List<TestOutcome> testOutcomeResults) {
-        getReportService().generateReportsFor(testOutcomeResults);
+        if (getReportService().generatesReportsInBackground()) {
+            getReportService().generateReportsInBackgroundFor(testOutcomeResults);
+        } else {
+            getReportService().generateReportsFor(testOutcomeResults);
+        }
     }
 
 
     @Override
     protected void runChild(FrameworkMethod method, RunNotifier notifier) {
+        if (testMethodsRunInParallel) {
+            runInItsOwnWorker(method, notifier);
+        } else {
+            runTestMethod(method, notifier);
+        }
+    }
+
+    /**
+     * Runs a test method with its own event bus, step listener and browser, all of which belong to the
+     * current worker thread. The browser is closed and the listeners are dropped from the event bus
+     * once the test is finished, as the worker thread may be used for another test method.
+     * Errors are reported as test failures, as they would otherwise be lost in the worker thread.
+     */
+    private void runInItsOwnWorker(final FrameworkMethod method, final RunNotifier notifier) {
+        currentWorker.set(new TestMethodWorker());
+        try {
+            initializeDriversAndListeners();
+            runTestMethod(method, notifier);
+            StepEventBus.getEventBus().testSuiteFinished();
+        } catch (RuntimeException e) {
+            notifier.fireTestFailure(new Failure(describeChild(method), e));
+        } finally {
+            try {
+                JUnitStepListener workerStepListener = getStepListener();
+                if (workerStepListener != null) {
+                    testOutcomesByMethod.put(method, workerStepListener.getTestOutcomes());
+                }
+                StepEventBus.getEventBus().dropAllListeners();
+            } finally {
+                try {
+                    closeDrivers();
+                } finally {
+                    currentWorker.remove();
+                }
+            }
+        }
+    }
 
+    private void runTestMethod(final FrameworkMethod method, final RunNotifier notifier) {
         initializeTestSession();
         resetBroswerFromTimeToTime();
         processTestMethodAnnotationsFor(method);
@@ -323,8 +463,9 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
     }
 
     private TestOutcome getLatestTestOutcome() {
-        if (getTestOutcomes().size() > 0) {
-            return getTestOutcomes().get(getTestOutcomes().size() - 1);
+        List<TestOutcome> testOutcomes = getStepListener().getTestOutcomes();
+        if (testOutcomes.size() > 0) {
+            return testOutcomes.get(testOutcomes.size() - 1);
         }
         return null;
     }
@@ -341,7 +482,7 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
         if (isPending(method)) {
             StepEventBus.getEventBus().testPending();
         } else if (isIgnored(method)) {
-            stepListener.testStarted(Description.createTestDescription(method.getMethod().getDeclaringClass(), method.getName()));
+            getStepListener().testStarted(Description.createTestDescription(method.getMethod().getDeclaringClass(), method.getName()));
             StepEventBus.getEventBus().testIgnored();
         }
     }
@@ -385,11 +526,11 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
         useStepFactoryForDataDrivenSteps();
 
         Statement baseStatement = super.methodInvoker(method, test);
-        return new ThucydidesStatement(baseStatement, stepListener.getBaseStepListener());
+        return new ThucydidesStatement(baseStatement, getStepListener().getBaseStepListener());
     }
 
     private void useStepFactoryForDataDrivenSteps() {
-        StepData.setDefaultStepFactory(stepFactory);
+        StepData.setDefaultStepFactory(getStepFactory());
     }
 
     /**
@@ -414,7 +555,7 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
      * Instantiates the @ManagedPages-annotated Pages instance using current WebDriver.
      */
     protected void injectScenarioStepsInto(final Object testCase) {
-        StepAnnotations.injectScenarioStepsInto(testCase, stepFactory);
+        StepAnnotations.injectScenarioStepsInto(testCase, getStepFactory());
 
     }
 
@@ -423,7 +564,7 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
      */
     protected void injectAnnotatedPagesObjectInto(final Object testCase) {
         getPages().notifyWhenDriverOpens();
-        StepAnnotations.injectAnnotatedPagesObjectInto(testCase, pages);
+        StepAnnotations.injectAnnotatedPagesObjectInto(testCase, getPages());
     }
 
     protected WebDriver getDriver() {
@@ -435,9 +576,23 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
     }
 
     public List<TestOutcome> getTestOutcomes() {
+        if (testMethodsRunInParallel) {
+            return getTestOutcomesInTestMethodOrder();
+        }
         return getStepListener().getTestOutcomes();
     }
 
+    private List<TestOutcome> getTestOutcomesInTestMethodOrder() {
+        List<TestOutcome> testOutcomes = new ArrayList<TestOutcome>();
+        for (FrameworkMethod method : getChildren()) {
+            List<TestOutcome> testOutcomesForMethod = testOutcomesByMethod.get(method);
+            if (testOutcomesForMethod != null) {
+                testOutcomes.addAll(testOutcomesForMethod);
+            }
+        }
+        return testOutcomes;
+    }
+
     /**
      * The default reporters applicable for standard test runs.
      */
@@ -445,6 +600,59 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
         return ReportService.getDefaultReporters();
     }
 
+    private static class TestMethodWorker {
+        private JUnitStepListener stepListener;
+        private Pages pages;
+        private StepFactory stepFactory;
+    }
+
+    /**
+     * Passes the JUnit test events on to the step listener of the worker thread that runs the test.
+     */
+    private class CurrentWorkerStepListener extends RunListener {
+
+        @Override
+        public void testStarted(final Description description) throws Exception {
+            JUnitStepListener workerStepListener = workerStepListener();
+            if (workerStepListener != null) {
+                workerStepListener.testStarted(description);
+            }
+        }
+
+        @Override
+        public void testFinished(final Description description) throws Exception {
+            JUnitStepListener workerStepListener = workerStepListener();
+            if (workerStepListener != null) {
+                workerStepListener.testFinished(description);
+            }
+        }
+
+        @Override
+        public void testFailure(final Failure failure) throws Exception {
+            JUnitStepListener workerStepListener = workerStepListener();
+            if (workerStepListener != null) {
+                workerStepListener.testFailure(failure);
+            }
+        }
+
+        @Override
+        public void testIgnored(final Description description) throws Exception {
+            JUnitStepListener workerStepListener = workerStepListener();
+            if (workerStepListener != null) {
+                workerStepListener.testIgnored(description);
+            }
+        }
+
+        /**
+         * The step listener of the worker running in the current thread. This is null outside of a worker,
+         * and also if the worker failed before its step listener was created.
+         */
+        private JUnitStepListener workerStepListener() {
+            TestMethodWorker worker = currentWorker.get();
+            return (worker != null) ? worker.stepListener : null;
+        }
+    }
+
     public class ThucydidesRunnerBuilder {
         private Class<?> classUnderTest;
 
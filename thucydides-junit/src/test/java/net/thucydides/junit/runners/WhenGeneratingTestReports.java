@@ -1,8 +1,10 @@
 package net.thucydides.junit.runners;
 
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.reports.AcceptanceTestReporter;
 import net.thucydides.core.reports.ReportGenerationFailedError;
+import net.thucydides.core.reports.ReportService;
 import net.thucydides.junit.rules.QuietThucydidesLoggingRule;
 import net.thucydides.samples.AnnotatedSingleTestScenario;
 import org.junit.Before;
@@ -12,9 +14,17 @@ import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.InitializationError;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.atLeast;
@@ -96,4 +106,34 @@ public class WhenGeneratingTestReports extends AbstractTestStepRunnerTest {
         runner.subscribeReporter(mockReporter);
         runner.run(new RunNotifier());
     }
+
+    @Test
+    public void reports_can_be_generated_in_the_background_while_the_next_tests_run()
+            throws InitializationError, IOException {
+
+        final CountDownLatch reporterReleased = new CountDownLatch(1);
+        final AtomicInteger reportsWritten = new AtomicInteger();
+        when(mockReporter.generateReportFor(any(TestOutcome.class))).thenAnswer(new Answer<File>() {
+            public File answer(InvocationOnMock invocation) throws Throwable {
+                reporterReleased.await(10, TimeUnit.SECONDS);
+                reportsWritten.incrementAndGet();
+                return null;
+            }
+        });
+
+        System.setProperty(ThucydidesSystemProperty.REPORT_ASYNCHRONOUSLY.getPropertyName(), "true");
+        try {
+            ThucydidesRunner runner = new ThucydidesRunner(AnnotatedSingleTestScenario.class);
+            runner.subscribeReporter(mockReporter);
+            runner.run(new RunNotifier());
+
+            assertThat(reportsWritten.get(), is(0));
+        } finally {
+            System.clearProperty(ThucydidesSystemProperty.REPORT_ASYNCHRONOUSLY.getPropertyName());
+            reporterReleased.countDown();
+        }
+        ReportService.awaitCompletion();
+
+        assertThat(reportsWritten.get(), is(1));
+    }
 }
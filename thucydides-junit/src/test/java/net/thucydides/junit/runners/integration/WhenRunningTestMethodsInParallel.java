@@ -0,0 +1,346 @@
+package net.thucydides.junit.runners.integration;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.pages.Pages;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.core.webdriver.SystemPropertiesConfiguration;
+import net.thucydides.core.webdriver.WebDriverFactory;
+import net.thucydides.core.webdriver.WebdriverInstanceFactory;
+import net.thucydides.core.webdriver.stubs.NavigationStub;
+import net.thucydides.core.webdriver.stubs.OptionsStub;
+import net.thucydides.core.webdriver.stubs.TargetLocatorStub;
+import net.thucydides.junit.listeners.JUnitStepListener;
+import net.thucydides.junit.runners.AbstractTestStepRunnerTest;
+import net.thucydides.junit.runners.TestFailureListener;
+import net.thucydides.junit.runners.ThucydidesRunner;
+import net.thucydides.samples.SampleConcurrentScenario;
+import net.thucydides.samples.SamplePassingScenario;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class WhenRunningTestMethodsInParallel extends AbstractTestStepRunnerTest {
+
+    private static final int TEST_METHODS = 16;
+    private static final int THREADS = 8;
+
+    /**
+     * A browser that only remembers the pages it was asked to open, and the thread that started it.
+     */
+    public static class StubDriver implements WebDriver {
+
+        private final String startedBy = Thread.currentThread().getName();
+        private final List<String> openedUrls = new CopyOnWriteArrayList<String>();
+        private volatile boolean closed;
+
+        public void get(String url) {
+            openedUrls.add(url);
+        }
+
+        public String getCurrentUrl() {
+            return openedUrls.isEmpty() ? "about:blank" : openedUrls.get(openedUrls.size() - 1);
+        }
+
+        public String getTitle() {
+            return "";
+        }
+
+        public List<WebElement> findElements(By by) {
+            return Collections.emptyList();
+        }
+
+        public WebElement findElement(By by) {
+            return null;
+        }
+
+        public String getPageSource() {
+            return "<html><body></body></html>";
+        }
+
+        public void close() {
+            closed = true;
+        }
+
+        public void quit() {
+            closed = true;
+        }
+
+        public Set<String> getWindowHandles() {
+            return Collections.emptySet();
+        }
+
+        public String getWindowHandle() {
+            return "";
+        }
+
+        public TargetLocator switchTo() {
+            return new TargetLocatorStub(this);
+        }
+
+        public Navigation navigate() {
+            return new NavigationStub();
+        }
+
+        public Options manage() {
+            return new OptionsStub();
+        }
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    List<StubDriver> startedDrivers;
+
+    WebDriverFactory webDriverFactory;
+
+    @Before
+    public void createAStubDriverFactory() {
+        startedDrivers = new CopyOnWriteArrayList<StubDriver>();
+        WebdriverInstanceFactory webdriverInstanceFactory = new WebdriverInstanceFactory() {
+            @Override
+            public WebDriver newInstanceOf(Class<? extends WebDriver> webdriverClass, FirefoxProfile profile) {
+                return newStubDriver();
+            }
+
+            @Override
+            public WebDriver newInstanceOf(Class<? extends WebDriver> webdriverClass) {
+                return newStubDriver();
+            }
+        };
+        webDriverFactory = new WebDriverFactory(webdriverInstanceFactory, environmentVariables);
+        StepEventBus.getEventBus().clear();
+    }
+
+    private WebDriver newStubDriver() {
+        StubDriver driver = new StubDriver();
+        startedDrivers.add(driver);
+        return driver;
+    }
+
+    class TestableThucydidesRunner extends ThucydidesRunner {
+
+        private final File testOutputDirectory;
+
+        TestableThucydidesRunner(Class<?> klass, File outputDirectory) throws InitializationError {
+            super(klass, webDriverFactory, new SystemPropertiesConfiguration(environmentVariables));
+            this.testOutputDirectory = outputDirectory;
+        }
+
+        @Override
+        public File getOutputDirectory() {
+            return testOutputDirectory;
+        }
+    }
+
+    class SerialThucydidesRunner extends TestableThucydidesRunner {
+
+        SerialThucydidesRunner(Class<?> klass, File outputDirectory) throws InitializationError {
+            super(klass, outputDirectory);
+        }
+
+        @Override
+        protected boolean runTestMethodsInParallelFor(Class<?> klass) {
+            return false;
+        }
+    }
+
+    /**
+     * A runner whose workers fail before their step listener is created.
+     */
+    class RunnerWithBrokenListeners extends TestableThucydidesRunner {
+
+        RunnerWithBrokenListeners(Class<?> klass, File outputDirectory) throws InitializationError {
+            super(klass, outputDirectory);
+        }
+
+        @Override
+        protected JUnitStepListener initListenersUsing(Pages pageFactory) {
+            throw new IllegalStateException("Could not create the step listener");
+        }
+    }
+
+    private ThucydidesRunner parallelRunnerFor(Class<?> testClass) throws InitializationError {
+        return new TestableThucydidesRunner(testClass, temporaryFolder.newFolder("parallel"));
+    }
+
+    private ThucydidesRunner serialRunnerFor(Class<?> testClass) throws InitializationError {
+        return new SerialThucydidesRunner(testClass, temporaryFolder.newFolder("serial"));
+    }
+
+    @Test
+    public void each_test_outcome_should_only_contain_the_steps_of_its_own_test_method() throws InitializationError {
+        ThucydidesRunner runner = parallelRunnerFor(SampleConcurrentScenario.class);
+        runner.run(new RunNotifier());
+
+        List<TestOutcome> testOutcomes = runner.getTestOutcomes();
+        assertThat(testOutcomes.size(), is(TEST_METHODS));
+        for (TestOutcome testOutcome : testOutcomes) {
+            for (TestStep step : testOutcome.getTestSteps()) {
+                assertThat(step.getDescription(), containsString(testOutcome.getMethodName()));
+            }
+        }
+    }
+
+    @Test
+    public void only_the_failing_test_method_should_be_marked_as_failing() throws InitializationError {
+        ThucydidesRunner runner = parallelRunnerFor(SampleConcurrentScenario.class);
+        RunNotifier notifier = new RunNotifier();
+        TestFailureListener failureListener = new TestFailureListener();
+        notifier.addListener(failureListener);
+
+        runner.run(notifier);
+
+        for (TestOutcome testOutcome : runner.getTestOutcomes()) {
+            if (testOutcome.getMethodName().equals("test_07")) {
+                assertThat(testOutcome.getResult(), is(TestResult.FAILURE));
+                assertThat(testOutcome.getTestSteps().size(), is(3));
+            } else {
+                assertThat(testOutcome.getResult(), is(TestResult.SUCCESS));
+                assertThat(testOutcome.getTestSteps().size(), is(2));
+            }
+        }
+        assertThat(failureListener.getFailures().size(), is(1));
+        assertThat(failureListener.getFailures().get(0).getDescription().getMethodName(), is("test_07"));
+    }
+
+    @Test
+    public void each_test_method_should_use_its_own_browser() throws InitializationError {
+        ThucydidesRunner runner = parallelRunnerFor(SampleConcurrentScenario.class);
+        runner.run(new RunNotifier());
+
+        assertThat(startedDrivers.size(), is(TEST_METHODS));
+        Set<String> openedTestPages = new HashSet<String>();
+        for (StubDriver driver : startedDrivers) {
+            List<String> testPagesOpenedInThisBrowser = testPagesIn(driver.openedUrls);
+            assertThat(testPagesOpenedInThisBrowser.size(), is(1));
+            openedTestPages.addAll(testPagesOpenedInThisBrowser);
+        }
+        assertThat(openedTestPages.size(), is(TEST_METHODS));
+    }
+
+    @Test
+    public void the_browsers_should_be_closed_once_each_test_method_has_finished() throws InitializationError {
+        ThucydidesRunner runner = parallelRunnerFor(SampleConcurrentScenario.class);
+        runner.run(new RunNotifier());
+
+        for (StubDriver driver : startedDrivers) {
+            assertThat(driver.closed, is(true));
+        }
+    }
+
+    @Test
+    public void the_test_methods_should_run_in_several_threads() throws InitializationError {
+        ThucydidesRunner runner = parallelRunnerFor(SampleConcurrentScenario.class);
+        runner.run(new RunNotifier());
+
+        Set<String> workerThreads = new HashSet<String>();
+        for (StubDriver driver : startedDrivers) {
+            workerThreads.add(driver.startedBy);
+        }
+        assertThat(workerThreads.size(), is(greaterThan(1)));
+        assertThat(workerThreads.size(), is(lessThanOrEqualTo(THREADS)));
+        assertThat(workerThreads.contains(Thread.currentThread().getName()), is(false));
+    }
+
+    @Test
+    public void test_outcomes_should_be_in_the_same_order_as_when_the_test_methods_run_one_at_a_time()
+            throws InitializationError {
+        ThucydidesRunner serialRunner = serialRunnerFor(SampleConcurrentScenario.class);
+        serialRunner.run(new RunNotifier());
+        ThucydidesRunner parallelRunner = parallelRunnerFor(SampleConcurrentScenario.class);
+        parallelRunner.run(new RunNotifier());
+
+        assertThat(methodNamesIn(parallelRunner.getTestOutcomes()), is(methodNamesIn(serialRunner.getTestOutcomes())));
+    }
+
+    @Test
+    public void a_report_should_be_generated_for_each_test_method() throws InitializationError {
+        File outputDirectory = temporaryFolder.newFolder("output");
+        ThucydidesRunner runner = new TestableThucydidesRunner(SampleConcurrentScenario.class, outputDirectory);
+        runner.run(new RunNotifier());
+
+        String[] xmlReports = outputDirectory.list(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".xml");
+            }
+        });
+        assertThat(xmlReports.length, is(TEST_METHODS));
+    }
+
+    @Test
+    public void a_worker_that_fails_before_its_step_listener_is_created_should_report_a_test_failure()
+            throws InitializationError {
+        ThucydidesRunner runner = new RunnerWithBrokenListeners(SampleConcurrentScenario.class,
+                                                                temporaryFolder.newFolder("broken"));
+        RunNotifier notifier = new RunNotifier();
+        TestFailureListener failureListener = new TestFailureListener();
+        notifier.addListener(failureListener);
+
+        runner.run(notifier);
+
+        assertThat(failureListener.getFailures().size(), is(TEST_METHODS));
+        assertThat(runner.getTestOutcomes().size(), is(0));
+        for (StubDriver driver : startedDrivers) {
+            assertThat(driver.closed, is(true));
+        }
+    }
+
+    @Test
+    public void test_methods_can_be_run_in_parallel_using_a_system_property() throws InitializationError {
+        environmentVariables.setProperty("thucydides.concurrent.methods", "4");
+        ThucydidesRunner runner = parallelRunnerFor(SamplePassingScenario.class);
+        runner.run(new RunNotifier());
+
+        assertThat(runner.getTestOutcomes().size(), is(3));
+        assertThat(methodNamesIn(runner.getTestOutcomes()),
+                   is(methodNamesIn(runSeriallyAndGetTestOutcomesFor(SamplePassingScenario.class))));
+    }
+
+    private List<TestOutcome> runSeriallyAndGetTestOutcomesFor(Class<?> testClass) throws InitializationError {
+        ThucydidesRunner runner = serialRunnerFor(testClass);
+        runner.run(new RunNotifier());
+        return runner.getTestOutcomes();
+    }
+
+    private List<String> testPagesIn(List<String> openedUrls) {
+        List<String> testPages = new ArrayList<String>();
+        for (String url : openedUrls) {
+            if (url.startsWith("http://localhost/test_")) {
+                testPages.add(url);
+            }
+        }
+        return testPages;
+    }
+
+    private List<String> methodNamesIn(List<TestOutcome> testOutcomes) {
+        List<String> methodNames = new ArrayList<String>();
+        for (TestOutcome testOutcome : testOutcomes) {
+            methodNames.add(testOutcome.getMethodName());
+        }
+        return methodNames;
+    }
+}
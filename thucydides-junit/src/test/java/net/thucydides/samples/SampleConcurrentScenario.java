@@ -0,0 +1,122 @@
+package net.thucydides.samples;
+
+import net.thucydides.core.annotations.Managed;
+import net.thucydides.core.annotations.ManagedPages;
+import net.thucydides.core.annotations.Steps;
+import net.thucydides.core.pages.Pages;
+import net.thucydides.junit.annotations.Concurrent;
+import net.thucydides.junit.runners.ThucydidesRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.openqa.selenium.WebDriver;
+
+@RunWith(ThucydidesRunner.class)
+@Concurrent(threads = "8")
+public class SampleConcurrentScenario {
+
+    @Managed
+    public WebDriver webdriver;
+
+    @ManagedPages(defaultUrl = "http://localhost")
+    public Pages pages;
+
+    @Steps
+    public SampleConcurrentSteps steps;
+
+    @Test
+    public void test_01() {
+        steps.open_the_page_for("test_01");
+        steps.the_browser_should_show_the_page_for("test_01");
+    }
+
+    @Test
+    public void test_02() {
+        steps.open_the_page_for("test_02");
+        steps.the_browser_should_show_the_page_for("test_02");
+    }
+
+    @Test
+    public void test_03() {
+        steps.open_the_page_for("test_03");
+        steps.the_browser_should_show_the_page_for("test_03");
+    }
+
+    @Test
+    public void test_04() {
+        steps.open_the_page_for("test_04");
+        steps.the_browser_should_show_the_page_for("test_04");
+    }
+
+    @Test
+    public void test_05() {
+        steps.open_the_page_for("test_05");
+        steps.the_browser_should_show_the_page_for("test_05");
+    }
+
+    @Test
+    public void test_06() {
+        steps.open_the_page_for("test_06");
+        steps.the_browser_should_show_the_page_for("test_06");
+    }
+
+    @Test
+    public void test_07() {
+        steps.open_the_page_for("test_07");
+        steps.the_browser_should_show_the_page_for("test_07");
+        steps.a_step_that_fails_for("test_07");
+    }
+
+    @Test
+    public void test_08() {
+        steps.open_the_page_for("test_08");
+        steps.the_browser_should_show_the_page_for("test_08");
+    }
+
+    @Test
+    public void test_09() {
+        steps.open_the_page_for("test_09");
+        steps.the_browser_should_show_the_page_for("test_09");
+    }
+
+    @Test
+    public void test_10() {
+        steps.open_the_page_for("test_10");
+        steps.the_browser_should_show_the_page_for("test_10");
+    }
+
+    @Test
+    public void test_11() {
+        steps.open_the_page_for("test_11");
+        steps.the_browser_should_show_the_page_for("test_11");
+    }
+
+    @Test
+    public void test_12() {
+        steps.open_the_page_for("test_12");
+        steps.the_browser_should_show_the_page_for("test_12");
+    }
+
+    @Test
+    public void test_13() {
+        steps.open_the_page_for("test_13");
+        steps.the_browser_should_show_the_page_for("test_13");
+    }
+
+    @Test
+    public void test_14() {
+        steps.open_the_page_for("test_14");
+        steps.the_browser_should_show_the_page_for("test_14");
+    }
+
+    @Test
+    public void test_15() {
+        steps.open_the_page_for("test_15");
+        steps.the_browser_should_show_the_page_for("test_15");
+    }
+
+    @Test
+    public void test_16() {
+        steps.open_the_page_for("test_16");
+        steps.the_browser_should_show_the_page_for("test_16");
+    }
+}
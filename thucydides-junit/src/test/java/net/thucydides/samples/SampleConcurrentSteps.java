@@ -0,0 +1,31 @@
+package net.thucydides.samples;
+
+import net.thucydides.core.annotations.Step;
+import net.thucydides.core.pages.Pages;
+import net.thucydides.core.steps.ScenarioSteps;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class SampleConcurrentSteps extends ScenarioSteps {
+
+    public SampleConcurrentSteps(Pages pages) {
+        super(pages);
+    }
+
+    @Step
+    public void open_the_page_for(String testName) {
+        getDriver().get("http://localhost/" + testName);
+        waitABit(50);
+    }
+
+    @Step
+    public void the_browser_should_show_the_page_for(String testName) {
+        assertThat(getDriver().getCurrentUrl(), is("http://localhost/" + testName));
+    }
+
+    @Step
+    public void a_step_that_fails_for(String testName) {
+        throw new AssertionError("Failed in " + testName);
+    }
+}